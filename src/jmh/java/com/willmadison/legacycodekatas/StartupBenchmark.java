@@ -0,0 +1,121 @@
+package com.willmadison.legacycodekatas;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the simulator repeatedly and reports how long each launch took to complete its first exception handling
+ * cycle, with and without the application class-data-sharing archive. The simulated downstream systems answer
+ * instantly, so the figures are dominated by JVM and application startup rather than by the sweep itself.
+ * <p>
+ * Usage: {@code StartupBenchmark <java executable> <classpath> <archive> [runs]}; the classpath must be the one the
+ * archive was dumped with. {@code ./gradlew startupBenchmark} supplies all three.
+ */
+public class StartupBenchmark {
+
+    private static final String[] APPLICATION_ARGUMENTS = {
+            "--spring.profiles.active=simulator",
+            "--simulator.wipOrders=200",
+            "--simulator.pickCompletionsPerSecond=0",
+            "--simulator.orders.medianLatencyMillis=0",
+            "--simulator.wms.medianLatencyMillis=0",
+            "--simulator.wms.errorRate=0",
+            "--simulator.consolidation.medianLatencyMillis=0",
+            "--simulator.consolidation.errorRate=0",
+            "--exceptions.sweepOnStartup=true",
+            "--startup.exitAfterFirstCycle=true",
+            "--logging.level.root=WARN",
+            "--logging.level." + StartupProbe.class.getName() + "=INFO"
+    };
+
+    private static final long LAUNCH_TIMEOUT_SECONDS = 120L;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: StartupBenchmark <java executable> <classpath> <archive> [runs]");
+            System.exit(2);
+        }
+
+        String java = args[0];
+        String classpath = args[1];
+        File archive = new File(args[2]);
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        List<Long> withoutArchive = launch(java, classpath, null, runs);
+
+        System.out.println();
+        System.out.println("Time to first completed exception handling cycle (ms, " + runs + " launches each)");
+        report("default CDS", withoutArchive);
+
+        if (archive.isFile()) {
+            report("AppCDS", launch(java, classpath, archive, runs));
+        } else {
+            System.out.println("No archive at " + archive + ", skipping the AppCDS launches (run cdsArchive first)");
+        }
+    }
+
+    private static List<Long> launch(String java, String classpath, File archive, int runs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(Arrays.asList(java, "-Xshare:auto"));
+
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        }
+
+        command.addAll(Arrays.asList("-cp", classpath, LegacyCodeKatasApplication.class.getName()));
+        command.addAll(Arrays.asList(APPLICATION_ARGUMENTS));
+
+        List<Long> timings = new ArrayList<>();
+
+        for (int run = 0; run < runs; run++) {
+            timings.add(launchOnce(command));
+        }
+
+        return timings;
+    }
+
+    private static long launchOnce(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        long elapsed = -1L;
+
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = output.readLine()) != null) {
+                if (elapsed < 0L && line.contains(StartupProbe.FIRST_CYCLE_COMPLETED)) {
+                    elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            }
+        }
+
+        if (!process.waitFor(LAUNCH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("The application did not exit within " + LAUNCH_TIMEOUT_SECONDS + " seconds");
+        }
+
+        if (elapsed < 0L) {
+            throw new IllegalStateException("The application exited (" + process.exitValue() + ") without completing a cycle");
+        }
+
+        return elapsed;
+    }
+
+    private static void report(String mode, List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+
+        System.out.printf("  %-12s median=%d min=%d max=%d  %s%n", mode, sorted.get(sorted.size() / 2), sorted.get(0),
+                sorted.get(sorted.size() - 1), timings);
+    }
+}
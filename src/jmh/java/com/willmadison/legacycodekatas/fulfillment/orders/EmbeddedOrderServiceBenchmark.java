@@ -0,0 +1,124 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.configuration.OrderStoreConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the embedded store's index-driven searches with a full scan over the same orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmbeddedOrderServiceBenchmark {
+
+    @Param({"1000000"})
+    public int orderCount;
+
+    @Param({"0.05"})
+    public double wipRatio;
+
+    private Path directory;
+
+    private EmbeddedOrderService orderService;
+
+    private List<Order> orders;
+
+    private SearchParameters wipB2cOrders;
+
+    private SearchParameters completedPickOrders;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("order-store-benchmark");
+
+        OrderStoreConfiguration configuration = new OrderStoreConfiguration();
+        configuration.path = directory.resolve("orders.wal").toString();
+
+        orderService = new EmbeddedOrderService(configuration, new SimpleMeterRegistry());
+        orders = new ArrayList<>(orderCount);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order.Type[] types = Order.Type.values();
+
+        for (int number = 1; number <= orderCount; number++) {
+            Order order = new Order();
+            order.id = Integer.toString(number);
+            order.number = number;
+            order.status = random.nextDouble() < wipRatio ? Order.Status.WIP : Order.Status.COMPLETE;
+            order.type = types[number % types.length];
+            order.transactionId = "tx-" + number;
+            order.lastUpdate = LocalDateTime.now();
+            order.items = new ArrayList<>();
+
+            OrderItem item = new OrderItem();
+            item.id = number + "-0";
+            item.status = OrderItem.Status.WIP;
+            order.items.add(item);
+
+            orderService.save(order);
+            orders.add(order);
+        }
+
+        wipB2cOrders = new SearchParameters();
+        wipB2cOrders.orderStatuses = Collections.singleton(Order.Status.WIP);
+        wipB2cOrders.orderTypes = Collections.singleton(Order.Type.B2C);
+
+        Set<Integer> orderNumbers = new HashSet<>();
+
+        while (orderNumbers.size() < 100) {
+            orderNumbers.add(1 + random.nextInt(orderCount));
+        }
+
+        completedPickOrders = new SearchParameters();
+        completedPickOrders.orderNumbers = orderNumbers;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        orderService.close();
+
+        Files.deleteIfExists(directory.resolve("orders.wal"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Set<Order> findWipOrdersByType() {
+        return orderService.find(wipB2cOrders);
+    }
+
+    @Benchmark
+    public Collection<Order> scanWipOrdersByType() {
+        Collection<Order> matches = new ArrayList<>();
+
+        for (Order order : orders) {
+            if (Order.Status.WIP == order.status && Order.Type.B2C == order.type) {
+                matches.add(order);
+            }
+        }
+
+        return matches;
+    }
+
+    @Benchmark
+    public Set<Order> findByOrderNumbers() {
+        return orderService.find(completedPickOrders);
+    }
+
+    @Benchmark
+    public void saveOrder() {
+        orderService.save(orders.get(ThreadLocalRandom.current().nextInt(orderCount)));
+    }
+}
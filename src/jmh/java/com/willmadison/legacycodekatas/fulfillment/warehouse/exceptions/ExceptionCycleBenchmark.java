@@ -0,0 +1,46 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.SweepMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole exception handling cycle through each {@link SweepMode}, with the WMS and Consolidation lookups answering
+ * after a fixed latency, so the figures show how much of that latency each sweep overlaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExceptionCycleBenchmark {
+
+    @Param({"BLOCKING", "REACTIVE"})
+    public SweepMode sweepMode;
+
+    @Param({"0", "500"})
+    public long lookupLatencyMicros;
+
+    @Param({"500"})
+    public int orderCount;
+
+    private ExceptionHandler exceptionHandler;
+
+    @Setup
+    public void setUp() {
+        WarehouseFixtures fixtures = new WarehouseFixtures(orderCount, 2, 1);
+        fixtures.lookupLatencyMicros = lookupLatencyMicros;
+        fixtures.configuration.enabled = true;
+        fixtures.configuration.warehouseOperational = true;
+        fixtures.configuration.supportedOrderTypes = EnumSet.of(Order.Type.B2C);
+        fixtures.configuration.sweepMode = sweepMode;
+
+        exceptionHandler = fixtures.exceptionHandler();
+    }
+
+    @Benchmark
+    public void handleExceptions() {
+        exceptionHandler.handleExceptions();
+    }
+}
@@ -0,0 +1,51 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.resilience.Deadline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The blocking sweep's per-order steps over a batch of {@code orderCount} orders. Run with {@code -prof gc} (the jmh
+ * task does by default): {@code gc.alloc.rate.norm} divided by {@code orderCount} is what the sweep allocates per
+ * order, which once a worker's scratch structures have grown to fit its orders should be close to nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExceptionSweepBenchmark {
+
+    @Param({"100", "1000"})
+    public int orderCount;
+
+    @Param({"1", "5"})
+    public int itemsPerOrder;
+
+    @Param({"1", "3"})
+    public int picksPerItem;
+
+    private WarehouseFixtures fixtures;
+
+    private ExceptionHandler exceptionHandler;
+
+    @Setup
+    public void setUp() {
+        fixtures = new WarehouseFixtures(orderCount, itemsPerOrder, picksPerItem);
+        exceptionHandler = fixtures.exceptionHandler();
+    }
+
+    @Benchmark
+    public CycleSummary handleSingleLineItemOrderExceptions() {
+        CycleSummary summary = new CycleSummary("benchmark", Deadline.unbounded());
+        exceptionHandler.handleSingleLineItemOrderExceptions(fixtures.singleLineOrders, Order.Type.B2C, fixtures.configuration, summary);
+        return summary;
+    }
+
+    @Benchmark
+    public CycleSummary handleConsolidatableOrderExceptions() {
+        CycleSummary summary = new CycleSummary("benchmark", Deadline.unbounded());
+        exceptionHandler.handleConsolidatableOrderExceptions(fixtures.consolidatableOrders, Order.Type.B2C, fixtures.configuration, summary);
+        return summary;
+    }
+}
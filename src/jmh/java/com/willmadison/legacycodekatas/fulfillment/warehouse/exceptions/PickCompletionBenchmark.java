@@ -0,0 +1,76 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PickCompletionBenchmark {
+
+    @Param({"100", "1000"})
+    public int orderCount;
+
+    @Param({"1", "5"})
+    public int itemsPerOrder;
+
+    @Param({"1", "3"})
+    public int picksPerItem;
+
+    private WarehouseFixtures fixtures;
+
+    private ExceptionHandler exceptionHandler;
+
+    private List<Collection<Pick>> picksPerItemId;
+
+    private final PicksByOrderItem picksByOrderItemId = new PicksByOrderItem();
+
+    @Setup
+    public void setUp() {
+        fixtures = new WarehouseFixtures(orderCount, itemsPerOrder, picksPerItem);
+        exceptionHandler = fixtures.exceptionHandler();
+
+        Map<String, Collection<Pick>> picksByOrderItemId = new HashMap<>();
+
+        for (Pick pick : fixtures.picks) {
+            picksByOrderItemId.computeIfAbsent(pick.orderItemId, orderItemId -> new ArrayList<>()).add(pick);
+        }
+
+        picksPerItemId = new ArrayList<>(picksByOrderItemId.values());
+    }
+
+    @Benchmark
+    public Object batchPickCompletionMessages() {
+        return exceptionHandler.batchPickCompletionMessages(fixtures.pickCompletionMessages);
+    }
+
+    @Benchmark
+    public Object convertToPickCompletionNotifications() {
+        return exceptionHandler.convertToPickCompletionNotifications(fixtures.pickCompletionMessages);
+    }
+
+    @Benchmark
+    public Object groupPicksByOrderItemId() {
+        picksByOrderItemId.clear();
+        picksByOrderItemId.addAll(fixtures.picks);
+        return picksByOrderItemId;
+    }
+
+    @Benchmark
+    public Pick selectMostRecentPicks() {
+        Pick last = null;
+
+        for (Collection<Pick> picks : picksPerItemId) {
+            last = exceptionHandler.mostRecentlyUpdated(picks);
+        }
+
+        return last;
+    }
+}
@@ -0,0 +1,116 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder.ConsolidatableOrderItem;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Skill;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-item repick decision the exception sweeps used to make inline with {@link RepickEligibilityEvaluator}
+ * over the same candidates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepickEligibilityBenchmark {
+
+    @Param({"1000"})
+    public int candidateCount;
+
+    @Param({"45"})
+    public long autoStraggleTimeframeMinutes;
+
+    private OrderItem[] items;
+
+    private Pick[] picks;
+
+    private ConsolidatableOrderItem[] consolidatedItems;
+
+    private final RepickEligibilityEvaluator.Batch batch = new RepickEligibilityEvaluator.Batch();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+
+        items = new OrderItem[candidateCount];
+        picks = new Pick[candidateCount];
+        consolidatedItems = new ConsolidatableOrderItem[candidateCount];
+
+        for (int i = 0; i < candidateCount; i++) {
+            OrderItem item = new OrderItem();
+            item.id = Integer.toString(i);
+            item.status = OrderItem.Status.WIP;
+            item.released = random.nextInt(10) > 0;
+
+            Pick pick = new Pick();
+            pick.id = i;
+            pick.orderItemId = item.id;
+            pick.lastUpdate = now.minusMinutes(random.nextInt(90));
+            pick.wmsUserId = random.nextBoolean() ? "picker-" + i % 50 : null;
+            pick.status = random.nextBoolean() ? Pick.Status.ASSIGNED : Pick.Status.SUSPENDED;
+            pick.straggled = random.nextInt(4) == 0;
+            pick.skill = new Skill();
+
+            ConsolidatableOrderItem consolidatedItem = new ConsolidatableOrderItem();
+            consolidatedItem.id = Integer.toString(i);
+            consolidatedItem.lastUpdate = now.minusMinutes(random.nextInt(90));
+            consolidatedItem.placed = random.nextInt(5) == 0;
+
+            items[i] = item;
+            picks[i] = pick;
+            consolidatedItems[i] = consolidatedItem;
+        }
+    }
+
+    @Benchmark
+    public void perItem(Blackhole blackhole) {
+        for (int i = 0; i < candidateCount; i++) {
+            blackhole.consume(performAutoRepick(items[i], picks[i], consolidatedItems[i]));
+        }
+    }
+
+    @Benchmark
+    public int batch() {
+        RepickEligibilityEvaluator evaluator = new RepickEligibilityEvaluator(Clock.systemUTC(),
+                Duration.ofMinutes(autoStraggleTimeframeMinutes));
+
+        batch.clear();
+
+        for (int i = 0; i < candidateCount; i++) {
+            batch.add(items[i], picks[i], consolidatedItems[i]);
+        }
+
+        return evaluator.evaluate(batch);
+    }
+
+    /**
+     * The consolidatable sweep's inline decision as it stood before the evaluator.
+     */
+    private boolean performAutoRepick(OrderItem item, Pick repickCandidate, ConsolidatableOrderItem consolidatedItem) {
+        ZonedDateTime lastUpdate = consolidatedItem.lastUpdate.atZone(ZoneId.of("UTC"));
+        Duration repickTimeframe = Duration.ofMinutes(autoStraggleTimeframeMinutes);
+        LocalDateTime repickTimeThreshold = lastUpdate.plus(repickTimeframe).toLocalDateTime();
+        repickTimeThreshold = repickTimeThreshold.atZone(ZoneId.of("UTC")).toLocalDateTime();
+
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+
+        boolean pickWasWorked = repickCandidate.status != null || repickCandidate.wmsUserId != null;
+        boolean repickTimeframePassed = now.isAfter(repickTimeThreshold);
+
+        boolean suspended = repickCandidate.status != null && Pick.Status.SUSPENDED == repickCandidate.status;
+        boolean pickDeemedOut = repickCandidate.straggled && repickCandidate.skill.stragglerSkill == null && suspended;
+
+        return pickWasWorked && item.released && !consolidatedItem.placed && repickTimeframePassed && !pickDeemedOut;
+    }
+}
@@ -0,0 +1,158 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.capture.CapturedCall;
+import com.willmadison.legacycodekatas.fulfillment.capture.ReplaySummary;
+import com.willmadison.legacycodekatas.fulfillment.capture.TrafficRecording;
+import com.willmadison.legacycodekatas.fulfillment.capture.TrafficReplay;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.ChangeTrackingOrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.SweepMode;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a traffic capture (see {@code capture.enabled}) through this build's exception handler and reports how
+ * quickly it swept and whether it made the same writes the captured build did. The handler's cycles run whenever the
+ * replay clock crosses a minute, as the scheduled ones do, with the messages its captured counterpart consumed already
+ * queued, so at 10x a one hour capture replays in six minutes. Minutes before the captured application's first sweep
+ * (while it was still starting up) are skipped.
+ * <p>
+ * Usage: {@code TrafficReplayHarness <capture file> [speed] [sweep mode]}; {@code ./gradlew replay -Precording=...
+ * -PreplaySpeed=... -PsweepMode=...} supplies all three. The sweep mode defaults to {@link SweepMode#BLOCKING}.
+ */
+public class TrafficReplayHarness {
+
+    private static final long CYCLE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: TrafficReplayHarness <capture file> [speed] [BLOCKING|REACTIVE]");
+            System.exit(2);
+        }
+
+        TrafficRecording recording = TrafficRecording.read(Paths.get(args[0]));
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        SweepMode sweepMode = args.length > 2 ? SweepMode.valueOf(args[2]) : SweepMode.BLOCKING;
+
+        TrafficReplay replay = new TrafficReplay(recording, speed);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Queue<Message> queue = new ConcurrentLinkedQueue<>();
+        OrderService orderService = new ChangeTrackingOrderService(replay.orderService(), true, registry);
+
+        ExceptionConfiguration configuration = new ExceptionConfiguration();
+        configuration.enabled = true;
+        configuration.warehouseOperational = true;
+        configuration.incrementalSweepEnabled = replay.hasRecorded(CapturedCall.ORDERS_CHANGES_SINCE);
+        configuration.sweepMode = sweepMode;
+
+        WorkerPools workerPools = new WorkerPools(registry);
+
+        ExceptionHandler handler = new ExceptionHandler(orderService, replay.warehouseManagement(), replay.consolidation(), queue,
+                Optional.empty(), configuration, replay.clock(), workerPools, new StartupProbe(new StartupConfiguration(), registry),
+                registry);
+
+        long end = replay.getEndEpochMillis();
+
+        System.out.printf("Replaying %d captured calls (%.1f minutes) at %.1fx through the %s sweep...%n", recording.getRecords().size(),
+                (end - recording.getStartEpochMillis()) / 60_000.0, speed, sweepMode);
+
+        Clock clock = replay.clock();
+        long start = System.nanoTime();
+        replay.start();
+
+        long firstSweep = replay.getFirstEpochMillis(CapturedCall.ORDERS_FIND_PAGE);
+        long firstCycle = firstSweep < 0L ? nextCycle(clock.millis()) : Math.max(nextCycle(clock.millis()), cycleBefore(firstSweep));
+
+        for (long cycleAt = firstCycle; cycleAt <= end; cycleAt = nextCycle(clock.millis())) {
+            TimeUnit.NANOSECONDS.sleep((long) (TimeUnit.MILLISECONDS.toNanos(cycleAt - clock.millis()) / speed));
+
+            replay.publishForNextDrain(queue, cycleAt);
+
+            try {
+                handler.handleExceptions();
+                handler.checkForCompletedPicks();
+            } catch (RuntimeException e) {
+                System.err.println("The cycle at " + Instant.ofEpochMilli(cycleAt) + " failed: " + e);
+            }
+        }
+
+        workerPools.shutdown();
+
+        long elapsed = System.nanoTime() - start;
+
+        report(registry, replay.summarize(), elapsed);
+    }
+
+    private static long nextCycle(long epochMillis) {
+        return (epochMillis / CYCLE_INTERVAL_MILLIS + 1) * CYCLE_INTERVAL_MILLIS;
+    }
+
+    private static long cycleBefore(long epochMillis) {
+        return epochMillis / CYCLE_INTERVAL_MILLIS * CYCLE_INTERVAL_MILLIS;
+    }
+
+    private static void report(SimpleMeterRegistry registry, ReplaySummary summary, long elapsedNanos) {
+        System.out.println();
+        System.out.printf("Replay finished in %.1f s%n", elapsedNanos / 1e9);
+
+        for (String cycle : new String[]{"exceptions", "pick-completion"}) {
+            Timer timer = registry.find("exceptions.cycle.duration").tag("cycle", cycle).timer();
+
+            if (timer != null && timer.count() > 0) {
+                System.out.printf("  %-16s cycles=%d mean=%.1f ms max=%.1f ms%n", cycle, timer.count(),
+                        timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+            }
+        }
+
+        for (Meter meter : registry.find("exceptions.order.locks.contended").meters()) {
+            Counter contended = (Counter) meter;
+
+            if (contended.count() > 0) {
+                System.out.printf("  order lock waits: %s waited on %s (same %s) %d times%n", contended.getId().getTag("path"),
+                        contended.getId().getTag("holder"), contended.getId().getTag("conflict"), (long) contended.count());
+            }
+        }
+
+        int replayedWrites = 0;
+
+        System.out.println();
+        System.out.printf("  %-28s %9s %9s %9s %9s %10s%n", "write", "recorded", "replayed", "matched", "missing", "unexpected");
+
+        for (Map.Entry<CapturedCall, ReplaySummary.Decisions> entry : summary.getDecisions().entrySet()) {
+            ReplaySummary.Decisions decisions = entry.getValue();
+            replayedWrites += decisions.getReplayed();
+
+            System.out.printf("  %-28s %9d %9d %9d %9d %10d%n", entry.getKey(), decisions.getRecorded(), decisions.getReplayed(),
+                    decisions.getMatched(), decisions.getMissing(), decisions.getUnexpected());
+
+            for (String example : decisions.getMissingExamples()) {
+                System.out.println("      missing:    " + example);
+            }
+
+            for (String example : decisions.getUnexpectedExamples()) {
+                System.out.println("      unexpected: " + example);
+            }
+        }
+
+        System.out.println();
+        System.out.printf("  %.1f writes/s, %d reads with no recorded response%n", replayedWrites / (elapsedNanos / 1e9), summary.getMisses());
+        System.out.println(summary.isIdentical() ? "  The replay made exactly the captured writes." : "  The replay diverged from the capture.");
+    }
+}
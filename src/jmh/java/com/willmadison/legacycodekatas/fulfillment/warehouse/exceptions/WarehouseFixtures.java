@@ -0,0 +1,218 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.*;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Synthetic WIP orders, picks and consolidation state, served back through in-memory stubs of the three downstream
+ * dependencies. Nothing in the generated data changes state when swept (no successful verifications, nothing placed
+ * or shipped, auto-repick disabled), so the same fixtures can be swept over and over. The stubs answer per-order
+ * lookups with responses built up front, so a benchmark's allocation figures are the sweep's own.
+ */
+class WarehouseFixtures {
+
+    final List<Order> singleLineOrders = new ArrayList<>();
+
+    final List<Order> consolidatableOrders = new ArrayList<>();
+
+    final List<Pick> picks = new ArrayList<>();
+
+    final List<Message> pickCompletionMessages = new ArrayList<>();
+
+    final Map<Integer, Pick> picksById = new HashMap<>();
+
+    /**
+     * Indexed by order number, so the stubs don't box it to answer.
+     */
+    final ConsolidatableOrder[] consolidatableOrdersByNumber;
+
+    private final PickSearchResponse[] pickSearchResponsesByOrderNumber;
+
+    private final OrderVerificationSearchResponse orderVerificationSearchResponse = new OrderVerificationSearchResponse();
+
+    final ExceptionConfiguration configuration = new ExceptionConfiguration();
+
+    /**
+     * How long each WMS and Consolidation lookup takes to answer; none by default.
+     */
+    long lookupLatencyMicros;
+
+    WarehouseFixtures(int orderCount, int itemsPerOrder, int picksPerItem) {
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+
+        int pickId = 0;
+
+        consolidatableOrdersByNumber = new ConsolidatableOrder[orderCount * 2 + 1];
+        pickSearchResponsesByOrderNumber = new PickSearchResponse[orderCount * 2 + 1];
+
+        for (int orderNumber = 1; orderNumber <= orderCount * 2; orderNumber++) {
+            boolean consolidatable = orderNumber > orderCount;
+
+            Order order = new Order();
+            order.id = "order-" + orderNumber;
+            order.number = orderNumber;
+            order.status = Order.Status.WIP;
+            order.type = Order.Type.B2C;
+            order.reservationId = consolidatable ? "R-" + orderNumber : null;
+            order.transactionId = UUID.randomUUID().toString();
+            order.lastUpdate = now.minusHours(1);
+            order.items = new ArrayList<>();
+
+            Collection<Pick> orderPicks = new ArrayList<>();
+
+            ConsolidatableOrder consolidatableOrder = new ConsolidatableOrder();
+            consolidatableOrder.items = new ArrayList<>();
+
+            for (int i = 0; i < itemsPerOrder; i++) {
+                OrderItem item = new OrderItem();
+                item.id = orderNumber + "-" + i;
+                item.status = OrderItem.Status.WIP;
+                item.released = true;
+                order.items.add(item);
+
+                for (int p = 0; p < picksPerItem; p++) {
+                    Pick pick = new Pick();
+                    pick.id = ++pickId;
+                    pick.orderItemId = item.id;
+                    pick.orderNumber = orderNumber;
+                    pick.status = Pick.Status.PICKED;
+                    pick.wmsUserId = "picker-" + (pickId % 50);
+                    pick.skill = new Skill();
+                    pick.createdOn = now.minusHours(2).plusMinutes(p);
+                    pick.lastUpdate = now.minusHours(2).plusMinutes(p);
+                    pick.quantity = 1.0;
+                    pick.fulfillmentStatus = "Unknown";
+
+                    orderPicks.add(pick);
+                    picks.add(pick);
+                    picksById.put(pick.id, pick);
+
+                    ConsolidatableOrder.ConsolidatableOrderItem consolidatedItem = new ConsolidatableOrder.ConsolidatableOrderItem();
+                    consolidatedItem.id = Integer.toString(pick.id);
+                    consolidatedItem.lastUpdate = pick.lastUpdate;
+                    consolidatableOrder.items.add(consolidatedItem);
+
+                    pickCompletionMessages.add(new Message("{\"id\": " + pick.id + ", \"straggler\": false, \"location\": \"A-" + (pick.id % 100) + "\"}"));
+                }
+            }
+
+            PickSearchResponse pickSearchResponse = new PickSearchResponse();
+            pickSearchResponse.picks = orderPicks;
+            pickSearchResponsesByOrderNumber[orderNumber] = pickSearchResponse;
+
+            if (consolidatable) {
+                consolidatableOrders.add(order);
+                consolidatableOrdersByNumber[orderNumber] = consolidatableOrder;
+            } else {
+                singleLineOrders.add(order);
+            }
+        }
+
+        orderVerificationSearchResponse.verifications = Collections.singletonList(new OrderVerification());
+    }
+
+    ExceptionHandler exceptionHandler() {
+        Queue<Message> queue = new LinkedList<>(pickCompletionMessages);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        return new ExceptionHandler(new InMemoryOrderService(), new InMemoryWarehouseManagement(), new InMemoryConsolidation(),
+                queue, Optional.empty(), configuration, Clock.systemUTC(), new WorkerPools(registry),
+                new StartupProbe(new StartupConfiguration(), registry), registry);
+    }
+
+    private void awaitLookup() {
+        if (lookupLatencyMicros > 0L) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupLatencyMicros));
+        }
+    }
+
+    class InMemoryOrderService implements OrderService {
+
+        @Override
+        public Set<Order> find(SearchParameters searchParameters) {
+            Set<Order> orders = new HashSet<>(singleLineOrders);
+            orders.addAll(consolidatableOrders);
+            return orders;
+        }
+
+        @Override
+        public void save(Order order) {
+        }
+
+        @Override
+        public void save(OrderItem orderItem) {
+        }
+    }
+
+    class InMemoryWarehouseManagement implements WarehouseManagement {
+
+        @Override
+        public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+            awaitLookup();
+
+            return orderVerificationSearchResponse;
+        }
+
+        @Override
+        public PickSearchResponse search(PickSearchRequest request) {
+            awaitLookup();
+
+            int orderNumber = request.searchParameters.orderNumber;
+
+            if (request.searchParameters.pickIds == null) {
+                return orderNumber < pickSearchResponsesByOrderNumber.length ? pickSearchResponsesByOrderNumber[orderNumber] : new PickSearchResponse();
+            }
+
+            PickSearchResponse response = new PickSearchResponse();
+            response.picks = new ArrayList<>();
+
+            for (Integer pickId : request.searchParameters.pickIds) {
+                response.picks.add(picksById.get(pickId));
+            }
+
+            return response;
+        }
+
+        @Override
+        public PickSaveResponse save(PickSaveRequest request) {
+            return new PickSaveResponse();
+        }
+    }
+
+    class InMemoryConsolidation implements Consolidation {
+
+        @Override
+        public ConsolidatableOrder status(int orderNumber, String transactionId) {
+            awaitLookup();
+
+            return orderNumber < consolidatableOrdersByNumber.length ? consolidatableOrdersByNumber[orderNumber] : null;
+        }
+
+        @Override
+        public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        }
+
+        @Override
+        public void hold(int orderNumber, String transactionId) {
+        }
+    }
+}
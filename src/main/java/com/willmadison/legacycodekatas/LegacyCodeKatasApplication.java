@@ -1,47 +1,264 @@
 package com.willmadison.legacycodekatas;
 
 
+import com.willmadison.legacycodekatas.fulfillment.capture.CapturingConsolidation;
+import com.willmadison.legacycodekatas.fulfillment.capture.CapturingOrderService;
+import com.willmadison.legacycodekatas.fulfillment.capture.CapturingQueue;
+import com.willmadison.legacycodekatas.fulfillment.capture.CapturingWarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.capture.TrafficRecorder;
+import com.willmadison.legacycodekatas.fulfillment.capture.configuration.CaptureConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.FlightRecordingEndpoint;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.FlightRecorderConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.ChangeTrackingOrderService;
 import com.willmadison.legacycodekatas.fulfillment.orders.DefaultOrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.EmbeddedOrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.LimitedOrderService;
 import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.RecordingOrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.configuration.ChangeTrackingConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.configuration.OrderStoreConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.resilience.ConcurrencyLimiter;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DeadlineExecutor;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.resilience.SingleFlight;
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.CircuitBreakerConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.DeadlineConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.LimiterConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.SingleFlightConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.simulator.PickCompletionLoadGenerator;
+import com.willmadison.legacycodekatas.fulfillment.simulator.SimulatedConsolidation;
+import com.willmadison.legacycodekatas.fulfillment.simulator.SimulatedOrderService;
+import com.willmadison.legacycodekatas.fulfillment.simulator.SimulatedWarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.simulator.SimulationReport;
+import com.willmadison.legacycodekatas.fulfillment.simulator.WarehouseSimulator;
+import com.willmadison.legacycodekatas.fulfillment.simulator.configuration.SimulatorConfiguration;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.CircuitBreakingConsolidation;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.DeadlineConsolidation;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.DefaultConsolidation;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.LimitedConsolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.RecordingConsolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.SingleFlightConsolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.WriteBehindConsolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.configuration.WriteBehindConfiguration;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.CircuitBreakingWarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.DeadlineWarehouseManagement;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.management.DefaultWarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.LimitedWarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.RecordingWarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.SingleFlightWarehouseManagement;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.management.WarehouseManagement;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.PartitionedMessageLog;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.configuration.MessageLogConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPoolEndpoint;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolsConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-import java.util.LinkedList;
+import java.time.Clock;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 @SpringBootApplication
 @EnableScheduling
 public class LegacyCodeKatasApplication {
 
     @Bean
-    public OrderService orderService() {
-        return new DefaultOrderService();
+    public OrderService orderService(Optional<WarehouseSimulator> simulator, Optional<EmbeddedOrderService> embeddedOrderService,
+                                     Optional<TrafficRecorder> trafficRecorder, LimiterConfiguration limiterConfiguration, FlightRecorderConfiguration flightRecorderConfiguration,
+                                     ChangeTrackingConfiguration changeTrackingConfiguration, MeterRegistry registry) {
+        OrderService orderService;
+
+        if (simulator.isPresent()) {
+            orderService = new SimulatedOrderService(simulator.get());
+        } else if (embeddedOrderService.isPresent()) {
+            orderService = embeddedOrderService.get();
+        } else {
+            orderService = new DefaultOrderService();
+        }
+
+        if (trafficRecorder.isPresent()) {
+            orderService = new CapturingOrderService(orderService, trafficRecorder.get());
+        }
+
+        if (limiterConfiguration.enabled) {
+            orderService = new LimitedOrderService(orderService, new ConcurrencyLimiter("orders", limiterConfiguration, registry));
+        }
+
+        if (flightRecorderConfiguration.enabled) {
+            orderService = new RecordingOrderService(orderService);
+        }
+
+        if (changeTrackingConfiguration.enabled) {
+            orderService = new ChangeTrackingOrderService(orderService, changeTrackingConfiguration.partialUpdatesEnabled, registry);
+        }
+
+        return orderService;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "orders.store", name = "enabled", havingValue = "true")
+    public EmbeddedOrderService embeddedOrderService(OrderStoreConfiguration orderStoreConfiguration, MeterRegistry registry) {
+        return new EmbeddedOrderService(orderStoreConfiguration, registry);
+    }
+
+    @Bean
+    public WarehouseManagement warehouseManagement(Optional<WarehouseSimulator> simulator, Optional<TrafficRecorder> trafficRecorder,
+                                                   LimiterConfiguration limiterConfiguration,
+                                                   CircuitBreakerConfiguration circuitBreakerConfiguration, DeadlineConfiguration deadlineConfiguration,
+                                                   DeadlineExecutor deadlineExecutor, SingleFlightConfiguration singleFlightConfiguration,
+                                                   FlightRecorderConfiguration flightRecorderConfiguration, MeterRegistry registry) {
+        WarehouseManagement wms = simulator.isPresent() ? new SimulatedWarehouseManagement(simulator.get()) : new DefaultWarehouseManagement();
+
+        if (trafficRecorder.isPresent()) {
+            wms = new CapturingWarehouseManagement(wms, trafficRecorder.get());
+        }
+
+        if (circuitBreakerConfiguration.enabled) {
+            wms = new CircuitBreakingWarehouseManagement(wms, circuitBreakerConfiguration, registry);
+        }
+
+        if (limiterConfiguration.enabled) {
+            wms = new LimitedWarehouseManagement(wms, new ConcurrencyLimiter("wms", limiterConfiguration, registry));
+        }
+
+        if (deadlineConfiguration.enabled) {
+            wms = new DeadlineWarehouseManagement(wms, deadlineExecutor);
+        }
+
+        if (singleFlightConfiguration.enabled) {
+            wms = new SingleFlightWarehouseManagement(wms, new SingleFlight(registry,
+                    DownstreamOperation.WMS_ORDER_VERIFICATION_SEARCH, DownstreamOperation.WMS_PICK_SEARCH));
+        }
+
+        if (flightRecorderConfiguration.enabled) {
+            wms = new RecordingWarehouseManagement(wms);
+        }
+
+        return wms;
+    }
+
+    @Bean
+    public Consolidation consolidation(Optional<WarehouseSimulator> simulator, Optional<TrafficRecorder> trafficRecorder,
+                                       LimiterConfiguration limiterConfiguration,
+                                       CircuitBreakerConfiguration circuitBreakerConfiguration, DeadlineConfiguration deadlineConfiguration,
+                                       DeadlineExecutor deadlineExecutor, SingleFlightConfiguration singleFlightConfiguration,
+                                       WriteBehindConfiguration writeBehindConfiguration,
+                                       FlightRecorderConfiguration flightRecorderConfiguration, MeterRegistry registry) {
+        Consolidation consolidation = simulator.isPresent() ? new SimulatedConsolidation(simulator.get()) : new DefaultConsolidation();
+
+        if (trafficRecorder.isPresent()) {
+            consolidation = new CapturingConsolidation(consolidation, trafficRecorder.get());
+        }
+
+        if (circuitBreakerConfiguration.enabled) {
+            consolidation = new CircuitBreakingConsolidation(consolidation, circuitBreakerConfiguration, registry);
+        }
+
+        if (limiterConfiguration.enabled) {
+            consolidation = new LimitedConsolidation(consolidation, new ConcurrencyLimiter("consolidation", limiterConfiguration, registry));
+        }
+
+        if (deadlineConfiguration.enabled) {
+            consolidation = new DeadlineConsolidation(consolidation, deadlineExecutor);
+        }
+
+        if (singleFlightConfiguration.enabled) {
+            consolidation = new SingleFlightConsolidation(consolidation, new SingleFlight(registry,
+                    DownstreamOperation.CONSOLIDATION_STATUS));
+        }
+
+        if (flightRecorderConfiguration.enabled) {
+            consolidation = new RecordingConsolidation(consolidation);
+        }
+
+        if (writeBehindConfiguration.enabled) {
+            consolidation = new WriteBehindConsolidation(consolidation, writeBehindConfiguration, registry);
+        }
+
+        return consolidation;
+    }
+
+    @Bean
+    public DeadlineExecutor deadlineExecutor(DeadlineConfiguration deadlineConfiguration, MeterRegistry registry) {
+        return new DeadlineExecutor(deadlineConfiguration, registry);
+    }
+
+    @Bean
+    public Queue<Message> queue(Optional<TrafficRecorder> trafficRecorder) {
+        Queue<Message> queue = new ConcurrentLinkedQueue<>();
+        return trafficRecorder.isPresent() ? new CapturingQueue(queue, trafficRecorder.get()) : queue;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "capture", name = "enabled", havingValue = "true")
+    public TrafficRecorder trafficRecorder(CaptureConfiguration captureConfiguration, Clock clock) {
+        return new TrafficRecorder(captureConfiguration, clock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "pick-completion.log", name = "enabled", havingValue = "true")
+    public PartitionedMessageLog pickCompletionLog(MessageLogConfiguration pickCompletionLogConfiguration, MeterRegistry registry) {
+        return new PartitionedMessageLog("pick-completion", pickCompletionLogConfiguration, registry);
+    }
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public WorkerPools workerPools(WorkerPoolsConfiguration workerPoolsConfiguration, MeterRegistry registry) {
+        return new WorkerPools(workerPoolsConfiguration, registry);
     }
 
     @Bean
-    public WarehouseManagement warehouseManagement() {
-        return new DefaultWarehouseManagement();
+    public WorkerPoolEndpoint workerPoolEndpoint(WorkerPools workerPools) {
+        return new WorkerPoolEndpoint(workerPools);
     }
 
     @Bean
-    public Consolidation consolidation() {
-        return new DefaultConsolidation();
+    public StartupProbe startupProbe(StartupConfiguration startupConfiguration, MeterRegistry registry) {
+        return new StartupProbe(startupConfiguration, registry);
     }
 
     @Bean
-    public Queue<Message> queue() {
-        return new LinkedList<>();
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecorderConfiguration flightRecorderConfiguration) {
+        return new FlightRecordingEndpoint(flightRecorderConfiguration);
+    }
+
+    @Bean
+    @Profile("simulator")
+    public WarehouseSimulator warehouseSimulator(SimulatorConfiguration simulatorConfiguration, MeterRegistry registry) {
+        return new WarehouseSimulator(simulatorConfiguration, registry);
+    }
+
+    @Bean
+    @Profile("simulator")
+    public PickCompletionLoadGenerator pickCompletionLoadGenerator(WarehouseSimulator simulator, Queue<Message> queue,
+                                                                   Optional<PartitionedMessageLog> pickCompletionLog,
+                                                                   SimulatorConfiguration simulatorConfiguration, MeterRegistry registry) {
+        return new PickCompletionLoadGenerator(simulator, queue, pickCompletionLog, simulatorConfiguration, registry);
+    }
+
+    @Bean
+    @Profile("simulator")
+    public SimulationReport simulationReport(WarehouseSimulator simulator, Queue<Message> queue, MeterRegistry registry) {
+        return new SimulationReport(simulator, queue, registry);
     }
 
     @Bean
@@ -50,6 +267,85 @@ public class LegacyCodeKatasApplication {
         return new ExceptionConfiguration();
     }
 
+    @Bean
+    @ConfigurationProperties(prefix = "pick-completion.log")
+    public MessageLogConfiguration pickCompletionLogConfiguration() {
+        return new MessageLogConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "workers")
+    public WorkerPoolsConfiguration workerPoolsConfiguration() {
+        return new WorkerPoolsConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "orders.store")
+    public OrderStoreConfiguration orderStoreConfiguration() {
+        return new OrderStoreConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "orders.change-tracking")
+    public ChangeTrackingConfiguration changeTrackingConfiguration() {
+        return new ChangeTrackingConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "downstream.limiter")
+    public LimiterConfiguration limiterConfiguration() {
+        return new LimiterConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "downstream.breaker")
+    public CircuitBreakerConfiguration circuitBreakerConfiguration() {
+        return new CircuitBreakerConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "downstream.deadline")
+    public DeadlineConfiguration deadlineConfiguration() {
+        return new DeadlineConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "downstream.single-flight")
+    public SingleFlightConfiguration singleFlightConfiguration() {
+        return new SingleFlightConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "consolidation.write-behind")
+    public WriteBehindConfiguration writeBehindConfiguration() {
+        return new WriteBehindConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "diagnostics.flight-recorder")
+    public FlightRecorderConfiguration flightRecorderConfiguration() {
+        return new FlightRecorderConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "capture")
+    public CaptureConfiguration captureConfiguration() {
+        return new CaptureConfiguration();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "startup")
+    public StartupConfiguration startupConfiguration() {
+        return new StartupConfiguration();
+    }
+
+    @Bean
+    @Profile("simulator")
+    @ConfigurationProperties(prefix = "simulator")
+    public SimulatorConfiguration simulatorConfiguration() {
+        return new SimulatorConfiguration();
+    }
+
     public static void main(String ...args) {
         SpringApplication.run(LegacyCodeKatasApplication.class, args);
     }
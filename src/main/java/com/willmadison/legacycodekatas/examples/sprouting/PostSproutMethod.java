@@ -2,23 +2,81 @@ package com.willmadison.legacycodekatas.examples.sprouting;
 
 import com.willmadison.legacycodekatas.fulfillment.orders.Order;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class PostSproutMethod {
 
+    private static final Duration STALENESS = Duration.ofHours(4);
+
+    private final StaleOrderIndex index;
+
+    private final Clock clock;
+
+    private LocalDateTime escalatedThrough = LocalDateTime.MIN;
+
+    private final Map<Integer, Order> savedBehindWatermark = new LinkedHashMap<>();
+
+    public PostSproutMethod() {
+        this(new StaleOrderIndex(), Clock.systemDefaultZone());
+    }
+
+    public PostSproutMethod(StaleOrderIndex index, Clock clock) {
+        this.index = index;
+        this.clock = clock;
+    }
+
     public void escalate(Collection<Order> orders) {
         Collection<Order> stales = staleOrders(orders);
         stales.forEach(this::escalateOrder);
     }
 
+    /**
+     * Indexes the order, remembering it for the next {@link #escalateNewlyStale()} if it arrives with a lastUpdate the
+     * watermark has already passed.
+     */
+    public synchronized void orderSaved(Order order) {
+        index.save(order);
+
+        if (order.lastUpdate.isBefore(escalatedThrough)) {
+            savedBehindWatermark.put(order.number, order);
+        } else {
+            savedBehindWatermark.remove(order.number);
+        }
+    }
+
+    /**
+     * Escalates only the orders that have gone stale since the previous call, pulling them from the index instead of
+     * rescanning every order. Orders saved since the previous call with a lastUpdate already behind the watermark are
+     * escalated too, since no range past the watermark will ever hold them.
+     */
+    public synchronized Collection<Order> escalateNewlyStale() {
+        LocalDateTime threshold = LocalDateTime.now(clock).minus(STALENESS);
+
+        List<Order> newlyStale = new ArrayList<>(savedBehindWatermark.values());
+        savedBehindWatermark.clear();
+
+        newlyStale.addAll(index.updatedBetween(escalatedThrough, threshold));
+        escalatedThrough = threshold;
+
+        newlyStale.forEach(this::escalateOrder);
+
+        return newlyStale;
+    }
+
     private void escalateOrder(Order order) {
         // escalation logic here...
     }
 
     public Collection<Order> staleOrders(Collection<Order> orders) {
-        return orders.stream().filter(o -> o.lastUpdate.isBefore(LocalDateTime.now().minusHours(4))).collect(Collectors.toList());
+        LocalDateTime threshold = LocalDateTime.now(clock).minus(STALENESS);
+        return orders.stream().filter(o -> o.lastUpdate.isBefore(threshold)).collect(Collectors.toList());
     }
 }
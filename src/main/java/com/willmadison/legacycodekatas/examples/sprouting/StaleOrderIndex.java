@@ -0,0 +1,104 @@
+package com.willmadison.legacycodekatas.examples.sprouting;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Orders kept sorted by (lastUpdate, order number) so that "everything last updated before T" is a range query rather
+ * than a scan of every order. The index is updated as orders are saved; an order's previous entry is replaced
+ * atomically when its lastUpdate moves.
+ */
+public class StaleOrderIndex {
+
+    private final ConcurrentNavigableMap<Key, Order> ordersByLastUpdate = new ConcurrentSkipListMap<>();
+
+    private final Map<Integer, Key> keysByOrderNumber = new ConcurrentHashMap<>();
+
+    public void save(Order order) {
+        Key key = new Key(order.lastUpdate, order.number);
+
+        keysByOrderNumber.compute(order.number, (number, previous) -> {
+            if (previous != null) {
+                ordersByLastUpdate.remove(previous);
+            }
+
+            ordersByLastUpdate.put(key, order);
+            return key;
+        });
+    }
+
+    public void remove(int orderNumber) {
+        keysByOrderNumber.computeIfPresent(orderNumber, (number, previous) -> {
+            ordersByLastUpdate.remove(previous);
+            return null;
+        });
+    }
+
+    public Collection<Order> updatedBefore(LocalDateTime threshold) {
+        return new ArrayList<>(ordersByLastUpdate.headMap(Key.lowest(threshold)).values());
+    }
+
+    /**
+     * Orders last updated at or after {@code from} but before {@code to}.
+     */
+    public Collection<Order> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(ordersByLastUpdate.subMap(Key.lowest(from), Key.lowest(to)).values());
+    }
+
+    public int size() {
+        return keysByOrderNumber.size();
+    }
+
+    private static final class Key implements Comparable<Key> {
+
+        private final LocalDateTime lastUpdate;
+
+        private final int orderNumber;
+
+        private Key(LocalDateTime lastUpdate, int orderNumber) {
+            this.lastUpdate = Objects.requireNonNull(lastUpdate, "lastUpdate");
+            this.orderNumber = orderNumber;
+        }
+
+        private static Key lowest(LocalDateTime lastUpdate) {
+            return new Key(lastUpdate, Integer.MIN_VALUE);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byLastUpdate = lastUpdate.compareTo(other.lastUpdate);
+            return byLastUpdate != 0 ? byLastUpdate : Integer.compare(orderNumber, other.orderNumber);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return orderNumber == key.orderNumber && lastUpdate.equals(key.lastUpdate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastUpdate, orderNumber);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reduces requests to keys that match between a capture and its replay: everything that identifies the request and
+ * nothing (transaction ids, timestamps) that differs from one run to the next. Collections are sorted, since the
+ * order they were built in is not part of the request.
+ */
+final class CallKeys {
+
+    static final String LATEST_CHANGE = "latest";
+
+    private CallKeys() {
+    }
+
+    static String order(int orderNumber) {
+        return "order=" + orderNumber;
+    }
+
+    static String picks(com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters searchParameters) {
+        return "order=" + searchParameters.orderNumber + " picks=" + sorted(searchParameters.pickIds);
+    }
+
+    static String pick(Pick pick) {
+        return "pick=" + pick.id + " order=" + pick.orderNumber + " item=" + pick.orderItemId + " status=" + pick.status +
+                " straggled=" + pick.straggled;
+    }
+
+    static String label(String orderNumber, String itemId, Label label) {
+        return "order=" + orderNumber + " item=" + itemId + " label=" + (label != null ? label.label : null);
+    }
+
+    static String find(com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters searchParameters) {
+        return "ids=" + sorted(searchParameters.ids) + " statuses=" + sorted(searchParameters.orderStatuses) +
+                " types=" + sorted(searchParameters.orderTypes) + " orders=" + sorted(searchParameters.orderNumbers);
+    }
+
+    static String findPage(com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters searchParameters,
+                           String continuationToken, int pageSize) {
+        return find(searchParameters) + " after=" + OrderPage.resumeAfter(continuationToken) + " size=" + pageSize;
+    }
+
+    static String order(Order order) {
+        List<String> items = new ArrayList<>();
+
+        if (order.items != null) {
+            for (OrderItem item : order.items) {
+                items.add(item(item));
+            }
+
+            items.sort(Comparator.naturalOrder());
+        }
+
+        return orderStatus(order) + " items=" + items;
+    }
+
+    static String orderStatus(Order order) {
+        return "order=" + order.number + " status=" + order.status;
+    }
+
+    static String changesSince(long sequence, int limit) {
+        return "since=" + sequence + " limit=" + limit;
+    }
+
+    static String item(OrderItem item) {
+        return item.id + ":" + item.status + ":" + item.shipped + ":" + item.released + ":" + item.numStraggles;
+    }
+
+    private static <T extends Comparable<? super T>> List<T> sorted(Collection<T> values) {
+        if (values == null) {
+            return null;
+        }
+
+        List<T> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.naturalOrder());
+        return sorted;
+    }
+}
@@ -0,0 +1,32 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+/**
+ * The calls a traffic capture records. Writes are the decisions a sweep makes, and are what a replay compares.
+ */
+public enum CapturedCall {
+    WMS_ORDER_VERIFICATION_SEARCH(false),
+    WMS_PICK_SEARCH(false),
+    WMS_PICK_SAVE(true),
+    CONSOLIDATION_STATUS(false),
+    CONSOLIDATION_LABEL_UPDATE(true),
+    CONSOLIDATION_HOLD(true),
+    ORDERS_FIND(false),
+    ORDERS_FIND_PAGE(false),
+    ORDERS_SAVE(true),
+    ORDERS_ITEM_SAVE(true),
+    ORDERS_STATUS_SAVE(true),
+    ORDERS_LATEST_CHANGE(false),
+    ORDERS_CHANGES_SINCE(false),
+    MESSAGE_PUBLISHED(false),
+    MESSAGES_DRAINED(false);
+
+    private final boolean write;
+
+    CapturedCall(boolean write) {
+        this.write = write;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+}
@@ -0,0 +1,35 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+
+public class CapturingConsolidation implements Consolidation {
+
+    private final Consolidation delegate;
+
+    private final TrafficRecorder recorder;
+
+    public CapturingConsolidation(Consolidation delegate, TrafficRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return recorder.call(CapturedCall.CONSOLIDATION_STATUS, CallKeys.order(orderNumber),
+                () -> delegate.status(orderNumber, transactionId));
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        recorder.run(CapturedCall.CONSOLIDATION_LABEL_UPDATE, CallKeys.label(orderNumber, itemId, label),
+                () -> delegate.updateOrderItemLabel(orderNumber, itemId, label));
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        recorder.run(CapturedCall.CONSOLIDATION_HOLD, CallKeys.order(orderNumber),
+                () -> delegate.hold(orderNumber, transactionId));
+    }
+}
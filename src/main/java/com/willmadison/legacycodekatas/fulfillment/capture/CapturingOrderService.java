@@ -0,0 +1,76 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChange;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeFeed;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class CapturingOrderService implements OrderService {
+
+    private final OrderService delegate;
+
+    private final TrafficRecorder recorder;
+
+    public CapturingOrderService(OrderService delegate, TrafficRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        return recorder.call(CapturedCall.ORDERS_FIND, CallKeys.find(searchParameters), () -> delegate.find(searchParameters));
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        return recorder.call(CapturedCall.ORDERS_FIND_PAGE, CallKeys.findPage(searchParameters, continuationToken, pageSize),
+                () -> delegate.findPage(searchParameters, continuationToken, pageSize));
+    }
+
+    @Override
+    public void save(Order order) {
+        recorder.run(CapturedCall.ORDERS_SAVE, CallKeys.order(order), () -> delegate.save(order));
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        recorder.run(CapturedCall.ORDERS_ITEM_SAVE, CallKeys.item(orderItem), () -> delegate.save(orderItem));
+    }
+
+    @Override
+    public void saveStatus(Order order) {
+        recorder.run(CapturedCall.ORDERS_STATUS_SAVE, CallKeys.orderStatus(order), () -> delegate.saveStatus(order));
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return delegate.changeFeed().map(CapturingOrderChangeFeed::new);
+    }
+
+    private class CapturingOrderChangeFeed implements OrderChangeFeed {
+
+        private final OrderChangeFeed delegate;
+
+        CapturingOrderChangeFeed(OrderChangeFeed delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long latestSequence() {
+            return recorder.call(CapturedCall.ORDERS_LATEST_CHANGE, CallKeys.LATEST_CHANGE, delegate::latestSequence);
+        }
+
+        @Override
+        public List<OrderChange> changesSince(long sequence, int limit) {
+            return recorder.call(CapturedCall.ORDERS_CHANGES_SINCE, CallKeys.changesSince(sequence, limit),
+                    () -> delegate.changesSince(sequence, limit));
+        }
+    }
+}
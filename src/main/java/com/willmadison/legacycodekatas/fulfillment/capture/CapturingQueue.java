@@ -0,0 +1,61 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Queue;
+
+/**
+ * Captures every message published to the wrapped queue, and every time a consumer drains it (polls it empty), so a
+ * replay can hand each drain exactly the messages it consumed when it was captured.
+ */
+public class CapturingQueue extends AbstractQueue<Message> {
+
+    private final Queue<Message> delegate;
+
+    private final TrafficRecorder recorder;
+
+    public CapturingQueue(Queue<Message> delegate, TrafficRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean offer(Message message) {
+        long publishedAt = System.nanoTime();
+        boolean accepted = delegate.offer(message);
+
+        if (accepted) {
+            recorder.published(message.getBody(), message.getKey(), publishedAt);
+        }
+
+        return accepted;
+    }
+
+    @Override
+    public Message poll() {
+        Message message = delegate.poll();
+
+        if (message == null) {
+            recorder.drained();
+        }
+
+        return message;
+    }
+
+    @Override
+    public Message peek() {
+        return delegate.peek();
+    }
+
+    @Override
+    public Iterator<Message> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+}
@@ -0,0 +1,38 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerificationSearchRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerificationSearchResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSaveRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSaveResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSearchRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSearchResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.WarehouseManagement;
+
+public class CapturingWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseManagement delegate;
+
+    private final TrafficRecorder recorder;
+
+    public CapturingWarehouseManagement(WarehouseManagement delegate, TrafficRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return recorder.call(CapturedCall.WMS_ORDER_VERIFICATION_SEARCH, CallKeys.order(request.searchParameters.orderNumber),
+                () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return recorder.call(CapturedCall.WMS_PICK_SEARCH, CallKeys.picks(request.searchParameters),
+                () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        return recorder.call(CapturedCall.WMS_PICK_SAVE, CallKeys.pick(request.pick), () -> delegate.save(request));
+    }
+}
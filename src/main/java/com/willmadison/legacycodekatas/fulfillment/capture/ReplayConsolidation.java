@@ -0,0 +1,30 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+
+class ReplayConsolidation implements Consolidation {
+
+    private final TrafficReplay replay;
+
+    ReplayConsolidation(TrafficReplay replay) {
+        this.replay = replay;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return replay.read(CapturedCall.CONSOLIDATION_STATUS, CallKeys.order(orderNumber),
+                response -> response != null ? TrafficCodec.decode(response, ConsolidatableOrder.class) : null);
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        replay.write(CapturedCall.CONSOLIDATION_LABEL_UPDATE, CallKeys.label(orderNumber, itemId, label));
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        replay.write(CapturedCall.CONSOLIDATION_HOLD, CallKeys.order(orderNumber));
+    }
+}
@@ -0,0 +1,76 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChange;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeFeed;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Answers order reads from the recording. The change feed is only offered if the captured store had one, so the
+ * code under test chooses between incremental and full sweeps as it did when it was captured.
+ */
+class ReplayOrderService implements OrderService {
+
+    private final TrafficReplay replay;
+
+    private final Optional<OrderChangeFeed> changeFeed;
+
+    ReplayOrderService(TrafficReplay replay) {
+        this.replay = replay;
+        this.changeFeed = replay.hasRecorded(CapturedCall.ORDERS_LATEST_CHANGE) ? Optional.of(new ReplayOrderChangeFeed()) : Optional.empty();
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        return replay.read(CapturedCall.ORDERS_FIND, CallKeys.find(searchParameters),
+                response -> TrafficCodec.decode(response, TrafficCodec.ORDERS));
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        return replay.read(CapturedCall.ORDERS_FIND_PAGE, CallKeys.findPage(searchParameters, continuationToken, pageSize),
+                TrafficCodec::decodePage);
+    }
+
+    @Override
+    public void save(Order order) {
+        replay.write(CapturedCall.ORDERS_SAVE, CallKeys.order(order));
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        replay.write(CapturedCall.ORDERS_ITEM_SAVE, CallKeys.item(orderItem));
+    }
+
+    @Override
+    public void saveStatus(Order order) {
+        replay.write(CapturedCall.ORDERS_STATUS_SAVE, CallKeys.orderStatus(order));
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return changeFeed;
+    }
+
+    private class ReplayOrderChangeFeed implements OrderChangeFeed {
+
+        @Override
+        public long latestSequence() {
+            return replay.read(CapturedCall.ORDERS_LATEST_CHANGE, CallKeys.LATEST_CHANGE,
+                    response -> TrafficCodec.decode(response, Long.class));
+        }
+
+        @Override
+        public List<OrderChange> changesSince(long sequence, int limit) {
+            return replay.read(CapturedCall.ORDERS_CHANGES_SINCE, CallKeys.changesSince(sequence, limit),
+                    response -> TrafficCodec.decode(response, TrafficCodec.ORDER_CHANGES));
+        }
+    }
+}
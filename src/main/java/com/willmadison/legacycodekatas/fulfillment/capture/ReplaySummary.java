@@ -0,0 +1,136 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * How the writes made during a replay compare with the writes in the recording, per kind of write, and how many
+ * reads the recording had no answer for.
+ */
+public class ReplaySummary {
+
+    private static final int MAX_EXAMPLES = 5;
+
+    private final Map<CapturedCall, Decisions> decisions;
+
+    private final long misses;
+
+    ReplaySummary(Map<CapturedCall, Decisions> decisions, long misses) {
+        this.decisions = Collections.unmodifiableMap(decisions);
+        this.misses = misses;
+    }
+
+    public Map<CapturedCall, Decisions> getDecisions() {
+        return decisions;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return whether the replay made exactly the recorded writes, and never read anything that wasn't recorded
+     */
+    public boolean isIdentical() {
+        if (misses > 0) {
+            return false;
+        }
+
+        for (Decisions decision : decisions.values()) {
+            if (decision.getMissing() > 0 || decision.getUnexpected() > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static class Decisions {
+
+        private final int recorded;
+
+        private final int replayed;
+
+        private final int matched;
+
+        private final List<String> missingExamples;
+
+        private final List<String> unexpectedExamples;
+
+        Decisions(int recorded, int replayed, int matched, List<String> missingExamples, List<String> unexpectedExamples) {
+            this.recorded = recorded;
+            this.replayed = replayed;
+            this.matched = matched;
+            this.missingExamples = missingExamples;
+            this.unexpectedExamples = unexpectedExamples;
+        }
+
+        static Decisions compare(Map<String, Integer> recorded, Map<String, Integer> replayed) {
+            int recordedCount = 0;
+            int replayedCount = 0;
+            int matched = 0;
+
+            List<String> missingExamples = new ArrayList<>();
+            List<String> unexpectedExamples = new ArrayList<>();
+
+            Set<String> keys = new HashSet<>(recorded.keySet());
+            keys.addAll(replayed.keySet());
+
+            for (String key : new TreeSet<>(keys)) {
+                int timesRecorded = recorded.getOrDefault(key, 0);
+                int timesReplayed = replayed.getOrDefault(key, 0);
+
+                recordedCount += timesRecorded;
+                replayedCount += timesReplayed;
+                matched += Math.min(timesRecorded, timesReplayed);
+
+                if (timesRecorded > timesReplayed && missingExamples.size() < MAX_EXAMPLES) {
+                    missingExamples.add(key);
+                } else if (timesReplayed > timesRecorded && unexpectedExamples.size() < MAX_EXAMPLES) {
+                    unexpectedExamples.add(key);
+                }
+            }
+
+            return new Decisions(recordedCount, replayedCount, matched, missingExamples, unexpectedExamples);
+        }
+
+        public int getRecorded() {
+            return recorded;
+        }
+
+        public int getReplayed() {
+            return replayed;
+        }
+
+        public int getMatched() {
+            return matched;
+        }
+
+        /**
+         * @return recorded writes the replay didn't make
+         */
+        public int getMissing() {
+            return recorded - matched;
+        }
+
+        /**
+         * @return writes the replay made that weren't recorded
+         */
+        public int getUnexpected() {
+            return replayed - matched;
+        }
+
+        public List<String> getMissingExamples() {
+            return missingExamples;
+        }
+
+        public List<String> getUnexpectedExamples() {
+            return unexpectedExamples;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerificationSearchRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerificationSearchResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSaveRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSaveResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSearchRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSearchResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.WarehouseManagement;
+
+class ReplayWarehouseManagement implements WarehouseManagement {
+
+    private final TrafficReplay replay;
+
+    ReplayWarehouseManagement(TrafficReplay replay) {
+        this.replay = replay;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return replay.read(CapturedCall.WMS_ORDER_VERIFICATION_SEARCH, CallKeys.order(request.searchParameters.orderNumber),
+                response -> TrafficCodec.decode(response, OrderVerificationSearchResponse.class));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return replay.read(CapturedCall.WMS_PICK_SEARCH, CallKeys.picks(request.searchParameters),
+                response -> TrafficCodec.decode(response, PickSearchResponse.class));
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        replay.write(CapturedCall.WMS_PICK_SAVE, CallKeys.pick(request.pick));
+        return new PickSaveResponse();
+    }
+}
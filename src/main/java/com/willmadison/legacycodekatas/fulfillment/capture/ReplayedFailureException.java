@@ -0,0 +1,11 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+/**
+ * A failure a downstream call ended in when it was captured, raised again by the replay.
+ */
+public class ReplayedFailureException extends RuntimeException {
+
+    public ReplayedFailureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+public class TrafficCaptureException extends RuntimeException {
+
+    public TrafficCaptureException(String message) {
+        super(message);
+    }
+
+    public TrafficCaptureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,110 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChange;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JSON encoding of captured responses. Timestamps are written as ISO-8601 strings.
+ */
+final class TrafficCodec {
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new SimpleModule()
+                    .addSerializer(LocalDateTime.class, ToStringSerializer.instance)
+                    .addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer()))
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .addMixIn(OrderChange.class, OrderChangeMixIn.class);
+
+    static final JavaType ORDERS = mapper.getTypeFactory().constructCollectionType(Set.class, Order.class);
+
+    static final JavaType ORDER_CHANGES = mapper.getTypeFactory().constructCollectionType(List.class, OrderChange.class);
+
+    private TrafficCodec() {
+    }
+
+    static String encode(Object response) {
+        if (response == null) {
+            return null;
+        }
+
+        try {
+            if (response instanceof OrderPage) {
+                OrderPage page = (OrderPage) response;
+                return mapper.writeValueAsString(new CapturedPage(page.getOrders(), page.getContinuationToken()));
+            }
+
+            return mapper.writeValueAsString(response);
+        } catch (IOException e) {
+            throw new TrafficCaptureException("Unable to encode a " + response.getClass().getSimpleName() + " response", e);
+        }
+    }
+
+    static <T> T decode(String response, JavaType type) {
+        try {
+            return mapper.readValue(response, type);
+        } catch (IOException e) {
+            throw new TrafficCaptureException("Unable to decode a recorded " + type + " response", e);
+        }
+    }
+
+    static <T> T decode(String response, Class<T> type) {
+        return decode(response, mapper.getTypeFactory().constructType(type));
+    }
+
+    static OrderPage decodePage(String response) {
+        CapturedPage page = decode(response, CapturedPage.class);
+        return new OrderPage(page.orders, page.continuationToken);
+    }
+
+    static class LocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+        LocalDateTimeDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return LocalDateTime.parse(parser.getValueAsString());
+        }
+    }
+
+    abstract static class OrderChangeMixIn {
+
+        @JsonCreator
+        OrderChangeMixIn(@JsonProperty("sequence") long sequence, @JsonProperty("orderNumber") int orderNumber) {
+        }
+    }
+
+    static class CapturedPage {
+
+        public List<Order> orders;
+
+        public String continuationToken;
+
+        CapturedPage() {
+        }
+
+        CapturedPage(List<Order> orders, String continuationToken) {
+            this.orders = orders;
+            this.continuationToken = continuationToken;
+        }
+    }
+}
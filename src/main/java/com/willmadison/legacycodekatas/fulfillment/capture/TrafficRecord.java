@@ -0,0 +1,62 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+/**
+ * One captured call: when it started relative to the start of the capture, how long it took, the request it was
+ * made with and what came back.
+ */
+public class TrafficRecord {
+
+    private final CapturedCall call;
+
+    private final long offsetNanos;
+
+    private final long durationNanos;
+
+    private final String key;
+
+    private final String response;
+
+    private final String error;
+
+    TrafficRecord(CapturedCall call, long offsetNanos, long durationNanos, String key, String response, String error) {
+        this.call = call;
+        this.offsetNanos = offsetNanos;
+        this.durationNanos = durationNanos;
+        this.key = key;
+        this.response = response;
+        this.error = error;
+    }
+
+    public CapturedCall getCall() {
+        return call;
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * The request, reduced to the parts that identify it across runs (no transaction ids or timestamps).
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The response as JSON, or {@code null} for calls that return nothing or failed.
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * The failure the call ended in, or {@code null} if it succeeded.
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,169 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.capture.configuration.CaptureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes every captured call, with its timing, request key and response, to a gzipped capture file that
+ * {@link TrafficRecording#read(Path)} reads back. Responses are encoded on the calling thread; only the write itself
+ * is serialized.
+ * <p>
+ * Capture must never break the calls it observes: if the file can't be written, recording stops (with a single
+ * error logged) and the calls carry on uncaptured.
+ */
+public class TrafficRecorder implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficRecorder.class);
+
+    static final int MAGIC = 0x54524643;
+
+    static final int VERSION = 1;
+
+    private final Path path;
+
+    private final DataOutputStream out;
+
+    private final long startNanos = System.nanoTime();
+
+    private long records;
+
+    private boolean stopped;
+
+    public TrafficRecorder(CaptureConfiguration configuration, Clock clock) {
+        this(Paths.get(configuration.directory, "traffic-" + clock.millis() + ".capture"), clock);
+    }
+
+    public TrafficRecorder(Path path, Clock clock) {
+        this.path = path;
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path), 1 << 16), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(clock.millis());
+        } catch (IOException e) {
+            throw new TrafficCaptureException("Unable to start a traffic capture in " + path, e);
+        }
+
+        logger.info("Capturing downstream traffic to {}...", path);
+    }
+
+    public <T> T call(CapturedCall call, String key, Supplier<T> operation) {
+        long start = System.nanoTime();
+
+        T response;
+
+        try {
+            response = operation.get();
+        } catch (RuntimeException e) {
+            record(call, start, System.nanoTime() - start, key, null, describe(e));
+            throw e;
+        }
+
+        record(call, start, System.nanoTime() - start, key, response, null);
+        return response;
+    }
+
+    public void run(CapturedCall call, String key, Runnable operation) {
+        call(call, key, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param publishedAt when the message was offered, by {@link System#nanoTime()}
+     */
+    public void published(String body, Integer key, long publishedAt) {
+        record(CapturedCall.MESSAGE_PUBLISHED, publishedAt, 0L, body, key, null);
+    }
+
+    public void drained() {
+        record(CapturedCall.MESSAGES_DRAINED, System.nanoTime(), 0L, null, null, null);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stopped) {
+            return;
+        }
+
+        stopped = true;
+
+        try {
+            out.close();
+            logger.info("Captured {} calls to {}...", records, path);
+        } catch (IOException e) {
+            logger.error("Unable to finish the traffic capture in {}...", path, e);
+        }
+    }
+
+    private void record(CapturedCall call, long start, long duration, String key, Object response, String error) {
+        String encoded;
+
+        try {
+            encoded = TrafficCodec.encode(response);
+        } catch (TrafficCaptureException e) {
+            logger.warn("Capturing a {} call without its response...", call, e);
+            encoded = null;
+        }
+
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+
+            try {
+                out.writeUTF(call.name());
+                out.writeLong(start - startNanos);
+                out.writeLong(duration);
+                writeString(out, key);
+                writeString(out, encoded);
+                writeString(out, error);
+                ++records;
+            } catch (IOException e) {
+                logger.error("Stopping the traffic capture in {} after {} calls...", path, records, e);
+                stopped = true;
+            }
+        }
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
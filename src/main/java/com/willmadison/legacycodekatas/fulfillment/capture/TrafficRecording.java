@@ -0,0 +1,86 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A capture file read back into memory. A capture cut short (the process was killed before the recorder was closed)
+ * reads up to its last complete record.
+ */
+public class TrafficRecording {
+
+    private final long startEpochMillis;
+
+    private final List<TrafficRecord> records;
+
+    TrafficRecording(long startEpochMillis, List<TrafficRecord> records) {
+        this.startEpochMillis = startEpochMillis;
+        this.records = Collections.unmodifiableList(records);
+    }
+
+    public static TrafficRecording read(Path path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path), 1 << 16), 1 << 16))) {
+            if (in.readInt() != TrafficRecorder.MAGIC) {
+                throw new TrafficCaptureException(path + " is not a traffic capture");
+            }
+
+            int version = in.readInt();
+
+            if (version != TrafficRecorder.VERSION) {
+                throw new TrafficCaptureException(path + " is a version " + version + " traffic capture, expected version " + TrafficRecorder.VERSION);
+            }
+
+            long startEpochMillis = in.readLong();
+
+            List<TrafficRecord> records = new ArrayList<>();
+
+            while (true) {
+                try {
+                    CapturedCall call = CapturedCall.valueOf(in.readUTF());
+                    long offsetNanos = in.readLong();
+                    long durationNanos = in.readLong();
+                    String key = readString(in);
+                    String response = readString(in);
+                    String error = readString(in);
+
+                    records.add(new TrafficRecord(call, offsetNanos, durationNanos, key, response, error));
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+
+            return new TrafficRecording(startEpochMillis, records);
+        } catch (IOException e) {
+            throw new TrafficCaptureException("Unable to read the traffic capture in " + path, e);
+        }
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public List<TrafficRecord> getRecords() {
+        return records;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,295 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.WarehouseManagement;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays a {@link TrafficRecording} back to the code under test in place of the downstream systems it was captured
+ * from. Each read is answered with the response recorded for the same request key, after the recorded latency scaled
+ * by the replay speed; repeated reads of a key are answered with its recorded responses in order, the last one being
+ * repeated once they run out. A read that was never recorded is a miss, and fails.
+ * <p>
+ * Writes are the decisions being compared: each is remembered, and {@link #summarize()} matches them against the
+ * writes in the recording. {@link #clock()} runs from the time the capture started at the replay speed, and
+ * {@link #publishForNextDrain(Queue, long)} hands over the recorded messages a batch at a time, so the code under test
+ * sees the same messages at the same (replayed) time as long as it keeps up.
+ */
+public class TrafficReplay {
+
+    private final TrafficRecording recording;
+
+    private final double speed;
+
+    private final Map<CapturedCall, Map<String, Deque<TrafficRecord>>> responses = new EnumMap<>(CapturedCall.class);
+
+    private final Map<CapturedCall, Map<String, Integer>> recordedDecisions = new EnumMap<>(CapturedCall.class);
+
+    private final Map<CapturedCall, Map<String, Integer>> replayedDecisions = new EnumMap<>(CapturedCall.class);
+
+    private final Deque<TrafficRecord> messages = new ArrayDeque<>();
+
+    private final Deque<Long> drains = new ArrayDeque<>();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final ReplayClock clock;
+
+    private volatile long startNanos;
+
+    public TrafficReplay(TrafficRecording recording, double speed) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("The replay speed must be positive, was " + speed);
+        }
+
+        this.recording = recording;
+        this.speed = speed;
+        this.clock = new ReplayClock(ZoneOffset.UTC);
+
+        List<TrafficRecord> published = new ArrayList<>();
+
+        for (TrafficRecord record : recording.getRecords()) {
+            if (record.getCall() == CapturedCall.MESSAGE_PUBLISHED) {
+                published.add(record);
+                continue;
+            }
+
+            if (record.getCall() == CapturedCall.MESSAGES_DRAINED) {
+                drains.add(record.getOffsetNanos());
+                continue;
+            }
+
+            responses.computeIfAbsent(record.getCall(), call -> new HashMap<>())
+                    .computeIfAbsent(record.getKey(), key -> new ArrayDeque<>())
+                    .add(record);
+
+            if (record.getCall().isWrite()) {
+                recordedDecisions.computeIfAbsent(record.getCall(), call -> new HashMap<>()).merge(record.getKey(), 1, Integer::sum);
+            }
+        }
+
+        published.sort(Comparator.comparingLong(TrafficRecord::getOffsetNanos));
+        messages.addAll(published);
+    }
+
+    public WarehouseManagement warehouseManagement() {
+        return new ReplayWarehouseManagement(this);
+    }
+
+    public Consolidation consolidation() {
+        return new ReplayConsolidation(this);
+    }
+
+    public OrderService orderService() {
+        return new ReplayOrderService(this);
+    }
+
+    public Clock clock() {
+        return clock;
+    }
+
+    /**
+     * Starts the replay clock; until then it stands at the time the capture started.
+     */
+    public synchronized void start() {
+        if (startNanos != 0L) {
+            throw new IllegalStateException("The replay has already been started");
+        }
+
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Offers {@code queue} the recorded messages the next recorded drain of the queue consumed, in the order they were
+     * published. Once the recorded drains run out (or if the capture has none), offers those published by
+     * {@code epochMillis} on the replay clock instead.
+     *
+     * @return the number of messages published
+     */
+    public synchronized int publishForNextDrain(Queue<Message> queue, long epochMillis) {
+        long until = !drains.isEmpty() ? drains.poll() : TimeUnit.MILLISECONDS.toNanos(epochMillis - recording.getStartEpochMillis());
+        int published = 0;
+
+        while (!messages.isEmpty() && messages.peek().getOffsetNanos() <= until) {
+            TrafficRecord record = messages.poll();
+            Integer key = record.getResponse() != null ? TrafficCodec.decode(record.getResponse(), Integer.class) : null;
+
+            queue.offer(new Message(record.getKey(), key));
+            ++published;
+        }
+
+        return published;
+    }
+
+    /**
+     * @return the time on the replay clock at which the first recorded {@code call} started, or {@code -1} if the
+     * capture has none
+     */
+    public long getFirstEpochMillis(CapturedCall call) {
+        long first = Long.MAX_VALUE;
+
+        for (TrafficRecord record : recording.getRecords()) {
+            if (record.getCall() == call) {
+                first = Math.min(first, record.getOffsetNanos());
+            }
+        }
+
+        return first == Long.MAX_VALUE ? -1L : recording.getStartEpochMillis() + TimeUnit.NANOSECONDS.toMillis(first);
+    }
+
+    /**
+     * @return the time on the replay clock at which the last recorded call finished
+     */
+    public long getEndEpochMillis() {
+        long end = 0L;
+
+        for (TrafficRecord record : recording.getRecords()) {
+            end = Math.max(end, record.getOffsetNanos() + record.getDurationNanos());
+        }
+
+        return recording.getStartEpochMillis() + TimeUnit.NANOSECONDS.toMillis(end);
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public ReplaySummary summarize() {
+        Map<CapturedCall, ReplaySummary.Decisions> decisions = new EnumMap<>(CapturedCall.class);
+
+        for (CapturedCall call : CapturedCall.values()) {
+            if (!call.isWrite()) {
+                continue;
+            }
+
+            Map<String, Integer> recorded;
+            Map<String, Integer> replayed;
+
+            synchronized (this) {
+                recorded = new HashMap<>(recordedDecisions.getOrDefault(call, new HashMap<>()));
+                replayed = new HashMap<>(replayedDecisions.getOrDefault(call, new HashMap<>()));
+            }
+
+            decisions.put(call, ReplaySummary.Decisions.compare(recorded, replayed));
+        }
+
+        return new ReplaySummary(decisions, misses.get());
+    }
+
+    public boolean hasRecorded(CapturedCall call) {
+        return responses.containsKey(call);
+    }
+
+    /**
+     * Answers a read from the recording.
+     */
+    <T> T read(CapturedCall call, String key, Decoder<T> decoder) {
+        TrafficRecord record = next(call, key);
+
+        if (record == null) {
+            misses.incrementAndGet();
+            throw new TrafficCaptureException("No " + call + " response was recorded for " + key);
+        }
+
+        return decoder.decode(replay(record));
+    }
+
+    /**
+     * Remembers a write, taking as long and failing in the same way as its recorded counterpart (if there is one).
+     */
+    void write(CapturedCall call, String key) {
+        synchronized (this) {
+            replayedDecisions.computeIfAbsent(call, c -> new HashMap<>()).merge(key, 1, Integer::sum);
+        }
+
+        TrafficRecord record = next(call, key);
+
+        if (record != null) {
+            replay(record);
+        }
+    }
+
+    private synchronized TrafficRecord next(CapturedCall call, String key) {
+        Deque<TrafficRecord> recorded = responses.getOrDefault(call, new HashMap<>()).get(key);
+
+        if (recorded == null || recorded.isEmpty()) {
+            return null;
+        }
+
+        return recorded.size() > 1 ? recorded.poll() : recorded.peek();
+    }
+
+    private String replay(TrafficRecord record) {
+        pause((long) (record.getDurationNanos() / speed));
+
+        if (record.getError() != null) {
+            throw new ReplayedFailureException(record.getError());
+        }
+
+        return record.getResponse();
+    }
+
+    private static void pause(long nanos) {
+        if (nanos <= 0L) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    interface Decoder<T> {
+
+        T decode(String response);
+    }
+
+    private class ReplayClock extends Clock {
+
+        private final ZoneId zone;
+
+        ReplayClock(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new ReplayClock(zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public long millis() {
+            long elapsedNanos = startNanos == 0L ? 0L : System.nanoTime() - startNanos;
+            return recording.getStartEpochMillis() + (long) (elapsedNanos * speed / 1_000_000d);
+        }
+    }
+}
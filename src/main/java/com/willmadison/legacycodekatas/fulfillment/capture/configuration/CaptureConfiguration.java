@@ -0,0 +1,24 @@
+package com.willmadison.legacycodekatas.fulfillment.capture.configuration;
+
+public class CaptureConfiguration {
+
+    public boolean enabled = false;
+
+    public String directory = "captures";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
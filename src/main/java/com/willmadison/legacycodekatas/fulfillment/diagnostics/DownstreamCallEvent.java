@@ -0,0 +1,74 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.Supplier;
+
+@Name("fulfillment.DownstreamCall")
+@Label("Downstream Call")
+@Description("A single WMS, Consolidation or OrderService call, including any limiter, breaker and deadline overhead")
+@Category({"Fulfillment", "Downstream"})
+public class DownstreamCallEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Order Number")
+    public int orderNumber;
+
+    @Label("Order Type")
+    public String orderType;
+
+    @Label("Transaction Id")
+    public String transactionId;
+
+    @Label("Failure")
+    public String failure;
+
+    public static <T> T call(DownstreamOperation operation, int orderNumber, String transactionId, Supplier<T> call) {
+        DownstreamCallEvent event = new DownstreamCallEvent();
+
+        if (!event.isEnabled()) {
+            return call.get();
+        }
+
+        event.begin();
+
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            event.failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+
+            if (event.shouldCommit()) {
+                OrderProcessingEvent order = OrderProcessingEvent.current();
+
+                event.operation = operation.getMetricName();
+                event.orderNumber = orderNumber;
+                event.transactionId = transactionId;
+
+                if (order != null && (orderNumber == 0 || orderNumber == order.orderNumber)) {
+                    event.orderNumber = order.orderNumber;
+                    event.orderType = order.orderType;
+                    event.transactionId = transactionId != null ? transactionId : order.transactionId;
+                }
+
+                event.commit();
+            }
+        }
+    }
+
+    public static void run(DownstreamOperation operation, int orderNumber, String transactionId, Runnable call) {
+        call(operation, orderNumber, transactionId, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
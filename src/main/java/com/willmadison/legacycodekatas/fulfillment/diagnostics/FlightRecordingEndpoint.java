@@ -0,0 +1,147 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.FlightRecorderConfiguration;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts, stops and dumps a Java Flight Recorder recording of the pipeline on demand. Exposed over JMX as the
+ * {@code Flightrecording} endpoint, and over HTTP once a web server is on the classpath:
+ * <pre>
+ *     GET  /actuator/flightrecording          recording status
+ *     POST /actuator/flightrecording/start    {"settings": "profile"} (optional, defaults to the configured settings)
+ *     POST /actuator/flightrecording/dump     writes what has been recorded so far to the dump directory
+ *     POST /actuator/flightrecording/stop     dumps and closes the recording
+ * </pre>
+ * The pipeline's events cost next to nothing while no recording is running.
+ */
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingEndpoint.class);
+
+    private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecorderConfiguration configuration;
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(FlightRecorderConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+
+        status.put("state", recording.getState());
+        status.put("name", recording.getName());
+        status.put("startTime", recording.getStartTime());
+        status.put("sizeBytes", recording.getSize());
+
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> control(@Selector String action, @Nullable String settings) throws IOException, ParseException {
+        switch (action) {
+            case "start":
+                start(settings != null ? settings : configuration.settings);
+                break;
+            case "dump":
+                return dumped(dump());
+            case "stop":
+                return dumped(stop());
+            default:
+                throw new IllegalArgumentException("Unknown flight recording action: " + action + " (expected start, dump or stop)");
+        }
+
+        return status();
+    }
+
+    private void start(String settings) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            logger.info("Flight recording {} is already running...", recording.getName());
+            return;
+        }
+
+        if (recording != null) {
+            recording.close();
+        }
+
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("fulfillment-pipeline");
+        recording.setToDisk(true);
+
+        if (configuration.maxAgeMinutes > 0) {
+            recording.setMaxAge(Duration.ofMinutes(configuration.maxAgeMinutes));
+        }
+
+        if (configuration.maxSizeMegabytes > 0) {
+            recording.setMaxSize(configuration.maxSizeMegabytes * 1024L * 1024L);
+        }
+
+        recording.enable(SweepCycleEvent.class);
+        recording.enable(PickCompletionBatchEvent.class);
+        recording.enable(OrderProcessingEvent.class);
+        recording.enable(DownstreamCallEvent.class);
+
+        recording.start();
+
+        logger.info("Started flight recording {} with {} settings...", recording.getName(), settings);
+    }
+
+    private Path dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No flight recording is running!");
+        }
+
+        Path destination = Paths.get(configuration.dumpDirectory,
+                recording.getName() + "-" + LocalDateTime.now().format(DUMP_TIMESTAMP) + ".jfr");
+
+        recording.dump(destination);
+
+        logger.info("Dumped flight recording {} to {}...", recording.getName(), destination);
+
+        return destination;
+    }
+
+    private Path stop() throws IOException {
+        Path destination = dump();
+
+        recording.stop();
+        recording.close();
+        recording = null;
+
+        return destination;
+    }
+
+    private Map<String, Object> dumped(Path destination) {
+        Map<String, Object> status = status();
+        status.put("dump", destination.toString());
+        return status;
+    }
+}
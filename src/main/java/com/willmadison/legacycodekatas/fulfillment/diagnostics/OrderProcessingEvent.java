@@ -0,0 +1,69 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Covers the work done for a single order within a sweep or pick completion batch. While the event is open the order
+ * is bound to the worker thread so that {@link DownstreamCallEvent}s made on its behalf can carry its number, type
+ * and transactionId even when the call itself only takes an order item.
+ */
+@Name("fulfillment.OrderProcessing")
+@Label("Order Processing")
+@Description("Work done for a single order within a sweep or pick completion batch")
+@Category({"Fulfillment", "Orders"})
+public class OrderProcessingEvent extends Event implements AutoCloseable {
+
+    private static final ThreadLocal<OrderProcessingEvent> current = new ThreadLocal<>();
+
+    @Label("Cycle")
+    public String cycle;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Order Number")
+    public int orderNumber;
+
+    @Label("Order Type")
+    public String orderType;
+
+    @Label("Transaction Id")
+    public String transactionId;
+
+    private transient OrderProcessingEvent previous;
+
+    public static OrderProcessingEvent begin(String cycle, String stage, Order order) {
+        OrderProcessingEvent event = new OrderProcessingEvent();
+        event.cycle = cycle;
+        event.stage = stage;
+        event.orderNumber = order.number;
+        event.orderType = order.type != null ? order.type.name() : null;
+        event.transactionId = order.transactionId;
+        event.previous = current.get();
+        current.set(event);
+        event.begin();
+        return event;
+    }
+
+    static OrderProcessingEvent current() {
+        return current.get();
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            current.set(previous);
+        } else {
+            current.remove();
+        }
+
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fulfillment.PickCompletionBatch")
+@Label("Pick Completion Batch")
+@Description("One batch of pick completion messages, from parsing through the order updates")
+@Category({"Fulfillment", "Pick Completion"})
+public class PickCompletionBatchEvent extends Event {
+
+    @Label("Transaction Id")
+    public String transactionId;
+
+    @Label("Messages")
+    public int messages;
+
+    @Label("Orders Processed")
+    public int ordersProcessed;
+
+    @Label("Orders Skipped")
+    public int ordersSkipped;
+
+    @Label("Deadline Exceeded")
+    public boolean deadlineExceeded;
+}
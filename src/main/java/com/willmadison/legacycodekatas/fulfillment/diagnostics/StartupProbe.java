@@ -0,0 +1,66 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long a freshly started instance takes to become useful: the time from JVM start to its first completed
+ * exception handling cycle, published as {@code application.startup.first.cycle}. With
+ * {@code startup.exitAfterFirstCycle} set the application shuts down once that cycle completes, which is how the AppCDS
+ * training run and the startup benchmark end.
+ */
+public class StartupProbe implements ApplicationContextAware {
+
+    public static final String FIRST_CYCLE_COMPLETED = "First exception handling cycle completed";
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupProbe.class);
+
+    private final StartupConfiguration configuration;
+
+    private final AtomicLong millisToFirstCycle = new AtomicLong(-1L);
+
+    private ApplicationContext context;
+
+    public StartupProbe(StartupConfiguration configuration, MeterRegistry registry) {
+        this.configuration = configuration;
+
+        TimeGauge.builder("application.startup.first.cycle", millisToFirstCycle, TimeUnit.MILLISECONDS,
+                millis -> millis.get() < 0L ? Double.NaN : millis.get())
+                .register(registry);
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext context) {
+        this.context = context;
+    }
+
+    public void cycleCompleted() {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        if (!millisToFirstCycle.compareAndSet(-1L, uptime)) {
+            return;
+        }
+
+        logger.info("{} {} ms after JVM start...", FIRST_CYCLE_COMPLETED, uptime);
+
+        if (configuration.exitAfterFirstCycle && context != null) {
+            logger.info("Exiting after the first exception handling cycle...");
+
+            new Thread(() -> System.exit(SpringApplication.exit(context)), "startup-exit").start();
+        }
+    }
+
+    public long getMillisToFirstCycle() {
+        return millisToFirstCycle.get();
+    }
+}
@@ -0,0 +1,26 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("fulfillment.SweepCycle")
+@Label("Sweep Cycle")
+@Description("One scheduled exception sweep across every supported order type")
+@Category({"Fulfillment", "Exceptions"})
+public class SweepCycleEvent extends Event {
+
+    @Label("Cycle")
+    public String cycle;
+
+    @Label("Orders Processed")
+    public int ordersProcessed;
+
+    @Label("Orders Skipped")
+    public int ordersSkipped;
+
+    @Label("Deadline Exceeded")
+    public boolean deadlineExceeded;
+}
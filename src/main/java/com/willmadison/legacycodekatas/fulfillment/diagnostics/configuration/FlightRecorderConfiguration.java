@@ -0,0 +1,54 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration;
+
+public class FlightRecorderConfiguration {
+
+    public boolean enabled = true;
+
+    public String settings = "default";
+
+    public String dumpDirectory = System.getProperty("java.io.tmpdir");
+
+    public long maxAgeMinutes = 30L;
+
+    public long maxSizeMegabytes = 250L;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public String getDumpDirectory() {
+        return dumpDirectory;
+    }
+
+    public void setDumpDirectory(String dumpDirectory) {
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    public long getMaxAgeMinutes() {
+        return maxAgeMinutes;
+    }
+
+    public void setMaxAgeMinutes(long maxAgeMinutes) {
+        this.maxAgeMinutes = maxAgeMinutes;
+    }
+
+    public long getMaxSizeMegabytes() {
+        return maxSizeMegabytes;
+    }
+
+    public void setMaxSizeMegabytes(long maxSizeMegabytes) {
+        this.maxSizeMegabytes = maxSizeMegabytes;
+    }
+}
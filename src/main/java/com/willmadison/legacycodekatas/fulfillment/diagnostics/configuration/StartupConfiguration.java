@@ -0,0 +1,14 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration;
+
+public class StartupConfiguration {
+
+    public boolean exitAfterFirstCycle = false;
+
+    public boolean isExitAfterFirstCycle() {
+        return exitAfterFirstCycle;
+    }
+
+    public void setExitAfterFirstCycle(boolean exitAfterFirstCycle) {
+        this.exitAfterFirstCycle = exitAfterFirstCycle;
+    }
+}
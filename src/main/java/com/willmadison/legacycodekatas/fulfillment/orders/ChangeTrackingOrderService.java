@@ -0,0 +1,107 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Marks every order it hands out as clean and drops saves of orders and items that haven't changed since. An order
+ * whose items are untouched is written with {@link OrderService#saveStatus(Order)} when partial updates are enabled.
+ */
+public class ChangeTrackingOrderService implements OrderService {
+
+    private final OrderService delegate;
+
+    private final boolean partialUpdatesEnabled;
+
+    private final Counter skippedOrderSaves;
+
+    private final Counter partialOrderSaves;
+
+    private final Counter fullOrderSaves;
+
+    private final Counter skippedItemSaves;
+
+    private final Counter itemSaves;
+
+    public ChangeTrackingOrderService(OrderService delegate, boolean partialUpdatesEnabled, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.partialUpdatesEnabled = partialUpdatesEnabled;
+        this.skippedOrderSaves = registry.counter("orders.saves", "entity", "order", "outcome", "skipped");
+        this.partialOrderSaves = registry.counter("orders.saves", "entity", "order", "outcome", "partial");
+        this.fullOrderSaves = registry.counter("orders.saves", "entity", "order", "outcome", "full");
+        this.skippedItemSaves = registry.counter("orders.saves", "entity", "item", "outcome", "skipped");
+        this.itemSaves = registry.counter("orders.saves", "entity", "item", "outcome", "full");
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        Set<Order> orders = delegate.find(searchParameters);
+
+        for (Order order : orders) {
+            order.markClean();
+        }
+
+        return orders;
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        OrderPage page = delegate.findPage(searchParameters, continuationToken, pageSize);
+
+        for (Order order : page.getOrders()) {
+            order.markClean();
+        }
+
+        return page;
+    }
+
+    @Override
+    public void save(Order order) {
+        if (!order.hasChanges()) {
+            skippedOrderSaves.increment();
+            return;
+        }
+
+        if (partialUpdatesEnabled && !order.hasItemChanges()) {
+            delegate.saveStatus(order);
+            partialOrderSaves.increment();
+        } else {
+            delegate.save(order);
+            fullOrderSaves.increment();
+        }
+
+        order.markClean();
+    }
+
+    @Override
+    public void saveStatus(Order order) {
+        if (!order.hasStatusChanges()) {
+            skippedOrderSaves.increment();
+            return;
+        }
+
+        delegate.saveStatus(order);
+        partialOrderSaves.increment();
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        if (!orderItem.hasChanges()) {
+            skippedItemSaves.increment();
+            return;
+        }
+
+        delegate.save(orderItem);
+        itemSaves.increment();
+
+        orderItem.markClean();
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return delegate.changeFeed();
+    }
+}
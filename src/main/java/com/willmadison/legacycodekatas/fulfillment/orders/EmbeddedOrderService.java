@@ -0,0 +1,448 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.configuration.OrderStoreConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Local OrderService backed by a write-ahead log and in-memory tables. Each order occupies a row; a hash index maps
+ * order numbers (and ids, and order item ids) to rows, and a bitmap per {@link Order.Status} and {@link Order.Type}
+ * marks which rows have that status or type. A search intersects the bitmaps for its filters, so the sweep's
+ * "WIP orders of type X" lookup never touches an order that doesn't match. The order number index is sorted, so
+ * {@link #findPage(SearchParameters, String, int)} seeks straight to the continuation point and copies one page at a
+ * time.
+ * <p>
+ * Orders handed out by {@link #find(SearchParameters)} are copies; changes only land once they are saved. Saves are
+ * appended to the log before the tables are updated, and the log is compacted to one record per order once it grows
+ * well past the number of live orders. Every save is also published to an {@link OrderChangeFeed}; orders recovered
+ * from the log on startup are not, since nothing has yet been swept in this process.
+ */
+public class EmbeddedOrderService implements OrderService, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedOrderService.class);
+
+    private final OrderStoreConfiguration configuration;
+
+    private final OrderWriteAheadLog log;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Order> rows = new ArrayList<>();
+
+    private final NavigableMap<Integer, Integer> rowsByOrderNumber = new TreeMap<>();
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+
+    private final Map<String, Integer> rowsByItemId = new HashMap<>();
+
+    private final Map<Order.Status, BitSet> rowsByStatus = new EnumMap<>(Order.Status.class);
+
+    private final Map<Order.Type, BitSet> rowsByType = new EnumMap<>(Order.Type.class);
+
+    private final OrderChangeLog changes = new OrderChangeLog();
+
+    private final Counter compactions;
+
+    public EmbeddedOrderService(OrderStoreConfiguration configuration, MeterRegistry registry) {
+        this.configuration = configuration;
+        this.log = new OrderWriteAheadLog(Paths.get(configuration.path), configuration.syncOnWrite);
+
+        for (Order.Status status : Order.Status.values()) {
+            rowsByStatus.put(status, new BitSet());
+        }
+
+        for (Order.Type type : Order.Type.values()) {
+            rowsByType.put(type, new BitSet());
+        }
+
+        compactions = registry.counter("orders.store.compactions");
+        registry.gauge("orders.store.orders", this, EmbeddedOrderService::size);
+
+        try {
+            long replayed = log.replay(new OrderWriteAheadLog.Replay() {
+                @Override
+                public void order(Order order) {
+                    apply(order);
+                }
+
+                @Override
+                public void item(OrderItem item) {
+                    apply(item);
+                }
+
+                @Override
+                public void status(int orderNumber, Order.Status status, LocalDateTime completedOn) {
+                    apply(orderNumber, status, completedOn);
+                }
+            });
+
+            logger.info("Recovered {} orders from {} log records in {}...", rows.size(), replayed, configuration.path);
+
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new OrderStoreException("Unable to recover the order store from " + configuration.path, e);
+        }
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        lock.readLock().lock();
+
+        try {
+            BitSet matches = matching(searchParameters);
+
+            Set<Order> orders = new HashSet<>(Math.max(16, matches.cardinality() * 2));
+
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                orders.add(copy(rows.get(row)));
+            }
+
+            return orders;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        int after = OrderPage.resumeAfter(continuationToken);
+
+        lock.readLock().lock();
+
+        try {
+            BitSet matches = matching(searchParameters);
+
+            List<Order> orders = new ArrayList<>(Math.min(pageSize, matches.cardinality()));
+
+            for (Map.Entry<Integer, Integer> entry : rowsByOrderNumber.tailMap(after, false).entrySet()) {
+                if (!matches.get(entry.getValue())) {
+                    continue;
+                }
+
+                if (orders.size() == pageSize) {
+                    return new OrderPage(orders, OrderPage.continueAfter(orders.get(pageSize - 1).number));
+                }
+
+                orders.add(copy(rows.get(entry.getValue())));
+            }
+
+            return new OrderPage(orders, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(Order order) {
+        lock.writeLock().lock();
+
+        try {
+            log.append(order);
+            apply(copy(order));
+            changes.record(order.number);
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new OrderStoreException("Unable to save Order #" + order.number, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void saveStatus(Order order) {
+        lock.writeLock().lock();
+
+        try {
+            if (!rowsByOrderNumber.containsKey(order.number)) {
+                log.append(order);
+                apply(copy(order));
+            } else {
+                log.appendStatus(order);
+                apply(order.number, order.status, order.completedOn);
+            }
+
+            changes.record(order.number);
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new OrderStoreException("Unable to save the status of Order #" + order.number, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        lock.writeLock().lock();
+
+        try {
+            if (!rowsByItemId.containsKey(orderItem.id)) {
+                logger.warn("Ignoring save of unknown Order Item {}...", orderItem.id);
+                return;
+            }
+
+            log.append(orderItem);
+            apply(orderItem);
+            changes.record(rows.get(rowsByItemId.get(orderItem.id)).number);
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new OrderStoreException("Unable to save Order Item " + orderItem.id, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return Optional.of(changes);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet matching(SearchParameters searchParameters) {
+        BitSet matches = null;
+
+        if (searchParameters.orderNumbers != null) {
+            matches = lookup(searchParameters.orderNumbers, rowsByOrderNumber);
+        }
+
+        if (searchParameters.ids != null) {
+            Collection<String> ids = new ArrayList<>(searchParameters.ids.size());
+
+            for (Integer id : searchParameters.ids) {
+                ids.add(String.valueOf(id));
+            }
+
+            matches = intersect(matches, lookup(ids, rowsById));
+        }
+
+        if (searchParameters.orderStatuses != null) {
+            matches = intersect(matches, union(searchParameters.orderStatuses, rowsByStatus));
+        }
+
+        if (searchParameters.orderTypes != null) {
+            matches = intersect(matches, union(searchParameters.orderTypes, rowsByType));
+        }
+
+        if (matches == null) {
+            matches = new BitSet(rows.size());
+            matches.set(0, rows.size());
+        }
+
+        return matches;
+    }
+
+    private static <K> BitSet lookup(Collection<K> keys, Map<K, Integer> index) {
+        BitSet matches = new BitSet();
+
+        for (K key : keys) {
+            Integer row = index.get(key);
+
+            if (row != null) {
+                matches.set(row);
+            }
+        }
+
+        return matches;
+    }
+
+    private static <E extends Enum<E>> BitSet union(Collection<E> values, Map<E, BitSet> index) {
+        BitSet matches = new BitSet();
+
+        for (E value : values) {
+            BitSet rows = index.get(value);
+
+            if (rows != null) {
+                matches.or(rows);
+            }
+        }
+
+        return matches;
+    }
+
+    private static BitSet intersect(BitSet matches, BitSet filter) {
+        if (matches == null) {
+            return filter;
+        }
+
+        matches.and(filter);
+        return matches;
+    }
+
+    private void apply(Order order) {
+        Integer row = rowsByOrderNumber.get(order.number);
+
+        if (row == null) {
+            row = rows.size();
+            rows.add(order);
+            rowsByOrderNumber.put(order.number, row);
+        } else {
+            Order previous = rows.get(row);
+            unindex(previous, row);
+            rows.set(row, order);
+        }
+
+        index(order, row);
+    }
+
+    private void apply(int orderNumber, Order.Status status, LocalDateTime completedOn) {
+        Integer row = rowsByOrderNumber.get(orderNumber);
+
+        if (row == null) {
+            return;
+        }
+
+        Order order = rows.get(row);
+
+        if (order.status != null) {
+            rowsByStatus.get(order.status).clear(row);
+        }
+
+        order.status = status;
+        order.completedOn = completedOn;
+
+        if (status != null) {
+            rowsByStatus.get(status).set(row);
+        }
+    }
+
+    private void apply(OrderItem orderItem) {
+        Integer row = rowsByItemId.get(orderItem.id);
+
+        if (row == null) {
+            return;
+        }
+
+        for (OrderItem item : rows.get(row).items) {
+            if (item.id.equals(orderItem.id)) {
+                item.status = orderItem.status;
+                item.shipped = orderItem.shipped;
+                item.released = orderItem.released;
+                item.numStraggles = orderItem.numStraggles;
+            }
+        }
+    }
+
+    private void index(Order order, int row) {
+        if (order.id != null) {
+            rowsById.put(order.id, row);
+        }
+
+        if (order.status != null) {
+            rowsByStatus.get(order.status).set(row);
+        }
+
+        if (order.type != null) {
+            rowsByType.get(order.type).set(row);
+        }
+
+        if (order.items != null) {
+            for (OrderItem item : order.items) {
+                rowsByItemId.put(item.id, row);
+            }
+        }
+    }
+
+    private void unindex(Order order, int row) {
+        if (order.id != null) {
+            rowsById.remove(order.id);
+        }
+
+        if (order.status != null) {
+            rowsByStatus.get(order.status).clear(row);
+        }
+
+        if (order.type != null) {
+            rowsByType.get(order.type).clear(row);
+        }
+
+        if (order.items != null) {
+            for (OrderItem item : order.items) {
+                rowsByItemId.remove(item.id);
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        long records = log.records();
+
+        if (records < configuration.minCompactionRecords || records < rows.size() * configuration.compactionRatio) {
+            return;
+        }
+
+        logger.info("Compacting the order store log ({} records for {} orders)...", records, rows.size());
+
+        try {
+            log.rewrite(rows);
+            compactions.increment();
+        } catch (IOException e) {
+            logger.warn("Unable to compact the order store log at {}! Will retry after the next save...", configuration.path, e);
+        }
+    }
+
+    private static Order copy(Order order) {
+        Order copy = new Order();
+        copy.id = order.id;
+        copy.number = order.number;
+        copy.status = order.status;
+        copy.type = order.type;
+        copy.reservationId = order.reservationId;
+        copy.transactionId = order.transactionId;
+        copy.lastUpdate = order.lastUpdate;
+        copy.completedOn = order.completedOn;
+
+        if (order.items != null) {
+            copy.items = new ArrayList<>(order.items.size());
+
+            for (OrderItem item : order.items) {
+                OrderItem itemCopy = new OrderItem();
+                itemCopy.id = item.id;
+                itemCopy.status = item.status;
+                itemCopy.shipped = item.shipped;
+                itemCopy.released = item.released;
+                itemCopy.numStraggles = item.numStraggles;
+                copy.items.add(itemCopy);
+            }
+        }
+
+        return copy;
+    }
+}
@@ -0,0 +1,48 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.ConcurrencyLimiter;
+
+import java.util.Optional;
+import java.util.Set;
+
+public class LimitedOrderService implements OrderService {
+
+    private final OrderService delegate;
+
+    private final ConcurrencyLimiter limiter;
+
+    public LimitedOrderService(OrderService delegate, ConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        return limiter.call(() -> delegate.find(searchParameters));
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        return limiter.call(() -> delegate.findPage(searchParameters, continuationToken, pageSize));
+    }
+
+    @Override
+    public void save(Order order) {
+        limiter.run(() -> delegate.save(order));
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        limiter.run(() -> delegate.save(orderItem));
+    }
+
+    @Override
+    public void saveStatus(Order order) {
+        limiter.run(() -> delegate.saveStatus(order));
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return delegate.changeFeed();
+    }
+}
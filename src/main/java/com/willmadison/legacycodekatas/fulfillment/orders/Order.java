@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class Order {
 
@@ -21,17 +22,16 @@ public class Order {
 
         private static final Map<Integer, Status> statusesById = new HashMap<>();
 
-        Status(int statusId) {
-            this.statusId = statusId;
-            populateStatusByIdLookup();
-        }
-
-        private void populateStatusByIdLookup() {
+        static {
             for (Status status : values()) {
                 statusesById.put(status.statusId, status);
             }
         }
 
+        Status(int statusId) {
+            this.statusId = statusId;
+        }
+
         public static Status byId(int statusId) {
             return statusesById.get(statusId);
         }
@@ -69,4 +69,50 @@ public class Order {
     public LocalDateTime lastUpdate;
 
     public LocalDateTime completedOn;
+
+    private transient boolean tracked;
+
+    private transient Status savedStatus;
+
+    private transient LocalDateTime savedCompletedOn;
+
+    /**
+     * Remembers the current status, completion time and item state as what the store holds. Orders that were never
+     * marked clean always report changes.
+     */
+    public void markClean() {
+        tracked = true;
+        savedStatus = status;
+        savedCompletedOn = completedOn;
+
+        if (items != null) {
+            for (OrderItem item : items) {
+                item.markClean();
+            }
+        }
+    }
+
+    public boolean hasChanges() {
+        return hasStatusChanges() || hasItemChanges();
+    }
+
+    public boolean hasStatusChanges() {
+        return !tracked || status != savedStatus || !Objects.equals(completedOn, savedCompletedOn);
+    }
+
+    public boolean hasItemChanges() {
+        if (!tracked) {
+            return true;
+        }
+
+        if (items != null) {
+            for (OrderItem item : items) {
+                if (item.hasChanges()) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
 }
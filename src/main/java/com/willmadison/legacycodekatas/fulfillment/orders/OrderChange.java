@@ -0,0 +1,29 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+public class OrderChange {
+
+    private final long sequence;
+
+    private final int orderNumber;
+
+    public OrderChange(long sequence, int orderNumber) {
+        this.sequence = sequence;
+        this.orderNumber = orderNumber;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getOrderNumber() {
+        return orderNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderChange{" +
+                "sequence=" + sequence +
+                ", orderNumber=" + orderNumber +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import java.util.List;
+
+/**
+ * Orders changed by {@link OrderService#save(Order)} or {@link OrderService#save(OrderItem)}, each stamped with a
+ * monotonically increasing sequence number. Sequence numbers start over when the process restarts.
+ */
+public interface OrderChangeFeed {
+
+    /**
+     * @return the sequence number of the most recent change, or 0 if nothing has changed yet
+     */
+    long latestSequence();
+
+    /**
+     * Returns up to {@code limit} changes with a sequence number greater than {@code sequence}, oldest first. An order
+     * changed several times since then appears once, at its most recent sequence number.
+     */
+    List<OrderChange> changesSince(long sequence, int limit);
+}
@@ -0,0 +1,63 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory {@link OrderChangeFeed} that keeps only the latest change per order, so it never holds more entries than
+ * there are orders no matter how often they are saved.
+ */
+public class OrderChangeLog implements OrderChangeFeed {
+
+    private long sequence;
+
+    private final Map<Integer, Long> sequencesByOrderNumber = new HashMap<>();
+
+    private final NavigableMap<Long, Integer> orderNumbersBySequence = new TreeMap<>();
+
+    public synchronized long record(int orderNumber) {
+        long next = ++sequence;
+
+        Long previous = sequencesByOrderNumber.put(orderNumber, next);
+
+        if (previous != null) {
+            orderNumbersBySequence.remove(previous);
+        }
+
+        orderNumbersBySequence.put(next, orderNumber);
+
+        return next;
+    }
+
+    public synchronized void forget(int orderNumber) {
+        Long previous = sequencesByOrderNumber.remove(orderNumber);
+
+        if (previous != null) {
+            orderNumbersBySequence.remove(previous);
+        }
+    }
+
+    @Override
+    public synchronized long latestSequence() {
+        return sequence;
+    }
+
+    @Override
+    public synchronized List<OrderChange> changesSince(long sequence, int limit) {
+        List<OrderChange> changes = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> change : orderNumbersBySequence.tailMap(sequence, false).entrySet()) {
+            if (changes.size() == limit) {
+                break;
+            }
+
+            changes.add(new OrderChange(change.getKey(), change.getValue()));
+        }
+
+        return changes;
+    }
+}
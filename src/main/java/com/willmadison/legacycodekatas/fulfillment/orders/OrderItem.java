@@ -20,4 +20,26 @@ public class OrderItem {
 
     public int numStraggles;
 
+    private transient boolean tracked;
+
+    private transient Status savedStatus;
+
+    private transient boolean savedShipped;
+
+    private transient boolean savedReleased;
+
+    private transient int savedNumStraggles;
+
+    public void markClean() {
+        tracked = true;
+        savedStatus = status;
+        savedShipped = shipped;
+        savedReleased = released;
+        savedNumStraggles = numStraggles;
+    }
+
+    public boolean hasChanges() {
+        return !tracked || status != savedStatus || shipped != savedShipped || released != savedReleased ||
+                numStraggles != savedNumStraggles;
+    }
 }
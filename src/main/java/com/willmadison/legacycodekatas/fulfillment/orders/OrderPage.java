@@ -0,0 +1,62 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a search, in ascending order number. The continuation token resumes the search after the last order
+ * on this page and is {@code null} once there is nothing left to read.
+ */
+public class OrderPage {
+
+    private static final String TOKEN_PREFIX = "after:";
+
+    private final List<Order> orders;
+
+    private final String continuationToken;
+
+    public OrderPage(List<Order> orders, String continuationToken) {
+        this.orders = orders;
+        this.continuationToken = continuationToken;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public boolean hasMore() {
+        return continuationToken != null;
+    }
+
+    public static String continueAfter(int orderNumber) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + orderNumber).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the order number the token resumes after, or {@link Integer#MIN_VALUE} for a {@code null} token (the
+     * first page)
+     */
+    public static int resumeAfter(String continuationToken) {
+        if (continuationToken == null) {
+            return Integer.MIN_VALUE;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+
+            if (!decoded.startsWith(TOKEN_PREFIX)) {
+                throw new IllegalArgumentException("Unrecognized continuation token " + continuationToken);
+            }
+
+            return Integer.parseInt(decoded.substring(TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unrecognized continuation token " + continuationToken, e);
+        }
+    }
+}
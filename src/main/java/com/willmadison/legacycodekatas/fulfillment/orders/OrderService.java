@@ -1,9 +1,52 @@
 package com.willmadison.legacycodekatas.fulfillment.orders;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface OrderService {
     Set<Order> find(SearchParameters searchParameters);
     void save(Order order);
     void save(OrderItem orderItem);
+
+    /**
+     * Returns up to {@code pageSize} matching orders with an order number greater than the one the continuation token
+     * resumes after, in ascending order number. Pass a {@code null} token for the first page.
+     * <p>
+     * Stores that can't seek by order number get this default, which returns every match of
+     * {@link #find(SearchParameters)} as a single page regardless of {@code pageSize}. Skipping ahead to the token on
+     * every call would re-run the whole search once per page.
+     */
+    default OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        int after = OrderPage.resumeAfter(continuationToken);
+
+        List<Order> matches = new ArrayList<>();
+
+        for (Order order : find(searchParameters)) {
+            if (order.number > after) {
+                matches.add(order);
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(o -> o.number));
+
+        return new OrderPage(matches, null);
+    }
+
+    /**
+     * Persists only the order's status and completion time, leaving its items as they are stored. Stores without a
+     * cheaper partial write save the whole order.
+     */
+    default void saveStatus(Order order) {
+        save(order);
+    }
+
+    /**
+     * @return the feed of orders changed through this service, if the underlying store keeps one
+     */
+    default Optional<OrderChangeFeed> changeFeed() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,8 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+public class OrderStoreException extends RuntimeException {
+
+    public OrderStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
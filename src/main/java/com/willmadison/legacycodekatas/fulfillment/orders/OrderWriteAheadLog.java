@@ -0,0 +1,369 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of order and order item saves. Each record is framed as {@code length, crc32, payload}, so a record
+ * torn by a crash is detected on replay and truncated away rather than corrupting the tables. A write that fails part
+ * way through is truncated away on the spot; if even that fails the log fails closed and refuses further writes, since
+ * anything appended after the torn record would be lost on replay.
+ */
+class OrderWriteAheadLog implements Closeable {
+
+    interface Replay {
+
+        void order(Order order);
+
+        void item(OrderItem item);
+
+        void status(int orderNumber, Order.Status status, LocalDateTime completedOn);
+    }
+
+    private static final byte ORDER_RECORD = 1;
+
+    private static final byte ITEM_RECORD = 2;
+
+    private static final byte STATUS_RECORD = 3;
+
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path path;
+
+    private final boolean syncOnWrite;
+
+    private FileChannel channel;
+
+    private long records;
+
+    private IOException failure;
+
+    OrderWriteAheadLog(Path path, boolean syncOnWrite) {
+        this.path = path;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    long replay(Replay replay) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        long validLength = 0L;
+        records = 0L;
+
+        if (Files.exists(path)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+                while (true) {
+                    byte[] payload;
+
+                    try {
+                        int length = in.readInt();
+                        int crc = in.readInt();
+
+                        if (length <= 0 || length > MAX_RECORD_BYTES) {
+                            break;
+                        }
+
+                        payload = new byte[length];
+                        in.readFully(payload);
+
+                        if (crc != checksum(payload)) {
+                            break;
+                        }
+
+                        validLength += 8 + length;
+                    } catch (EOFException e) {
+                        break;
+                    }
+
+                    apply(payload, replay);
+                    ++records;
+                }
+            }
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+
+        return records;
+    }
+
+    void append(Order order) throws IOException {
+        write(encode(order));
+    }
+
+    void append(OrderItem item) throws IOException {
+        write(encode(item));
+    }
+
+    void appendStatus(Order order) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(STATUS_RECORD);
+        out.writeInt(order.number);
+        writeString(out, order.status != null ? order.status.name() : null);
+        writeDateTime(out, order.completedOn);
+
+        write(bytes.toByteArray());
+    }
+
+    long records() {
+        return records;
+    }
+
+    /**
+     * Replaces the log with a single record per live order. The compacted log is written beside the live one and moved
+     * over it in one step, so a failed rewrite leaves the live log as it was and still open for appends.
+     */
+    void rewrite(Collection<Order> orders) throws IOException {
+        checkWritable();
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compacting");
+
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Order order : orders) {
+                writeFramed(out, encode(order));
+            }
+
+            out.force(true);
+        } catch (IOException e) {
+            discard(compacted, e);
+            throw e;
+        }
+
+        channel.close();
+
+        try {
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            discard(compacted, e);
+            throw e;
+        } finally {
+            reopen();
+        }
+
+        records = orders.size();
+    }
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private void write(byte[] payload) throws IOException {
+        checkWritable();
+
+        long position = channel.position();
+
+        try {
+            writeFramed(channel, payload);
+
+            if (syncOnWrite) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            truncateTo(position, e);
+            throw e;
+        }
+
+        ++records;
+    }
+
+    private void checkWritable() throws IOException {
+        if (failure != null) {
+            throw new IOException("The order store log at " + path + " failed closed and no longer accepts writes", failure);
+        }
+    }
+
+    private void truncateTo(long position, IOException cause) {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+        }
+    }
+
+    private void reopen() throws IOException {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private static void discard(Path compacted, IOException cause) {
+        try {
+            Files.deleteIfExists(compacted);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private static void writeFramed(FileChannel out, byte[] payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(payload));
+        buffer.put(payload);
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Order order) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(ORDER_RECORD);
+        out.writeInt(order.number);
+        writeString(out, order.id);
+        writeString(out, order.status != null ? order.status.name() : null);
+        writeString(out, order.type != null ? order.type.name() : null);
+        writeString(out, order.reservationId);
+        writeString(out, order.transactionId);
+        writeDateTime(out, order.lastUpdate);
+        writeDateTime(out, order.completedOn);
+
+        Collection<OrderItem> items = order.items != null ? order.items : new ArrayList<>();
+        out.writeInt(items.size());
+
+        for (OrderItem item : items) {
+            writeItem(out, item);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encode(OrderItem item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(ITEM_RECORD);
+        writeItem(out, item);
+
+        return bytes.toByteArray();
+    }
+
+    private static void apply(byte[] payload, Replay replay) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+        byte recordType = in.readByte();
+
+        if (recordType == ORDER_RECORD) {
+            Order order = new Order();
+            order.number = in.readInt();
+            order.id = readString(in);
+
+            String status = readString(in);
+            order.status = status != null ? Order.Status.valueOf(status) : null;
+
+            String type = readString(in);
+            order.type = type != null ? Order.Type.valueOf(type) : null;
+
+            order.reservationId = readString(in);
+            order.transactionId = readString(in);
+            order.lastUpdate = readDateTime(in);
+            order.completedOn = readDateTime(in);
+
+            int itemCount = in.readInt();
+            order.items = new ArrayList<>(itemCount);
+
+            for (int i = 0; i < itemCount; i++) {
+                order.items.add(readItem(in));
+            }
+
+            replay.order(order);
+        } else if (recordType == ITEM_RECORD) {
+            replay.item(readItem(in));
+        } else if (recordType == STATUS_RECORD) {
+            int orderNumber = in.readInt();
+            String status = readString(in);
+            replay.status(orderNumber, status != null ? Order.Status.valueOf(status) : null, readDateTime(in));
+        }
+    }
+
+    private static void writeItem(DataOutputStream out, OrderItem item) throws IOException {
+        writeString(out, item.id);
+        writeString(out, item.status != null ? item.status.name() : null);
+        out.writeBoolean(item.shipped);
+        out.writeBoolean(item.released);
+        out.writeInt(item.numStraggles);
+    }
+
+    private static OrderItem readItem(DataInputStream in) throws IOException {
+        OrderItem item = new OrderItem();
+        item.id = readString(in);
+
+        String status = readString(in);
+        item.status = status != null ? OrderItem.Status.valueOf(status) : null;
+
+        item.shipped = in.readBoolean();
+        item.released = in.readBoolean();
+        item.numStraggles = in.readInt();
+        return item;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
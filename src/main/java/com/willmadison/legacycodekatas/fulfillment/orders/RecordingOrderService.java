@@ -0,0 +1,47 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.DownstreamCallEvent;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+
+import java.util.Optional;
+import java.util.Set;
+
+public class RecordingOrderService implements OrderService {
+
+    private final OrderService delegate;
+
+    public RecordingOrderService(OrderService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        return DownstreamCallEvent.call(DownstreamOperation.ORDERS_FIND, 0, null, () -> delegate.find(searchParameters));
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        return DownstreamCallEvent.call(DownstreamOperation.ORDERS_FIND, 0, null,
+                () -> delegate.findPage(searchParameters, continuationToken, pageSize));
+    }
+
+    @Override
+    public void save(Order order) {
+        DownstreamCallEvent.run(DownstreamOperation.ORDERS_SAVE, order.number, order.transactionId, () -> delegate.save(order));
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        DownstreamCallEvent.run(DownstreamOperation.ORDERS_SAVE, 0, null, () -> delegate.save(orderItem));
+    }
+
+    @Override
+    public void saveStatus(Order order) {
+        DownstreamCallEvent.run(DownstreamOperation.ORDERS_SAVE, order.number, order.transactionId, () -> delegate.saveStatus(order));
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return delegate.changeFeed();
+    }
+}
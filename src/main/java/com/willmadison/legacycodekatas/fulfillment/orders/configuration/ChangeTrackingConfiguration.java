@@ -0,0 +1,24 @@
+package com.willmadison.legacycodekatas.fulfillment.orders.configuration;
+
+public class ChangeTrackingConfiguration {
+
+    public boolean enabled = true;
+
+    public boolean partialUpdatesEnabled = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isPartialUpdatesEnabled() {
+        return partialUpdatesEnabled;
+    }
+
+    public void setPartialUpdatesEnabled(boolean partialUpdatesEnabled) {
+        this.partialUpdatesEnabled = partialUpdatesEnabled;
+    }
+}
@@ -0,0 +1,54 @@
+package com.willmadison.legacycodekatas.fulfillment.orders.configuration;
+
+public class OrderStoreConfiguration {
+
+    public boolean enabled = false;
+
+    public String path = "data/orders.wal";
+
+    public boolean syncOnWrite = false;
+
+    public long minCompactionRecords = 100000L;
+
+    public double compactionRatio = 2.0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    public long getMinCompactionRecords() {
+        return minCompactionRecords;
+    }
+
+    public void setMinCompactionRecords(long minCompactionRecords) {
+        this.minCompactionRecords = minCompactionRecords;
+    }
+
+    public double getCompactionRatio() {
+        return compactionRatio;
+    }
+
+    public void setCompactionRatio(double compactionRatio) {
+        this.compactionRatio = compactionRatio;
+    }
+}
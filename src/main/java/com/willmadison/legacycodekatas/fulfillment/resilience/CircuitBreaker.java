@@ -0,0 +1,183 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.CircuitBreakerConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker for a single downstream operation. The breaker opens once the failure rate or the
+ * slow call rate over the last {@code slidingWindowSize} calls crosses its threshold, rejects calls with a
+ * {@link CircuitBreakerOpenException} while open, and lets a handful of probe calls through once the wait duration
+ * has elapsed to decide whether to close again. Calls cut off locally, by the concurrency limiter or by the caller's
+ * deadline, say nothing about the downstream's health and are left out of the window.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final DownstreamOperation operation;
+
+    private final CircuitBreakerConfiguration configuration;
+
+    private final boolean[] failures;
+
+    private final boolean[] slowCalls;
+
+    private State state = State.CLOSED;
+
+    private int next;
+
+    private int recorded;
+
+    private int numFailures;
+
+    private int numSlowCalls;
+
+    private int halfOpenPermits;
+
+    private long openedAt;
+
+    private final Counter rejectedCalls;
+
+    public CircuitBreaker(DownstreamOperation operation, CircuitBreakerConfiguration configuration, MeterRegistry registry) {
+        this.operation = operation;
+        this.configuration = configuration;
+        this.failures = new boolean[configuration.slidingWindowSize];
+        this.slowCalls = new boolean[configuration.slidingWindowSize];
+
+        Gauge.builder("downstream.breaker.state", this, b -> b.getState().ordinal())
+                .tag("operation", operation.getMetricName())
+                .register(registry);
+
+        rejectedCalls = Counter.builder("downstream.breaker.rejected")
+                .tag("operation", operation.getMetricName())
+                .register(registry);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        acquirePermission();
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean cutOff = false;
+
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } catch (LimitExceededException | DeadlineExceededException e) {
+            cutOff = true;
+            throw e;
+        } finally {
+            if (cutOff) {
+                releasePermission();
+            } else {
+                record(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    public void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public DownstreamOperation getOperation() {
+        return operation;
+    }
+
+    private synchronized void acquirePermission() {
+        if (State.OPEN == state) {
+            long waited = System.nanoTime() - openedAt;
+
+            if (waited < TimeUnit.MILLISECONDS.toNanos(configuration.waitDurationInOpenStateMillis)) {
+                rejectedCalls.increment();
+                throw new CircuitBreakerOpenException(operation);
+            }
+
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = configuration.permittedCallsInHalfOpenState;
+        }
+
+        if (State.HALF_OPEN == state) {
+            if (halfOpenPermits <= 0) {
+                rejectedCalls.increment();
+                throw new CircuitBreakerOpenException(operation);
+            }
+
+            --halfOpenPermits;
+        }
+    }
+
+    private synchronized void releasePermission() {
+        if (State.HALF_OPEN == state) {
+            ++halfOpenPermits;
+        }
+    }
+
+    private synchronized void record(long durationNanos, boolean failed) {
+        if (State.OPEN == state) {
+            return;
+        }
+
+        boolean slow = durationNanos > TimeUnit.MILLISECONDS.toNanos(configuration.slowCallDurationMillis);
+
+        if (recorded == failures.length) {
+            numFailures -= failures[next] ? 1 : 0;
+            numSlowCalls -= slowCalls[next] ? 1 : 0;
+        } else {
+            ++recorded;
+        }
+
+        failures[next] = failed;
+        slowCalls[next] = slow;
+        numFailures += failed ? 1 : 0;
+        numSlowCalls += slow ? 1 : 0;
+        next = (next + 1) % failures.length;
+
+        int callsNeeded = State.HALF_OPEN == state ? configuration.permittedCallsInHalfOpenState : configuration.minimumNumberOfCalls;
+
+        if (recorded < callsNeeded) {
+            return;
+        }
+
+        boolean failureRateExceeded = numFailures * 100 >= configuration.failureRateThreshold * recorded;
+        boolean slowCallRateExceeded = numSlowCalls * 100 >= configuration.slowCallRateThreshold * recorded;
+
+        if (failureRateExceeded || slowCallRateExceeded) {
+            openedAt = System.nanoTime();
+            transitionTo(State.OPEN);
+        } else if (State.HALF_OPEN == state) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        logger.warn("Circuit breaker for {} transitioning from {} to {} (Failed Calls: {}, Slow Calls: {}, Recorded Calls: {})",
+                operation.getMetricName(), state, newState, numFailures, numSlowCalls, recorded);
+
+        state = newState;
+        next = 0;
+        recorded = 0;
+        numFailures = 0;
+        numSlowCalls = 0;
+    }
+}
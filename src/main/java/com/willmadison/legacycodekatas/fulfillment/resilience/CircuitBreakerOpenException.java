@@ -0,0 +1,15 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private final DownstreamOperation operation;
+
+    public CircuitBreakerOpenException(DownstreamOperation operation) {
+        super("Circuit breaker for " + operation.getMetricName() + " is open!");
+        this.operation = operation;
+    }
+
+    public DownstreamOperation getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,308 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.LimiterConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of in-flight calls to a single downstream dependency. The limit follows an AIMD scheme: it grows
+ * by one while calls come back under the latency threshold with the limit at least half used, and is cut by the
+ * backoff ratio whenever a call is slow or fails. Calls over the limit wait in a bounded queue and are shed with a
+ * {@link LimitExceededException} once the queue is full or the wait runs out. The limiter sits outside the circuit
+ * breaker, so the breaker only times the dependency itself rather than the wait for a permit; calls the breaker rejects
+ * never reached the dependency and leave the limit as it is.
+ * <p>
+ * Waiting calls queue by the {@link Lane} bound to the calling thread. Each freed permit goes to the head of a
+ * waiting lane chosen by stride scheduling, so while lanes are backed up they are let through in proportion to their
+ * weights, and a lane that was idle gets no credit for it. A share of the limit is reserved for
+ * {@link Lane#PICK_COMPLETION}: the other lanes together never hold more than the rest, so pick completions always
+ * have that many permits to themselves however busy the sweep keeps the dependency.
+ */
+public class ConcurrencyLimiter {
+
+    private final String name;
+
+    private final LimiterConfiguration configuration;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double limit;
+
+    private int inFlight;
+
+    private int queued;
+
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+    private double virtualTime;
+
+    public ConcurrencyLimiter(String name, LimiterConfiguration configuration, MeterRegistry registry) {
+        this.name = name;
+        this.configuration = configuration;
+        this.limit = configuration.initialLimit;
+
+        Gauge.builder("downstream.limiter.limit", this, ConcurrencyLimiter::getLimit)
+                .tag("dependency", name)
+                .register(registry);
+
+        Gauge.builder("downstream.limiter.inflight", this, ConcurrencyLimiter::getInFlight)
+                .tag("dependency", name)
+                .register(registry);
+
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneState(lane, registry));
+
+            Gauge.builder("downstream.limiter.queued", this, limiter -> limiter.getQueued(lane))
+                    .tag("dependency", name)
+                    .tag("lane", lane.getTag())
+                    .register(registry);
+        }
+    }
+
+    public <T> T call(Supplier<T> call) {
+        Lane lane = Lane.current();
+
+        acquire(lane);
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        boolean rejected = false;
+
+        try {
+            T result = call.get();
+            dropped = false;
+            return result;
+        } catch (CircuitBreakerOpenException e) {
+            rejected = true;
+            throw e;
+        } finally {
+            release(lane, System.nanoTime() - start, dropped, rejected);
+        }
+    }
+
+    public void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public int getLimit() {
+        lock.lock();
+
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued(Lane lane) {
+        lock.lock();
+
+        try {
+            return lanes.get(lane).waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(Lane lane) {
+        long start = System.nanoTime();
+        LaneState state = lanes.get(lane);
+
+        lock.lock();
+
+        try {
+            // Freed permits are handed to waiters before the lock is let go, so if this lane may go ahead nobody that
+            // is waiting could have.
+            if (isAdmissible(lane)) {
+                admit(state);
+                return;
+            }
+
+            if (queued >= configuration.maxQueueSize) {
+                state.shedCalls.increment();
+                throw new LimitExceededException("Concurrency limit of " + (int) limit + " reached for " + name + " and its queue is full!");
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+
+            if (state.waiters.isEmpty()) {
+                state.pass = Math.max(state.pass, virtualTime);
+            }
+
+            state.waiters.addLast(waiter);
+            ++queued;
+
+            long remaining = Math.min(TimeUnit.MILLISECONDS.toNanos(configuration.maxQueueWaitMillis), Deadline.current().remainingNanos());
+
+            try {
+                while (!waiter.admitted) {
+                    if (remaining <= 0L) {
+                        abandon(state, waiter);
+                        throw new LimitExceededException("Timed out waiting on the concurrency limit of " + (int) limit + " for " + name + "!");
+                    }
+
+                    remaining = waiter.turn.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                if (!waiter.admitted) {
+                    abandon(state, waiter);
+                    throw new LimitExceededException("Interrupted waiting on the concurrency limit for " + name + "!");
+                }
+            }
+        } finally {
+            lock.unlock();
+            state.queueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void release(Lane lane, long latencyNanos, boolean dropped, boolean rejected) {
+        lock.lock();
+
+        try {
+            --inFlight;
+            --lanes.get(lane).inFlight;
+
+            if (!rejected) {
+                boolean slow = latencyNanos > TimeUnit.MILLISECONDS.toNanos(configuration.latencyThresholdMillis);
+
+                if (dropped || slow) {
+                    limit = Math.max(configuration.minLimit, limit * configuration.backoffRatio);
+                } else if (inFlight * 2 >= limit) {
+                    limit = Math.min(configuration.maxLimit, limit + 1);
+                }
+            }
+
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands free permits to waiting calls: of the lanes with a waiting call that may go ahead, the one with the lowest
+     * pass wins, and its pass then advances by the inverse of its weight. Ties go to the more urgent lane.
+     */
+    private void dispatch() {
+        while (queued > 0) {
+            LaneState next = null;
+
+            for (LaneState state : lanes.values()) {
+                if (!state.waiters.isEmpty() && isAdmissible(state.lane) && (next == null || state.pass < next.pass)) {
+                    next = state;
+                }
+            }
+
+            if (next == null) {
+                return;
+            }
+
+            Waiter waiter = next.waiters.removeFirst();
+            --queued;
+
+            virtualTime = next.pass;
+            next.pass += 1.0 / Math.max(1, configuration.weight(next.lane));
+
+            admit(next);
+            waiter.admitted = true;
+            waiter.turn.signal();
+        }
+    }
+
+    private boolean isAdmissible(Lane lane) {
+        int permits = (int) limit;
+
+        if (inFlight >= permits) {
+            return false;
+        }
+
+        if (lane == Lane.PICK_COMPLETION) {
+            return true;
+        }
+
+        return inFlight - lanes.get(Lane.PICK_COMPLETION).inFlight < permits - reserved(permits);
+    }
+
+    private int reserved(int permits) {
+        if (configuration.pickCompletionReservedShare <= 0.0 || permits < 2) {
+            return 0;
+        }
+
+        return Math.min(permits - 1, Math.max(1, (int) Math.ceil(permits * configuration.pickCompletionReservedShare)));
+    }
+
+    private void admit(LaneState state) {
+        ++inFlight;
+        ++state.inFlight;
+    }
+
+    private void abandon(LaneState state, Waiter waiter) {
+        state.waiters.remove(waiter);
+        --queued;
+        state.shedCalls.increment();
+    }
+
+    private final class LaneState {
+
+        private final Lane lane;
+
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+        private final Timer queueTimer;
+
+        private final Counter shedCalls;
+
+        private int inFlight;
+
+        private double pass;
+
+        LaneState(Lane lane, MeterRegistry registry) {
+            this.lane = lane;
+
+            queueTimer = Timer.builder("downstream.limiter.queue.time")
+                    .tag("dependency", name)
+                    .tag("lane", lane.getTag())
+                    .register(registry);
+
+            shedCalls = Counter.builder("downstream.limiter.shed")
+                    .tag("dependency", name)
+                    .tag("lane", lane.getTag())
+                    .register(registry);
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Condition turn;
+
+        private boolean admitted;
+
+        Waiter(Condition turn) {
+            this.turn = turn;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which a unit of work (an exception sweep, a pick completion batch) must be done. The deadline
+ * is bound to the worker thread alongside the work's transactionId so that downstream decorators can enforce it
+ * without it being threaded through every WMS and Consolidation signature.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+    private static final Deadline UNBOUNDED = new Deadline(Long.MAX_VALUE);
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        if (timeout.isZero() || timeout.isNegative()) {
+            return UNBOUNDED;
+        }
+
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Deadline unbounded() {
+        return UNBOUNDED;
+    }
+
+    public static Deadline current() {
+        Deadline deadline = current.get();
+        return deadline != null ? deadline : UNBOUNDED;
+    }
+
+    public boolean isBounded() {
+        return this != UNBOUNDED;
+    }
+
+    public boolean isExpired() {
+        return isBounded() && remainingNanos() <= 0L;
+    }
+
+    public long remainingNanos() {
+        if (!isBounded()) {
+            return Long.MAX_VALUE;
+        }
+
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public Binding bind() {
+        Deadline previous = current.get();
+        current.set(this);
+        return new Binding(previous);
+    }
+
+    public static final class Binding implements AutoCloseable {
+
+        private final Deadline previous;
+
+        private Binding(Deadline previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        }
+    }
+}
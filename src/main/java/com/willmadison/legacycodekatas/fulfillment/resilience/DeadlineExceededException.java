@@ -0,0 +1,15 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    private final DownstreamOperation operation;
+
+    public DeadlineExceededException(DownstreamOperation operation) {
+        super("Deadline exceeded calling " + operation.getMetricName() + "!");
+        this.operation = operation;
+    }
+
+    public DownstreamOperation getOperation() {
+        return operation;
+    }
+}
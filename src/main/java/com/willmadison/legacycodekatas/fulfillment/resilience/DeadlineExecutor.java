@@ -0,0 +1,278 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.DeadlineConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs downstream calls against the {@link Deadline} bound to the calling thread, giving up with a
+ * {@link DeadlineExceededException} once it passes. Idempotent calls may also be hedged: if the first attempt has not
+ * answered within the operation's recent p95 latency a second attempt is sent and whichever answers first wins. Calls
+ * run on the executor's threads in the caller's {@link Lane}; when every thread is busy the call runs on the caller's
+ * thread instead and, since nothing is left to time it out, runs to completion.
+ * <p>
+ * Only reads are abandoned or hedged. Writes are checked against the deadline before they are sent and then left to
+ * finish, since a write given up on mid-flight may or may not have happened.
+ */
+public class DeadlineExecutor {
+
+    private static final int LATENCY_WINDOW_SIZE = 256;
+
+    private final DeadlineConfiguration configuration;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<DownstreamOperation, LatencyWindow> latencies = new EnumMap<>(DownstreamOperation.class);
+
+    private final Map<DownstreamOperation, Meters> meters = new EnumMap<>(DownstreamOperation.class);
+
+    public DeadlineExecutor(DeadlineConfiguration configuration, MeterRegistry registry) {
+        this.configuration = configuration;
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "downstream-call-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        this.executor = new ThreadPoolExecutor(0, configuration.maxCallThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        for (DownstreamOperation operation : DownstreamOperation.values()) {
+            latencies.put(operation, new LatencyWindow());
+            meters.put(operation, new Meters(operation, registry));
+        }
+    }
+
+    public <T> T call(DownstreamOperation operation, Supplier<T> call) {
+        Deadline deadline = Deadline.current();
+
+        if (!deadline.isBounded()) {
+            return call.get();
+        }
+
+        checkExpired(operation, deadline);
+
+        return await(submit(operation, call, deadline), operation, deadline);
+    }
+
+    public void run(DownstreamOperation operation, Runnable call) {
+        call(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Sends a write unless the deadline has already passed, then waits for it to finish however long it takes.
+     */
+    public <T> T write(DownstreamOperation operation, Supplier<T> call) {
+        checkExpired(operation, Deadline.current());
+        return call.get();
+    }
+
+    public void runWrite(DownstreamOperation operation, Runnable call) {
+        write(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public <T> T hedge(DownstreamOperation operation, Supplier<T> call) {
+        long hedgeDelay = configuration.hedgingEnabled ? latencies.get(operation).hedgeDelayNanos() : -1L;
+
+        if (hedgeDelay < 0L) {
+            return call(operation, call);
+        }
+
+        Deadline deadline = Deadline.current();
+        checkExpired(operation, deadline);
+
+        Meters operationMeters = meters.get(operation);
+        operationMeters.hedgeableCalls.increment();
+
+        CompletableFuture<T> primary = submit(operation, call, deadline);
+
+        try {
+            return primary.get(Math.min(hedgeDelay, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            checkExpired(operation, deadline);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException(operation);
+        }
+
+        operationMeters.hedgesSent.increment();
+
+        CompletableFuture<T> hedge = submit(operation, call, deadline);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(2);
+        AtomicLong hedgeWonAt = new AtomicLong();
+
+        primary.whenComplete((result, failure) -> {
+            if (failure == null) {
+                winner.complete(result);
+
+                long wonAt = hedgeWonAt.get();
+
+                if (wonAt > 0L) {
+                    operationMeters.tailLatencySaved.record(System.nanoTime() - wonAt, TimeUnit.NANOSECONDS);
+                }
+            } else if (outstanding.decrementAndGet() == 0) {
+                winner.completeExceptionally(failure);
+            }
+        });
+
+        hedge.whenComplete((result, failure) -> {
+            if (failure == null) {
+                if (winner.complete(result)) {
+                    hedgeWonAt.set(System.nanoTime());
+                    operationMeters.hedgeWins.increment();
+                }
+            } else if (outstanding.decrementAndGet() == 0) {
+                winner.completeExceptionally(failure);
+            }
+        });
+
+        return await(winner, operation, deadline);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(DownstreamOperation operation, Supplier<T> call, Deadline deadline) {
+        Lane lane = Lane.current();
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        Runnable attempt = () -> {
+            long start = System.nanoTime();
+
+            try (Deadline.Binding binding = deadline.bind();
+                 Lane.Binding laneBinding = lane.bind()) {
+                T result = call.get();
+                latencies.get(operation).record(System.nanoTime() - start);
+                future.complete(result);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        try {
+            executor.execute(attempt);
+        } catch (RejectedExecutionException e) {
+            meters.get(operation).callsRunInline.increment();
+            attempt.run();
+        }
+
+        return future;
+    }
+
+    private <T> T await(CompletableFuture<T> future, DownstreamOperation operation, Deadline deadline) {
+        try {
+            return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meters.get(operation).deadlinesExceeded.increment();
+            throw new DeadlineExceededException(operation);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    private void checkExpired(DownstreamOperation operation, Deadline deadline) {
+        if (deadline.isExpired()) {
+            meters.get(operation).deadlinesExceeded.increment();
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    private RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        return new IllegalStateException(cause);
+    }
+
+    private class LatencyWindow {
+
+        private final long[] samples = new long[LATENCY_WINDOW_SIZE];
+
+        private int next;
+
+        private int recorded;
+
+        private long hedgeDelayNanos = -1L;
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            recorded = Math.min(recorded + 1, samples.length);
+
+            if (recorded >= configuration.minHedgeSamples && next % 16 == 0) {
+                long[] sorted = Arrays.copyOf(samples, recorded);
+                Arrays.sort(sorted);
+
+                long percentile = sorted[Math.min(sorted.length - 1, sorted.length * configuration.hedgePercentile / 100)];
+                hedgeDelayNanos = Math.max(percentile, TimeUnit.MILLISECONDS.toNanos(configuration.minHedgeDelayMillis));
+            }
+        }
+
+        synchronized long hedgeDelayNanos() {
+            return hedgeDelayNanos;
+        }
+    }
+
+    private static class Meters {
+
+        private final Counter hedgeableCalls;
+
+        private final Counter hedgesSent;
+
+        private final Counter hedgeWins;
+
+        private final Timer tailLatencySaved;
+
+        private final Counter deadlinesExceeded;
+
+        private final Counter callsRunInline;
+
+        Meters(DownstreamOperation operation, MeterRegistry registry) {
+            String name = operation.getMetricName();
+
+            hedgeableCalls = Counter.builder("downstream.hedge.calls").tag("operation", name).register(registry);
+            hedgesSent = Counter.builder("downstream.hedge.sent").tag("operation", name).register(registry);
+            hedgeWins = Counter.builder("downstream.hedge.wins").tag("operation", name).register(registry);
+            tailLatencySaved = Timer.builder("downstream.hedge.saved").tag("operation", name).register(registry);
+            deadlinesExceeded = Counter.builder("downstream.deadline.exceeded").tag("operation", name).register(registry);
+            callsRunInline = Counter.builder("downstream.deadline.inline").tag("operation", name).register(registry);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+public enum DownstreamOperation {
+    WMS_ORDER_VERIFICATION_SEARCH("wms.search.verifications"),
+    WMS_PICK_SEARCH("wms.search.picks"),
+    WMS_PICK_SAVE("wms.save.pick"),
+    CONSOLIDATION_STATUS("consolidation.status"),
+    CONSOLIDATION_LABEL_UPDATE("consolidation.label"),
+    CONSOLIDATION_HOLD("consolidation.hold"),
+    ORDERS_FIND("orders.find"),
+    ORDERS_SAVE("orders.save");
+
+    private final String metricName;
+
+    DownstreamOperation(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
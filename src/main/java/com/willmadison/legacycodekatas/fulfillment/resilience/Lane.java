@@ -0,0 +1,72 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+/**
+ * The priority class of a downstream call, bound to the calling thread like its {@link Deadline}. Calls waiting on a
+ * dependency's {@link ConcurrencyLimiter} are let through by lane, most urgent first, so a large sweep cannot hold up
+ * the label updates and lookups of pick completion processing. Threads with no lane bound are sweeping.
+ */
+public enum Lane {
+
+    /**
+     * Pick completion processing: latency sensitive, and the only lane with capacity reserved for it.
+     */
+    PICK_COMPLETION("pick-completion"),
+
+    /**
+     * Saves that send a stale pick back to be repicked.
+     */
+    REPICK("repick"),
+
+    /**
+     * Everything else the exception sweep looks up or writes.
+     */
+    SWEEP("sweep");
+
+    private static final ThreadLocal<Lane> current = new ThreadLocal<>();
+
+    private final String tag;
+
+    Lane(String tag) {
+        this.tag = tag;
+    }
+
+    public static Lane current() {
+        Lane lane = current.get();
+        return lane != null ? lane : SWEEP;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return whether calls in this lane go ahead of calls in {@code other}
+     */
+    public boolean isMoreUrgentThan(Lane other) {
+        return ordinal() < other.ordinal();
+    }
+
+    public Binding bind() {
+        Lane previous = current.get();
+        current.set(this);
+        return new Binding(previous);
+    }
+
+    public static final class Binding implements AutoCloseable {
+
+        private final Lane previous;
+
+        private Binding(Lane previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+public class LimitExceededException extends RuntimeException {
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
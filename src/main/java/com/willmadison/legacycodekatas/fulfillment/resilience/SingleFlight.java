@@ -0,0 +1,164 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses identical concurrent reads of a single downstream dependency into one call. The first caller for a key
+ * makes the call on its own thread; callers asking for the same key while it is in flight wait for it and are handed
+ * its result, or its failure, instead of calling again. Once the call returns the key is forgotten, so nothing is
+ * cached: a caller arriving afterwards makes a fresh call.
+ * <p>
+ * A waiting caller gives up with a {@link DeadlineExceededException} when its own {@link Deadline} passes, whatever
+ * the deadline of the caller it is waiting on. Results that callers go on to change must be handed out through a
+ * {@code share} operator that gives each waiting caller its own copy.
+ * <p>
+ * A caller only waits on a call made in a {@link Lane} at least as urgent as its own; otherwise it makes its own call,
+ * so a pick completion lookup is never left queued behind a sweep's.
+ */
+public class SingleFlight {
+
+    private final ConcurrentMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Map<DownstreamOperation, Meters> meters = new EnumMap<>(DownstreamOperation.class);
+
+    public SingleFlight(MeterRegistry registry, DownstreamOperation... operations) {
+        for (DownstreamOperation operation : operations) {
+            meters.put(operation, new Meters(operation, registry));
+        }
+    }
+
+    public <T> T call(DownstreamOperation operation, Object key, Supplier<T> call) {
+        return call(operation, key, call, UnaryOperator.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T call(DownstreamOperation operation, Object key, Supplier<T> call, UnaryOperator<T> share) {
+        Meters operationMeters = meters.get(operation);
+
+        if (operationMeters == null) {
+            throw new IllegalArgumentException(operation + " is not a collapsible operation");
+        }
+
+        operationMeters.calls.increment();
+
+        FlightKey flightKey = new FlightKey(operation, key);
+        Flight flight = new Flight(Lane.current());
+        Flight inFlight = flights.putIfAbsent(flightKey, flight);
+
+        if (inFlight != null) {
+            if (flight.lane.isMoreUrgentThan(inFlight.lane)) {
+                return call.get();
+            }
+
+            operationMeters.collapsed.increment();
+            return share.apply((T) await(inFlight.result, operation));
+        }
+
+        T result;
+
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(flightKey, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+
+        flights.remove(flightKey, flight);
+        flight.result.complete(result);
+
+        return result;
+    }
+
+    int getInFlight() {
+        return flights.size();
+    }
+
+    private Object await(CompletableFuture<Object> flight, DownstreamOperation operation) {
+        try {
+            return flight.get(Deadline.current().remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(operation);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException(operation);
+        }
+    }
+
+    private static final class Flight {
+
+        private final Lane lane;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(Lane lane) {
+            this.lane = lane;
+        }
+    }
+
+    private static final class FlightKey {
+
+        private final DownstreamOperation operation;
+
+        private final Object key;
+
+        private FlightKey(DownstreamOperation operation, Object key) {
+            this.operation = operation;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof FlightKey)) {
+                return false;
+            }
+
+            FlightKey other = (FlightKey) o;
+            return operation == other.operation && Objects.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * operation.hashCode() + Objects.hashCode(key);
+        }
+    }
+
+    private static class Meters {
+
+        private final Counter calls;
+
+        private final Counter collapsed;
+
+        Meters(DownstreamOperation operation, MeterRegistry registry) {
+            String name = operation.getMetricName();
+
+            calls = Counter.builder("downstream.singleflight.calls").tag("operation", name).register(registry);
+            collapsed = Counter.builder("downstream.singleflight.collapsed").tag("operation", name).register(registry);
+        }
+    }
+}
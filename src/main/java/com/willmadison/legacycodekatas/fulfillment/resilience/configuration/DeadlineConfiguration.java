@@ -0,0 +1,64 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience.configuration;
+
+public class DeadlineConfiguration {
+
+    public boolean enabled = true;
+
+    public boolean hedgingEnabled = false;
+
+    public int hedgePercentile = 95;
+
+    public int minHedgeSamples = 50;
+
+    public long minHedgeDelayMillis = 10L;
+
+    public int maxCallThreads = 64;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+
+    public int getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public void setHedgePercentile(int hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public int getMinHedgeSamples() {
+        return minHedgeSamples;
+    }
+
+    public void setMinHedgeSamples(int minHedgeSamples) {
+        this.minHedgeSamples = minHedgeSamples;
+    }
+
+    public long getMinHedgeDelayMillis() {
+        return minHedgeDelayMillis;
+    }
+
+    public void setMinHedgeDelayMillis(long minHedgeDelayMillis) {
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+    }
+
+    public int getMaxCallThreads() {
+        return maxCallThreads;
+    }
+
+    public void setMaxCallThreads(int maxCallThreads) {
+        this.maxCallThreads = maxCallThreads;
+    }
+}
@@ -0,0 +1,137 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience.configuration;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.Lane;
+
+public class LimiterConfiguration {
+
+    public boolean enabled = true;
+
+    public int initialLimit = 20;
+
+    public int minLimit = 2;
+
+    public int maxLimit = 200;
+
+    public double backoffRatio = 0.9;
+
+    public long latencyThresholdMillis = 2000L;
+
+    public int maxQueueSize = 100;
+
+    public long maxQueueWaitMillis = 5000L;
+
+    public int pickCompletionWeight = 6;
+
+    public int repickWeight = 3;
+
+    public int sweepWeight = 1;
+
+    public double pickCompletionReservedShare = 0.2;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public long getLatencyThresholdMillis() {
+        return latencyThresholdMillis;
+    }
+
+    public void setLatencyThresholdMillis(long latencyThresholdMillis) {
+        this.latencyThresholdMillis = latencyThresholdMillis;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    public long getMaxQueueWaitMillis() {
+        return maxQueueWaitMillis;
+    }
+
+    public void setMaxQueueWaitMillis(long maxQueueWaitMillis) {
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+    }
+
+    public int getPickCompletionWeight() {
+        return pickCompletionWeight;
+    }
+
+    public void setPickCompletionWeight(int pickCompletionWeight) {
+        this.pickCompletionWeight = pickCompletionWeight;
+    }
+
+    public int getRepickWeight() {
+        return repickWeight;
+    }
+
+    public void setRepickWeight(int repickWeight) {
+        this.repickWeight = repickWeight;
+    }
+
+    public int getSweepWeight() {
+        return sweepWeight;
+    }
+
+    public void setSweepWeight(int sweepWeight) {
+        this.sweepWeight = sweepWeight;
+    }
+
+    public double getPickCompletionReservedShare() {
+        return pickCompletionReservedShare;
+    }
+
+    public void setPickCompletionReservedShare(double pickCompletionReservedShare) {
+        this.pickCompletionReservedShare = pickCompletionReservedShare;
+    }
+
+    public int weight(Lane lane) {
+        switch (lane) {
+            case PICK_COMPLETION:
+                return pickCompletionWeight;
+            case REPICK:
+                return repickWeight;
+            default:
+                return sweepWeight;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience.configuration;
+
+public class SingleFlightConfiguration {
+
+    public boolean enabled = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
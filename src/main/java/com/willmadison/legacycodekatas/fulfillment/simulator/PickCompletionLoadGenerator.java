@@ -0,0 +1,94 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+import com.willmadison.legacycodekatas.fulfillment.simulator.configuration.SimulatorConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.PartitionedMessageLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes random open picks in the simulator and publishes their completion messages at the configured rate, onto
+ * the pick completion log keyed by order number when there is one, otherwise onto the pick completion queue.
+ */
+public class PickCompletionLoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickCompletionLoadGenerator.class);
+
+    private static final long TICK_MILLIS = 100L;
+
+    private final WarehouseSimulator simulator;
+
+    private final Queue<Message> queue;
+
+    private final PartitionedMessageLog log;
+
+    private final SimulatorConfiguration configuration;
+
+    private final ScheduledExecutorService publisher;
+
+    private final Counter messagesPublished;
+
+    private double owed;
+
+    public PickCompletionLoadGenerator(WarehouseSimulator simulator, Queue<Message> queue, Optional<PartitionedMessageLog> log,
+                                       SimulatorConfiguration configuration, MeterRegistry registry) {
+        this.simulator = simulator;
+        this.queue = queue;
+        this.log = log.orElse(null);
+        this.configuration = configuration;
+
+        messagesPublished = registry.counter("simulator.pick.completions.published");
+
+        publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pick-completion-load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        publisher.scheduleAtFixedRate(this::publish, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        logger.info("Publishing {} pick completions per second...", configuration.pickCompletionsPerSecond);
+    }
+
+    private void publish() {
+        try {
+            owed += configuration.pickCompletionsPerSecond * TICK_MILLIS / 1000.0;
+
+            while (owed >= 1.0) {
+                Pick pick = simulator.completeRandomPick();
+
+                if (pick == null) {
+                    owed = 0.0;
+                    break;
+                }
+
+                Message message = new Message("{\"id\": " + pick.id + ", \"straggler\": false, \"wmsUserId\": \"" + pick.wmsUserId + "\"}",
+                        pick.orderNumber);
+
+                if (log != null) {
+                    log.append(message);
+                } else {
+                    queue.add(message);
+                }
+
+                messagesPublished.increment();
+                owed -= 1.0;
+            }
+        } catch (Exception e) {
+            logger.error("Encountered an exception attempting to publish simulated pick completions!", e);
+        }
+    }
+
+    public void shutdown() {
+        publisher.shutdownNow();
+    }
+}
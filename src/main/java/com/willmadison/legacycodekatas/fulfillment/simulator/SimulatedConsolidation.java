@@ -0,0 +1,32 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+
+public class SimulatedConsolidation implements Consolidation {
+
+    private final WarehouseSimulator simulator;
+
+    public SimulatedConsolidation(WarehouseSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        simulator.call(WarehouseSimulator.CONSOLIDATION, "status");
+        return simulator.consolidationStatus(orderNumber);
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        simulator.call(WarehouseSimulator.CONSOLIDATION, "label-update");
+        simulator.label(Integer.parseInt(orderNumber), itemId, label);
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        simulator.call(WarehouseSimulator.CONSOLIDATION, "hold");
+        simulator.hold(orderNumber);
+    }
+}
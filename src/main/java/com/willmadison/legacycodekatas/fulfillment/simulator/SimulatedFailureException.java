@@ -0,0 +1,8 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+public class SimulatedFailureException extends RuntimeException {
+
+    public SimulatedFailureException(String dependency, String operation) {
+        super("Simulated " + dependency + " failure during " + operation);
+    }
+}
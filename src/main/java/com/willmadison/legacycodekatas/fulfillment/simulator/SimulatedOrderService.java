@@ -0,0 +1,49 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeFeed;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+
+import java.util.Optional;
+import java.util.Set;
+
+public class SimulatedOrderService implements OrderService {
+
+    private final WarehouseSimulator simulator;
+
+    public SimulatedOrderService(WarehouseSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    @Override
+    public Set<Order> find(SearchParameters searchParameters) {
+        simulator.call(WarehouseSimulator.ORDERS, "find");
+        return simulator.findOrders(searchParameters);
+    }
+
+    @Override
+    public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+        simulator.call(WarehouseSimulator.ORDERS, "find");
+        return simulator.findOrderPage(searchParameters, OrderPage.resumeAfter(continuationToken), pageSize);
+    }
+
+    @Override
+    public void save(Order order) {
+        simulator.call(WarehouseSimulator.ORDERS, "save-order");
+        simulator.saveOrder(order);
+    }
+
+    @Override
+    public void save(OrderItem orderItem) {
+        simulator.call(WarehouseSimulator.ORDERS, "save-item");
+        simulator.saveOrderItem(orderItem);
+    }
+
+    @Override
+    public Optional<OrderChangeFeed> changeFeed() {
+        return Optional.of(simulator.changeFeed());
+    }
+}
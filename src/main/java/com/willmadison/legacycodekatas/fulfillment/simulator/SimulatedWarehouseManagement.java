@@ -0,0 +1,43 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerificationSearchRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerificationSearchResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSaveRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSaveResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSearchRequest;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.PickSearchResponse;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.WarehouseManagement;
+
+public class SimulatedWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseSimulator simulator;
+
+    public SimulatedWarehouseManagement(WarehouseSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        simulator.call(WarehouseSimulator.WMS, "verification-search");
+
+        OrderVerificationSearchResponse response = new OrderVerificationSearchResponse();
+        response.verifications = simulator.findVerifications(request.searchParameters.orderNumber);
+        return response;
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        simulator.call(WarehouseSimulator.WMS, "pick-search");
+
+        PickSearchResponse response = new PickSearchResponse();
+        response.picks = simulator.findPicks(request.searchParameters);
+        return response;
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        simulator.call(WarehouseSimulator.WMS, "pick-save");
+        simulator.savePick(request.pick);
+        return new PickSaveResponse();
+    }
+}
@@ -0,0 +1,107 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically logs how the pipeline is keeping up with the simulated warehouse: sweep and pick completion batch
+ * durations, completion lag (from a pick completion being published to its order item being saved) and downstream
+ * call counts.
+ */
+public class SimulationReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationReport.class);
+
+    private final WarehouseSimulator simulator;
+
+    private final Queue<Message> queue;
+
+    private final MeterRegistry registry;
+
+    public SimulationReport(WarehouseSimulator simulator, Queue<Message> queue, MeterRegistry registry) {
+        this.simulator = simulator;
+        this.queue = queue;
+        this.registry = registry;
+    }
+
+    @Scheduled(fixedDelayString = "${simulator.reportIntervalMillis:60000}", initialDelayString = "${simulator.reportIntervalMillis:60000}")
+    public void report() {
+        logger.info("Simulation report: {}", summarize());
+    }
+
+    String summarize() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("wipOrders=").append(simulator.wipOrders())
+                .append(", openPicks=").append(simulator.openPicks())
+                .append(", queued=").append(queue.size());
+
+        long logLag = 0L;
+
+        for (Meter meter : registry.find("messaging.log.lag").tag("log", "pick-completion").meters()) {
+            if (meter instanceof Gauge) {
+                logLag += (long) ((Gauge) meter).value();
+            }
+        }
+
+        report.append(", logLag=").append(logLag);
+
+        appendTimer(report, "sweep", registry.find("exceptions.cycle.duration").tag("cycle", "exceptions").timer());
+        appendTimer(report, "pickCompletionBatch", registry.find("exceptions.cycle.duration").tag("cycle", "pick-completion").timer());
+        appendTimer(report, "completionLag", registry.find("simulator.completion.lag").timer());
+
+        report.append(", calls=").append(countsByOperation("simulator.calls"))
+                .append(", failures=").append(countsByOperation("simulator.failures"))
+                .append(", collapsed=").append(countsByOperation("downstream.singleflight.collapsed"));
+
+        return report.toString();
+    }
+
+    private Map<String, Long> countsByOperation(String counterName) {
+        Map<String, Long> counts = new TreeMap<>();
+
+        for (Meter meter : registry.find(counterName).meters()) {
+            if (meter instanceof Counter) {
+                String dependency = meter.getId().getTag("dependency");
+                String operation = meter.getId().getTag("operation");
+
+                counts.put(dependency == null ? operation : dependency + "." + operation, (long) ((Counter) meter).count());
+            }
+        }
+
+        return counts;
+    }
+
+    private void appendTimer(StringBuilder report, String name, Timer timer) {
+        report.append(", ").append(name).append("=");
+
+        if (timer == null || timer.count() == 0) {
+            report.append("n/a");
+            return;
+        }
+
+        report.append("{count=").append(timer.count())
+                .append(", meanMs=").append(Math.round(timer.mean(TimeUnit.MILLISECONDS)))
+                .append(", maxMs=").append(Math.round(timer.max(TimeUnit.MILLISECONDS)));
+
+        for (ValueAtPercentile percentile : timer.takeSnapshot(false).percentileValues()) {
+            report.append(", p").append(Math.round(percentile.percentile() * 100))
+                    .append("Ms=").append(Math.round(percentile.value(TimeUnit.MILLISECONDS)));
+        }
+
+        report.append("}");
+    }
+}
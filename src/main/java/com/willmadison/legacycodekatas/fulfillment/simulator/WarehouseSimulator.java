@@ -0,0 +1,507 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeFeed;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeLog;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.simulator.configuration.DownstreamProfile;
+import com.willmadison.legacycodekatas.fulfillment.simulator.configuration.SimulatorConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.OrderVerification;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Skill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stateful stand-in for OrderService, WMS and Consolidation. Holds a population of synthetic WIP orders across every
+ * order type along with their picks, verifications and consolidation state, and moves them through the same lifecycle
+ * the real warehouse would: completed picks ship their items, fully shipped orders pass verification, and completed
+ * orders are replaced with fresh ones so the WIP population stays steady.
+ * <p>
+ * Every downstream call goes through {@link #call(String, String)}, which sleeps for a latency drawn from a log-normal
+ * distribution fitted to the configured median and p99, and fails at the configured error rate.
+ */
+public class WarehouseSimulator {
+
+    static final String ORDERS = "orders";
+
+    static final String WMS = "wms";
+
+    static final String CONSOLIDATION = "consolidation";
+
+    private static final double Z_99 = 2.326;
+
+    private static final Logger logger = LoggerFactory.getLogger(WarehouseSimulator.class);
+
+    private final SimulatorConfiguration configuration;
+
+    private final MeterRegistry registry;
+
+    private final Map<String, DownstreamProfile> profilesByDependency = new HashMap<>();
+
+    private final Map<String, Counter> callCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    private final Timer completionLag;
+
+    private final NavigableMap<Integer, Order> orders = new TreeMap<>();
+
+    private final Map<String, Integer> orderNumbersByItemId = new HashMap<>();
+
+    private final OrderChangeLog changes = new OrderChangeLog();
+
+    private final Map<Integer, Pick> picks = new HashMap<>();
+
+    private final Map<Integer, List<Integer>> pickIdsByOrderNumber = new HashMap<>();
+
+    private final List<Integer> openPickIds = new ArrayList<>();
+
+    private final Map<String, Long> pendingCompletionsByItemId = new HashMap<>();
+
+    private final Map<String, Label> labelsByConsolidatedItemId = new HashMap<>();
+
+    private final Set<Integer> heldOrders = new HashSet<>();
+
+    private int nextOrderNumber = 100000;
+
+    private int nextPickId = 1;
+
+    public WarehouseSimulator(SimulatorConfiguration configuration, MeterRegistry registry) {
+        this.configuration = configuration;
+        this.registry = registry;
+
+        profilesByDependency.put(ORDERS, configuration.orders);
+        profilesByDependency.put(WMS, configuration.wms);
+        profilesByDependency.put(CONSOLIDATION, configuration.consolidation);
+
+        completionLag = Timer.builder("simulator.completion.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+
+        registry.gauge("simulator.orders.wip", this, WarehouseSimulator::wipOrders);
+        registry.gauge("simulator.picks.open", this, WarehouseSimulator::openPicks);
+
+        synchronized (this) {
+            for (int i = 0; i < configuration.wipOrders; i++) {
+                createOrder();
+            }
+        }
+
+        logger.info("Simulating {} WIP orders with {} open picks...", wipOrders(), openPicks());
+    }
+
+    void call(String dependency, String operation) {
+        String key = dependency + ":" + operation;
+
+        callCounters.computeIfAbsent(key, k -> Counter.builder("simulator.calls")
+                .tag("dependency", dependency)
+                .tag("operation", operation)
+                .register(registry)).increment();
+
+        DownstreamProfile profile = profilesByDependency.get(dependency);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long latencyMillis = sampleLatencyMillis(profile, random);
+
+        if (latencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (random.nextDouble() < profile.errorRate) {
+            failureCounters.computeIfAbsent(key, k -> Counter.builder("simulator.failures")
+                    .tag("dependency", dependency)
+                    .tag("operation", operation)
+                    .register(registry)).increment();
+
+            throw new SimulatedFailureException(dependency, operation);
+        }
+    }
+
+    private long sampleLatencyMillis(DownstreamProfile profile, ThreadLocalRandom random) {
+        if (profile.medianLatencyMillis <= 0) {
+            return 0L;
+        }
+
+        double mu = Math.log(profile.medianLatencyMillis);
+        double sigma = Math.max(0.0, (Math.log(Math.max(profile.p99LatencyMillis, profile.medianLatencyMillis)) - mu) / Z_99);
+
+        return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    synchronized Set<Order> findOrders(SearchParameters searchParameters) {
+        Set<Order> found = new HashSet<>();
+
+        Collection<Order> candidates;
+
+        if (searchParameters.orderNumbers != null) {
+            candidates = new ArrayList<>();
+
+            for (Integer orderNumber : searchParameters.orderNumbers) {
+                Order order = orders.get(orderNumber);
+
+                if (order != null) {
+                    candidates.add(order);
+                }
+            }
+        } else {
+            candidates = orders.values();
+        }
+
+        for (Order order : candidates) {
+            if (matches(order, searchParameters)) {
+                found.add(copy(order));
+            }
+        }
+
+        return found;
+    }
+
+    synchronized OrderPage findOrderPage(SearchParameters searchParameters, int after, int pageSize) {
+        List<Order> found = new ArrayList<>();
+
+        for (Order order : orders.tailMap(after, false).values()) {
+            if (searchParameters.orderNumbers != null && !searchParameters.orderNumbers.contains(order.number)) {
+                continue;
+            }
+
+            if (!matches(order, searchParameters)) {
+                continue;
+            }
+
+            if (found.size() == pageSize) {
+                return new OrderPage(found, OrderPage.continueAfter(found.get(pageSize - 1).number));
+            }
+
+            found.add(copy(order));
+        }
+
+        return new OrderPage(found, null);
+    }
+
+    private static boolean matches(Order order, SearchParameters searchParameters) {
+        if (searchParameters.orderTypes != null && !searchParameters.orderTypes.contains(order.type)) {
+            return false;
+        }
+
+        return searchParameters.orderStatuses == null || searchParameters.orderStatuses.contains(order.status);
+    }
+
+    OrderChangeFeed changeFeed() {
+        return changes;
+    }
+
+    synchronized void saveOrder(Order order) {
+        if (!orders.containsKey(order.number)) {
+            return;
+        }
+
+        if (Order.Status.COMPLETE == order.status) {
+            retire(order.number);
+
+            if (configuration.replenish) {
+                createOrder();
+            }
+        } else {
+            orders.put(order.number, copy(order));
+            changes.record(order.number);
+        }
+    }
+
+    synchronized void saveOrderItem(OrderItem orderItem) {
+        Integer orderNumber = orderNumbersByItemId.get(orderItem.id);
+
+        if (orderNumber == null) {
+            return;
+        }
+
+        changes.record(orderNumber);
+
+        for (OrderItem item : orders.get(orderNumber).items) {
+            if (item.id.equals(orderItem.id)) {
+                item.status = orderItem.status;
+                item.numStraggles = orderItem.numStraggles;
+
+                if (OrderItem.Status.PICKED == orderItem.status || OrderItem.Status.STRAGGLED == orderItem.status) {
+                    Long pushedAt = pendingCompletionsByItemId.remove(orderItem.id);
+
+                    if (pushedAt != null) {
+                        completionLag.record(System.nanoTime() - pushedAt, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                // Picked items head straight to shipping in the simulated warehouse...
+                if (OrderItem.Status.PICKED == orderItem.status) {
+                    item.shipped = true;
+                }
+            }
+        }
+    }
+
+    synchronized Collection<OrderVerification> findVerifications(int orderNumber) {
+        Order order = orders.get(orderNumber);
+
+        if (order == null) {
+            return Collections.emptyList();
+        }
+
+        OrderVerification verification = new OrderVerification();
+        verification.successful = true;
+
+        for (OrderItem item : order.items) {
+            if (OrderItem.Status.DELETED != item.status && !item.shipped) {
+                verification.successful = false;
+                break;
+            }
+        }
+
+        return Collections.singletonList(verification);
+    }
+
+    synchronized Collection<Pick> findPicks(com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters searchParameters) {
+        Collection<Pick> found = new ArrayList<>();
+
+        Collection<Integer> pickIds = searchParameters.pickIds;
+
+        if (pickIds == null) {
+            pickIds = pickIdsByOrderNumber.getOrDefault(searchParameters.orderNumber, Collections.emptyList());
+        }
+
+        for (Integer pickId : pickIds) {
+            Pick pick = picks.get(pickId);
+
+            if (pick != null) {
+                found.add(copy(pick));
+            }
+        }
+
+        return found;
+    }
+
+    synchronized void savePick(Pick pick) {
+        if (!picks.containsKey(pick.id)) {
+            return;
+        }
+
+        picks.put(pick.id, copy(pick));
+
+        // A repicked pick goes back out to the floor...
+        if (pick.status == null && !openPickIds.contains(pick.id)) {
+            openPickIds.add(pick.id);
+        }
+    }
+
+    synchronized ConsolidatableOrder consolidationStatus(int orderNumber) {
+        Order order = orders.get(orderNumber);
+
+        if (order == null || order.reservationId == null) {
+            return null;
+        }
+
+        ConsolidatableOrder consolidatableOrder = new ConsolidatableOrder();
+        consolidatableOrder.items = new ArrayList<>();
+
+        for (Integer pickId : pickIdsByOrderNumber.get(orderNumber)) {
+            Pick pick = picks.get(pickId);
+
+            ConsolidatableOrder.ConsolidatableOrderItem item = new ConsolidatableOrder.ConsolidatableOrderItem();
+            item.id = Integer.toString(pick.id);
+            item.lastUpdate = pick.lastUpdate;
+            item.placed = Pick.Status.PICKED == pick.status;
+            consolidatableOrder.items.add(item);
+        }
+
+        return consolidatableOrder;
+    }
+
+    synchronized void label(int orderNumber, String consolidatedItemId, Label label) {
+        if (orders.containsKey(orderNumber)) {
+            labelsByConsolidatedItemId.put(consolidatedItemId, label);
+        }
+    }
+
+    synchronized void hold(int orderNumber) {
+        if (orders.containsKey(orderNumber)) {
+            heldOrders.add(orderNumber);
+        }
+    }
+
+    /**
+     * Marks a random open pick as picked, as if a picker had just finished it, and returns it so a completion message
+     * can be published. Returns null when there is nothing left on the floor and the WIP population is already full.
+     */
+    synchronized Pick completeRandomPick() {
+        if (openPickIds.isEmpty() && configuration.replenish && orders.size() < configuration.wipOrders) {
+            createOrder();
+        }
+
+        if (openPickIds.isEmpty()) {
+            return null;
+        }
+
+        int index = ThreadLocalRandom.current().nextInt(openPickIds.size());
+        int last = openPickIds.size() - 1;
+
+        Integer pickId = openPickIds.get(index);
+        openPickIds.set(index, openPickIds.get(last));
+        openPickIds.remove(last);
+
+        Pick pick = picks.get(pickId);
+        pick.status = Pick.Status.PICKED;
+        pick.wmsUserId = "picker-" + (pickId % 200);
+        pick.lastUpdate = LocalDateTime.now(ZoneId.of("UTC"));
+        pick.quantity = 1.0;
+
+        pendingCompletionsByItemId.putIfAbsent(pick.orderItemId, System.nanoTime());
+
+        return copy(pick);
+    }
+
+    synchronized int wipOrders() {
+        return orders.size();
+    }
+
+    synchronized int openPicks() {
+        return openPickIds.size();
+    }
+
+    private void createOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order.Type[] types = Order.Type.values();
+
+        int orderNumber = nextOrderNumber++;
+        boolean consolidatable = random.nextDouble() < configuration.consolidatableRatio;
+        int itemCount = consolidatable ? 2 + random.nextInt(Math.max(1, configuration.maxItemsPerOrder - 1)) : 1;
+
+        Order order = new Order();
+        order.id = UUID.randomUUID().toString();
+        order.number = orderNumber;
+        order.status = Order.Status.WIP;
+        order.type = types[orderNumber % types.length];
+        order.reservationId = consolidatable ? "R-" + orderNumber : null;
+        order.transactionId = UUID.randomUUID().toString();
+        order.lastUpdate = LocalDateTime.now(ZoneId.of("UTC"));
+        order.items = new ArrayList<>();
+
+        List<Integer> orderPickIds = new ArrayList<>();
+
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.id = orderNumber + "-" + i;
+            item.status = OrderItem.Status.WIP;
+            item.released = true;
+            order.items.add(item);
+            orderNumbersByItemId.put(item.id, orderNumber);
+
+            LocalDateTime assignedAt = LocalDateTime.now(ZoneId.of("UTC"))
+                    .minusMinutes(random.nextLong(Math.max(1L, configuration.maxPickAgeMinutes)));
+
+            Pick pick = new Pick();
+            pick.id = nextPickId++;
+            pick.orderItemId = item.id;
+            pick.orderNumber = orderNumber;
+            pick.status = Pick.Status.ASSIGNED;
+            pick.wmsUserId = "picker-" + (pick.id % 200);
+            pick.skill = new Skill();
+            pick.quantity = 0.0;
+            pick.createdOn = assignedAt;
+            pick.lastUpdate = assignedAt;
+            pick.fulfillmentStatus = "Unknown";
+
+            picks.put(pick.id, pick);
+            orderPickIds.add(pick.id);
+            openPickIds.add(pick.id);
+        }
+
+        orders.put(orderNumber, order);
+        pickIdsByOrderNumber.put(orderNumber, orderPickIds);
+        changes.record(orderNumber);
+    }
+
+    private void retire(int orderNumber) {
+        Order order = orders.remove(orderNumber);
+        changes.forget(orderNumber);
+
+        for (OrderItem item : order.items) {
+            orderNumbersByItemId.remove(item.id);
+            pendingCompletionsByItemId.remove(item.id);
+        }
+
+        for (Integer pickId : pickIdsByOrderNumber.remove(orderNumber)) {
+            picks.remove(pickId);
+            openPickIds.remove(pickId);
+            labelsByConsolidatedItemId.remove(Integer.toString(pickId));
+        }
+
+        heldOrders.remove(orderNumber);
+    }
+
+    private static Order copy(Order order) {
+        Order copy = new Order();
+        copy.id = order.id;
+        copy.number = order.number;
+        copy.status = order.status;
+        copy.type = order.type;
+        copy.reservationId = order.reservationId;
+        copy.transactionId = order.transactionId;
+        copy.lastUpdate = order.lastUpdate;
+        copy.completedOn = order.completedOn;
+        copy.items = new ArrayList<>();
+
+        for (OrderItem item : order.items) {
+            OrderItem itemCopy = new OrderItem();
+            itemCopy.id = item.id;
+            itemCopy.status = item.status;
+            itemCopy.shipped = item.shipped;
+            itemCopy.released = item.released;
+            itemCopy.numStraggles = item.numStraggles;
+            copy.items.add(itemCopy);
+        }
+
+        return copy;
+    }
+
+    private static Pick copy(Pick pick) {
+        Pick copy = new Pick();
+        copy.id = pick.id;
+        copy.orderItemId = pick.orderItemId;
+        copy.lastUpdate = pick.lastUpdate;
+        copy.status = pick.status;
+        copy.wmsUserId = pick.wmsUserId;
+        copy.straggled = pick.straggled;
+        copy.skill = pick.skill;
+        copy.quantity = pick.quantity;
+        copy.orderNumber = pick.orderNumber;
+        copy.createdOn = pick.createdOn;
+        copy.fulfillmentStatus = pick.fulfillmentStatus;
+        return copy;
+    }
+}
@@ -0,0 +1,43 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator.configuration;
+
+public class DownstreamProfile {
+
+    public long medianLatencyMillis = 20L;
+
+    public long p99LatencyMillis = 250L;
+
+    public double errorRate = 0.0;
+
+    public DownstreamProfile() {
+    }
+
+    public DownstreamProfile(long medianLatencyMillis, long p99LatencyMillis, double errorRate) {
+        this.medianLatencyMillis = medianLatencyMillis;
+        this.p99LatencyMillis = p99LatencyMillis;
+        this.errorRate = errorRate;
+    }
+
+    public long getMedianLatencyMillis() {
+        return medianLatencyMillis;
+    }
+
+    public void setMedianLatencyMillis(long medianLatencyMillis) {
+        this.medianLatencyMillis = medianLatencyMillis;
+    }
+
+    public long getP99LatencyMillis() {
+        return p99LatencyMillis;
+    }
+
+    public void setP99LatencyMillis(long p99LatencyMillis) {
+        this.p99LatencyMillis = p99LatencyMillis;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+}
@@ -0,0 +1,82 @@
+package com.willmadison.legacycodekatas.fulfillment.simulator.configuration;
+
+public class SimulatorConfiguration {
+
+    public int wipOrders = 5000;
+
+    public double consolidatableRatio = 0.4;
+
+    public int maxItemsPerOrder = 6;
+
+    public long maxPickAgeMinutes = 90L;
+
+    public double pickCompletionsPerSecond = 20.0;
+
+    public boolean replenish = true;
+
+    public DownstreamProfile orders = new DownstreamProfile(15L, 120L, 0.0);
+
+    public DownstreamProfile wms = new DownstreamProfile(25L, 400L, 0.01);
+
+    public DownstreamProfile consolidation = new DownstreamProfile(10L, 150L, 0.005);
+
+    public int getWipOrders() {
+        return wipOrders;
+    }
+
+    public void setWipOrders(int wipOrders) {
+        this.wipOrders = wipOrders;
+    }
+
+    public double getConsolidatableRatio() {
+        return consolidatableRatio;
+    }
+
+    public void setConsolidatableRatio(double consolidatableRatio) {
+        this.consolidatableRatio = consolidatableRatio;
+    }
+
+    public int getMaxItemsPerOrder() {
+        return maxItemsPerOrder;
+    }
+
+    public void setMaxItemsPerOrder(int maxItemsPerOrder) {
+        this.maxItemsPerOrder = maxItemsPerOrder;
+    }
+
+    public long getMaxPickAgeMinutes() {
+        return maxPickAgeMinutes;
+    }
+
+    public void setMaxPickAgeMinutes(long maxPickAgeMinutes) {
+        this.maxPickAgeMinutes = maxPickAgeMinutes;
+    }
+
+    public double getPickCompletionsPerSecond() {
+        return pickCompletionsPerSecond;
+    }
+
+    public void setPickCompletionsPerSecond(double pickCompletionsPerSecond) {
+        this.pickCompletionsPerSecond = pickCompletionsPerSecond;
+    }
+
+    public boolean isReplenish() {
+        return replenish;
+    }
+
+    public void setReplenish(boolean replenish) {
+        this.replenish = replenish;
+    }
+
+    public DownstreamProfile getOrders() {
+        return orders;
+    }
+
+    public DownstreamProfile getWms() {
+        return wms;
+    }
+
+    public DownstreamProfile getConsolidation() {
+        return consolidation;
+    }
+}
@@ -4,11 +4,25 @@ public class Message {
 
     private String body;
 
+    private Integer key;
+
     public Message(String body) {
         this.body = body;
     }
 
+    public Message(String body, Integer key) {
+        this.body = body;
+        this.key = key;
+    }
+
     public String getBody() {
         return this.body;
     }
+
+    /**
+     * The order number this message concerns, if the publisher knew it.
+     */
+    public Integer getKey() {
+        return this.key;
+    }
 }
@@ -0,0 +1,39 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.CircuitBreaker;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.CircuitBreakerConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class CircuitBreakingConsolidation implements Consolidation {
+
+    private final Consolidation delegate;
+
+    private final CircuitBreaker statusLookups;
+
+    private final CircuitBreaker labelUpdates;
+
+    private final CircuitBreaker holds;
+
+    public CircuitBreakingConsolidation(Consolidation delegate, CircuitBreakerConfiguration configuration, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.statusLookups = new CircuitBreaker(DownstreamOperation.CONSOLIDATION_STATUS, configuration, registry);
+        this.labelUpdates = new CircuitBreaker(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE, configuration, registry);
+        this.holds = new CircuitBreaker(DownstreamOperation.CONSOLIDATION_HOLD, configuration, registry);
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return statusLookups.call(() -> delegate.status(orderNumber, transactionId));
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        labelUpdates.run(() -> delegate.updateOrderItemLabel(orderNumber, itemId, label));
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        holds.run(() -> delegate.hold(orderNumber, transactionId));
+    }
+}
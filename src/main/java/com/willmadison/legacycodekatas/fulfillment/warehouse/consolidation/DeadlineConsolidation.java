@@ -0,0 +1,31 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.DeadlineExecutor;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+
+public class DeadlineConsolidation implements Consolidation {
+
+    private final Consolidation delegate;
+
+    private final DeadlineExecutor executor;
+
+    public DeadlineConsolidation(Consolidation delegate, DeadlineExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return executor.call(DownstreamOperation.CONSOLIDATION_STATUS, () -> delegate.status(orderNumber, transactionId));
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        executor.runWrite(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE, () -> delegate.updateOrderItemLabel(orderNumber, itemId, label));
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        executor.runWrite(DownstreamOperation.CONSOLIDATION_HOLD, () -> delegate.hold(orderNumber, transactionId));
+    }
+}
@@ -0,0 +1,30 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.ConcurrencyLimiter;
+
+public class LimitedConsolidation implements Consolidation {
+
+    private final Consolidation delegate;
+
+    private final ConcurrencyLimiter limiter;
+
+    public LimitedConsolidation(Consolidation delegate, ConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return limiter.call(() -> delegate.status(orderNumber, transactionId));
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        limiter.run(() -> delegate.updateOrderItemLabel(orderNumber, itemId, label));
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        limiter.run(() -> delegate.hold(orderNumber, transactionId));
+    }
+}
@@ -0,0 +1,39 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.DownstreamCallEvent;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+
+public class RecordingConsolidation implements Consolidation {
+
+    private final Consolidation delegate;
+
+    public RecordingConsolidation(Consolidation delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return DownstreamCallEvent.call(DownstreamOperation.CONSOLIDATION_STATUS, orderNumber, transactionId,
+                () -> delegate.status(orderNumber, transactionId));
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        DownstreamCallEvent.run(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE, parseOrderNumber(orderNumber), null,
+                () -> delegate.updateOrderItemLabel(orderNumber, itemId, label));
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        DownstreamCallEvent.run(DownstreamOperation.CONSOLIDATION_HOLD, orderNumber, transactionId,
+                () -> delegate.hold(orderNumber, transactionId));
+    }
+
+    private static int parseOrderNumber(String orderNumber) {
+        try {
+            return Integer.parseInt(orderNumber);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
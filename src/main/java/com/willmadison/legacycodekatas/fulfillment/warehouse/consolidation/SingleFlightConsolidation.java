@@ -0,0 +1,34 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.resilience.SingleFlight;
+
+/**
+ * Collapses identical concurrent status lookups, keyed on the order number. Label updates and holds always go through.
+ */
+public class SingleFlightConsolidation implements Consolidation {
+
+    private final Consolidation delegate;
+
+    private final SingleFlight singleFlight;
+
+    public SingleFlightConsolidation(Consolidation delegate, SingleFlight singleFlight) {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return singleFlight.call(DownstreamOperation.CONSOLIDATION_STATUS, orderNumber, () -> delegate.status(orderNumber, transactionId));
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        delegate.updateOrderItemLabel(orderNumber, itemId, label);
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        delegate.hold(orderNumber, transactionId);
+    }
+}
@@ -0,0 +1,324 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.CircuitBreakerOpenException;
+import com.willmadison.legacycodekatas.fulfillment.resilience.Lane;
+import com.willmadison.legacycodekatas.fulfillment.resilience.LimitExceededException;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.configuration.WriteBehindConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers label updates and holds, keeping only the latest label per consolidated item and a single pending hold per
+ * order, and writes them to Consolidation in the background once enough writes are pending or the flush interval
+ * elapses. Status lookups are passed straight through. Labels are copied as they are buffered, so a caller reusing its
+ * label afterwards can't change what gets written.
+ * <p>
+ * A write that fails is retried on later flushes, up to {@code maxFlushAttempts} in all, and is then given up on and
+ * logged to the {@code consolidation.writebehind.deadletter} log. A write rejected by the circuit breaker or shed by
+ * the concurrency limiter never reached Consolidation, so it isn't counted as an attempt; it stays pending, however
+ * long the breaker stays open, until a flush gets it through.
+ * <p>
+ * Each pending write remembers the most urgent {@link Lane} it was made in, and a flush writes the most urgent lane's
+ * writes first and in that lane, so a label from pick completion processing isn't queued behind a sweep's worth of
+ * labels.
+ */
+public class WriteBehindConsolidation implements Consolidation {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindConsolidation.class);
+
+    private static final Logger deadLetters = LoggerFactory.getLogger("consolidation.writebehind.deadletter");
+
+    private final Consolidation delegate;
+
+    private final WriteBehindConfiguration configuration;
+
+    private final ScheduledExecutorService flusher;
+
+    private final Object flushLock = new Object();
+
+    private Map<ItemKey, PendingWrite<Label>> pendingLabels = new LinkedHashMap<>();
+
+    private Map<Integer, PendingWrite<String>> pendingHolds = new LinkedHashMap<>();
+
+    private final Counter labelsCoalesced;
+
+    private final Counter holdsCoalesced;
+
+    private final Counter writesFlushed;
+
+    private final Counter writesDropped;
+
+    private final Counter writesDeferred;
+
+    public WriteBehindConsolidation(Consolidation delegate, WriteBehindConfiguration configuration, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.configuration = configuration;
+
+        labelsCoalesced = Counter.builder("consolidation.writebehind.coalesced").tag("write", "label").register(registry);
+        holdsCoalesced = Counter.builder("consolidation.writebehind.coalesced").tag("write", "hold").register(registry);
+        writesFlushed = registry.counter("consolidation.writebehind.flushed");
+        writesDropped = registry.counter("consolidation.writebehind.dropped");
+        writesDeferred = registry.counter("consolidation.writebehind.deferred");
+        registry.gauge("consolidation.writebehind.pending", this, WriteBehindConsolidation::pendingWrites);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "consolidation-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        flusher.scheduleWithFixedDelay(this::flush, configuration.flushIntervalMillis, configuration.flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ConsolidatableOrder status(int orderNumber, String transactionId) {
+        return delegate.status(orderNumber, transactionId);
+    }
+
+    @Override
+    public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        boolean flushNeeded;
+
+        synchronized (this) {
+            PendingWrite<Label> pendingLabel = new PendingWrite<>(label != null ? new Label(label.label) : null, Lane.current());
+            PendingWrite<Label> coalesced = pendingLabels.put(new ItemKey(orderNumber, itemId), pendingLabel);
+
+            if (coalesced != null) {
+                pendingLabel.escalate(coalesced.lane);
+                labelsCoalesced.increment();
+            }
+
+            flushNeeded = pendingWrites() >= configuration.maxPendingWrites;
+        }
+
+        if (flushNeeded) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    @Override
+    public void hold(int orderNumber, String transactionId) {
+        boolean flushNeeded;
+
+        synchronized (this) {
+            PendingWrite<String> pendingHold = pendingHolds.get(orderNumber);
+
+            if (pendingHold != null) {
+                pendingHold.escalate(Lane.current());
+                holdsCoalesced.increment();
+                return;
+            }
+
+            pendingHolds.put(orderNumber, new PendingWrite<>(transactionId, Lane.current()));
+
+            flushNeeded = pendingWrites() >= configuration.maxPendingWrites;
+        }
+
+        if (flushNeeded) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            Map<ItemKey, PendingWrite<Label>> labels;
+            Map<Integer, PendingWrite<String>> holds;
+
+            synchronized (this) {
+                if (pendingWrites() == 0) {
+                    return;
+                }
+
+                labels = pendingLabels;
+                holds = pendingHolds;
+
+                pendingLabels = new LinkedHashMap<>();
+                pendingHolds = new LinkedHashMap<>();
+            }
+
+            int deferred = 0;
+
+            for (Lane lane : Lane.values()) {
+                try (Lane.Binding binding = lane.bind()) {
+                    deferred += flushHolds(holds, lane);
+                    deferred += flushLabels(labels, lane);
+                }
+            }
+
+            if (deferred > 0) {
+                writesDeferred.increment(deferred);
+                logger.warn("Consolidation is short-circuited or shedding load, keeping {} writes pending until it recovers...", deferred);
+            }
+        }
+    }
+
+    /**
+     * @return the number of holds left pending because Consolidation rejected them unsent
+     */
+    private int flushHolds(Map<Integer, PendingWrite<String>> holds, Lane lane) {
+        int deferred = 0;
+
+        for (Map.Entry<Integer, PendingWrite<String>> hold : holds.entrySet()) {
+            if (hold.getValue().lane != lane) {
+                continue;
+            }
+
+            try {
+                delegate.hold(hold.getKey(), hold.getValue().value);
+                writesFlushed.increment();
+            } catch (CircuitBreakerOpenException | LimitExceededException e) {
+                ++deferred;
+
+                synchronized (this) {
+                    pendingHolds.putIfAbsent(hold.getKey(), hold.getValue());
+                }
+            } catch (Exception e) {
+                if (hold.getValue().failed() >= configuration.maxFlushAttempts) {
+                    writesDropped.increment();
+                    deadLetters.error("Giving up on the consolidation hold for Order #{} after {} attempts! (transactionId: {})",
+                            hold.getKey(), hold.getValue().attempts, hold.getValue().value, e);
+                    continue;
+                }
+
+                logger.warn("Encountered an exception flushing the consolidation hold for Order #{}! Will retry... (transactionId: {})",
+                        hold.getKey(), hold.getValue().value, e);
+
+                synchronized (this) {
+                    pendingHolds.putIfAbsent(hold.getKey(), hold.getValue());
+                }
+            }
+        }
+
+        return deferred;
+    }
+
+    /**
+     * @return the number of labels left pending because Consolidation rejected them unsent
+     */
+    private int flushLabels(Map<ItemKey, PendingWrite<Label>> labels, Lane lane) {
+        int deferred = 0;
+
+        for (Map.Entry<ItemKey, PendingWrite<Label>> update : labels.entrySet()) {
+            if (update.getValue().lane != lane) {
+                continue;
+            }
+
+            ItemKey key = update.getKey();
+
+            try {
+                delegate.updateOrderItemLabel(key.orderNumber, key.itemId, update.getValue().value);
+                writesFlushed.increment();
+            } catch (CircuitBreakerOpenException | LimitExceededException e) {
+                ++deferred;
+
+                synchronized (this) {
+                    pendingLabels.putIfAbsent(key, update.getValue());
+                }
+            } catch (Exception e) {
+                if (update.getValue().failed() >= configuration.maxFlushAttempts) {
+                    writesDropped.increment();
+                    deadLetters.error("Giving up on the consolidation label '{}' for Item {} on Order #{} after {} attempts!",
+                            labelText(update.getValue().value), key.itemId, key.orderNumber, update.getValue().attempts, e);
+                    continue;
+                }
+
+                logger.warn("Encountered an exception flushing the consolidation label for Item {} on Order #{}! Will retry...",
+                        key.itemId, key.orderNumber, e);
+
+                synchronized (this) {
+                    pendingLabels.putIfAbsent(key, update.getValue());
+                }
+            }
+        }
+
+        return deferred;
+    }
+
+    public void shutdown() {
+        flusher.shutdown();
+
+        try {
+            flusher.awaitTermination(configuration.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        logger.info("Flushing {} pending consolidation writes before shutdown...", pendingWrites());
+        flush();
+    }
+
+    synchronized int pendingWrites() {
+        return pendingLabels.size() + pendingHolds.size();
+    }
+
+    private static String labelText(Label label) {
+        return label != null ? label.label : null;
+    }
+
+    private static final class PendingWrite<T> {
+
+        private final T value;
+
+        private Lane lane;
+
+        private int attempts;
+
+        PendingWrite(T value, Lane lane) {
+            this.value = value;
+            this.lane = lane;
+        }
+
+        /**
+         * @return the number of attempts made to write this so far, including the one that just failed
+         */
+        int failed() {
+            return ++attempts;
+        }
+
+        void escalate(Lane other) {
+            if (other.isMoreUrgentThan(lane)) {
+                lane = other;
+            }
+        }
+    }
+
+    private static final class ItemKey {
+
+        private final String orderNumber;
+
+        private final String itemId;
+
+        ItemKey(String orderNumber, String itemId) {
+            this.orderNumber = orderNumber;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            ItemKey itemKey = (ItemKey) o;
+            return Objects.equals(orderNumber, itemKey.orderNumber) && Objects.equals(itemId, itemKey.itemId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(orderNumber, itemId);
+        }
+    }
+}
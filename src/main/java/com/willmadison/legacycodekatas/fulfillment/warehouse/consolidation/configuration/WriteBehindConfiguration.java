@@ -0,0 +1,44 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.configuration;
+
+public class WriteBehindConfiguration {
+
+    public boolean enabled = true;
+
+    public int maxPendingWrites = 500;
+
+    public long flushIntervalMillis = 1000L;
+
+    public int maxFlushAttempts = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxPendingWrites() {
+        return maxPendingWrites;
+    }
+
+    public void setMaxPendingWrites(int maxPendingWrites) {
+        this.maxPendingWrites = maxPendingWrites;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getMaxFlushAttempts() {
+        return maxFlushAttempts;
+    }
+
+    public void setMaxFlushAttempts(int maxFlushAttempts) {
+        this.maxFlushAttempts = maxFlushAttempts;
+    }
+}
@@ -0,0 +1,127 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.Deadline;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CycleSummary {
+
+    private final String cycle;
+
+    private final Deadline deadline;
+
+    private final Clock clock;
+
+    private final long start = System.currentTimeMillis();
+
+    private volatile boolean deadlineExceeded;
+
+    private final Set<DownstreamOperation> shortCircuited = ConcurrentHashMap.newKeySet();
+
+    private final Map<DownstreamOperation, AtomicInteger> skippedCalls = new ConcurrentHashMap<>();
+
+    private final AtomicInteger ordersProcessed = new AtomicInteger();
+
+    private final AtomicInteger ordersSkipped = new AtomicInteger();
+
+    private final AtomicInteger pagesSkipped = new AtomicInteger();
+
+    CycleSummary(String cycle, Deadline deadline) {
+        this(cycle, deadline, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock read once, fixing "now" in UTC for the rest of the cycle
+     */
+    CycleSummary(String cycle, Deadline deadline, Clock clock) {
+        this.cycle = cycle;
+        this.deadline = deadline;
+        this.clock = Clock.fixed(clock.instant(), ZoneOffset.UTC);
+    }
+
+    Deadline getDeadline() {
+        return deadline;
+    }
+
+    boolean isPastDeadline() {
+        if (deadline.isExpired()) {
+            deadlineExceeded = true;
+        }
+
+        return deadlineExceeded;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    String getCycle() {
+        return cycle;
+    }
+
+    boolean isShortCircuited(DownstreamOperation operation) {
+        return shortCircuited.contains(operation);
+    }
+
+    boolean shortCircuit(DownstreamOperation operation) {
+        return shortCircuited.add(operation);
+    }
+
+    void skipped(DownstreamOperation operation) {
+        skippedCalls.computeIfAbsent(operation, o -> new AtomicInteger()).incrementAndGet();
+    }
+
+    int getOrdersProcessed() {
+        return ordersProcessed.get();
+    }
+
+    int getOrdersSkipped() {
+        return ordersSkipped.get();
+    }
+
+    /**
+     * @return the number of pages of orders that couldn't be read, or whose orders couldn't be handled, this cycle
+     */
+    int getPagesSkipped() {
+        return pagesSkipped.get();
+    }
+
+    boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    void orderProcessed() {
+        ordersProcessed.incrementAndGet();
+    }
+
+    void orderSkipped() {
+        ordersSkipped.incrementAndGet();
+    }
+
+    void pageSkipped() {
+        pagesSkipped.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        Set<DownstreamOperation> openPaths = shortCircuited.isEmpty() ? EnumSet.noneOf(DownstreamOperation.class) : EnumSet.copyOf(shortCircuited);
+
+        return "CycleSummary{" +
+                "cycle=" + cycle +
+                ", durationMillis=" + (System.currentTimeMillis() - start) +
+                ", ordersProcessed=" + ordersProcessed +
+                ", ordersSkipped=" + ordersSkipped +
+                ", pagesSkipped=" + pagesSkipped +
+                ", deadlineExceeded=" + deadlineExceeded +
+                ", shortCircuited=" + openPaths +
+                ", skippedCalls=" + skippedCalls +
+                '}';
+    }
+}
@@ -5,40 +5,66 @@ import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.OrderProcessingEvent;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.PickCompletionBatchEvent;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.SweepCycleEvent;
 import com.willmadison.legacycodekatas.fulfillment.orders.Order;
 import com.willmadison.legacycodekatas.fulfillment.orders.Order.Type;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChange;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeFeed;
 import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
 import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
 import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.resilience.CircuitBreakerOpenException;
+import com.willmadison.legacycodekatas.fulfillment.resilience.Deadline;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DeadlineExceededException;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.resilience.Lane;
+import com.willmadison.legacycodekatas.fulfillment.resilience.LimitExceededException;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.SweepMode;
 import com.willmadison.legacycodekatas.fulfillment.warehouse.management.*;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.MessageBatch;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.PartitionedMessageLog;
+import com.willmadison.legacycodekatas.fulfillment.workers.SaturationPolicy;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPool;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPoolSaturatedException;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class ExceptionHandler {
 
-    private static final int MAX_BACKGROUND_EXCEPTION_HANDLERS = 8;
-
-    private static final int MAX_BACKGROUND_PICK_COMPLETION_HANDLERS = 10;
+    private static final Set<OrderItem.Status> REPICKABLE_STATUSES = EnumSet.of(OrderItem.Status.WIP,
+            OrderItem.Status.STRAGGLED, OrderItem.Status.PICKED);
 
     private final OrderService orderService;
 
@@ -50,60 +76,173 @@ public class ExceptionHandler {
 
     private final ExceptionConfiguration configuration;
 
-    private ObjectMapper mapper = new ObjectMapper();
+    private final Clock clock;
+
+    private final WorkerPool backgroundOrderExceptionHandlers;
+
+    private final Map<Type, WorkerPool> backgroundExceptionHandlers = new EnumMap<>(Type.class);
+
+    private final WorkerPool backgroundPickCompletionHandlers;
+
+    private final Queue<Message> mergedPickCompletions = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger mergedPickCompletionCount = new AtomicInteger();
+
+    private final PickCompletionDeduplicator pickCompletionDeduplicator;
+
+    private final OrderPrioritizer orderPrioritizer;
+
+    private final ReactiveSweep reactiveSweep;
+
+    private final OrderLocks orderLocks;
+
+    private final Timer exceptionCycleTimer;
+
+    private final Timer pickCompletionBatchTimer;
+
+    private final Counter fullSweeps;
+
+    private final Counter incrementalSweeps;
 
-    private ExecutorService backgroundExceptionHandlers = Executors.newFixedThreadPool(MAX_BACKGROUND_EXCEPTION_HANDLERS);
+    private volatile long changeWatermark = -1L;
 
-    private ExecutorService backgroundOrderExceptionHandlers = Executors.newFixedThreadPool(Type.values().length);
+    private volatile long lastFullReconciliation;
 
-    private ExecutorService backgroundPickCompletionHandlers = Executors.newFixedThreadPool(MAX_BACKGROUND_PICK_COMPLETION_HANDLERS);
+    private final StartupProbe startupProbe;
+
+    private final AtomicBoolean cycleInProgress = new AtomicBoolean();
 
     private Logger logger = LoggerFactory.getLogger(ExceptionHandler.class);
 
-    ExceptionHandler(OrderService orderService, WarehouseManagement wms, Consolidation consolidation, Queue<Message> queue, ExceptionConfiguration configuration) {
+    ExceptionHandler(OrderService orderService, WarehouseManagement wms, Consolidation consolidation, Queue<Message> queue,
+                     Optional<PartitionedMessageLog> pickCompletionLog, ExceptionConfiguration configuration,
+                     Clock clock, WorkerPools workerPools, StartupProbe startupProbe, MeterRegistry registry) {
         this.orderService = orderService;
         this.wms = wms;
         this.consolidation = consolidation;
         this.queue = queue;
         this.configuration = configuration;
+        this.clock = clock;
+        this.startupProbe = startupProbe;
+        this.backgroundOrderExceptionHandlers = workerPools.create("exceptions", configuration.sweepPool);
+        this.backgroundPickCompletionHandlers = workerPools.create("pick-completion", configuration.pickCompletionPool);
+
+        for (Type orderType : Type.values()) {
+            backgroundExceptionHandlers.put(orderType, workerPools.create("exceptions." + orderType, configuration.orderTypePool(orderType)));
+        }
+        this.pickCompletionDeduplicator = new PickCompletionDeduplicator(configuration.pickCompletionDedupWindowMinutes,
+                configuration.pickCompletionDedupMaxEntries, registry);
+        this.orderPrioritizer = new OrderPrioritizer(configuration, registry);
+        this.orderLocks = new OrderLocks(configuration.orderLockStripes, registry);
+        this.reactiveSweep = new ReactiveSweep(this, orderService, orderPrioritizer, configuration.reactiveSweep, workerPools, registry);
+        this.exceptionCycleTimer = Timer.builder("exceptions.cycle.duration").tag("cycle", "exceptions").register(registry);
+        this.pickCompletionBatchTimer = Timer.builder("exceptions.cycle.duration").tag("cycle", "pick-completion").register(registry);
+        this.fullSweeps = registry.counter("exceptions.sweeps", "mode", "full");
+        this.incrementalSweeps = registry.counter("exceptions.sweeps", "mode", "incremental");
+        registry.gauge("exceptions.pickcompletions.merged", mergedPickCompletionCount);
+
+        pickCompletionLog.ifPresent(log -> log.subscribe(this::handlePickCompletionBatch));
     }
 
     @Scheduled(cron = "0 0/1 * * * *")  // Every minute...
-    private void handleExceptions() {
+    void handleExceptions() {
+        if (!cycleInProgress.compareAndSet(false, true)) {
+            logger.warn("The previous exception handling cycle is still running, skipping this one...");
+            return;
+        }
+
+        try {
+            doHandleExceptions();
+        } finally {
+            cycleInProgress.set(false);
+        }
+    }
+
+    /**
+     * Runs the first cycle as soon as the application is up rather than at the next minute boundary, so a freshly
+     * deployed instance doesn't sit idle for up to a minute.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void sweepOnStartup() {
+        if (configuration.sweepOnStartup) {
+            logger.info("Handling exception scenarios on startup...");
+            handleExceptions();
+        }
+    }
+
+    private void doHandleExceptions() {
         logger.info("Handling exception scenarios...");
 
         if (configuration.enabled) {
             if (configuration.warehouseOperational) {
+                long start = System.nanoTime();
+                CycleSummary summary = new CycleSummary("exceptions", Deadline.after(Duration.ofSeconds(configuration.cycleDeadlineSeconds)), clock);
+
+                SweepCycleEvent cycleEvent = new SweepCycleEvent();
+                cycleEvent.begin();
+
                 Set<Type> orderTypes = EnumSet.noneOf(Type.class);
                 orderTypes.addAll(configuration.supportedOrderTypes);
 
-                ExecutorCompletionService<Boolean> exceptionHandlingCompletionService = new ExecutorCompletionService<>(backgroundOrderExceptionHandlers);
+                Optional<OrderChangeFeed> changeFeed = orderService.changeFeed();
+                boolean fullReconciliation = isFullReconciliationDue(changeFeed);
 
-                int completions = 0;
-                int submissions = 0;
+                long sequence;
+                Set<Integer> changedOrderNumbers;
 
-                for (final Type orderType : orderTypes) {
-                    exceptionHandlingCompletionService.submit(() -> {
-                        handleExceptionsFor(orderType, configuration);
-                        return true;
-                    });
-                    ++submissions;
+                if (fullReconciliation) {
+                    sequence = changeFeed.map(OrderChangeFeed::latestSequence).orElse(0L);
+                    changedOrderNumbers = null;
+                    fullSweeps.increment();
+
+                    logger.info("Reconciling every WIP order (change sequence {})...", sequence);
+                } else {
+                    changedOrderNumbers = new TreeSet<>();
+                    sequence = readChangesSince(changeWatermark, changeFeed.get(), changedOrderNumbers);
+                    incrementalSweeps.increment();
+
+                    logger.info("Sweeping {} orders changed between sequence {} and {}...", changedOrderNumbers.size(),
+                            changeWatermark, sequence);
                 }
 
-                logger.info("Awaiting exception handling completion...", orderTypes);
+                Set<Type> orderTypesSkipped = EnumSet.noneOf(Type.class);
 
-                //noinspection Duplicates
-                while (completions < submissions) {
-                    try {
-                        exceptionHandlingCompletionService.take();
-                        ++completions;
-                    } catch (Exception e) {
-                        logger.error("Encountered an exception attempting to retrieve our exception handling results....", e);
+                if (configuration.sweepMode == SweepMode.REACTIVE) {
+                    try (Deadline.Binding binding = summary.getDeadline().bind()) {
+                        reactiveSweep.sweep(orderTypes, changedOrderNumbers, configuration, summary);
                     }
-
+                } else {
+                    sweepOrderTypes(orderTypes, changedOrderNumbers, summary, orderTypesSkipped);
                 }
 
                 logger.info("Exceptions completely handled for the following order types: {}...", orderTypes);
+                logger.info("Exception handling cycle summary: {}", summary);
+
+                if (summary.isDeadlineExceeded() || summary.getOrdersSkipped() > 0 || summary.getPagesSkipped() > 0 ||
+                        !orderTypesSkipped.isEmpty()) {
+                    logger.warn("Orders were skipped this cycle, holding the change watermark at {} so they are revisited...",
+                            changeWatermark);
+                } else {
+                    changeWatermark = sequence;
+
+                    if (fullReconciliation) {
+                        lastFullReconciliation = System.nanoTime();
+                    }
+                }
+
+                exceptionCycleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+                cycleEvent.end();
+
+                if (cycleEvent.shouldCommit()) {
+                    cycleEvent.cycle = summary.getCycle();
+                    cycleEvent.ordersProcessed = summary.getOrdersProcessed();
+                    cycleEvent.ordersSkipped = summary.getOrdersSkipped();
+                    cycleEvent.deadlineExceeded = summary.isDeadlineExceeded();
+                    cycleEvent.commit();
+                }
+
+                startupProbe.cycleCompleted();
             } else {
                 logger.info("No need to handle exceptions at this moment. Warehouse is not operational!");
             }
@@ -112,7 +251,61 @@ public class ExceptionHandler {
         }
     }
 
-    private void handleExceptionsFor(Type orderType, ExceptionConfiguration configuration) {
+    /**
+     * The blocking sweep: each order type's pages are handled by a worker from the sweep pool, which hands each page's
+     * orders to its type's workers and waits for them.
+     */
+    private void sweepOrderTypes(Set<Type> orderTypes, Set<Integer> changedOrderNumbers, CycleSummary summary, Set<Type> orderTypesSkipped) {
+        ExecutorCompletionService<Boolean> exceptionHandlingCompletionService = new ExecutorCompletionService<>(backgroundOrderExceptionHandlers);
+
+        int submissions = 0;
+
+        for (final Type orderType : orderTypes) {
+            try {
+                exceptionHandlingCompletionService.submit(() -> {
+                    try (Deadline.Binding binding = summary.getDeadline().bind()) {
+                        if (changedOrderNumbers == null) {
+                            handleExceptionsFor(orderType, configuration, summary);
+                        } else {
+                            handleChangedOrderExceptionsFor(changedOrderNumbers, orderType, configuration, summary);
+                        }
+                    }
+                    return true;
+                });
+                ++submissions;
+            } catch (WorkerPoolSaturatedException e) {
+                logger.warn("Exception workers are saturated, skipping {} orders this cycle...", orderType);
+                orderTypesSkipped.add(orderType);
+            }
+        }
+
+        logger.info("Awaiting exception handling completion...", orderTypes);
+
+        awaitCompletions(exceptionHandlingCompletionService, submissions, summary);
+    }
+
+    /**
+     * Waits for the submitted workers to finish. A worker that failed leaves the rest of its orders unhandled, so it
+     * counts as a skipped page, holding the change watermark until they are revisited.
+     */
+    private void awaitCompletions(ExecutorCompletionService<Boolean> completionService, int submissions, CycleSummary summary) {
+        int completions = 0;
+
+        while (completions < submissions) {
+            try {
+                completionService.take().get();
+                ++completions;
+            } catch (ExecutionException e) {
+                ++completions;
+                logger.error("Encountered an exception handling exceptions, the remaining orders will be revisited next cycle...", e.getCause());
+                summary.pageSkipped();
+            } catch (Exception e) {
+                logger.error("Encountered an exception attempting to retrieve our exception handling results....", e);
+            }
+        }
+    }
+
+    private void handleExceptionsFor(Type orderType, ExceptionConfiguration configuration, CycleSummary summary) {
         logger.info("Handling {} order exceptions....", orderType);
 
         logger.info("Looking up WIP {} orders with one or more lines in WIP status....", orderType);
@@ -121,482 +314,890 @@ public class ExceptionHandler {
         searchParameters.orderTypes = Collections.singleton(orderType);
         searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
 
-        Collection<Order> wipOrders = orderService.find(searchParameters);
+        String continuationToken = null;
+        int pages = 0;
 
-        Collection<Order> singletons = new ArrayList<>();
-        Collection<Order> multiLineOrders = new ArrayList<>();
+        do {
+            if (summary.isPastDeadline()) {
+                logger.warn("Cycle deadline passed after {} pages of WIP {} orders, the remainder will be handled next cycle...",
+                        pages, orderType);
+                break;
+            }
 
-        if (!wipOrders.isEmpty()) {
-            logger.info("Found {} WIP {} orders! Preparing to handle exceptions...", wipOrders.size(), orderType);
+            OrderPage wipOrders;
 
-            for (Order order : wipOrders) {
-                String reservationId = order.reservationId;
-                int orderNumber = order.number;
+            try {
+                wipOrders = orderService.findPage(searchParameters, continuationToken, configuration.wipPageSize);
+            } catch (LimitExceededException e) {
+                logger.warn("Order lookups are shedding load after {} pages of WIP {} orders, the remainder will be handled next cycle...",
+                        pages, orderType);
+                summary.pageSkipped();
+                break;
+            }
 
-                ConsolidatableOrder consolidatedOrder = consolidation.status(orderNumber, order.transactionId);
+            ++pages;
 
-                boolean isConsolidatableOrder = (null != reservationId && !"".equals(reservationId) &&
-                        !reservationId.endsWith("-X")) || consolidatedOrder != null;
+            handleExceptionsFor(wipOrders.getOrders(), orderType, configuration, summary);
 
-                if (isConsolidatableOrder) {
-                    multiLineOrders.add(order);
-                } else {
-                    singletons.add(order);
-                }
-            }
+            continuationToken = wipOrders.getContinuationToken();
+        } while (continuationToken != null);
+    }
 
-            int completions = 0;
-            int submissions = 0;
+    /**
+     * Handles exceptions for the WIP orders of the given type among those changed since the last cycle, looking them up
+     * a page at a time.
+     */
+    private void handleChangedOrderExceptionsFor(Collection<Integer> orderNumbers, Type orderType, ExceptionConfiguration configuration,
+                                                 CycleSummary summary) {
+        logger.info("Handling {} order exceptions for {} changed orders....", orderType, orderNumbers.size());
 
-            ExecutorCompletionService<Boolean> exceptionHandlingService = new ExecutorCompletionService<>(backgroundExceptionHandlers);
+        List<Integer> page = new ArrayList<>(configuration.wipPageSize);
+        Iterator<Integer> changed = orderNumbers.iterator();
 
-            exceptionHandlingService.submit(() -> {
-                handleSingleLineItemOrderExceptions(singletons, orderType, configuration);
-                return true;
-            });
-            ++submissions;
+        while (changed.hasNext()) {
+            page.add(changed.next());
 
-            exceptionHandlingService.submit(() -> {
-                handleConsolidatableOrderExceptions(multiLineOrders, orderType, configuration);
-                return true;
-            });
+            if (page.size() < configuration.wipPageSize && changed.hasNext()) {
+                continue;
+            }
 
-            ++submissions;
+            if (summary.isPastDeadline()) {
+                logger.warn("Cycle deadline passed before every changed {} order was handled...", orderType);
+                break;
+            }
 
-            //noinspection Duplicates
-            while (completions < submissions) {
-                try {
-                    exceptionHandlingService.take();
-                    ++completions;
-                } catch (Exception e) {
-                    logger.error("Encountered an exception attempting to retrieve our exception handling results....", e);
-                }
+            SearchParameters searchParameters = new SearchParameters();
+            searchParameters.orderNumbers = page;
+            searchParameters.orderTypes = Collections.singleton(orderType);
+            searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
+
+            Collection<Order> changedOrders;
 
+            try {
+                changedOrders = orderService.find(searchParameters);
+            } catch (LimitExceededException e) {
+                logger.warn("Order lookups are shedding load, the remaining changed {} orders will be handled next cycle...", orderType);
+                summary.pageSkipped();
+                break;
             }
+
+            handleExceptionsFor(changedOrders, orderType, configuration, summary);
+
+            page = new ArrayList<>(configuration.wipPageSize);
         }
     }
 
-    private void handleSingleLineItemOrderExceptions(Collection<Order> orders, Type orderType, ExceptionConfiguration configuration) {
-        logger.info("Handling exceptions for {} non-consolidatable {} orders...", orders.size(), orderType);
+    private boolean isFullReconciliationDue(Optional<OrderChangeFeed> changeFeed) {
+        if (!configuration.incrementalSweepEnabled || !changeFeed.isPresent() || changeWatermark < 0) {
+            return true;
+        }
 
-        int numOrdersProcessed = 0;
+        return System.nanoTime() - lastFullReconciliation >= TimeUnit.MINUTES.toNanos(configuration.fullReconciliationIntervalMinutes);
+    }
 
-        Map<Integer, OrderVerification> orderVerificationsByOrderNumber = new HashMap<>();
-        Map<String, Collection<Pick>> picksByOrderItemId = new HashMap<>();
+    private long readChangesSince(long sequence, OrderChangeFeed changeFeed, Set<Integer> orderNumbers) {
+        List<OrderChange> changes;
 
-        for (Order order : orders) {
-            int orderNumber = order.number;
+        do {
+            changes = changeFeed.changesSince(sequence, configuration.changeFeedBatchSize);
 
-            com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters searchParameters =
-                    new com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters();
-            searchParameters.orderNumber = orderNumber;
+            for (OrderChange change : changes) {
+                orderNumbers.add(change.getOrderNumber());
+                sequence = change.getSequence();
+            }
+        } while (changes.size() == configuration.changeFeedBatchSize);
 
-            try {
-                logger.info("Looking up order verification status for {} Order #{} (transactionId: {})", orderType, orderNumber, order.transactionId);
+        return sequence;
+    }
 
-                OrderVerificationSearchRequest orderVerificationSearch = new OrderVerificationSearchRequest(searchParameters, order.transactionId);
-                OrderVerificationSearchResponse orderVerificationSearchResponse = wms.search(orderVerificationSearch);
+    /**
+     * Classifies one page of WIP orders, most urgent first, and handles their exceptions before the next page is read,
+     * so only a page's worth of orders is held at a time.
+     */
+    private void handleExceptionsFor(Collection<Order> wipOrders, Type orderType, ExceptionConfiguration configuration, CycleSummary summary) {
+        Collection<Order> singletons = new ArrayList<>();
+        Collection<Order> multiLineOrders = new ArrayList<>();
 
-                Collection<OrderVerification> orderVerifications = orderVerificationSearchResponse.verifications;
+        if (!wipOrders.isEmpty()) {
+            logger.info("Found a page of {} WIP {} orders! Preparing to handle exceptions...", wipOrders.size(), orderType);
 
-                if (!orderVerifications.isEmpty()) {
-                    logger.info("Found {} order verification records for {} Order #{} (transactionId: {})", orderVerifications.size(),
-                            orderType, orderNumber, order.transactionId);
+            for (Order order : orderPrioritizer.prioritize(wipOrders, summary.getClock())) {
+                try (OrderProcessingEvent event = OrderProcessingEvent.begin(summary.getCycle(), "classify", order)) {
+                    boolean isConsolidatableOrder;
 
-                    for (OrderVerification verification : orderVerifications) {
-                        if (verification.successful) {
-                            orderVerificationsByOrderNumber.put(orderNumber, verification);
-                            break;
-                        }
+                    try {
+                        isConsolidatableOrder = isConsolidatable(order, summary);
+                    } catch (OrderSkippedException e) {
+                        summary.orderSkipped();
+                        continue;
+                    }
+
+                    if (isConsolidatableOrder) {
+                        multiLineOrders.add(order);
+                    } else {
+                        singletons.add(order);
                     }
-                } else {
-                    logger.warn("No order verifications for {} Order #{}! (transactionId: {})", orderType, orderNumber, order.transactionId);
                 }
-            } catch (Exception e) {
-                logger.info("Encountered an exception attempting to retrieve the order verification status for {} Order #{}! (transactionId: {})",
-                        orderType, orderNumber, order.transactionId, e);
             }
 
+            int submissions = 0;
+
+            ExecutorCompletionService<Boolean> exceptionHandlingService = new ExecutorCompletionService<>(backgroundExceptionHandlers.get(orderType));
+
             try {
-                logger.info("Looking up picks for {} Order #{} (transactionId: {})", orderType, orderNumber, order.transactionId);
+                exceptionHandlingService.submit(() -> {
+                    try (Deadline.Binding binding = summary.getDeadline().bind()) {
+                        handleSingleLineItemOrderExceptions(singletons, orderType, configuration, summary);
+                    }
+                    return true;
+                });
+                ++submissions;
+            } catch (WorkerPoolSaturatedException e) {
+                skipSaturatedOrders(singletons, orderType, summary);
+            }
 
-                PickSearchRequest pickSearchRequest = new PickSearchRequest(searchParameters, order.transactionId);
-                PickSearchResponse pickSearchResponse = wms.search(pickSearchRequest);
+            try {
+                exceptionHandlingService.submit(() -> {
+                    try (Deadline.Binding binding = summary.getDeadline().bind()) {
+                        handleConsolidatableOrderExceptions(multiLineOrders, orderType, configuration, summary);
+                    }
+                    return true;
+                });
+                ++submissions;
+            } catch (WorkerPoolSaturatedException e) {
+                skipSaturatedOrders(multiLineOrders, orderType, summary);
+            }
 
-                Collection<Pick> picks = pickSearchResponse.picks;
+            awaitCompletions(exceptionHandlingService, submissions, summary);
+        }
+    }
 
-                if (!CollectionUtils.isEmpty(picks)) {
-                    logger.info("Found {} picks for {} Order #{} (transactionId: {})", picks.size(), orderType, orderNumber, order.transactionId);
+    /**
+     * Orders the {@link Type}'s workers had no room for are left to the next cycle; they keep their place in the
+     * priority order, so they are among the first handled then.
+     */
+    private void skipSaturatedOrders(Collection<Order> orders, Type orderType, CycleSummary summary) {
+        logger.warn("{} exception workers are saturated, skipping {} orders this cycle...", orderType, orders.size());
 
-                    for (Pick pick : picks) {
-                        String orderItemId = pick.orderItemId;
+        for (int i = 0; i < orders.size(); i++) {
+            summary.orderSkipped();
+        }
+    }
 
-                        if (!picksByOrderItemId.containsKey(orderItemId)) {
-                            picksByOrderItemId.put(orderItemId, new ArrayList<>());
+    void handleSingleLineItemOrderExceptions(Collection<Order> orders, Type orderType, ExceptionConfiguration configuration, CycleSummary summary) {
+        logger.info("Handling exceptions for {} non-consolidatable {} orders...", orders.size(), orderType);
+
+        int numOrdersProcessed = 0;
+
+        try (SweepScratch scratch = SweepScratch.take()) {
+            List<Order> lookedUpOrders = scratch.lookedUpOrders;
+            PicksByOrderItem picksByOrderItemId = scratch.picksByOrderItemId;
+
+            for (Order order : orders) {
+                try (OrderProcessingEvent event = OrderProcessingEvent.begin(summary.getCycle(), "lookup", order)) {
+                    if (!isSingleLineLookupPermitted(summary)) {
+                        summary.orderSkipped();
+                        continue;
+                    }
+
+                    try {
+                        if (isVerified(order, orderType, summary)) {
+                            scratch.verifiedOrders.set(lookedUpOrders.size());
                         }
 
-                        picksByOrderItemId.get(orderItemId).add(pick);
+                        lookUpPicks(order, orderType, summary, picksByOrderItemId);
+                    } catch (OrderSkippedException e) {
+                        scratch.verifiedOrders.clear(lookedUpOrders.size());
+                        summary.orderSkipped();
+                        continue;
                     }
-                } else {
-                    logger.warn("No picks found for {} Order #{}! (transactionId: {})", orderType, orderNumber, order.transactionId);
+
+                    lookedUpOrders.add(order);
                 }
-            } catch (Exception e) {
-                logger.info("Encountered an exception attempting to retrieve the picks for {} Order #{}! (transactionId: {})",
-                        orderType, orderNumber, order.transactionId, e);
             }
 
-        }
+            RepickEligibilityEvaluator repickEvaluator = new RepickEligibilityEvaluator(summary.getClock(),
+                    Duration.ofMinutes(configuration.autoStraggleTimeframeMinutes));
 
-        Set<OrderItem.Status> repickableStatuses = EnumSet.of(OrderItem.Status.WIP,
-                OrderItem.Status.STRAGGLED, OrderItem.Status.PICKED);
+            for (int i = 0; i < lookedUpOrders.size(); i++) {
+                Order order = lookedUpOrders.get(i);
 
-        for (Order order : orders) {
-            int orderNumber = order.number;
+                try (OrderProcessingEvent event = OrderProcessingEvent.begin(summary.getCycle(), "evaluate", order);
+                     OrderLocks.Lease lease = lockOrder(order, OrderLocks.Path.SWEEP, summary)) {
+                    Order current = reloadWipOrder(order, summary);
 
-            boolean allItemsShipped = true;
+                    if (current == null) {
+                        continue;
+                    }
 
-            for (OrderItem item : order.items) {
-                if (OrderItem.Status.DELETED.equals(item.status)) {
-                    continue;
-                }
+                    decideSingleLineOrder(current, orderType, scratch.verifiedOrders.get(i), picksByOrderItemId, configuration,
+                            repickEvaluator, scratch, summary);
 
-                if (!item.shipped) {
-                    allItemsShipped = false;
-                    break;
+                    saveHandledOrder(current, summary);
+                    ++numOrdersProcessed;
+                } catch (OrderSkippedException e) {
+                    summary.orderSkipped();
                 }
             }
+        }
 
-            boolean verified = orderVerificationsByOrderNumber.containsKey(orderNumber);
+        logger.info("{} exceptions handled of the {} non-consolidateable {} orders...", numOrdersProcessed, orders.size(), orderType);
 
-            if (verified) {
-                if (allItemsShipped) {
-                    order.status = Order.Status.COMPLETE;
-                    order.completedOn = LocalDateTime.now(ZoneId.of("UTC"));
-                } else {
-                    logger.info("{} Order #{} has been scan verified but not all items have shipped. Leaving in WIP status... " + "(transactionId: {})", orderType, orderNumber, order.transactionId);
-                }
-            } else {
-                logger.info("{} Order #{} has not completed scan verification. Checking for auto-repick candidates... (transactionId: {})", orderType, orderNumber, order.transactionId);
+    }
 
-                int maxAutoRepicks = configuration.maxAutoStraggles;
+    void handleConsolidatableOrderExceptions(Collection<Order> orders, Type orderType, ExceptionConfiguration configuration, CycleSummary summary) {
+        logger.info("Handling exceptions for {} consolidateable {} orders...", orders.size(), orderType);
 
-                for (OrderItem item : order.items) {
-                    if (!repickableStatuses.contains(item.status)) {
-                        logger.info("Order Item {} on {} Order #{} is in {} status which is not a repickable status! Skipping! (transactionId: {})",
-                                item.id, order.type, order.number, item.status, order.transactionId);
+        RepickEligibilityEvaluator repickEvaluator = new RepickEligibilityEvaluator(summary.getClock(),
+                Duration.ofMinutes(configuration.autoStraggleTimeframeMinutes));
+
+        int numOrdersProcessed = 0;
+
+        try (SweepScratch scratch = SweepScratch.take()) {
+            PicksByOrderItem picksByOrderItemId = scratch.picksByOrderItemId;
+
+            for (Order order : orders) {
+                picksByOrderItemId.clear();
+
+                try (OrderProcessingEvent event = OrderProcessingEvent.begin(summary.getCycle(), "sweep", order)) {
+                    if (!isConsolidatableLookupPermitted(summary)) {
+                        summary.orderSkipped();
                         continue;
                     }
 
-                    String orderItemId = item.id;
-
-                    Collection<Pick> picksForItem = picksByOrderItemId.get(orderItemId);
+                    ConsolidatableOrder consolidatableOrder;
 
-                    if (picksForItem != null) {
-                        Pick mostRecentPick = null;
+                    try {
+                        consolidatableOrder = lookUpConsolidation(order, orderType, summary);
+                        lookUpPicks(order, orderType, summary, picksByOrderItemId);
+                    } catch (OrderSkippedException e) {
+                        summary.orderSkipped();
+                        continue;
+                    }
 
-                        for (Pick pick : picksForItem) {
-                            if (mostRecentPick == null || pick.lastUpdate.isAfter(mostRecentPick.lastUpdate)) {
-                                mostRecentPick = pick;
-                            }
-                        }
+                    try (OrderLocks.Lease lease = lockOrder(order, OrderLocks.Path.SWEEP, summary)) {
+                        Order current = reloadWipOrder(order, summary);
 
-                        if (mostRecentPick == null) {
+                        if (current == null) {
                             continue;
                         }
 
-                        ZonedDateTime lastUpdate = mostRecentPick.lastUpdate.atZone(ZoneId.of("UTC"));
-                        Duration autoRepickTimeFrame = Duration.ofMinutes(configuration.autoStraggleTimeframeMinutes);
-                        LocalDateTime autoRepickTimeThreshold = lastUpdate.plus(autoRepickTimeFrame).toLocalDateTime();
+                        decideConsolidatableOrder(current, orderType, consolidatableOrder, picksByOrderItemId, configuration,
+                                repickEvaluator, scratch, summary);
 
-                        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
-                        autoRepickTimeThreshold = autoRepickTimeThreshold.atZone(ZoneId.of("UTC")).toLocalDateTime();
+                        saveHandledOrder(current, summary);
+                        ++numOrdersProcessed;
+                    } catch (OrderSkippedException e) {
+                        summary.orderSkipped();
+                    }
+                }
+            }
+        }
 
-                        boolean pickWasWorked = mostRecentPick.status != null || mostRecentPick.wmsUserId != null;
-                        boolean repickTimeframePassed = now.isAfter(autoRepickTimeThreshold);
+        logger.info("{} exceptions handled of the {} consolidateable {} orders...", numOrdersProcessed, orders.size(), orderType);
+    }
 
-                        boolean suspended = mostRecentPick.status != null && Pick.Status.SUSPENDED == mostRecentPick.status;
-                        boolean pickDeemedOut = mostRecentPick.straggled && mostRecentPick.skill.stragglerSkill == null && suspended;
+    /**
+     * Decides whether a WIP order goes through consolidation: orders reserved for it do, and orders without a usable
+     * reservation do if Consolidation knows of them.
+     *
+     * @throws OrderSkippedException if the order can't be classified this cycle
+     */
+    boolean isConsolidatable(Order order, CycleSummary summary) {
+        String reservationId = order.reservationId;
 
-                        boolean performAutoRepick = pickWasWorked && item.released && repickTimeframePassed && !pickDeemedOut;
+        if (null != reservationId && !"".equals(reservationId) && !reservationId.endsWith("-X")) {
+            return true;
+        }
 
-                        if (performAutoRepick) {
-                            logger.warn("Preparing to attempt to auto repick Order Item {} on {} Order #{}! (Last Update {}) (transactionId: {}).", item.id,
-                                    orderType, order.number, lastUpdate, order.transactionId);
+        if (summary.isPastDeadline() || !isPermitted(DownstreamOperation.CONSOLIDATION_STATUS, summary)) {
+            throw new OrderSkippedException();
+        }
 
-                            if (configuration.autoStraggleEnabled) {
-                                int numRepicks = item.numStraggles;
+        try {
+            return consolidation.status(order.number, order.transactionId) != null;
+        } catch (CircuitBreakerOpenException e) {
+            shortCircuited(e, summary);
+            throw new OrderSkippedException();
+        } catch (DeadlineExceededException | LimitExceededException e) {
+            throw new OrderSkippedException();
+        }
+    }
 
-                                if (numRepicks < maxAutoRepicks) {
-                                    Skill pickSkill = mostRecentPick.skill;
+    boolean isSingleLineLookupPermitted(CycleSummary summary) {
+        return !summary.isPastDeadline() && isPermitted(DownstreamOperation.WMS_ORDER_VERIFICATION_SEARCH, summary) &&
+                isPermitted(DownstreamOperation.WMS_PICK_SEARCH, summary);
+    }
 
-                                    Skill repickSkill;
+    boolean isConsolidatableLookupPermitted(CycleSummary summary) {
+        return !summary.isPastDeadline() && isPermitted(DownstreamOperation.CONSOLIDATION_STATUS, summary) &&
+                isPermitted(DownstreamOperation.WMS_PICK_SEARCH, summary);
+    }
 
-                                    if (pickSkill.stragglerSkill != null) {
-                                        repickSkill = pickSkill.stragglerSkill;
-                                    } else {
-                                        repickSkill = pickSkill;
-                                    }
+    /**
+     * @return whether the WMS holds a successful scan verification for the order; a failed lookup counts as unverified
+     * @throws OrderSkippedException if WMS order verification searches are short-circuited or shed, or the cycle deadline passed
+     */
+    boolean isVerified(Order order, Type orderType, CycleSummary summary) {
+        int orderNumber = order.number;
 
-                                    mostRecentPick.skill = repickSkill;
-                                    mostRecentPick.status = null;
-                                    mostRecentPick.wmsUserId = null;
-                                    mostRecentPick.straggled = true;
-                                    mostRecentPick.lastUpdate = LocalDateTime.now(ZoneId.of("UTC"));
-                                    mostRecentPick.quantity = 0.0;
+        com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters searchParameters =
+                new com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters();
+        searchParameters.orderNumber = orderNumber;
 
-                                    try {
-                                        PickSaveRequest request = new PickSaveRequest(mostRecentPick, order.transactionId);
-                                        wms.save(request);
-                                        item.numStraggles = ++numRepicks;
-                                    } catch (Exception e) {
-                                        logger.info("Encountered an error attempting to re-pick the most recent pick  for Order Item {} on {} Order #{}! (transactionId: {})", item.id, orderType,
-                                                order.number, order.transactionId, e);
-                                    }
+        try {
+            if (logger.isInfoEnabled()) {
+                logger.info("Looking up order verification status for {} Order #{} (transactionId: {})", orderType, orderNumber, order.transactionId);
+            }
 
-                                } else {
-                                    logger.warn("Unable to auto repick Order Item {} on {} Order #{}! Item has already been repicked" + "{} time(s). (Max # of automatic repicks {}) (transactionId: {})!", item.id,
-                                            orderType, order.number, numRepicks, maxAutoRepicks, order.transactionId);
-                                }
-                            } else {
-                                logger.info("Found auto-repick eligible Pick {} for Order Item {} on Order #{}. Auto-repick is disabled. (transactionId: {})",
-                                        mostRecentPick.id, item.id, orderType, order.number, order.transactionId);
-                            }
-                        } else {
-                            logger.info("No need to auto-repick Pick {} for Order Item {} on {} Order #{}. " + "(Pick Was Worked? {}, Item Released? {}, Pick Deemed Out By Straggler? {}, Last Update: {}) (transactionId: {})",
-                                    mostRecentPick.id, item.id, orderType, order.number,
-                                    pickWasWorked, item.released, pickDeemedOut, lastUpdate, order.transactionId);
-                        }
-                    } else {
-                        logger.warn("No picks found for Item {} on {} Order #{}! (transactionId: {})", orderItemId, orderType,
-                                orderNumber, order.transactionId);
+            OrderVerificationSearchRequest orderVerificationSearch = new OrderVerificationSearchRequest(searchParameters, order.transactionId);
+            OrderVerificationSearchResponse orderVerificationSearchResponse = wms.search(orderVerificationSearch);
+
+            Collection<OrderVerification> orderVerifications = orderVerificationSearchResponse.verifications;
+
+            if (!orderVerifications.isEmpty()) {
+                if (logger.isInfoEnabled()) {
+                    logger.info("Found {} order verification records for {} Order #{} (transactionId: {})", orderVerifications.size(),
+                            orderType, orderNumber, order.transactionId);
+                }
+
+                for (OrderVerification verification : orderVerifications) {
+                    if (verification.successful) {
+                        return true;
                     }
                 }
+            } else {
+                logger.warn("No order verifications for {} Order #{}! (transactionId: {})", orderType, orderNumber, order.transactionId);
             }
-
-            orderService.save(order);
-            ++numOrdersProcessed;
+        } catch (CircuitBreakerOpenException e) {
+            shortCircuited(e, summary);
+            throw new OrderSkippedException();
+        } catch (DeadlineExceededException | LimitExceededException e) {
+            throw new OrderSkippedException();
+        } catch (Exception e) {
+            logger.info("Encountered an exception attempting to retrieve the order verification status for {} Order #{}! (transactionId: {})",
+                    orderType, orderNumber, order.transactionId, e);
         }
 
-        logger.info("{} exceptions handled of the {} non-consolidateable {} orders...", numOrdersProcessed, orders.size(), orderType);
-
+        return false;
     }
 
-    private void handleConsolidatableOrderExceptions(Collection<Order> orders, Type orderType, ExceptionConfiguration configuration) {
-        logger.info("Handling exceptions for {} consolidateable {} orders...", orders.size(), orderType);
+    /**
+     * Adds the order's picks to {@code picksByOrderItemId}; a failed lookup adds none.
+     *
+     * @throws OrderSkippedException if WMS pick searches are short-circuited or shed, or the cycle deadline passed
+     */
+    void lookUpPicks(Order order, Type orderType, CycleSummary summary, PicksByOrderItem picksByOrderItemId) {
+        int orderNumber = order.number;
 
-        Set<OrderItem.Status> repickableStatuses = EnumSet.of(OrderItem.Status.WIP,
-                OrderItem.Status.STRAGGLED, OrderItem.Status.PICKED);
+        com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters searchParameters =
+                new com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters();
+        searchParameters.orderNumber = orderNumber;
 
-        int numOrdersProcessed = 0;
+        //noinspection Duplicates
+        try {
+            if (logger.isInfoEnabled()) {
+                logger.info("Looking up picks for {} Order #{} (transactionId: {})", orderType, orderNumber, order.transactionId);
+            }
 
-        for (Order order : orders) {
-            int orderNumber = order.number;
+            PickSearchRequest pickSearchRequest = new PickSearchRequest(searchParameters, order.transactionId);
+            PickSearchResponse pickSearchResponse = wms.search(pickSearchRequest);
 
-            ConsolidatableOrder consolidatableOrder = null;
+            Collection<Pick> picks = pickSearchResponse.picks;
 
-            logger.info("Looking up consolidation status for {} Order #{}...(transactionId: {})", orderType, orderNumber, order.transactionId);
-            consolidatableOrder = consolidation.status(orderNumber, order.transactionId);
+            if (!CollectionUtils.isEmpty(picks)) {
+                if (logger.isInfoEnabled()) {
+                    logger.info("Found {} picks for {} Order #{} (transactionId: {})", picks.size(), orderType, orderNumber, order.transactionId);
+                }
 
-            com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters searchParameters = new com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters();
-            searchParameters.orderNumber = orderNumber;
+                picksByOrderItemId.addAll(picks);
+            } else {
+                logger.warn("No picks found for {} Order #{}! (transactionId: {})", orderType, orderNumber, order.transactionId);
+            }
+        } catch (CircuitBreakerOpenException e) {
+            shortCircuited(e, summary);
+            throw new OrderSkippedException();
+        } catch (DeadlineExceededException | LimitExceededException e) {
+            throw new OrderSkippedException();
+        } catch (Exception e) {
+            logger.info("Encountered an exception attempting to retrieve the picks for {} Order #{}! (transactionId: {})",
+                    orderType, orderNumber, order.transactionId, e);
+        }
+    }
 
-            Map<String, Collection<Pick>> picksByOrderItemId = new HashMap<>();
+    /**
+     * @return the order as Consolidation holds it, or {@code null} if Consolidation doesn't know of it
+     * @throws OrderSkippedException if Consolidation is short-circuited or shed, or the cycle deadline passed
+     */
+    ConsolidatableOrder lookUpConsolidation(Order order, Type orderType, CycleSummary summary) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Looking up consolidation status for {} Order #{}...(transactionId: {})", orderType, order.number, order.transactionId);
+        }
 
-            //noinspection Duplicates
-            try {
-                logger.info("Looking up picks for {} Order #{} (transactionId: {})", orderType, orderNumber, order.transactionId);
+        try {
+            return consolidation.status(order.number, order.transactionId);
+        } catch (CircuitBreakerOpenException e) {
+            shortCircuited(e, summary);
+            throw new OrderSkippedException();
+        } catch (DeadlineExceededException | LimitExceededException e) {
+            throw new OrderSkippedException();
+        }
+    }
 
-                PickSearchRequest pickSearchRequest = new PickSearchRequest(searchParameters, order.transactionId);
-                PickSearchResponse pickSearchResponse = wms.search(pickSearchRequest);
+    /**
+     * Completes a verified single-line order once every item has shipped, or otherwise repicks the items whose most
+     * recent pick has gone stale.
+     */
+    void decideSingleLineOrder(Order order, Type orderType, boolean verified, PicksByOrderItem picksByOrderItemId,
+                               ExceptionConfiguration configuration, RepickEligibilityEvaluator repickEvaluator, SweepScratch scratch,
+                               CycleSummary summary) {
+        int orderNumber = order.number;
+        RepickEligibilityEvaluator.Batch repickCandidates = scratch.repickCandidates;
+
+        boolean allItemsShipped = true;
+
+        for (OrderItem item : order.items) {
+            if (OrderItem.Status.DELETED.equals(item.status)) {
+                continue;
+            }
 
-                Collection<Pick> picks = pickSearchResponse.picks;
+            if (!item.shipped) {
+                allItemsShipped = false;
+                break;
+            }
+        }
 
-                if (!CollectionUtils.isEmpty(picks)) {
-                    logger.info("Found {} picks for {} Order #{} (transactionId: {})", picks.size(), orderType, orderNumber, order.transactionId);
+        if (verified) {
+            if (allItemsShipped) {
+                order.status = Order.Status.COMPLETE;
+                order.completedOn = LocalDateTime.now(summary.getClock());
+            } else if (logger.isInfoEnabled()) {
+                logger.info("{} Order #{} has been scan verified but not all items have shipped. Leaving in WIP status... " + "(transactionId: {})", orderType, orderNumber, order.transactionId);
+            }
+        } else {
+            if (logger.isInfoEnabled()) {
+                logger.info("{} Order #{} has not completed scan verification. Checking for auto-repick candidates... (transactionId: {})", orderType, orderNumber, order.transactionId);
+            }
 
-                    for (Pick pick : picks) {
-                        String orderItemId = pick.orderItemId;
+            int maxAutoRepicks = configuration.maxAutoStraggles;
 
-                        if (!picksByOrderItemId.containsKey(orderItemId)) {
-                            picksByOrderItemId.put(orderItemId, new ArrayList<>());
-                        }
+            repickCandidates.clear();
 
-                        picksByOrderItemId.get(orderItemId).add(pick);
+            for (OrderItem item : order.items) {
+                if (!REPICKABLE_STATUSES.contains(item.status)) {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Order Item {} on {} Order #{} is in {} status which is not a repickable status! Skipping! (transactionId: {})",
+                                item.id, order.type, order.number, item.status, order.transactionId);
                     }
+                    continue;
+                }
+
+                String orderItemId = item.id;
+
+                Collection<Pick> picksForItem = picksByOrderItemId.get(orderItemId);
+
+                if (picksForItem != null) {
+                    Pick mostRecentPick = mostRecentlyUpdated(picksForItem);
+
+                    if (mostRecentPick == null) {
+                        continue;
+                    }
+
+                    repickCandidates.add(item, mostRecentPick, null);
                 } else {
-                    logger.warn("No picks found for {} Order #{}! (transactionId: {})", orderType, orderNumber, order.transactionId);
+                    logger.warn("No picks found for Item {} on {} Order #{}! (transactionId: {})", orderItemId, orderType,
+                            orderNumber, order.transactionId);
                 }
-            } catch (Exception e) {
-                logger.info("Encountered an exception attempting to retrieve the picks for {} Order #{}! (transactionId: {})",
-                        orderType, orderNumber, order.transactionId, e);
             }
 
-            Map<Integer, ConsolidatableOrder.ConsolidatableOrderItem> consolidatedItemsByPickId = new HashMap<>();
+            repickEvaluator.evaluate(repickCandidates);
 
-            if (consolidatableOrder != null) {
-                for (ConsolidatableOrder.ConsolidatableOrderItem item : consolidatableOrder.items) {
-                    try {
-                        consolidatedItemsByPickId.put(Integer.parseInt(item.id), item);
-                    } catch (NumberFormatException nfe) {
-                        logger.warn("Encountered NumberFormatException attempting to parse the identifier for the following consolidateable item: {}", item);
+            for (int i = 0; i < repickCandidates.size(); i++) {
+                OrderItem item = repickCandidates.item(i);
+                Pick mostRecentPick = repickCandidates.pick(i);
+                LocalDateTime lastUpdate = mostRecentPick.lastUpdate;
+
+                if (repickCandidates.isEligible(i)) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("Preparing to attempt to auto repick Order Item {} on {} Order #{}! (Last Update {}) (transactionId: {}).", item.id,
+                                orderType, order.number, lastUpdate, order.transactionId);
+                    }
+
+                    if (configuration.autoStraggleEnabled) {
+                        int numRepicks = item.numStraggles;
+
+                        if (!isPermitted(DownstreamOperation.WMS_PICK_SAVE, summary)) {
+                            logger.warn("Skipping auto repick of Order Item {} on {} Order #{}! WMS pick saves are short-circuited for this cycle. (transactionId: {})",
+                                    item.id, orderType, order.number, order.transactionId);
+                        } else if (numRepicks < maxAutoRepicks) {
+                            Skill pickSkill = mostRecentPick.skill;
+
+                            Skill repickSkill;
+
+                            if (pickSkill.stragglerSkill != null) {
+                                repickSkill = pickSkill.stragglerSkill;
+                            } else {
+                                repickSkill = pickSkill;
+                            }
+
+                            mostRecentPick.skill = repickSkill;
+                            mostRecentPick.status = null;
+                            mostRecentPick.wmsUserId = null;
+                            mostRecentPick.straggled = true;
+                            mostRecentPick.lastUpdate = LocalDateTime.now(summary.getClock());
+                            mostRecentPick.quantity = 0.0;
+
+                            try (Lane.Binding lane = Lane.REPICK.bind()) {
+                                PickSaveRequest request = new PickSaveRequest(mostRecentPick, order.transactionId);
+                                wms.save(request);
+                                item.numStraggles = ++numRepicks;
+                            } catch (CircuitBreakerOpenException e) {
+                                shortCircuited(e, summary);
+                            } catch (Exception e) {
+                                logger.info("Encountered an error attempting to re-pick the most recent pick  for Order Item {} on {} Order #{}! (transactionId: {})", item.id, orderType,
+                                        order.number, order.transactionId, e);
+                            }
+
+                        } else {
+                            logger.warn("Unable to auto repick Order Item {} on {} Order #{}! Item has already been repicked" + "{} time(s). (Max # of automatic repicks {}) (transactionId: {})!", item.id,
+                                    orderType, order.number, numRepicks, maxAutoRepicks, order.transactionId);
+                        }
+                    } else if (logger.isInfoEnabled()) {
+                        logger.info("Found auto-repick eligible Pick {} for Order Item {} on Order #{}. Auto-repick is disabled. (transactionId: {})",
+                                mostRecentPick.id, item.id, orderType, order.number, order.transactionId);
                     }
+                } else if (logger.isInfoEnabled()) {
+                    logger.info("No need to auto-repick Pick {} for Order Item {} on {} Order #{} ({}). (Last Update: {}) (transactionId: {})",
+                            mostRecentPick.id, item.id, orderType, order.number, repickCandidates.reason(i), lastUpdate,
+                            order.transactionId);
+                }
+            }
+        }
+    }
 
+    /**
+     * Marks placed items, repicks the items whose consolidated pick has gone stale, and completes the order once every
+     * item is placed or shipped.
+     */
+    void decideConsolidatableOrder(Order order, Type orderType, ConsolidatableOrder consolidatableOrder,
+                                   PicksByOrderItem picksByOrderItemId, ExceptionConfiguration configuration,
+                                   RepickEligibilityEvaluator repickEvaluator, SweepScratch scratch, CycleSummary summary) {
+        int orderNumber = order.number;
+
+        RepickEligibilityEvaluator.Batch repickCandidates = scratch.repickCandidates;
+        SweepScratch.ConsolidatedItemsByPickId consolidatedItemsByPickId = scratch.consolidatedItemsByPickId;
+        consolidatedItemsByPickId.clear();
+
+        if (consolidatableOrder != null) {
+            for (ConsolidatableOrder.ConsolidatableOrderItem item : consolidatableOrder.items) {
+                try {
+                    consolidatedItemsByPickId.put(Integer.parseInt(item.id), item);
+                } catch (NumberFormatException nfe) {
+                    logger.warn("Encountered NumberFormatException attempting to parse the identifier for the following consolidateable item: {}", item);
                 }
 
+            }
+
+            if (logger.isInfoEnabled()) {
                 logger.info("Retrieved consolidateable order with {} items for {} Order #{}. Checking for auto-straggle" + " candidates... (transactionId: {})", consolidatableOrder.items.size(), order.type, orderNumber, order.transactionId);
+            }
+
+            int maxAutoRepicks = configuration.maxAutoStraggles;
 
-                int maxAutoRepicks = configuration.maxAutoStraggles;
+            repickCandidates.clear();
 
-                for (OrderItem item : order.items) {
-                    if (!repickableStatuses.contains(item.status)) {
+            for (OrderItem item : order.items) {
+                if (!REPICKABLE_STATUSES.contains(item.status)) {
+                    if (logger.isInfoEnabled()) {
                         logger.info("Order Item {} on {} Order #{} is in {} status which is not a repickable status! Skipping! (transactionId: {})",
                                 item.id, order.type, order.number, item.status, order.transactionId);
-                        continue;
                     }
+                    continue;
+                }
 
-                    String orderItemId = item.id;
+                String orderItemId = item.id;
 
-                    Collection<Pick> picksForItem = picksByOrderItemId.get(orderItemId);
+                Collection<Pick> picksForItem = picksByOrderItemId.get(orderItemId);
 
-                    if (picksForItem != null) {
-                        ConsolidatableOrder.ConsolidatableOrderItem consolidatedItem = null;
-                        Pick repickCandidate = null;
+                if (picksForItem != null) {
+                    ConsolidatableOrder.ConsolidatableOrderItem consolidatedItem = null;
+                    Pick repickCandidate = null;
 
-                        for (Pick pick : picksForItem) {
-                            consolidatedItem = consolidatedItemsByPickId.get(pick.id);
+                    for (Pick pick : picksForItem) {
+                        consolidatedItem = consolidatedItemsByPickId.get(pick.id);
 
-                            if (consolidatedItem != null) {
-                                repickCandidate = pick;
-                                break;
-                            }
+                        if (consolidatedItem != null) {
+                            repickCandidate = pick;
+                            break;
                         }
+                    }
 
-                        if (consolidatedItem != null && repickCandidate != null) {
-                            ZonedDateTime lastUpdate = consolidatedItem.lastUpdate.atZone(ZoneId.of("UTC"));
-                            Duration repickTimeframe = Duration.ofMinutes(configuration.autoStraggleTimeframeMinutes);
-                            LocalDateTime repickTimeThreshold = lastUpdate.plus(repickTimeframe).toLocalDateTime();
-                            repickTimeThreshold = repickTimeThreshold.atZone(ZoneId.of("UTC")).toLocalDateTime();
+                    if (consolidatedItem != null && repickCandidate != null) {
+                        repickCandidates.add(item, repickCandidate, consolidatedItem);
+                    } else {
+                        logger.warn("Unable to find a consolidated item for Order Item {} on {} Order #{} " + "(Picks for this Order Item: {}, Consolidateable Order: {}) (transactionId: {})", orderItemId,
+                                order.type, order.number, picksForItem, consolidatableOrder, order.transactionId);
+                    }
+                } else {
+                    logger.warn("No picks found for Item {} on {} Order #{}! (transactionId: {})", orderItemId, orderType, orderNumber, order.transactionId);
+                }
+            }
 
-                            LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+            repickEvaluator.evaluate(repickCandidates);
 
-                            boolean pickWasWorked = repickCandidate.status != null || repickCandidate.wmsUserId != null;
-                            boolean repickTimeframePassed = now.isAfter(repickTimeThreshold);
+            for (int i = 0; i < repickCandidates.size(); i++) {
+                OrderItem item = repickCandidates.item(i);
+                Pick repickCandidate = repickCandidates.pick(i);
+                ConsolidatableOrder.ConsolidatableOrderItem consolidatedItem = repickCandidates.consolidatedItem(i);
+                LocalDateTime lastUpdate = consolidatedItem.lastUpdate;
 
-                            boolean suspended = repickCandidate.status != null && Pick.Status.SUSPENDED == repickCandidate.status;
-                            boolean pickDeemedOut = repickCandidate.straggled && repickCandidate.skill.stragglerSkill == null && suspended;
+                if (consolidatedItem.placed) {
+                    item.status = OrderItem.Status.PLACED;
+                }
 
-                            boolean performAutoRepick = pickWasWorked && item.released && !consolidatedItem.placed && repickTimeframePassed && !pickDeemedOut;
+                if (repickCandidates.isEligible(i)) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("Preparing to attempt to auto repick Order Item {} on {} Order #{}! (Last Update {}) (transactionId: {}).", item.id,
+                                orderType, order.number, lastUpdate, order.transactionId);
+                    }
 
-                            if (consolidatedItem.placed) {
-                                item.status = OrderItem.Status.PLACED;
+                    if (configuration.autoStraggleEnabled) {
+                        int numRepicks = item.numStraggles;
+
+                        if (!isPermitted(DownstreamOperation.WMS_PICK_SAVE, summary)) {
+                            logger.warn("Skipping auto repick of Order Item {} on {} Order #{}! WMS pick saves are short-circuited for this cycle. (transactionId: {})",
+                                    item.id, orderType, order.number, order.transactionId);
+                        } else if (numRepicks < maxAutoRepicks) {
+                            Skill pickSkill = repickCandidate.skill;
+
+                            Skill repickSkill = pickSkill.stragglerSkill != null ? pickSkill.stragglerSkill : pickSkill;
+
+                            repickCandidate.skill = repickSkill;
+                            repickCandidate.status = null;
+                            repickCandidate.wmsUserId = null;
+                            repickCandidate.straggled = true;
+                            repickCandidate.lastUpdate = LocalDateTime.now(summary.getClock());
+                            repickCandidate.quantity = 0.0;
+
+                            try (Lane.Binding lane = Lane.REPICK.bind()) {
+                                PickSaveRequest request = new PickSaveRequest(repickCandidate, order.transactionId);
+                                wms.save(request);
+                                item.numStraggles = ++numRepicks;
+                            } catch (CircuitBreakerOpenException e) {
+                                shortCircuited(e, summary);
+                            } catch (Exception e) {
+                                logger.info("Encountered an error attempting to repick the most recent pick" + " for Order Item {} on {} Order #{}! (transactionId: {})", item.id, orderType,
+                                        order.number, order.transactionId, e);
                             }
 
-                            if (performAutoRepick) {
-                                logger.warn("Preparing to attempt to auto repick Order Item {} on {} Order #{}! (Last Update {}) (transactionId: {}).", item.id,
-                                        orderType, order.number, lastUpdate, order.transactionId);
-
-                                if (configuration.autoStraggleEnabled) {
-                                    int numRepicks = item.numStraggles;
-
-                                    if (numRepicks < maxAutoRepicks) {
-                                        Skill pickSkill = repickCandidate.skill;
-
-                                        Skill repickSkill = pickSkill.stragglerSkill != null ? pickSkill.stragglerSkill : pickSkill;
-
-                                        repickCandidate.skill = repickSkill;
-                                        repickCandidate.status = null;
-                                        repickCandidate.wmsUserId = null;
-                                        repickCandidate.straggled = true;
-                                        repickCandidate.lastUpdate = LocalDateTime.now();
-                                        repickCandidate.quantity = 0.0;
-
-                                        try {
-                                            PickSaveRequest request = new PickSaveRequest(repickCandidate, order.transactionId);
-                                            wms.save(request);
-                                            item.numStraggles = ++numRepicks;
-                                        } catch (Exception e) {
-                                            logger.info("Encountered an error attempting to repick the most recent pick" + " for Order Item {} on {} Order #{}! (transactionId: {})", item.id, orderType,
-                                                    order.number, order.transactionId, e);
-                                        }
-
-                                        Label label = new Label("Repicked (In Flight)");
-
-                                        consolidation.updateOrderItemLabel(Integer.toString(orderNumber), consolidatedItem.id, label);
-                                    } else {
-                                        logger.warn("Unable to auto repick Order Item {} on {} Order #{}! Item has already been repicked {} time(s). (Max # of automatic repicks {})! (transactionId: {})", item.id,
-                                                orderType, order.number, numRepicks, maxAutoRepicks, order.transactionId);
-                                    }
-                                } else {
-                                    logger.info("Found auto-repick eligible consolidateable Pick {} for Order Item {} on Order #{}. Auto-repick is disabled. (transactionId: {})",
-                                            repickCandidate.id, item.id, orderType, order.number, order.transactionId);
+                            if (isPermitted(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE, summary)) {
+                                Label label = new Label("Repicked (In Flight)");
+
+                                // Write-behind buffers the label and can't fail here; these only apply with it disabled,
+                                // when the update goes straight through Consolidation's breaker, limiter and deadline.
+                                try {
+                                    consolidation.updateOrderItemLabel(Integer.toString(orderNumber), consolidatedItem.id, label);
+                                } catch (CircuitBreakerOpenException e) {
+                                    shortCircuited(e, summary);
+                                } catch (DeadlineExceededException | LimitExceededException e) {
+                                    logger.warn("Unable to update the consolidation label for Order Item {} on {} Order #{} this cycle! (transactionId: {})",
+                                            item.id, orderType, order.number, order.transactionId);
                                 }
-                            } else {
-                                logger.info("No need to auto-repick consolidateable Pick {} for Order Item {} on {} Order #{}. " + "(Pick Was Worked? {}, Item Released? {}, Item Placed? {}, Pick Deemed Out By Straggler? {}, Last Update: {}) (transactionId: {})",
-                                        repickCandidate.id, item.id, orderType, order.number,
-                                        pickWasWorked, item.released, consolidatedItem.placed, pickDeemedOut,
-                                        consolidatedItem.lastUpdate, order.transactionId);
                             }
                         } else {
-                            logger.warn("Unable to find a consolidated item for Order Item {} on {} Order #{} " + "(Picks for this Order Item: {}, Consolidateable Order: {}) (transactionId: {})", orderItemId,
-                                    order.type, order.number, picksForItem, consolidatableOrder, order.transactionId);
+                            logger.warn("Unable to auto repick Order Item {} on {} Order #{}! Item has already been repicked {} time(s). (Max # of automatic repicks {})! (transactionId: {})", item.id,
+                                    orderType, order.number, numRepicks, maxAutoRepicks, order.transactionId);
                         }
-                    } else {
-                        logger.warn("No picks found for Item {} on {} Order #{}! (transactionId: {})", orderItemId, orderType, orderNumber, order.transactionId);
+                    } else if (logger.isInfoEnabled()) {
+                        logger.info("Found auto-repick eligible consolidateable Pick {} for Order Item {} on Order #{}. Auto-repick is disabled. (transactionId: {})",
+                                repickCandidate.id, item.id, orderType, order.number, order.transactionId);
                     }
+                } else if (logger.isInfoEnabled()) {
+                    logger.info("No need to auto-repick consolidateable Pick {} for Order Item {} on {} Order #{} ({}). (Last Update: {}) (transactionId: {})",
+                            repickCandidate.id, item.id, orderType, order.number, repickCandidates.reason(i), lastUpdate,
+                            order.transactionId);
                 }
-            } else {
-                logger.warn("Unable to find a consolidated order for {} Order #{}! (transactionId: {})", order.type,
-                        order.number, order.transactionId);
             }
+        } else {
+            logger.warn("Unable to find a consolidated order for {} Order #{}! (transactionId: {})", order.type,
+                    order.number, order.transactionId);
+        }
 
-            boolean allItemsPlaced = true;
-            boolean allItemsShipped = true;
+        boolean allItemsPlaced = true;
+        boolean allItemsShipped = true;
 
-            for (OrderItem item : order.items) {
-                if (OrderItem.Status.DELETED == item.status) {
-                    continue;
-                }
+        for (OrderItem item : order.items) {
+            if (OrderItem.Status.DELETED == item.status) {
+                continue;
+            }
 
-                if (OrderItem.Status.PLACED != item.status) {
-                    allItemsPlaced = false;
-                    break;
-                }
+            if (OrderItem.Status.PLACED != item.status) {
+                allItemsPlaced = false;
+                break;
             }
+        }
 
-            for (OrderItem item : order.items) {
-                if (OrderItem.Status.DELETED == item.status) {
-                    continue;
-                }
+        for (OrderItem item : order.items) {
+            if (OrderItem.Status.DELETED == item.status) {
+                continue;
+            }
 
-                if (!item.shipped) {
-                    allItemsShipped = false;
-                    break;
-                }
+            if (!item.shipped) {
+                allItemsShipped = false;
+                break;
             }
+        }
 
-            if (allItemsPlaced || allItemsShipped) {
-                order.status = Order.Status.COMPLETE;
-                order.completedOn = LocalDateTime.now();
+        if (allItemsPlaced || allItemsShipped) {
+            order.status = Order.Status.COMPLETE;
+            order.completedOn = LocalDateTime.now(summary.getClock());
+        }
+    }
+
+    /**
+     * Takes the order's lock for the sweep or pick completion processing, waiting no longer than the summary's deadline
+     * allows; the order is read again, decided on and saved under it.
+     *
+     * @throws OrderSkippedException if the order is still being changed elsewhere when time runs out
+     */
+    OrderLocks.Lease lockOrder(Order order, OrderLocks.Path path, CycleSummary summary) {
+        OrderLocks.Lease lease = orderLocks.tryLock(order.number, path, summary.getDeadline().remainingNanos());
+
+        if (lease == null) {
+            logger.warn("{} Order #{} is still being changed elsewhere, leaving it for later... (transactionId: {})", order.type,
+                    order.number, order.transactionId);
+            throw new OrderSkippedException();
+        }
+
+        return lease;
+    }
+
+    /**
+     * Reads an order again once its lock is held. The sweep and pick completion processing read orders before taking
+     * their locks, so the other may have saved the order in between; deciding on the copy read under the lock keeps
+     * that save from being overwritten with what was read before it.
+     *
+     * @return the order as it is now, or {@code null} if it is gone
+     * @throws OrderSkippedException if the order can't be read again
+     */
+    Order reloadLockedOrder(Order order, CycleSummary summary) {
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderNumbers = Collections.singleton(order.number);
+
+        Collection<Order> orders;
+
+        try {
+            orders = orderService.find(searchParameters);
+        } catch (LimitExceededException e) {
+            logger.warn("Order lookups are shedding load, leaving {} Order #{} for later... (transactionId: {})", order.type,
+                    order.number, order.transactionId);
+            throw new OrderSkippedException();
+        }
+
+        if (orders != null) {
+            for (Order current : orders) {
+                if (current != null && current.number == order.number) {
+                    return current;
+                }
             }
+        }
 
+        logger.info("{} Order #{} is gone, nothing left to do for it... (transactionId: {})", order.type, order.number,
+                order.transactionId);
+        return null;
+    }
+
+    /**
+     * Reads a swept order again once its lock is held, as {@link #reloadLockedOrder} does.
+     *
+     * @return the order as it is now, or {@code null} if it is gone or no longer in WIP, so there is nothing to decide
+     * @throws OrderSkippedException if the order can't be read again
+     */
+    Order reloadWipOrder(Order order, CycleSummary summary) {
+        Order current = reloadLockedOrder(order, summary);
+
+        if (current == null || current.status == Order.Status.WIP) {
+            return current;
+        }
+
+        logger.info("{} Order #{} left WIP for {} since it was read, nothing left to decide... (transactionId: {})", current.type,
+                current.number, current.status, current.transactionId);
+        return null;
+    }
+
+    /**
+     * Saves an order the sweep has finished deciding on, and moves it to the back of the priority order.
+     *
+     * @throws OrderSkippedException if the save is shed
+     */
+    void saveHandledOrder(Order order, CycleSummary summary) {
+        try {
             orderService.save(order);
-            ++numOrdersProcessed;
+        } catch (LimitExceededException e) {
+            logger.warn("Order saves are shedding load, leaving {} Order #{} for next cycle... (transactionId: {})", order.type,
+                    order.number, order.transactionId);
+            throw new OrderSkippedException();
         }
 
-        logger.info("{} exceptions handled of the {} consolidateable {} orders...", numOrdersProcessed, orders.size(), orderType);
+        summary.orderProcessed();
+        orderPrioritizer.handled(order, summary.getClock());
+    }
+
+    Pick mostRecentlyUpdated(Collection<Pick> picks) {
+        Pick mostRecentPick = null;
+
+        for (Pick pick : picks) {
+            if (mostRecentPick == null || pick.lastUpdate.isAfter(mostRecentPick.lastUpdate)) {
+                mostRecentPick = pick;
+            }
+        }
+
+        return mostRecentPick;
     }
 
     @Scheduled(cron = "0 0/1 * * * *") // Every 1 minutes...
-    private void checkForCompletedPicks() {
+    void checkForCompletedPicks() {
         if (configuration.enabled) {
             if (configuration.warehouseOperational) {
                 logger.info("Processing completed picks...");
 
-                Collection<Collection<Message>> messageBatches = batchPickCompletionMessages(queue);
+                SaturationPolicy saturationPolicy = backgroundPickCompletionHandlers.getSaturationPolicy();
+
+                if (saturationPolicy == SaturationPolicy.SKIP_CYCLE && backgroundPickCompletionHandlers.getQueued() > 0) {
+                    logger.warn("{} pick completion batches from earlier cycles are still waiting, leaving {} messages for the next cycle...",
+                            backgroundPickCompletionHandlers.getQueued(), queue.size());
+                    return;
+                }
+
+                Collection<Message> messages = new ArrayList<>();
+                Message message;
+
+                while ((message = queue.poll()) != null) {
+                    messages.add(message);
+                }
+
+                drainMergedPickCompletions(messages);
+
+                Collection<Collection<Message>> messageBatches = batchPickCompletionMessages(messages);
 
                 if (!CollectionUtils.isEmpty(messageBatches)) {
-                    for (final Collection<Message> messages : messageBatches) {
-                        backgroundPickCompletionHandlers.submit(() -> processCompletedPicks(messages));
+                    Iterator<Collection<Message>> batches = messageBatches.iterator();
+
+                    while (batches.hasNext()) {
+                        final Collection<Message> batch = batches.next();
+
+                        try {
+                            backgroundPickCompletionHandlers.submit(() -> {
+                                retryUnfinished(batch);
+                                processMergedPickCompletions();
+                            });
+                        } catch (WorkerPoolSaturatedException e) {
+                            Collection<Message> deferred = new ArrayList<>(batch);
+                            batches.forEachRemaining(deferred::addAll);
+
+                            deferPickCompletions(deferred, e.getPolicy());
+                            break;
+                        }
                     }
                 } else {
                     logger.info("No pick completion messages to process...");
@@ -610,14 +1211,91 @@ public class ExceptionHandler {
         }
     }
 
-    private Collection<Collection<Message>> batchPickCompletionMessages(Collection<Message> messages) {
+    /**
+     * Handles pick completions consumed from one partition of the pick completion log. Each partition's batches arrive
+     * one at a time, so completions for the same order are applied in the order they were published. While exception
+     * handling is disabled or the warehouse is down the batch is left uncommitted, to be offered again later, as it is
+     * when some of its orders had to be skipped; the completions already applied are dropped as duplicates next time.
+     */
+    private boolean handlePickCompletionBatch(MessageBatch batch) {
+        if (!configuration.enabled || !configuration.warehouseOperational) {
+            return false;
+        }
+
+        logger.info("Processing {} completed picks from pick completion log partition {} (offset {})...", batch.getMessages().size(),
+                batch.getPartition(), batch.getOffset());
+
+        if (!processCompletedPicks(batch.getMessages())) {
+            logger.warn("Leaving pick completion log partition {} at offset {} until its skipped orders are handled...",
+                    batch.getPartition(), batch.getOffset());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Holds back pick completion messages the pool had no room for. Under {@link SaturationPolicy#MERGE} they join the
+     * pending batch, which whichever batch finishes next picks up, as long as the pending batch stays within
+     * {@code maxMergedPickCompletions}; otherwise they go back on the queue for the next cycle.
+     */
+    private void deferPickCompletions(Collection<Message> messages, SaturationPolicy saturationPolicy) {
+        if (saturationPolicy == SaturationPolicy.MERGE) {
+            if (mergedPickCompletionCount.addAndGet(messages.size()) <= configuration.maxMergedPickCompletions) {
+                logger.warn("Pick completion workers are saturated, merging {} messages into the pending batch...", messages.size());
+                mergedPickCompletions.addAll(messages);
+                return;
+            }
+
+            mergedPickCompletionCount.addAndGet(-messages.size());
+
+            logger.warn("Pick completion workers are saturated and the pending batch is full, leaving {} messages for the next cycle...",
+                    messages.size());
+        } else {
+            logger.warn("Pick completion workers are saturated, leaving {} messages for the next cycle...", messages.size());
+        }
+
+        queue.addAll(messages);
+    }
+
+    private void drainMergedPickCompletions(Collection<Message> into) {
+        Message message;
+
+        while ((message = mergedPickCompletions.poll()) != null) {
+            mergedPickCompletionCount.decrementAndGet();
+            into.add(message);
+        }
+    }
+
+    private void processMergedPickCompletions() {
+        Collection<Message> merged = new ArrayList<>();
+        drainMergedPickCompletions(merged);
+
+        if (!merged.isEmpty()) {
+            logger.info("Processing {} merged pick completion messages...", merged.size());
+            retryUnfinished(merged);
+        }
+    }
+
+    /**
+     * Processes queued pick completion messages, putting them back on the queue for the next cycle if any of their orders
+     * had to be skipped. The completions already applied are dropped as duplicates when they come round again.
+     */
+    private void retryUnfinished(Collection<Message> messages) {
+        if (!processCompletedPicks(messages)) {
+            logger.warn("Leaving {} pick completion messages for the next cycle until their skipped orders are handled...", messages.size());
+            queue.addAll(messages);
+        }
+    }
+
+    Collection<Collection<Message>> batchPickCompletionMessages(Collection<Message> messages) {
         Collection<Collection<Message>> messageBatches = new ArrayList<>();
 
         if (!CollectionUtils.isEmpty(messages)) {
             List<Message> messagesToPartition = new ArrayList<>(messages);
 
             int numMessages = messagesToPartition.size();
-            int batchSize = numMessages / MAX_BACKGROUND_PICK_COMPLETION_HANDLERS;
+            int batchSize = numMessages / backgroundPickCompletionHandlers.getSize();
 
             if (batchSize > 1) {
                 int from = 0;
@@ -641,13 +1319,61 @@ public class ExceptionHandler {
         return messageBatches;
     }
 
-    private void processCompletedPicks(Collection<Message> pickCompletionMessages) {
+    /**
+     * @return whether every pick completion was applied; {@code false} if the completed picks couldn't be looked up or
+     * any of their orders had to be skipped
+     */
+    private boolean processCompletedPicks(Collection<Message> pickCompletionMessages) {
         String transactionId = UUID.randomUUID().toString();
 
+        long start = System.nanoTime();
+        CycleSummary summary = new CycleSummary("pick-completion", Deadline.after(Duration.ofSeconds(configuration.pickCompletionBatchDeadlineSeconds)),
+                clock);
+
+        PickCompletionBatchEvent batchEvent = new PickCompletionBatchEvent();
+        batchEvent.begin();
+
+        boolean completed;
+
+        try (Deadline.Binding binding = summary.getDeadline().bind();
+             Lane.Binding lane = Lane.PICK_COMPLETION.bind()) {
+            completed = doProcessCompletedPicks(pickCompletionMessages, transactionId, summary);
+        }
+
+        logger.info("Pick completion batch summary: {} (transactionId: {})", summary, transactionId);
+
+        pickCompletionBatchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        batchEvent.end();
+
+        if (batchEvent.shouldCommit()) {
+            batchEvent.transactionId = transactionId;
+            batchEvent.messages = pickCompletionMessages.size();
+            batchEvent.ordersProcessed = summary.getOrdersProcessed();
+            batchEvent.ordersSkipped = summary.getOrdersSkipped();
+            batchEvent.deadlineExceeded = summary.isDeadlineExceeded();
+            batchEvent.commit();
+        }
+
+        return completed;
+    }
+
+    /**
+     * Applies the completions to their orders. The notifications of orders that had to be skipped are forgotten by the
+     * deduplicator so that they are applied when they are offered again.
+     *
+     * @return whether every completion was applied
+     */
+    private boolean doProcessCompletedPicks(Collection<Message> pickCompletionMessages, String transactionId, CycleSummary summary) {
         Collection<PickCompleteNotification> pickCompleteNotifications = convertToPickCompletionNotifications(pickCompletionMessages);
 
-        Collection<Pick> completedPicks = retrieveCompletedPicks(pickCompleteNotifications, transactionId);
+        Collection<Pick> completedPicks = retrieveCompletedPicks(pickCompleteNotifications, transactionId, summary);
 
+        if (completedPicks == null) {
+            return false;
+        }
+
+        Collection<Integer> skippedOrderNumbers = new HashSet<>();
         Collection<Integer> orderNumbers = new HashSet<>();
         Map<String, Collection<Pick>> picksByOrderItemId = new HashMap<>();
 
@@ -667,19 +1393,86 @@ public class ExceptionHandler {
 
             SearchParameters searchParameters = new SearchParameters();
             searchParameters.orderNumbers = orderNumbers;
-            Collection<Order> orders = orderService.find(searchParameters);
+            Collection<Order> orders;
+
+            try {
+                orders = orderService.find(searchParameters);
+            } catch (LimitExceededException e) {
+                logger.warn("Order lookups are shedding load, leaving the {} orders of this batch for later... (transactionId: {})",
+                        orderNumbers.size(), transactionId);
+                orders = Collections.emptyList();
+                skippedOrderNumbers.addAll(orderNumbers);
+            } catch (RuntimeException e) {
+                logger.error("Encountered an exception looking up the {} orders of this batch, leaving them for later... (transactionId: {})",
+                        orderNumbers.size(), transactionId, e);
+                orders = Collections.emptyList();
+                skippedOrderNumbers.addAll(orderNumbers);
+            }
 
             if (!CollectionUtils.isEmpty(orders)) {
                 for (Order order : orders) {
-                    handlePickCompletion(order, picksByOrderItemId);
+                    if (summary.isPastDeadline()) {
+                        summary.orderSkipped();
+                        skippedOrderNumbers.add(order.number);
+                        continue;
+                    }
+
+                    try (OrderProcessingEvent event = OrderProcessingEvent.begin(summary.getCycle(), "pick-completion", order);
+                         OrderLocks.Lease lease = lockOrder(order, OrderLocks.Path.PICK_COMPLETION, summary)) {
+                        Order current = reloadLockedOrder(order, summary);
+
+                        if (current != null) {
+                            handlePickCompletion(current, picksByOrderItemId, summary);
+                        }
+
+                        summary.orderProcessed();
+                    } catch (OrderSkippedException e) {
+                        summary.orderSkipped();
+                        skippedOrderNumbers.add(order.number);
+                    } catch (DeadlineExceededException e) {
+                        logger.warn("Pick completion batch deadline exceeded while processing {} Order #{}! (transactionId: {})",
+                                order.type, order.number, order.transactionId);
+                        summary.orderSkipped();
+                        skippedOrderNumbers.add(order.number);
+                    } catch (LimitExceededException e) {
+                        logger.warn("A downstream call was shed while processing {} Order #{}, leaving it for later... (transactionId: {})",
+                                order.type, order.number, order.transactionId);
+                        summary.orderSkipped();
+                        skippedOrderNumbers.add(order.number);
+                    } catch (RuntimeException e) {
+                        logger.error("Encountered an exception processing pick completions for {} Order #{}, leaving it for later... (transactionId: {})",
+                                order.type, order.number, order.transactionId, e);
+                        summary.orderSkipped();
+                        skippedOrderNumbers.add(order.number);
+                    }
                 }
-            } else {
+            } else if (skippedOrderNumbers.isEmpty()) {
                 logger.warn("Found NO Cerebro Orders for the {} completed picks!", completedPicks.size());
             }
         }
+
+        if (skippedOrderNumbers.isEmpty()) {
+            return true;
+        }
+
+        Collection<Integer> skippedPickIds = new HashSet<>();
+
+        for (Pick pick : completedPicks) {
+            if (skippedOrderNumbers.contains(pick.orderNumber)) {
+                skippedPickIds.add(pick.id);
+            }
+        }
+
+        for (PickCompleteNotification notification : pickCompleteNotifications) {
+            if (skippedPickIds.contains(notification.getPickId())) {
+                pickCompletionDeduplicator.forget(notification.getPickId(), notification.fingerprint());
+            }
+        }
+
+        return false;
     }
 
-    private Collection<PickCompleteNotification> convertToPickCompletionNotifications(Collection<Message> pickCompletionMessages) {
+    Collection<PickCompleteNotification> convertToPickCompletionNotifications(Collection<Message> pickCompletionMessages) {
         Collection<PickCompleteNotification> notifications = new ArrayList<>();
 
         for (Message message : pickCompletionMessages) {
@@ -692,7 +1485,7 @@ public class ExceptionHandler {
                 }
 
                 try {
-                    PickCompleteNotification notification = mapper.readValue(messageBody, PickCompleteNotification.class);
+                    PickCompleteNotification notification = PickCompletionReader.MAPPER.readValue(messageBody, PickCompleteNotification.class);
                     notifications.add(notification);
                 } catch (IOException ioe) {
                     logger.error("Encountered an error attempting to parse a pick completion notification!", ioe);
@@ -703,17 +1496,30 @@ public class ExceptionHandler {
         return notifications;
     }
 
-    private Collection<Pick> retrieveCompletedPicks(Collection<PickCompleteNotification> pickCompleteNotifications, String transactionId) {
+    /**
+     * @return the picks of the notifications not seen before, or {@code null} if they couldn't be looked up
+     */
+    private Collection<Pick> retrieveCompletedPicks(Collection<PickCompleteNotification> pickCompleteNotifications, String transactionId, CycleSummary summary) {
         Collection<Pick> completedPicks = new HashSet<>();
 
         Collection<Integer> pickIds = new HashSet<>();
+        Collection<PickCompleteNotification> newNotifications = new ArrayList<>();
 
         if (!CollectionUtils.isEmpty(pickCompleteNotifications)) {
             for (PickCompleteNotification notification : pickCompleteNotifications) {
-                pickIds.add(notification.getPickId());
+                if (pickCompletionDeduplicator.tryRecord(notification.getPickId(), notification.fingerprint())) {
+                    pickIds.add(notification.getPickId());
+                    newNotifications.add(notification);
+                }
             }
         }
 
+        if (pickIds.isEmpty()) {
+            logger.info("No new pick completions to look up, {} notifications were duplicates... (transactionId: {})",
+                    pickCompleteNotifications.size(), transactionId);
+            return completedPicks;
+        }
+
         com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters pickSearchParameters = new com.willmadison.legacycodekatas.fulfillment.warehouse.management.SearchParameters();
         pickSearchParameters.pickIds = pickIds;
 
@@ -722,23 +1528,58 @@ public class ExceptionHandler {
 
         try {
             pickSearchResponse = wms.search(pickSearchRequest);
-            completedPicks = pickSearchResponse.picks;
+            if (pickSearchResponse.picks != null) {
+                completedPicks = pickSearchResponse.picks;
+            }
+        } catch (CircuitBreakerOpenException e) {
+            shortCircuited(e, summary);
+            forget(newNotifications);
+            return null;
         } catch (Exception e) {
             logger.error("Encountered an exception attempting to search for completed picks!", e);
+            forget(newNotifications);
+            return null;
         }
 
         return completedPicks;
     }
 
-    private void handlePickCompletion(Order order, Map<String, Collection<Pick>> picksByOrderItemId) {
+    private void forget(Collection<PickCompleteNotification> notifications) {
+        for (PickCompleteNotification notification : notifications) {
+            pickCompletionDeduplicator.forget(notification.getPickId(), notification.fingerprint());
+        }
+    }
+
+    /**
+     * Applies the completed picks to the order's items, updating their consolidation labels or holding the order in
+     * consolidation as the picks call for. Labels and holds are buffered by write-behind and can't fail here unless it
+     * is disabled, when they go straight through Consolidation's breaker, limiter and deadline.
+     *
+     * @throws OrderSkippedException if whether the order goes through consolidation can't be found out, or one of its
+     * labels or holds can't be sent, so that they aren't silently left out
+     */
+    private void handlePickCompletion(Order order, Map<String, Collection<Pick>> picksByOrderItemId, CycleSummary summary) {
         logger.info("Processing pick completion message for {} Order #{} (transactionId: {})!", order.type,
                 order.number, order.transactionId);
 
         String reservationId = order.reservationId;
 
-        ConsolidatableOrder consolidatedOrder = consolidation.status(order.number, order.transactionId);
+        boolean isConsolidateableOrder = !StringUtils.isEmpty(reservationId) && !reservationId.endsWith("-X");
 
-        boolean isConsolidateableOrder = (!StringUtils.isEmpty(reservationId) && !reservationId.endsWith("-X")) || consolidatedOrder != null;
+        if (!isConsolidateableOrder) {
+            if (!isPermitted(DownstreamOperation.CONSOLIDATION_STATUS, summary)) {
+                throw new OrderSkippedException();
+            }
+
+            try {
+                isConsolidateableOrder = consolidation.status(order.number, order.transactionId) != null;
+            } catch (CircuitBreakerOpenException e) {
+                shortCircuited(e, summary);
+                throw new OrderSkippedException();
+            } catch (DeadlineExceededException | LimitExceededException e) {
+                throw new OrderSkippedException();
+            }
+        }
 
         for (OrderItem orderItem : order.items) {
             Collection<Pick> picks = picksByOrderItemId.get(orderItem.id);
@@ -784,10 +1625,19 @@ public class ExceptionHandler {
                             }
 
                             if (!isConsolidateableOrder) {
+                                if (!isPermitted(DownstreamOperation.CONSOLIDATION_HOLD, summary)) {
+                                    throw new OrderSkippedException();
+                                }
+
                                 logger.warn("Straggler determined {} Order #{} was out or partially available, holding in consolidation! (transactionId: {})",
                                         order.type, order.number, order.transactionId);
 
-                                consolidation.hold(order.number, order.transactionId);
+                                try {
+                                    consolidation.hold(order.number, order.transactionId);
+                                } catch (CircuitBreakerOpenException e) {
+                                    shortCircuited(e, summary);
+                                    throw new OrderSkippedException();
+                                }
                             }
                         } else if (isCompleted) {
                             updatedConsolidationLabel = "Repicked (Complete)";
@@ -817,11 +1667,20 @@ public class ExceptionHandler {
                 }
 
                 if (isConsolidateableOrder && !StringUtils.isEmpty(updatedConsolidationLabel)) {
+                    if (!isPermitted(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE, summary)) {
+                        throw new OrderSkippedException();
+                    }
+
                     String orderNumber = Integer.toString(mostRecentPick.orderNumber);
                     String consolidatedItemId = Integer.toString(mostRecentPick.id);
                     Label label = new Label(updatedConsolidationLabel);
 
-                    consolidation.updateOrderItemLabel(orderNumber, consolidatedItemId, label);
+                    try {
+                        consolidation.updateOrderItemLabel(orderNumber, consolidatedItemId, label);
+                    } catch (CircuitBreakerOpenException e) {
+                        shortCircuited(e, summary);
+                        throw new OrderSkippedException();
+                    }
                 }
 
                 orderService.save(orderItem);
@@ -829,6 +1688,35 @@ public class ExceptionHandler {
         }
     }
 
+    private boolean isPermitted(DownstreamOperation operation, CycleSummary summary) {
+        if (summary.isShortCircuited(operation)) {
+            summary.skipped(operation);
+            return false;
+        }
+
+        return true;
+    }
+
+    private void shortCircuited(CircuitBreakerOpenException e, CycleSummary summary) {
+        DownstreamOperation operation = e.getOperation();
+
+        if (summary.shortCircuit(operation)) {
+            logger.warn("Circuit breaker for {} is open! Short-circuiting {} for the remainder of this {} cycle...",
+                    operation.getMetricName(), operation, summary.getCycle());
+        }
+
+        summary.skipped(operation);
+    }
+
+    /**
+     * Holds the JSON mapper for pick completion messages, so Jackson is only loaded once the first message arrives
+     * rather than while the application is starting.
+     */
+    private static class PickCompletionReader {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private static class PickCompleteNotification {
 
@@ -865,6 +1753,10 @@ public class ExceptionHandler {
             others.put(key, value);
         }
 
+        int fingerprint() {
+            return Objects.hash(straggler, others);
+        }
+
         @Override
         public String toString() {
             return "PickCompleteMessage{" +
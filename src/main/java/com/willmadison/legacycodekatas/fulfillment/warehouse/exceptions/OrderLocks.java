@@ -0,0 +1,174 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Serializes the sweep's and pick completion processing's changes to the same order. Order numbers map onto a fixed
+ * set of stripes, each a single permit; changing an order means holding its stripe, so work on the same order is
+ * applied one at a time while work on orders on different stripes runs in parallel. Orders that share a stripe wait on
+ * each other too, which is the price of a fixed number of locks.
+ * <p>
+ * A stripe is a permit rather than a lock so that a {@link Lease} can be released from a different thread than the
+ * one that took it, as the reactive sweep's save stage does. Leases are not reentrant.
+ * <p>
+ * Waits are counted by who waited and who held the stripe, and by whether the holder was working on the same order
+ * or just another order on the stripe, so {@code exceptions.order.locks.contended} shows how often the two paths
+ * collide.
+ */
+class OrderLocks {
+
+    enum Path {
+        SWEEP("sweep"),
+        PICK_COMPLETION("pick-completion");
+
+        private final String tag;
+
+        Path(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String SAME_ORDER = "order";
+
+    private static final String SAME_STRIPE = "stripe";
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    private final Map<Path, Counter> acquisitions = new EnumMap<>(Path.class);
+
+    private final Map<Path, Map<Path, Counter>> orderContentions = new EnumMap<>(Path.class);
+
+    private final Map<Path, Map<Path, Counter>> stripeContentions = new EnumMap<>(Path.class);
+
+    private final Map<Path, Timer> waits = new EnumMap<>(Path.class);
+
+    OrderLocks(int stripes, MeterRegistry registry) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least one order lock stripe is required, not " + stripes);
+        }
+
+        int size = 1;
+
+        while (size < stripes) {
+            size <<= 1;
+        }
+
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+
+        for (Path path : Path.values()) {
+            acquisitions.put(path, registry.counter("exceptions.order.locks.acquisitions", "path", path.tag));
+            waits.put(path, registry.timer("exceptions.order.locks.wait", "path", path.tag));
+
+            Map<Path, Counter> sameOrder = new EnumMap<>(Path.class);
+            Map<Path, Counter> sameStripe = new EnumMap<>(Path.class);
+
+            for (Path holder : Path.values()) {
+                sameOrder.put(holder, registry.counter("exceptions.order.locks.contended", "path", path.tag, "holder", holder.tag,
+                        "conflict", SAME_ORDER));
+                sameStripe.put(holder, registry.counter("exceptions.order.locks.contended", "path", path.tag, "holder", holder.tag,
+                        "conflict", SAME_STRIPE));
+            }
+
+            orderContentions.put(path, sameOrder);
+            stripeContentions.put(path, sameStripe);
+        }
+    }
+
+    /**
+     * Takes the order's stripe, waiting at most {@code timeoutNanos} for whoever holds it.
+     *
+     * @return the held lease, or {@code null} if the stripe could not be taken in time
+     */
+    Lease tryLock(int orderNumber, Path path, long timeoutNanos) {
+        Stripe stripe = stripes[index(orderNumber)];
+
+        acquisitions.get(path).increment();
+
+        if (!stripe.permit.tryAcquire()) {
+            Path holder = stripe.holder;
+
+            if (holder != null) {
+                (stripe.orderNumber == orderNumber ? orderContentions : stripeContentions).get(path).get(holder).increment();
+            }
+
+            long start = System.nanoTime();
+
+            try {
+                if (!stripe.permit.tryAcquire(Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                waits.get(path).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        stripe.holder = path;
+        stripe.orderNumber = orderNumber;
+
+        return new Lease(stripe);
+    }
+
+    int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Order numbers are handed out in sequence, so a plain modulo puts the orders in flight at once on distinct stripes
+     * where a scrambling hash would start colliding well before the stripes run out.
+     */
+    private int index(int orderNumber) {
+        return orderNumber & mask;
+    }
+
+    /**
+     * A held stripe. Closing it more than once is harmless, so it can be released both by the step that finishes with
+     * the order and by a cleanup path that isn't sure whether that step ran.
+     */
+    static final class Lease implements AutoCloseable {
+
+        private static final AtomicIntegerFieldUpdater<Lease> RELEASED = AtomicIntegerFieldUpdater.newUpdater(Lease.class, "released");
+
+        private final Stripe stripe;
+
+        private volatile int released;
+
+        private Lease(Stripe stripe) {
+            this.stripe = stripe;
+        }
+
+        @Override
+        public void close() {
+            if (RELEASED.compareAndSet(this, 0, 1)) {
+                stripe.holder = null;
+                stripe.permit.release();
+            }
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Semaphore permit = new Semaphore(1);
+
+        private volatile Path holder;
+
+        private volatile int orderNumber;
+    }
+}
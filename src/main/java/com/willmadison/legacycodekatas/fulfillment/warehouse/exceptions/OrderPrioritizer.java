@@ -0,0 +1,156 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders a sweep's orders most urgent first, so that when a cycle runs out of time the orders left for the next cycle
+ * are the ones that can best afford to wait. An order's urgency is
+ * <pre>
+ *     (minutes past its repick threshold + minutes since it was last updated) / its type's SLA in minutes
+ *         + cycles it has already been passed over * starvation boost
+ * </pre>
+ * The repick threshold is measured from the order's last update, since its picks haven't been looked up yet. Every
+ * order handed out is assumed passed over until {@link #handled(Order, Clock)} says otherwise, so an order that keeps
+ * missing the deadline gains priority each cycle until it is reached.
+ * <p>
+ * Prioritization is page-local: the sweeps read WIP orders a page at a time in order number order and prioritize each
+ * page as it arrives, so an urgent order on a late page still waits for the pages before it. Ranking the whole
+ * candidate set would mean holding every WIP order at once, which paging exists to avoid; the starvation boost is what
+ * eventually carries an order that keeps being cut off into the part of a cycle that gets done.
+ */
+class OrderPrioritizer {
+
+    private final ExceptionConfiguration configuration;
+
+    private final LinkedHashMap<Integer, Integer> deferralsByOrderNumber;
+
+    private final LinkedHashMap<Integer, LocalDateTime> overdueRecordedByOrderNumber;
+
+    private final Map<Order.Type, Timer> overdueTimers = new EnumMap<>(Order.Type.class);
+
+    OrderPrioritizer(ExceptionConfiguration configuration, MeterRegistry registry) {
+        this.configuration = configuration;
+        this.deferralsByOrderNumber = new LinkedHashMap<Integer, Integer>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > OrderPrioritizer.this.configuration.deferredOrdersMaxEntries;
+            }
+        };
+        this.overdueRecordedByOrderNumber = new LinkedHashMap<Integer, LocalDateTime>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, LocalDateTime> eldest) {
+                return size() > OrderPrioritizer.this.configuration.deferredOrdersMaxEntries;
+            }
+        };
+
+        for (Order.Type orderType : Order.Type.values()) {
+            // Overdue times run to hours, far past a timer's default range; sized for them up front its histogram doesn't
+            // have to grow on every order handled.
+            overdueTimers.put(orderType, Timer.builder("exceptions.order.overdue")
+                    .tag("type", orderType.name())
+                    .maximumExpectedValue(Duration.ofDays(7))
+                    .register(registry));
+        }
+
+        registry.gauge("exceptions.orders.deferred", this, OrderPrioritizer::deferred);
+    }
+
+    List<Order> prioritize(Collection<Order> orders, Clock clock) {
+        long now = clock.millis();
+
+        PriorityQueue<Prioritized> queue = new PriorityQueue<>(Math.max(1, orders.size()));
+
+        synchronized (this) {
+            for (Order order : orders) {
+                int deferrals = deferralsByOrderNumber.merge(order.number, 1, Integer::sum) - 1;
+                queue.add(new Prioritized(order, urgency(order, deferrals, now)));
+            }
+        }
+
+        List<Order> prioritized = new ArrayList<>(queue.size());
+
+        while (!queue.isEmpty()) {
+            prioritized.add(queue.poll().order);
+        }
+
+        return prioritized;
+    }
+
+    /**
+     * Clears the order's deferrals and, the first time the order is handled past its repick threshold, records how far
+     * past it the order was. Handling the same overdue order again in later cycles records nothing until its lastUpdate
+     * moves.
+     */
+    void handled(Order order, Clock clock) {
+        long overdue = minutesSince(order.lastUpdate, clock.millis()) - configuration.autoStraggleTimeframeMinutes;
+        boolean escalated = overdue > 0 && order.type != null;
+
+        synchronized (this) {
+            deferralsByOrderNumber.remove(order.number);
+
+            if (escalated) {
+                escalated = !Objects.equals(overdueRecordedByOrderNumber.put(order.number, order.lastUpdate), order.lastUpdate);
+            }
+        }
+
+        if (escalated) {
+            overdueTimers.get(order.type).record(overdue, TimeUnit.MINUTES);
+        }
+    }
+
+    synchronized int deferred() {
+        return deferralsByOrderNumber.size();
+    }
+
+    private double urgency(Order order, int deferrals, long now) {
+        long sinceLastUpdate = minutesSince(order.lastUpdate, now);
+        long pastRepickThreshold = Math.max(0L, sinceLastUpdate - configuration.autoStraggleTimeframeMinutes);
+
+        return (double) (pastRepickThreshold + sinceLastUpdate) / configuration.slaMinutes(order.type) +
+                deferrals * configuration.starvationBoost;
+    }
+
+    private static long minutesSince(LocalDateTime lastUpdate, long now) {
+        if (lastUpdate == null) {
+            return 0L;
+        }
+
+        long lastUpdateMillis = lastUpdate.toEpochSecond(ZoneOffset.UTC) * 1000L + lastUpdate.getNano() / 1_000_000;
+        return Math.max(0L, TimeUnit.MILLISECONDS.toMinutes(now - lastUpdateMillis));
+    }
+
+    private static class Prioritized implements Comparable<Prioritized> {
+
+        private final Order order;
+
+        private final double urgency;
+
+        Prioritized(Order order, double urgency) {
+            this.order = order;
+            this.urgency = urgency;
+        }
+
+        @Override
+        public int compareTo(Prioritized other) {
+            int byUrgency = Double.compare(other.urgency, urgency);
+            return byUrgency != 0 ? byUrgency : Integer.compare(order.number, other.order.number);
+        }
+    }
+}
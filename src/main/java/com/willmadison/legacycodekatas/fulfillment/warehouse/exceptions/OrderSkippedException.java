@@ -0,0 +1,13 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+/**
+ * Raised by a sweep step when an order can't be handled this cycle (its downstream calls are short-circuited, or the
+ * cycle deadline has passed); the order is counted as skipped and picked up again next cycle. Thrown once per
+ * skipped order, so it carries no stack trace.
+ */
+class OrderSkippedException extends RuntimeException {
+
+    OrderSkippedException() {
+        super(null, null, false, false);
+    }
+}
@@ -0,0 +1,77 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which pick completions (pick id plus a fingerprint of the notification's content) have already been
+ * handled so that repeated or redelivered completions are dropped before they cost a WMS lookup. Entries are kept in
+ * insertion order and expire after the dedup window; the oldest entries are evicted first once the set is full.
+ */
+class PickCompletionDeduplicator {
+
+    private final long windowNanos;
+
+    private final int maxEntries;
+
+    private final LinkedHashMap<Long, Long> seenAt;
+
+    private final Counter duplicatesDropped;
+
+    PickCompletionDeduplicator(long windowMinutes, int maxEntries, MeterRegistry registry) {
+        this.windowNanos = TimeUnit.MINUTES.toNanos(windowMinutes);
+        this.maxEntries = maxEntries;
+        this.seenAt = new LinkedHashMap<Long, Long>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > PickCompletionDeduplicator.this.maxEntries;
+            }
+        };
+        this.duplicatesDropped = registry.counter("pick.completion.duplicates.dropped");
+    }
+
+    synchronized boolean tryRecord(int pickId, int fingerprint) {
+        long now = System.nanoTime();
+
+        expire(now);
+
+        Long key = key(pickId, fingerprint);
+
+        if (seenAt.containsKey(key)) {
+            duplicatesDropped.increment();
+            return false;
+        }
+
+        seenAt.put(key, now);
+        return true;
+    }
+
+    synchronized void forget(int pickId, int fingerprint) {
+        seenAt.remove(key(pickId, fingerprint));
+    }
+
+    synchronized int size() {
+        return seenAt.size();
+    }
+
+    private void expire(long now) {
+        Iterator<Long> timestamps = seenAt.values().iterator();
+
+        while (timestamps.hasNext()) {
+            if (now - timestamps.next() < windowNanos) {
+                break;
+            }
+
+            timestamps.remove();
+        }
+    }
+
+    private static long key(int pickId, int fingerprint) {
+        return ((long) pickId << 32) | (fingerprint & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,135 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Picks grouped by the id of the order item they were made for. Clearing keeps the table and every slot's pick list,
+ * so a sweep worker that refills the same instance order after order stops allocating once it has seen its largest
+ * order.
+ */
+class PicksByOrderItem {
+
+    private String[] orderItemIds = new String[16];
+
+    /**
+     * Each occupied slot's {@code ArrayList<Pick>}; read through {@link #picksAt(int)}.
+     */
+    private Object[] picks = new Object[16];
+
+    private final ArrayList<Pick> picksWithoutOrderItem = new ArrayList<>();
+
+    private int size;
+
+    void addAll(Collection<Pick> picks) {
+        if (picks instanceof List && picks instanceof RandomAccess) {
+            List<Pick> pickList = (List<Pick>) picks;
+
+            for (int i = 0; i < pickList.size(); i++) {
+                add(pickList.get(i));
+            }
+        } else {
+            for (Pick pick : picks) {
+                add(pick);
+            }
+        }
+    }
+
+    void add(Pick pick) {
+        String orderItemId = pick.orderItemId;
+
+        if (orderItemId == null) {
+            picksWithoutOrderItem.add(pick);
+            return;
+        }
+
+        if ((size + 1) * 2 > orderItemIds.length) {
+            grow();
+        }
+
+        int slot = slot(orderItemIds, orderItemId);
+
+        if (orderItemIds[slot] == null) {
+            orderItemIds[slot] = orderItemId;
+            ++size;
+
+            if (picks[slot] == null) {
+                picks[slot] = new ArrayList<Pick>();
+            }
+        }
+
+        picksAt(slot).add(pick);
+    }
+
+    /**
+     * @return the order item's picks, or {@code null} if it has none
+     */
+    Collection<Pick> get(String orderItemId) {
+        if (orderItemId == null) {
+            return picksWithoutOrderItem.isEmpty() ? null : picksWithoutOrderItem;
+        }
+
+        int slot = slot(orderItemIds, orderItemId);
+        return orderItemIds[slot] != null ? picksAt(slot) : null;
+    }
+
+    int size() {
+        return size + (picksWithoutOrderItem.isEmpty() ? 0 : 1);
+    }
+
+    void clear() {
+        if (size > 0) {
+            for (int i = 0; i < orderItemIds.length; i++) {
+                if (orderItemIds[i] != null) {
+                    orderItemIds[i] = null;
+                    picksAt(i).clear();
+                }
+            }
+
+            size = 0;
+        }
+
+        picksWithoutOrderItem.clear();
+    }
+
+    private void grow() {
+        String[] oldOrderItemIds = orderItemIds;
+        Object[] oldPicks = picks;
+
+        orderItemIds = new String[oldOrderItemIds.length * 2];
+        picks = new Object[oldOrderItemIds.length * 2];
+
+        for (int i = 0; i < oldOrderItemIds.length; i++) {
+            if (oldOrderItemIds[i] != null) {
+                int slot = slot(orderItemIds, oldOrderItemIds[i]);
+                orderItemIds[slot] = oldOrderItemIds[i];
+                picks[slot] = oldPicks[i];
+            }
+        }
+    }
+
+    // Only add() stores into the table, and only an ArrayList<Pick>, so the cast can't fail.
+    @SuppressWarnings("unchecked")
+    private ArrayList<Pick> picksAt(int slot) {
+        return (ArrayList<Pick>) picks[slot];
+    }
+
+    /**
+     * @return the slot holding {@code orderItemId}, or the empty slot where it belongs
+     */
+    private static int slot(String[] orderItemIds, String orderItemId) {
+        int mask = orderItemIds.length - 1;
+        int hash = orderItemId.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        while (orderItemIds[slot] != null && !orderItemIds[slot].equals(orderItemId)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+}
@@ -0,0 +1,453 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.OrderProcessingEvent;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order.Type;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.resilience.Deadline;
+import com.willmadison.legacycodekatas.fulfillment.resilience.LimitExceededException;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ReactiveSweepConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPool;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The exception sweep as a pipeline rather than a nest of blocking workers. WIP orders are streamed a page at a time,
+ * taking each order type's pages in turn, and each page's orders flow most urgent first through
+ * <pre>
+ *     classify -&gt; order verification + picks (single-line orders)    -&gt; decide -&gt; save
+ *              -&gt; consolidation status + picks (consolidatable orders)
+ * </pre>
+ * with an order's two lookups running side by side. Each stage runs on its own {@link WorkerPool}, whose size bounds
+ * the stage's concurrency. At most {@link ReactiveSweepConfiguration#maxOrdersInFlight} orders are between the source
+ * and the end of the pipeline at once; when a dependency slows down, orders queue in front of its stage holding their
+ * in-flight permits, and the source stops reading pages until they drain. The slowest dependency sets the pace.
+ * <p>
+ * Stages are chained with {@link CompletableFuture}s on the existing worker pools, so the sweep needs no reactive
+ * streams library. The per-order steps are {@link ExceptionHandler}'s, shared with the blocking sweep, so the two
+ * sweeps make the same decisions; the reactive one only differs in running an order's lookups concurrently. An order's
+ * lock is taken in the decide stage and held until its save completes, so pick completion processing never sees a
+ * decided but unsaved order. The order is read again once the lock is held and the decision made on that copy, so a
+ * pick completion saved while the order was being looked up isn't overwritten.
+ */
+class ReactiveSweep {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveSweep.class);
+
+    private final ExceptionHandler handler;
+
+    private final OrderService orderService;
+
+    private final OrderPrioritizer orderPrioritizer;
+
+    private final int maxOrdersInFlight;
+
+    private final Semaphore inFlight;
+
+    private final Counter ordersLeftInFlight;
+
+    private final WorkerPool classifiers;
+
+    private final WorkerPool verificationLookups;
+
+    private final WorkerPool pickLookups;
+
+    private final WorkerPool consolidationLookups;
+
+    private final WorkerPool deciders;
+
+    private final WorkerPool savers;
+
+    ReactiveSweep(ExceptionHandler handler, OrderService orderService, OrderPrioritizer orderPrioritizer,
+                  ReactiveSweepConfiguration configuration, WorkerPools workerPools, MeterRegistry registry) {
+        this.handler = handler;
+        this.orderService = orderService;
+        this.orderPrioritizer = orderPrioritizer;
+        this.maxOrdersInFlight = configuration.maxOrdersInFlight;
+        this.inFlight = new Semaphore(maxOrdersInFlight);
+        this.classifiers = workerPools.create("exceptions.reactive.classify", configuration.classify);
+        this.verificationLookups = workerPools.create("exceptions.reactive.verification", configuration.verification);
+        this.pickLookups = workerPools.create("exceptions.reactive.picks", configuration.picks);
+        this.consolidationLookups = workerPools.create("exceptions.reactive.consolidation", configuration.consolidation);
+        this.deciders = workerPools.create("exceptions.reactive.decide", configuration.decide);
+        this.savers = workerPools.create("exceptions.reactive.save", configuration.save);
+
+        this.ordersLeftInFlight = registry.counter("exceptions.reactive.inflight.abandoned");
+
+        registry.gauge("exceptions.reactive.inflight", this, ReactiveSweep::getOrdersInFlight);
+    }
+
+    /**
+     * Sweeps the WIP orders of the given types, or only those among {@code changedOrderNumbers} when it isn't
+     * {@code null}, and returns once every order read has been handled or skipped, or once the cycle deadline passes
+     * with orders still in the pipeline. Those finish on their own and release their in-flight permits as they do.
+     */
+    void sweep(Set<Type> orderTypes, Collection<Integer> changedOrderNumbers, ExceptionConfiguration configuration,
+               CycleSummary summary) {
+        RepickEligibilityEvaluator repickEvaluator = new RepickEligibilityEvaluator(summary.getClock(),
+                Duration.ofMinutes(configuration.autoStraggleTimeframeMinutes));
+
+        try {
+            if (changedOrderNumbers == null) {
+                sweepWipOrders(orderTypes, configuration, repickEvaluator, summary);
+            } else {
+                sweepChangedOrders(orderTypes, changedOrderNumbers, configuration, repickEvaluator, summary);
+            }
+        } finally {
+            awaitDrained(summary);
+        }
+    }
+
+    private void awaitDrained(CycleSummary summary) {
+        try {
+            if (inFlight.tryAcquire(maxOrdersInFlight, summary.getDeadline().remainingNanos(), TimeUnit.NANOSECONDS)) {
+                inFlight.release(maxOrdersInFlight);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int outstanding = getOrdersInFlight();
+        ordersLeftInFlight.increment(outstanding);
+
+        logger.warn("Cycle deadline passed with {} orders still in the exception handling pipeline, they will finish after the cycle ends...",
+                outstanding);
+    }
+
+    int getOrdersInFlight() {
+        return maxOrdersInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * Reads a page of each type's WIP orders in turn, so no type waits on another's backlog.
+     */
+    private void sweepWipOrders(Set<Type> orderTypes, ExceptionConfiguration configuration, RepickEligibilityEvaluator repickEvaluator,
+                                CycleSummary summary) {
+        logger.info("Streaming WIP {} orders through the exception handling pipeline...", orderTypes);
+
+        Set<Type> remaining = EnumSet.noneOf(Type.class);
+        remaining.addAll(orderTypes);
+
+        Map<Type, String> continuationTokens = new EnumMap<>(Type.class);
+        int pages = 0;
+
+        while (!remaining.isEmpty()) {
+            for (Iterator<Type> types = remaining.iterator(); types.hasNext(); ) {
+                Type orderType = types.next();
+
+                if (summary.isPastDeadline()) {
+                    logger.warn("Cycle deadline passed after {} pages of WIP orders, the remainder will be handled next cycle...", pages);
+                    return;
+                }
+
+                OrderPage wipOrders;
+
+                try {
+                    wipOrders = orderService.findPage(wipOrdersOf(orderType, null), continuationTokens.get(orderType),
+                            configuration.wipPageSize);
+                } catch (LimitExceededException e) {
+                    logger.warn("Order lookups are shedding load after {} pages of WIP orders, the remainder will be handled next cycle...",
+                            pages);
+                    summary.pageSkipped();
+                    return;
+                }
+
+                ++pages;
+
+                if (!dispatch(wipOrders.getOrders(), configuration, repickEvaluator, summary)) {
+                    return;
+                }
+
+                if (wipOrders.getContinuationToken() == null) {
+                    types.remove();
+                } else {
+                    continuationTokens.put(orderType, wipOrders.getContinuationToken());
+                }
+            }
+        }
+    }
+
+    private void sweepChangedOrders(Set<Type> orderTypes, Collection<Integer> orderNumbers, ExceptionConfiguration configuration,
+                                    RepickEligibilityEvaluator repickEvaluator, CycleSummary summary) {
+        logger.info("Streaming {} changed orders through the exception handling pipeline...", orderNumbers.size());
+
+        List<Integer> page = new ArrayList<>(configuration.wipPageSize);
+        Iterator<Integer> changed = orderNumbers.iterator();
+
+        while (changed.hasNext()) {
+            page.add(changed.next());
+
+            if (page.size() < configuration.wipPageSize && changed.hasNext()) {
+                continue;
+            }
+
+            for (Type orderType : orderTypes) {
+                if (summary.isPastDeadline()) {
+                    logger.warn("Cycle deadline passed before every changed order was handled...");
+                    return;
+                }
+
+                Collection<Order> changedOrders;
+
+                try {
+                    changedOrders = orderService.find(wipOrdersOf(orderType, page));
+                } catch (LimitExceededException e) {
+                    logger.warn("Order lookups are shedding load, the remaining changed orders will be handled next cycle...");
+                    summary.pageSkipped();
+                    return;
+                }
+
+                if (!dispatch(changedOrders, configuration, repickEvaluator, summary)) {
+                    return;
+                }
+            }
+
+            page = new ArrayList<>(configuration.wipPageSize);
+        }
+    }
+
+    private static SearchParameters wipOrdersOf(Type orderType, List<Integer> orderNumbers) {
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderNumbers = orderNumbers;
+        searchParameters.orderTypes = Collections.singleton(orderType);
+        searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
+        return searchParameters;
+    }
+
+    /**
+     * Feeds a page of orders into the pipeline, most urgent first, waiting for room whenever
+     * {@link ReactiveSweepConfiguration#maxOrdersInFlight} orders are already in it.
+     *
+     * @return whether the page was fed in full; {@code false} once the cycle deadline passes while waiting for room
+     */
+    private boolean dispatch(Collection<Order> wipOrders, ExceptionConfiguration configuration, RepickEligibilityEvaluator repickEvaluator,
+                             CycleSummary summary) {
+        if (wipOrders.isEmpty()) {
+            return true;
+        }
+
+        logger.info("Found a page of {} WIP orders! Feeding them to the exception handling pipeline...", wipOrders.size());
+
+        List<Order> prioritized = orderPrioritizer.prioritize(wipOrders, summary.getClock());
+
+        for (int i = 0; i < prioritized.size(); i++) {
+            if (!awaitRoom(summary)) {
+                logger.warn("Cycle deadline passed waiting on the exception handling pipeline, skipping {} orders this cycle...",
+                        prioritized.size() - i);
+
+                for (int j = i; j < prioritized.size(); j++) {
+                    summary.orderSkipped();
+                }
+
+                return false;
+            }
+
+            Order order = prioritized.get(i);
+
+            try {
+                sweep(order, configuration, repickEvaluator, summary).whenComplete((ignored, e) -> completed(order, e, summary));
+            } catch (RejectedExecutionException e) {
+                completed(order, e, summary);
+            }
+        }
+
+        return true;
+    }
+
+    private boolean awaitRoom(CycleSummary summary) {
+        try {
+            if (!inFlight.tryAcquire(summary.getDeadline().remainingNanos(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        if (summary.isPastDeadline()) {
+            inFlight.release();
+            return false;
+        }
+
+        return true;
+    }
+
+    private CompletableFuture<Void> sweep(Order order, ExceptionConfiguration configuration, RepickEligibilityEvaluator repickEvaluator,
+                                          CycleSummary summary) {
+        return stage(classifiers, "classify", order, summary, () -> classify(order, summary))
+                .thenCompose(consolidatable -> consolidatable ? lookUpConsolidatableOrder(order, summary) : lookUpSingleLineOrder(order, summary))
+                .thenCompose(lookup -> stage(deciders, "decide", order, summary, () -> decide(order, lookup, configuration, repickEvaluator, summary)))
+                .thenCompose(decision -> save(decision, summary));
+    }
+
+    private boolean classify(Order order, CycleSummary summary) {
+        boolean consolidatable = handler.isConsolidatable(order, summary);
+
+        boolean permitted = consolidatable ? handler.isConsolidatableLookupPermitted(summary) : handler.isSingleLineLookupPermitted(summary);
+
+        if (!permitted) {
+            throw new OrderSkippedException();
+        }
+
+        return consolidatable;
+    }
+
+    private CompletableFuture<Lookup> lookUpSingleLineOrder(Order order, CycleSummary summary) {
+        CompletableFuture<Boolean> verified = stage(verificationLookups, "verification", order, summary,
+                () -> handler.isVerified(order, order.type, summary));
+
+        return verified.thenCombine(lookUpPicks(order, summary), (isVerified, picks) -> new Lookup(false, isVerified, null, picks));
+    }
+
+    private CompletableFuture<Lookup> lookUpConsolidatableOrder(Order order, CycleSummary summary) {
+        CompletableFuture<ConsolidatableOrder> consolidatableOrder = stage(consolidationLookups, "consolidation", order, summary,
+                () -> handler.lookUpConsolidation(order, order.type, summary));
+
+        return consolidatableOrder.thenCombine(lookUpPicks(order, summary), (consolidated, picks) -> new Lookup(true, false, consolidated, picks));
+    }
+
+    private CompletableFuture<PicksByOrderItem> lookUpPicks(Order order, CycleSummary summary) {
+        return stage(pickLookups, "picks", order, summary, () -> {
+            PicksByOrderItem picksByOrderItemId = new PicksByOrderItem();
+            handler.lookUpPicks(order, order.type, summary, picksByOrderItemId);
+            return picksByOrderItemId;
+        });
+    }
+
+    private Decision decide(Order order, Lookup lookup, ExceptionConfiguration configuration,
+                            RepickEligibilityEvaluator repickEvaluator, CycleSummary summary) {
+        OrderLocks.Lease lease = handler.lockOrder(order, OrderLocks.Path.SWEEP, summary);
+
+        try (SweepScratch scratch = SweepScratch.take()) {
+            Order current = handler.reloadWipOrder(order, summary);
+
+            if (current == null) {
+                return new Decision(null, lease);
+            }
+
+            if (lookup.consolidatable) {
+                handler.decideConsolidatableOrder(current, order.type, lookup.consolidatableOrder, lookup.picksByOrderItemId,
+                        configuration, repickEvaluator, scratch, summary);
+            } else {
+                handler.decideSingleLineOrder(current, order.type, lookup.verified, lookup.picksByOrderItemId, configuration,
+                        repickEvaluator, scratch, summary);
+            }
+
+            return new Decision(current, lease);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> save(Decision decision, CycleSummary summary) {
+        OrderLocks.Lease lease = decision.lease;
+
+        if (decision.order == null) {
+            lease.close();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            return stage(savers, "save", decision.order, summary, () -> {
+                handler.saveHandledOrder(decision.order, summary);
+                return (Void) null;
+            }).whenComplete((saved, error) -> lease.close());
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs one step for an order on a stage's pool, bound to the cycle's deadline.
+     */
+    private static <T> CompletableFuture<T> stage(WorkerPool pool, String stage, Order order, CycleSummary summary, Supplier<T> step) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Deadline.Binding binding = summary.getDeadline().bind();
+                 OrderProcessingEvent event = OrderProcessingEvent.begin(summary.getCycle(), stage, order)) {
+                return step.get();
+            }
+        }, pool);
+    }
+
+    private void completed(Order order, Throwable error, CycleSummary summary) {
+        try {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+                if (!(cause instanceof OrderSkippedException)) {
+                    logger.error("Encountered an exception handling exceptions for {} Order #{}, it will be revisited next cycle! (transactionId: {})",
+                            order.type, order.number, order.transactionId, cause);
+                }
+
+                summary.orderSkipped();
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * What an order's lookups found, handed from the lookup stages to the decide stage.
+     */
+    private static class Lookup {
+
+        private final boolean consolidatable;
+
+        private final boolean verified;
+
+        private final ConsolidatableOrder consolidatableOrder;
+
+        private final PicksByOrderItem picksByOrderItemId;
+
+        private Lookup(boolean consolidatable, boolean verified, ConsolidatableOrder consolidatableOrder,
+                       PicksByOrderItem picksByOrderItemId) {
+            this.consolidatable = consolidatable;
+            this.verified = verified;
+            this.consolidatableOrder = consolidatableOrder;
+            this.picksByOrderItemId = picksByOrderItemId;
+        }
+    }
+
+    /**
+     * The order as decided on, read again under its lock, and the lock to release once it is saved; the order is
+     * {@code null} when there was nothing left to decide.
+     */
+    private static class Decision {
+
+        private final Order order;
+
+        private final OrderLocks.Lease lease;
+
+        private Decision(Order order, OrderLocks.Lease lease) {
+            this.order = order;
+            this.lease = lease;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder.ConsolidatableOrderItem;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Decides which order items are due an automatic repick. Candidates are collected into a {@link Batch} and evaluated in
+ * one pass against a single "now" read from the cycle's clock, comparing epoch millisecond timestamps instead of
+ * building zoned date-times per item.
+ */
+class RepickEligibilityEvaluator {
+
+    enum Reason {
+        ELIGIBLE,
+        PICK_NOT_WORKED,
+        ITEM_NOT_RELEASED,
+        ITEM_PLACED,
+        REPICK_TIMEFRAME_NOT_PASSED,
+        PICK_DEEMED_OUT
+    }
+
+    /**
+     * (order item, pick, consolidated item) tuples awaiting evaluation. A batch is meant to be cleared and refilled
+     * rather than reallocated.
+     */
+    static class Batch {
+
+        private OrderItem[] items = new OrderItem[16];
+
+        private Pick[] picks = new Pick[16];
+
+        private ConsolidatableOrderItem[] consolidatedItems = new ConsolidatableOrderItem[16];
+
+        private long[] lastUpdates = new long[16];
+
+        private Reason[] reasons = new Reason[16];
+
+        private int size;
+
+        /**
+         * @param consolidatedItem the item's consolidation record, or {@code null} for orders that aren't consolidated;
+         *                         when present its last update starts the repick timeframe instead of the pick's
+         */
+        void add(OrderItem item, Pick pick, ConsolidatableOrderItem consolidatedItem) {
+            if (size == items.length) {
+                int capacity = size * 2;
+                items = Arrays.copyOf(items, capacity);
+                picks = Arrays.copyOf(picks, capacity);
+                consolidatedItems = Arrays.copyOf(consolidatedItems, capacity);
+                lastUpdates = Arrays.copyOf(lastUpdates, capacity);
+                reasons = Arrays.copyOf(reasons, capacity);
+            }
+
+            items[size] = item;
+            picks[size] = pick;
+            consolidatedItems[size] = consolidatedItem;
+            lastUpdates[size] = epochMillis(consolidatedItem != null ? consolidatedItem.lastUpdate : pick.lastUpdate);
+            reasons[size] = null;
+            ++size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        OrderItem item(int index) {
+            return items[index];
+        }
+
+        Pick pick(int index) {
+            return picks[index];
+        }
+
+        ConsolidatableOrderItem consolidatedItem(int index) {
+            return consolidatedItems[index];
+        }
+
+        Reason reason(int index) {
+            return reasons[index];
+        }
+
+        boolean isEligible(int index) {
+            return Reason.ELIGIBLE == reasons[index];
+        }
+
+        void clear() {
+            Arrays.fill(items, 0, size, null);
+            Arrays.fill(picks, 0, size, null);
+            Arrays.fill(consolidatedItems, 0, size, null);
+            Arrays.fill(reasons, 0, size, null);
+            size = 0;
+        }
+    }
+
+    private static final long NO_LAST_UPDATE = Long.MAX_VALUE;
+
+    private final long now;
+
+    private final long repickTimeframe;
+
+    RepickEligibilityEvaluator(Clock clock, Duration repickTimeframe) {
+        this.now = clock.millis();
+        this.repickTimeframe = repickTimeframe.toMillis();
+    }
+
+    /**
+     * Records a reason for every candidate in the batch.
+     *
+     * @return the number of candidates eligible for a repick
+     */
+    int evaluate(Batch batch) {
+        int eligible = 0;
+
+        for (int i = 0; i < batch.size; i++) {
+            Reason reason = evaluate(batch.items[i], batch.picks[i], batch.consolidatedItems[i], batch.lastUpdates[i]);
+            batch.reasons[i] = reason;
+
+            if (Reason.ELIGIBLE == reason) {
+                ++eligible;
+            }
+        }
+
+        return eligible;
+    }
+
+    private Reason evaluate(OrderItem item, Pick pick, ConsolidatableOrderItem consolidatedItem, long lastUpdate) {
+        if (pick.status == null && pick.wmsUserId == null) {
+            return Reason.PICK_NOT_WORKED;
+        }
+
+        if (!item.released) {
+            return Reason.ITEM_NOT_RELEASED;
+        }
+
+        if (consolidatedItem != null && consolidatedItem.placed) {
+            return Reason.ITEM_PLACED;
+        }
+
+        if (lastUpdate == NO_LAST_UPDATE || now - lastUpdate <= repickTimeframe) {
+            return Reason.REPICK_TIMEFRAME_NOT_PASSED;
+        }
+
+        if (pick.straggled && pick.skill.stragglerSkill == null && Pick.Status.SUSPENDED == pick.status) {
+            return Reason.PICK_DEEMED_OUT;
+        }
+
+        return Reason.ELIGIBLE;
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_LAST_UPDATE;
+        }
+
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + dateTime.getNano() / 1_000_000;
+    }
+}
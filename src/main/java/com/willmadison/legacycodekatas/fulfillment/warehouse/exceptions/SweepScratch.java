@@ -0,0 +1,124 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder.ConsolidatableOrderItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The working structures a sweep worker fills and clears for every order it handles, kept per thread so a worker's
+ * steady state reuses them rather than allocating a fresh set per order. A scratch is taken for the length of a
+ * handler call and given back on close; a thread that asks again before giving it back gets a fresh one, so nested
+ * use is safe, just not free.
+ */
+final class SweepScratch implements AutoCloseable {
+
+    private static final ThreadLocal<SweepScratch> current = ThreadLocal.withInitial(SweepScratch::new);
+
+    final PicksByOrderItem picksByOrderItemId = new PicksByOrderItem();
+
+    final ConsolidatedItemsByPickId consolidatedItemsByPickId = new ConsolidatedItemsByPickId();
+
+    final RepickEligibilityEvaluator.Batch repickCandidates = new RepickEligibilityEvaluator.Batch();
+
+    final List<Order> lookedUpOrders = new ArrayList<>();
+
+    /**
+     * Which of {@link #lookedUpOrders}, by position, have been scan verified.
+     */
+    final BitSet verifiedOrders = new BitSet();
+
+    private boolean taken;
+
+    static SweepScratch take() {
+        SweepScratch scratch = current.get();
+
+        if (scratch.taken) {
+            scratch = new SweepScratch();
+        }
+
+        scratch.taken = true;
+        return scratch;
+    }
+
+    @Override
+    public void close() {
+        picksByOrderItemId.clear();
+        consolidatedItemsByPickId.clear();
+        repickCandidates.clear();
+        lookedUpOrders.clear();
+        verifiedOrders.clear();
+        taken = false;
+    }
+
+    /**
+     * Consolidated items keyed on the id of the pick they were consolidated from, without boxing the ids.
+     */
+    static final class ConsolidatedItemsByPickId {
+
+        private int[] pickIds = new int[16];
+
+        private ConsolidatableOrderItem[] items = new ConsolidatableOrderItem[16];
+
+        private int size;
+
+        void put(int pickId, ConsolidatableOrderItem item) {
+            if ((size + 1) * 2 > items.length) {
+                grow();
+            }
+
+            int slot = slot(pickIds, items, pickId);
+
+            if (items[slot] == null) {
+                pickIds[slot] = pickId;
+                ++size;
+            }
+
+            items[slot] = item;
+        }
+
+        /**
+         * @return the item consolidated from the pick, or {@code null} if there is none
+         */
+        ConsolidatableOrderItem get(int pickId) {
+            return items[slot(pickIds, items, pickId)];
+        }
+
+        void clear() {
+            if (size > 0) {
+                Arrays.fill(items, null);
+                size = 0;
+            }
+        }
+
+        private void grow() {
+            int[] oldPickIds = pickIds;
+            ConsolidatableOrderItem[] oldItems = items;
+
+            pickIds = new int[oldItems.length * 2];
+            items = new ConsolidatableOrderItem[oldItems.length * 2];
+
+            for (int i = 0; i < oldItems.length; i++) {
+                if (oldItems[i] != null) {
+                    int slot = slot(pickIds, items, oldPickIds[i]);
+                    pickIds[slot] = oldPickIds[i];
+                    items[slot] = oldItems[i];
+                }
+            }
+        }
+
+        private static int slot(int[] pickIds, ConsolidatableOrderItem[] items, int pickId) {
+            int mask = items.length - 1;
+            int slot = (pickId ^ (pickId >>> 16)) & mask;
+
+            while (items[slot] != null && pickIds[slot] != pickId) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration;
 
 import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolConfiguration;
 
+import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
 
 public class ExceptionConfiguration {
@@ -19,6 +22,48 @@ public class ExceptionConfiguration {
 
     public boolean autoStraggleEnabled = false;
 
+    public long cycleDeadlineSeconds = 55L;
+
+    public boolean sweepOnStartup = false;
+
+    public long pickCompletionBatchDeadlineSeconds = 55L;
+
+    public long pickCompletionDedupWindowMinutes = 30L;
+
+    public int pickCompletionDedupMaxEntries = 100000;
+
+    public int maxMergedPickCompletions = 10000;
+
+    public int wipPageSize = 500;
+
+    public boolean incrementalSweepEnabled = false;
+
+    public long fullReconciliationIntervalMinutes = 15L;
+
+    public int changeFeedBatchSize = 1000;
+
+    public WorkerPoolConfiguration sweepPool = new WorkerPoolConfiguration(Order.Type.values().length, 16);
+
+    public WorkerPoolConfiguration defaultOrderTypePool = new WorkerPoolConfiguration(2, 16);
+
+    public Map<Order.Type, WorkerPoolConfiguration> orderTypePools = new EnumMap<>(Order.Type.class);
+
+    public WorkerPoolConfiguration pickCompletionPool = new WorkerPoolConfiguration(10, 100);
+
+    public long defaultSlaMinutes = 240L;
+
+    public Map<Order.Type, Long> orderTypeSlaMinutes = new EnumMap<>(Order.Type.class);
+
+    public double starvationBoost = 1.0;
+
+    public int deferredOrdersMaxEntries = 100000;
+
+    public SweepMode sweepMode = SweepMode.BLOCKING;
+
+    public ReactiveSweepConfiguration reactiveSweep = new ReactiveSweepConfiguration();
+
+    public int orderLockStripes = 1024;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -34,4 +79,180 @@ public class ExceptionConfiguration {
     public void setWarehouseOperational(boolean warehouseOperational) {
         this.warehouseOperational = warehouseOperational;
     }
+
+    public long getCycleDeadlineSeconds() {
+        return cycleDeadlineSeconds;
+    }
+
+    public void setCycleDeadlineSeconds(long cycleDeadlineSeconds) {
+        this.cycleDeadlineSeconds = cycleDeadlineSeconds;
+    }
+
+    public long getPickCompletionBatchDeadlineSeconds() {
+        return pickCompletionBatchDeadlineSeconds;
+    }
+
+    public void setPickCompletionBatchDeadlineSeconds(long pickCompletionBatchDeadlineSeconds) {
+        this.pickCompletionBatchDeadlineSeconds = pickCompletionBatchDeadlineSeconds;
+    }
+
+    public long getPickCompletionDedupWindowMinutes() {
+        return pickCompletionDedupWindowMinutes;
+    }
+
+    public void setPickCompletionDedupWindowMinutes(long pickCompletionDedupWindowMinutes) {
+        this.pickCompletionDedupWindowMinutes = pickCompletionDedupWindowMinutes;
+    }
+
+    public int getPickCompletionDedupMaxEntries() {
+        return pickCompletionDedupMaxEntries;
+    }
+
+    public void setPickCompletionDedupMaxEntries(int pickCompletionDedupMaxEntries) {
+        this.pickCompletionDedupMaxEntries = pickCompletionDedupMaxEntries;
+    }
+
+    public int getMaxMergedPickCompletions() {
+        return maxMergedPickCompletions;
+    }
+
+    public void setMaxMergedPickCompletions(int maxMergedPickCompletions) {
+        this.maxMergedPickCompletions = maxMergedPickCompletions;
+    }
+
+    public int getWipPageSize() {
+        return wipPageSize;
+    }
+
+    public void setWipPageSize(int wipPageSize) {
+        this.wipPageSize = wipPageSize;
+    }
+
+    public boolean isIncrementalSweepEnabled() {
+        return incrementalSweepEnabled;
+    }
+
+    public void setIncrementalSweepEnabled(boolean incrementalSweepEnabled) {
+        this.incrementalSweepEnabled = incrementalSweepEnabled;
+    }
+
+    public long getFullReconciliationIntervalMinutes() {
+        return fullReconciliationIntervalMinutes;
+    }
+
+    public void setFullReconciliationIntervalMinutes(long fullReconciliationIntervalMinutes) {
+        this.fullReconciliationIntervalMinutes = fullReconciliationIntervalMinutes;
+    }
+
+    public int getChangeFeedBatchSize() {
+        return changeFeedBatchSize;
+    }
+
+    public void setChangeFeedBatchSize(int changeFeedBatchSize) {
+        this.changeFeedBatchSize = changeFeedBatchSize;
+    }
+
+    public WorkerPoolConfiguration getSweepPool() {
+        return sweepPool;
+    }
+
+    public void setSweepPool(WorkerPoolConfiguration sweepPool) {
+        this.sweepPool = sweepPool;
+    }
+
+    public WorkerPoolConfiguration getDefaultOrderTypePool() {
+        return defaultOrderTypePool;
+    }
+
+    public void setDefaultOrderTypePool(WorkerPoolConfiguration defaultOrderTypePool) {
+        this.defaultOrderTypePool = defaultOrderTypePool;
+    }
+
+    public Map<Order.Type, WorkerPoolConfiguration> getOrderTypePools() {
+        return orderTypePools;
+    }
+
+    public void setOrderTypePools(Map<Order.Type, WorkerPoolConfiguration> orderTypePools) {
+        this.orderTypePools = orderTypePools;
+    }
+
+    public WorkerPoolConfiguration getPickCompletionPool() {
+        return pickCompletionPool;
+    }
+
+    public void setPickCompletionPool(WorkerPoolConfiguration pickCompletionPool) {
+        this.pickCompletionPool = pickCompletionPool;
+    }
+
+    public long getDefaultSlaMinutes() {
+        return defaultSlaMinutes;
+    }
+
+    public void setDefaultSlaMinutes(long defaultSlaMinutes) {
+        this.defaultSlaMinutes = defaultSlaMinutes;
+    }
+
+    public Map<Order.Type, Long> getOrderTypeSlaMinutes() {
+        return orderTypeSlaMinutes;
+    }
+
+    public void setOrderTypeSlaMinutes(Map<Order.Type, Long> orderTypeSlaMinutes) {
+        this.orderTypeSlaMinutes = orderTypeSlaMinutes;
+    }
+
+    public double getStarvationBoost() {
+        return starvationBoost;
+    }
+
+    public void setStarvationBoost(double starvationBoost) {
+        this.starvationBoost = starvationBoost;
+    }
+
+    public int getDeferredOrdersMaxEntries() {
+        return deferredOrdersMaxEntries;
+    }
+
+    public void setDeferredOrdersMaxEntries(int deferredOrdersMaxEntries) {
+        this.deferredOrdersMaxEntries = deferredOrdersMaxEntries;
+    }
+
+    public SweepMode getSweepMode() {
+        return sweepMode;
+    }
+
+    public void setSweepMode(SweepMode sweepMode) {
+        this.sweepMode = sweepMode;
+    }
+
+    public ReactiveSweepConfiguration getReactiveSweep() {
+        return reactiveSweep;
+    }
+
+    public void setReactiveSweep(ReactiveSweepConfiguration reactiveSweep) {
+        this.reactiveSweep = reactiveSweep;
+    }
+
+    public int getOrderLockStripes() {
+        return orderLockStripes;
+    }
+
+    public void setOrderLockStripes(int orderLockStripes) {
+        this.orderLockStripes = orderLockStripes;
+    }
+
+    public WorkerPoolConfiguration orderTypePool(Order.Type orderType) {
+        return orderTypePools.getOrDefault(orderType, defaultOrderTypePool);
+    }
+
+    public long slaMinutes(Order.Type orderType) {
+        return Math.max(1L, orderType != null ? orderTypeSlaMinutes.getOrDefault(orderType, defaultSlaMinutes) : defaultSlaMinutes);
+    }
+
+    public boolean isSweepOnStartup() {
+        return sweepOnStartup;
+    }
+
+    public void setSweepOnStartup(boolean sweepOnStartup) {
+        this.sweepOnStartup = sweepOnStartup;
+    }
 }
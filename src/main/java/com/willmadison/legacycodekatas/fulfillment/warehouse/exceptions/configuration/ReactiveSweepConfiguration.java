@@ -0,0 +1,81 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration;
+
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolConfiguration;
+
+/**
+ * Concurrency for each stage of the {@link SweepMode#REACTIVE} sweep. A stage's pool size bounds how many orders it
+ * works on at once; its queue holds the orders waiting on it, so queues shorter than {@link #maxOrdersInFlight} fall
+ * back on the pool's saturation policy.
+ */
+public class ReactiveSweepConfiguration {
+
+    public int maxOrdersInFlight = 256;
+
+    public WorkerPoolConfiguration classify = new WorkerPoolConfiguration(4, 256);
+
+    public WorkerPoolConfiguration verification = new WorkerPoolConfiguration(8, 256);
+
+    public WorkerPoolConfiguration picks = new WorkerPoolConfiguration(8, 256);
+
+    public WorkerPoolConfiguration consolidation = new WorkerPoolConfiguration(8, 256);
+
+    public WorkerPoolConfiguration decide = new WorkerPoolConfiguration(2, 256);
+
+    public WorkerPoolConfiguration save = new WorkerPoolConfiguration(4, 256);
+
+    public int getMaxOrdersInFlight() {
+        return maxOrdersInFlight;
+    }
+
+    public void setMaxOrdersInFlight(int maxOrdersInFlight) {
+        this.maxOrdersInFlight = maxOrdersInFlight;
+    }
+
+    public WorkerPoolConfiguration getClassify() {
+        return classify;
+    }
+
+    public void setClassify(WorkerPoolConfiguration classify) {
+        this.classify = classify;
+    }
+
+    public WorkerPoolConfiguration getVerification() {
+        return verification;
+    }
+
+    public void setVerification(WorkerPoolConfiguration verification) {
+        this.verification = verification;
+    }
+
+    public WorkerPoolConfiguration getPicks() {
+        return picks;
+    }
+
+    public void setPicks(WorkerPoolConfiguration picks) {
+        this.picks = picks;
+    }
+
+    public WorkerPoolConfiguration getConsolidation() {
+        return consolidation;
+    }
+
+    public void setConsolidation(WorkerPoolConfiguration consolidation) {
+        this.consolidation = consolidation;
+    }
+
+    public WorkerPoolConfiguration getDecide() {
+        return decide;
+    }
+
+    public void setDecide(WorkerPoolConfiguration decide) {
+        this.decide = decide;
+    }
+
+    public WorkerPoolConfiguration getSave() {
+        return save;
+    }
+
+    public void setSave(WorkerPoolConfiguration save) {
+        this.save = save;
+    }
+}
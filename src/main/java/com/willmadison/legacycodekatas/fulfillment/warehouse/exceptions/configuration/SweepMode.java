@@ -0,0 +1,19 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration;
+
+/**
+ * How an exception handling cycle walks the WIP orders.
+ */
+public enum SweepMode {
+
+    /**
+     * Each order type's pages are handled by a blocking worker, which looks up and decides a page's orders one after
+     * another.
+     */
+    BLOCKING,
+
+    /**
+     * Orders stream through a pipeline of stages, each with its own bounded concurrency; see
+     * {@link ReactiveSweepConfiguration}.
+     */
+    REACTIVE
+}
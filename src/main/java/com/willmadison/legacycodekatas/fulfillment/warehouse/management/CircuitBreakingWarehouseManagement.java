@@ -0,0 +1,39 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.management;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.CircuitBreaker;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.CircuitBreakerConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class CircuitBreakingWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseManagement delegate;
+
+    private final CircuitBreaker orderVerificationSearches;
+
+    private final CircuitBreaker pickSearches;
+
+    private final CircuitBreaker pickSaves;
+
+    public CircuitBreakingWarehouseManagement(WarehouseManagement delegate, CircuitBreakerConfiguration configuration, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.orderVerificationSearches = new CircuitBreaker(DownstreamOperation.WMS_ORDER_VERIFICATION_SEARCH, configuration, registry);
+        this.pickSearches = new CircuitBreaker(DownstreamOperation.WMS_PICK_SEARCH, configuration, registry);
+        this.pickSaves = new CircuitBreaker(DownstreamOperation.WMS_PICK_SAVE, configuration, registry);
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return orderVerificationSearches.call(() -> delegate.search(request));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return pickSearches.call(() -> delegate.search(request));
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        return pickSaves.call(() -> delegate.save(request));
+    }
+}
@@ -0,0 +1,31 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.management;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.DeadlineExecutor;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+
+public class DeadlineWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseManagement delegate;
+
+    private final DeadlineExecutor executor;
+
+    public DeadlineWarehouseManagement(WarehouseManagement delegate, DeadlineExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return executor.hedge(DownstreamOperation.WMS_ORDER_VERIFICATION_SEARCH, () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return executor.hedge(DownstreamOperation.WMS_PICK_SEARCH, () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        return executor.write(DownstreamOperation.WMS_PICK_SAVE, () -> delegate.save(request));
+    }
+}
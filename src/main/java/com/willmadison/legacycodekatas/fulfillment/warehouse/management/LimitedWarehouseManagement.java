@@ -0,0 +1,30 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.management;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.ConcurrencyLimiter;
+
+public class LimitedWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseManagement delegate;
+
+    private final ConcurrencyLimiter limiter;
+
+    public LimitedWarehouseManagement(WarehouseManagement delegate, ConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return limiter.call(() -> delegate.search(request));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return limiter.call(() -> delegate.search(request));
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        return limiter.call(() -> delegate.save(request));
+    }
+}
@@ -0,0 +1,33 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.management;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.DownstreamCallEvent;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+
+public class RecordingWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseManagement delegate;
+
+    public RecordingWarehouseManagement(WarehouseManagement delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return DownstreamCallEvent.call(DownstreamOperation.WMS_ORDER_VERIFICATION_SEARCH, request.searchParameters.orderNumber,
+                request.transactionId, () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return DownstreamCallEvent.call(DownstreamOperation.WMS_PICK_SEARCH, request.searchParameters.orderNumber,
+                request.transactionId, () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        int orderNumber = request.pick.orderNumber != null ? request.pick.orderNumber : 0;
+
+        return DownstreamCallEvent.call(DownstreamOperation.WMS_PICK_SAVE, orderNumber, request.transactionId,
+                () -> delegate.save(request));
+    }
+}
@@ -0,0 +1,74 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.management;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.resilience.SingleFlight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Collapses identical concurrent order verification and pick searches. Searches are keyed on what they search for,
+ * not on the caller's transactionId. The exception handler changes the picks it finds, so every caller collapsed onto
+ * a pick search gets its own copies of the picks.
+ */
+public class SingleFlightWarehouseManagement implements WarehouseManagement {
+
+    private final WarehouseManagement delegate;
+
+    private final SingleFlight singleFlight;
+
+    public SingleFlightWarehouseManagement(WarehouseManagement delegate, SingleFlight singleFlight) {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+    }
+
+    @Override
+    public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+        return singleFlight.call(DownstreamOperation.WMS_ORDER_VERIFICATION_SEARCH, key(request.searchParameters),
+                () -> delegate.search(request));
+    }
+
+    @Override
+    public PickSearchResponse search(PickSearchRequest request) {
+        return singleFlight.call(DownstreamOperation.WMS_PICK_SEARCH, key(request.searchParameters), () -> delegate.search(request),
+                SingleFlightWarehouseManagement::copy);
+    }
+
+    @Override
+    public PickSaveResponse save(PickSaveRequest request) {
+        return delegate.save(request);
+    }
+
+    private static List<Object> key(SearchParameters searchParameters) {
+        return Arrays.asList(searchParameters.orderNumber, searchParameters.pickIds == null ? null : new HashSet<>(searchParameters.pickIds));
+    }
+
+    private static PickSearchResponse copy(PickSearchResponse response) {
+        if (response == null || response.picks == null) {
+            return response;
+        }
+
+        PickSearchResponse copy = new PickSearchResponse();
+        copy.picks = new ArrayList<>(response.picks.size());
+
+        for (Pick pick : response.picks) {
+            Pick pickCopy = new Pick();
+            pickCopy.id = pick.id;
+            pickCopy.orderItemId = pick.orderItemId;
+            pickCopy.lastUpdate = pick.lastUpdate;
+            pickCopy.status = pick.status;
+            pickCopy.wmsUserId = pick.wmsUserId;
+            pickCopy.straggled = pick.straggled;
+            pickCopy.skill = pick.skill;
+            pickCopy.quantity = pick.quantity;
+            pickCopy.orderNumber = pick.orderNumber;
+            pickCopy.createdOn = pick.createdOn;
+            pickCopy.fulfillmentStatus = pick.fulfillmentStatus;
+            copy.picks.add(pickCopy);
+        }
+
+        return copy;
+    }
+}
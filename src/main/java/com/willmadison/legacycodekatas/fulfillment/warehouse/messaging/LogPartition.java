@@ -0,0 +1,95 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.messaging;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One partition of a {@link PartitionedMessageLog}: messages numbered by offset in the order they were appended, and
+ * the offset its consumer has committed up to. Committed messages are released in chunks.
+ */
+class LogPartition {
+
+    private static final int RELEASE_THRESHOLD = 1024;
+
+    private final int partition;
+
+    private final List<Message> messages = new ArrayList<>();
+
+    private long baseOffset;
+
+    private long committedOffset;
+
+    LogPartition(int partition) {
+        this.partition = partition;
+    }
+
+    synchronized long append(Message message) {
+        messages.add(message);
+        notifyAll();
+        return baseOffset + messages.size() - 1;
+    }
+
+    /**
+     * Reads up to {@code maxMessages} messages starting at {@code offset}, waiting up to the timeout for one to arrive
+     * if there are none yet.
+     */
+    synchronized MessageBatch read(long offset, int maxMessages, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offset < baseOffset) {
+            throw new IllegalArgumentException("Offset " + offset + " of partition " + partition + " has already been committed " +
+                    "and released (committed offset: " + committedOffset + ")");
+        }
+
+        long waitUntil = System.nanoTime() + unit.toNanos(timeout);
+
+        while (offset >= endOffset()) {
+            long remaining = waitUntil - System.nanoTime();
+
+            if (remaining <= 0L) {
+                return new MessageBatch(partition, offset, Collections.emptyList());
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        int from = (int) (offset - baseOffset);
+        int to = (int) Math.min(messages.size(), from + (long) maxMessages);
+
+        return new MessageBatch(partition, offset, new ArrayList<>(messages.subList(from, to)));
+    }
+
+    synchronized void commit(long offset) {
+        if (offset > endOffset()) {
+            throw new IllegalArgumentException("Cannot commit offset " + offset + " of partition " + partition +
+                    " past its end (" + endOffset() + ")");
+        }
+
+        if (offset <= committedOffset) {
+            return;
+        }
+
+        committedOffset = offset;
+
+        int releasable = (int) (committedOffset - baseOffset);
+
+        if (releasable >= RELEASE_THRESHOLD || releasable == messages.size()) {
+            messages.subList(0, releasable).clear();
+            baseOffset = committedOffset;
+        }
+    }
+
+    synchronized long committedOffset() {
+        return committedOffset;
+    }
+
+    synchronized long endOffset() {
+        return baseOffset + messages.size();
+    }
+
+    synchronized long lag() {
+        return endOffset() - committedOffset;
+    }
+}
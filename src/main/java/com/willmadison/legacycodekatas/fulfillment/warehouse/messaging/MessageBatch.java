@@ -0,0 +1,49 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.messaging;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+
+import java.util.List;
+
+/**
+ * A run of consecutive messages read from one partition of a {@link PartitionedMessageLog}.
+ */
+public class MessageBatch {
+
+    private final int partition;
+
+    private final long offset;
+
+    private final List<Message> messages;
+
+    MessageBatch(int partition, long offset, List<Message> messages) {
+        this.partition = partition;
+        this.offset = offset;
+        this.messages = messages;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    /**
+     * The offset of the first message in the batch.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * The offset to read from (and commit) once this batch has been handled.
+     */
+    public long getNextOffset() {
+        return offset + messages.size();
+    }
+
+    public List<Message> getMessages() {
+        return messages;
+    }
+
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+}
@@ -0,0 +1,224 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.messaging;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.configuration.MessageLogConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process message log split into partitions by order number. Messages for the same order always land on the same
+ * partition, and each partition has exactly one consumer thread that hands its messages over in batches, in the order
+ * they were appended. A consumer commits a batch's offsets once it has been handled, so a batch that is put back is
+ * read again, and committed messages are released.
+ * <p>
+ * Messages published without an order number are spread across the partitions by body and carry no ordering
+ * guarantee relative to one another.
+ */
+public class PartitionedMessageLog implements AutoCloseable {
+
+    /**
+     * Handles a batch read from one partition. Returning {@code false} leaves the batch uncommitted, and it is offered
+     * again after the poll timeout. Throwing is treated the same way, so a failing batch is retried rather than lost.
+     */
+    public interface Handler {
+
+        boolean handle(MessageBatch batch);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedMessageLog.class);
+
+    private final String name;
+
+    private final MessageLogConfiguration configuration;
+
+    private final LogPartition[] partitions;
+
+    private final Counter appended;
+
+    private final List<Thread> consumers = new ArrayList<>();
+
+    private volatile boolean consuming;
+
+    public PartitionedMessageLog(String name, MessageLogConfiguration configuration, MeterRegistry registry) {
+        if (configuration.partitions < 1 || configuration.maxBatchSize < 1) {
+            throw new IllegalArgumentException("Message log " + name + " needs at least one partition and a positive batch size " +
+                    "(partitions: " + configuration.partitions + ", maxBatchSize: " + configuration.maxBatchSize + ")");
+        }
+
+        this.name = name;
+        this.configuration = configuration;
+        this.partitions = new LogPartition[configuration.partitions];
+
+        for (int partition = 0; partition < partitions.length; partition++) {
+            LogPartition logPartition = new LogPartition(partition);
+            partitions[partition] = logPartition;
+
+            registry.gauge("messaging.log.lag", Tags.of("log", name, "partition", String.valueOf(partition)), logPartition,
+                    LogPartition::lag);
+        }
+
+        this.appended = registry.counter("messaging.log.appended", "log", name);
+    }
+
+    public int getPartitions() {
+        return partitions.length;
+    }
+
+    public int partitionFor(Message message) {
+        int hash = message.getKey() != null ? message.getKey() : String.valueOf(message.getBody()).hashCode();
+        return Math.floorMod(hash, partitions.length);
+    }
+
+    /**
+     * Appends the message to its order's partition and returns its offset there.
+     */
+    public long append(Message message) {
+        long offset = partitions[partitionFor(message)].append(message);
+        appended.increment();
+        return offset;
+    }
+
+    public MessageBatch read(int partition, long offset, int maxMessages, long timeout, TimeUnit unit) throws InterruptedException {
+        return partition(partition).read(offset, maxMessages, timeout, unit);
+    }
+
+    public void commit(int partition, long offset) {
+        partition(partition).commit(offset);
+    }
+
+    public long committedOffset(int partition) {
+        return partition(partition).committedOffset();
+    }
+
+    public long endOffset(int partition) {
+        return partition(partition).endOffset();
+    }
+
+    /**
+     * The number of messages appended but not yet committed, across every partition.
+     */
+    public long lag() {
+        long lag = 0L;
+
+        for (LogPartition partition : partitions) {
+            lag += partition.lag();
+        }
+
+        return lag;
+    }
+
+    /**
+     * Starts one consumer thread per partition. Each resumes from its partition's committed offset.
+     */
+    public synchronized void subscribe(Handler handler) {
+        if (consuming) {
+            throw new IllegalStateException("Message log " + name + " already has a subscriber");
+        }
+
+        consuming = true;
+
+        for (int partition = 0; partition < partitions.length; partition++) {
+            final int consumedPartition = partition;
+
+            Thread consumer = new Thread(() -> consume(consumedPartition, handler), name + "-partition-" + partition);
+            consumers.add(consumer);
+            consumer.start();
+        }
+
+        logger.info("Consuming message log {} with {} partitions...", name, partitions.length);
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+
+        for (int partition = 0; partition < partitions.length; partition++) {
+            Map<String, Object> partitionStatus = new LinkedHashMap<>();
+            partitionStatus.put("committedOffset", committedOffset(partition));
+            partitionStatus.put("endOffset", endOffset(partition));
+            status.put(String.valueOf(partition), partitionStatus);
+        }
+
+        return status;
+    }
+
+    /**
+     * Stops the consumers once they have finished (and committed) the batch in hand.
+     */
+    @Override
+    public synchronized void close() {
+        consuming = false;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(configuration.closeTimeoutSeconds);
+
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (consumer.isAlive()) {
+                logger.warn("Consumer {} did not finish within {} seconds, interrupting it...", consumer.getName(),
+                        configuration.closeTimeoutSeconds);
+                consumer.interrupt();
+            }
+        }
+
+        consumers.clear();
+    }
+
+    private void consume(int partition, Handler handler) {
+        LogPartition logPartition = partitions[partition];
+        long offset = logPartition.committedOffset();
+
+        while (consuming) {
+            try {
+                MessageBatch batch = logPartition.read(offset, configuration.maxBatchSize, configuration.pollTimeoutMillis,
+                        TimeUnit.MILLISECONDS);
+
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                boolean handled;
+
+                try {
+                    handled = handler.handle(batch);
+                } catch (RuntimeException e) {
+                    logger.error("Encountered an exception handling offsets {} to {} of {} partition {}, leaving them uncommitted to retry...",
+                            batch.getOffset(), batch.getNextOffset() - 1, name, partition, e);
+                    handled = false;
+                }
+
+                if (handled) {
+                    offset = batch.getNextOffset();
+                    logPartition.commit(offset);
+                } else {
+                    TimeUnit.MILLISECONDS.sleep(configuration.pollTimeoutMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private LogPartition partition(int partition) {
+        if (partition < 0 || partition >= partitions.length) {
+            throw new IllegalArgumentException("Message log " + name + " has no partition " + partition + " (it has " +
+                    partitions.length + ")");
+        }
+
+        return partitions[partition];
+    }
+}
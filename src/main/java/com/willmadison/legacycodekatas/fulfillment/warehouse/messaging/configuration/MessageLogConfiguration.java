@@ -0,0 +1,54 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.configuration;
+
+public class MessageLogConfiguration {
+
+    public boolean enabled = false;
+
+    public int partitions = 8;
+
+    public int maxBatchSize = 100;
+
+    public long pollTimeoutMillis = 1000L;
+
+    public long closeTimeoutSeconds = 30L;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getPollTimeoutMillis() {
+        return pollTimeoutMillis;
+    }
+
+    public void setPollTimeoutMillis(long pollTimeoutMillis) {
+        this.pollTimeoutMillis = pollTimeoutMillis;
+    }
+
+    public long getCloseTimeoutSeconds() {
+        return closeTimeoutSeconds;
+    }
+
+    public void setCloseTimeoutSeconds(long closeTimeoutSeconds) {
+        this.closeTimeoutSeconds = closeTimeoutSeconds;
+    }
+}
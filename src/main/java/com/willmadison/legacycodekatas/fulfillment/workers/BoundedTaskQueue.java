@@ -0,0 +1,34 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Task queue whose bound can change while tasks are queued. Lowering the bound never drops queued tasks; new tasks are
+ * refused until the queue drains below it. Concurrent offers may overshoot the bound by a task or two.
+ */
+class BoundedTaskQueue extends LinkedBlockingQueue<Runnable> {
+
+    private volatile int capacity;
+
+    BoundedTaskQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        return size() < capacity && super.offer(task);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+}
@@ -0,0 +1,23 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+/**
+ * What a {@link WorkerPool} does with a task once every worker is busy and its queue is full.
+ */
+public enum SaturationPolicy {
+
+    /**
+     * The submitting thread runs the task itself, which slows the submitter down to the pool's pace.
+     */
+    CALLER_RUNS,
+
+    /**
+     * The task is refused with a {@link WorkerPoolSaturatedException}; the submitter leaves the work for its next cycle.
+     */
+    SKIP_CYCLE,
+
+    /**
+     * The task is refused with a {@link WorkerPoolSaturatedException}; the submitter folds the work into a batch that is
+     * already pending. Submitters whose work can't be combined treat this like {@link #SKIP_CYCLE}.
+     */
+    MERGE
+}
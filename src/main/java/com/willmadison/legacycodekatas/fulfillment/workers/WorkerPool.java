@@ -0,0 +1,196 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size thread pool with a bounded task queue, both of which can be resized while it runs. When every worker is
+ * busy and the queue is full the pool's {@link SaturationPolicy} decides what happens to the next task: by default the
+ * submitting thread runs it itself, so work is slowed rather than dropped. The time each task spends queued is recorded
+ * as {@code executor.queue.wait}.
+ */
+public class WorkerPool implements Executor {
+
+    private final String name;
+
+    private final BoundedTaskQueue queue;
+
+    private final ThreadPoolExecutor executor;
+
+    private final SaturationPolicy saturationPolicy;
+
+    private final Timer queueWait;
+
+    private final Counter saturations;
+
+    WorkerPool(String name, WorkerPoolConfiguration configuration, MeterRegistry registry) {
+        validate(name, configuration.size, configuration.queueCapacity);
+
+        this.name = name;
+        this.saturationPolicy = configuration.saturationPolicy != null ? configuration.saturationPolicy : SaturationPolicy.CALLER_RUNS;
+        this.queue = new BoundedTaskQueue(configuration.queueCapacity);
+        this.executor = new ThreadPoolExecutor(configuration.size, configuration.size, 60L, TimeUnit.SECONDS, queue,
+                new NamedThreadFactory(name), new SaturationHandler());
+        this.queueWait = Timer.builder("executor.queue.wait").tag("name", name).register(registry);
+        this.saturations = registry.counter("executor.saturations", "name", name, "policy", saturationPolicy.name());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getQueueCapacity() {
+        return queue.getCapacity();
+    }
+
+    public SaturationPolicy getSaturationPolicy() {
+        return saturationPolicy;
+    }
+
+    /**
+     * The number of tasks waiting for a worker.
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Runs the task on a worker, or applies the pool's saturation policy if none is free and the queue is full.
+     *
+     * @throws WorkerPoolSaturatedException if the task was refused under {@link SaturationPolicy#SKIP_CYCLE} or
+     *                                      {@link SaturationPolicy#MERGE}
+     * @throws RejectedExecutionException   if the pool has been shut down
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(new QueuedTask(task, System.nanoTime()));
+    }
+
+    public Future<?> submit(Runnable task) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Applies a new pool size and queue bound. Running and queued tasks are unaffected; surplus workers retire as they
+     * go idle.
+     */
+    public synchronized void resize(int size, int queueCapacity) {
+        validate(name, size, queueCapacity);
+
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            executor.setCorePoolSize(size);
+        } else {
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+
+        queue.setCapacity(queueCapacity);
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("size", getSize());
+        status.put("queueCapacity", getQueueCapacity());
+        status.put("saturationPolicy", saturationPolicy.name());
+        status.put("active", executor.getActiveCount());
+        status.put("queued", queue.size());
+        status.put("completed", executor.getCompletedTaskCount());
+        return status;
+    }
+
+    ThreadPoolExecutor executor() {
+        return executor;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    int shutdownNow() {
+        return executor.shutdownNow().size();
+    }
+
+    private static void validate(String name, int size, int queueCapacity) {
+        if (size < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Worker pool " + name + " needs at least one worker and a non-negative queue capacity " +
+                    "(size: " + size + ", queueCapacity: " + queueCapacity + ")");
+        }
+    }
+
+    private class QueuedTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long queuedAt;
+
+        QueuedTask(Runnable task, long queuedAt) {
+            this.task = task;
+            this.queuedAt = queuedAt;
+        }
+
+        @Override
+        public void run() {
+            queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            task.run();
+        }
+    }
+
+    private class SaturationHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Worker pool " + name + " has been shut down");
+            }
+
+            saturations.increment();
+
+            if (saturationPolicy == SaturationPolicy.CALLER_RUNS) {
+                task.run();
+            } else {
+                throw new WorkerPoolSaturatedException(name, saturationPolicy);
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+
+        private final AtomicInteger threads = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            return new Thread(task, name + "-" + threads.incrementAndGet());
+        }
+    }
+}
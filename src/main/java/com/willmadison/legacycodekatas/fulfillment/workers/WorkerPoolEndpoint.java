@@ -0,0 +1,54 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows and resizes the worker pools without a redeploy. Exposed over JMX as the {@code Workerpools} endpoint, and
+ * over HTTP once a web server is on the classpath:
+ * <pre>
+ *     GET  /actuator/workerpools                   every pool's size, queue bound and load
+ *     GET  /actuator/workerpools/exceptions.B2B    one pool
+ *     POST /actuator/workerpools/exceptions.B2B    {"size": 4, "queueCapacity": 64} (either may be omitted)
+ * </pre>
+ */
+@Endpoint(id = "workerpools")
+public class WorkerPoolEndpoint {
+
+    private final WorkerPools pools;
+
+    public WorkerPoolEndpoint(WorkerPools pools) {
+        this.pools = pools;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> pools() {
+        Map<String, Map<String, Object>> statuses = new LinkedHashMap<>();
+
+        for (WorkerPool pool : pools.all()) {
+            statuses.put(pool.getName(), pool.status());
+        }
+
+        return statuses;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pool(@Selector String name) {
+        return pools.get(name).status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> resize(@Selector String name, @Nullable Integer size, @Nullable Integer queueCapacity) {
+        WorkerPool pool = pools.get(name);
+
+        pool.resize(size != null ? size : pool.getSize(), queueCapacity != null ? queueCapacity : pool.getQueueCapacity());
+
+        return pool.status();
+    }
+}
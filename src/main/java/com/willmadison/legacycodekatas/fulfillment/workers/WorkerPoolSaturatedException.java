@@ -0,0 +1,17 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+public class WorkerPoolSaturatedException extends RejectedExecutionException {
+
+    private final SaturationPolicy policy;
+
+    WorkerPoolSaturatedException(String name, SaturationPolicy policy) {
+        super("Worker pool " + name + " is saturated (policy: " + policy + ")");
+        this.policy = policy;
+    }
+
+    public SaturationPolicy getPolicy() {
+        return policy;
+    }
+}
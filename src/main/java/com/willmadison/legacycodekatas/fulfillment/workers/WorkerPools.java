@@ -0,0 +1,91 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolsConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the application's worker pools, so they can be inspected and resized by name. Shutting the registry down
+ * drains every pool: queued tasks still run, up to the configured drain timeout, after which whatever is left is
+ * abandoned.
+ */
+public class WorkerPools {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerPools.class);
+
+    private final Map<String, WorkerPool> pools = new ConcurrentSkipListMap<>();
+
+    private final WorkerPoolsConfiguration configuration;
+
+    private final MeterRegistry registry;
+
+    public WorkerPools(MeterRegistry registry) {
+        this(new WorkerPoolsConfiguration(), registry);
+    }
+
+    public WorkerPools(WorkerPoolsConfiguration configuration, MeterRegistry registry) {
+        this.configuration = configuration;
+        this.registry = registry;
+    }
+
+    public WorkerPool create(String name, WorkerPoolConfiguration configuration) {
+        WorkerPool pool = new WorkerPool(name, configuration, registry);
+
+        if (pools.putIfAbsent(name, pool) != null) {
+            pool.shutdown();
+            throw new IllegalStateException("A worker pool named " + name + " already exists");
+        }
+
+        new ExecutorServiceMetrics(pool.executor(), name, Tags.empty()).bindTo(registry);
+        registry.gauge("executor.queue.capacity", Tags.of("name", name), pool, WorkerPool::getQueueCapacity);
+
+        return pool;
+    }
+
+    public WorkerPool get(String name) {
+        WorkerPool pool = pools.get(name);
+
+        if (pool == null) {
+            throw new IllegalArgumentException("Unknown worker pool: " + name + " (expected one of " + pools.keySet() + ")");
+        }
+
+        return pool;
+    }
+
+    public Collection<WorkerPool> all() {
+        return Collections.unmodifiableCollection(pools.values());
+    }
+
+    public void shutdown() {
+        for (WorkerPool pool : pools.values()) {
+            pool.shutdown();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(configuration.drainTimeoutSeconds);
+
+        for (WorkerPool pool : pools.values()) {
+            logger.info("Draining worker pool {} ({} tasks queued)...", pool.getName(), pool.getQueued());
+
+            try {
+                if (pool.awaitTermination(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            logger.warn("Worker pool {} did not drain within {} seconds, abandoning {} queued tasks...", pool.getName(),
+                    configuration.drainTimeoutSeconds, pool.shutdownNow());
+        }
+    }
+}
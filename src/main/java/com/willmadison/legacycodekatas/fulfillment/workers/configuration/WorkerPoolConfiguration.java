@@ -0,0 +1,49 @@
+package com.willmadison.legacycodekatas.fulfillment.workers.configuration;
+
+import com.willmadison.legacycodekatas.fulfillment.workers.SaturationPolicy;
+
+public class WorkerPoolConfiguration {
+
+    public int size;
+
+    public int queueCapacity;
+
+    public SaturationPolicy saturationPolicy = SaturationPolicy.CALLER_RUNS;
+
+    public WorkerPoolConfiguration() {
+    }
+
+    public WorkerPoolConfiguration(int size, int queueCapacity) {
+        this.size = size;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public WorkerPoolConfiguration(int size, int queueCapacity, SaturationPolicy saturationPolicy) {
+        this(size, queueCapacity);
+        this.saturationPolicy = saturationPolicy;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public SaturationPolicy getSaturationPolicy() {
+        return saturationPolicy;
+    }
+
+    public void setSaturationPolicy(SaturationPolicy saturationPolicy) {
+        this.saturationPolicy = saturationPolicy;
+    }
+}
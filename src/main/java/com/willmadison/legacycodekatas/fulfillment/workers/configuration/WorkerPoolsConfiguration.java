@@ -0,0 +1,14 @@
+package com.willmadison.legacycodekatas.fulfillment.workers.configuration;
+
+public class WorkerPoolsConfiguration {
+
+    public int drainTimeoutSeconds = 30;
+
+    public int getDrainTimeoutSeconds() {
+        return drainTimeoutSeconds;
+    }
+
+    public void setDrainTimeoutSeconds(int drainTimeoutSeconds) {
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+    }
+}
@@ -4,7 +4,11 @@ import com.willmadison.legacycodekatas.fulfillment.orders.Order;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -35,4 +39,85 @@ public class PostSproutMethodTest {
         assertThat(stales.size()).isEqualTo(1);
         assertThat(stales.iterator().next()).isEqualTo(o2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void escalateNewlyStaleOnlyReturnsOrdersThatWentStaleSinceTheLastRun() {
+        LocalDateTime start = LocalDateTime.of(2018, 3, 1, 12, 0);
+        MovableClock clock = new MovableClock(start.toInstant(ZoneOffset.UTC));
+
+        StaleOrderIndex index = new StaleOrderIndex();
+        postSproutMethod = new PostSproutMethod(index, clock);
+
+        Order o1 = new Order();
+        o1.number = 1;
+        o1.lastUpdate = start.minusHours(5);
+
+        Order o2 = new Order();
+        o2.number = 2;
+        o2.lastUpdate = start.minusHours(3);
+
+        postSproutMethod.orderSaved(o1);
+        postSproutMethod.orderSaved(o2);
+
+        assertThat(postSproutMethod.escalateNewlyStale()).containsExactly(o1);
+
+        clock.instant = clock.instant.plusSeconds(2 * 60 * 60);
+
+        assertThat(postSproutMethod.escalateNewlyStale()).containsExactly(o2);
+        assertThat(postSproutMethod.escalateNewlyStale()).isEmpty();
+    }
+
+    @Test
+    public void escalateNewlyStaleReturnsOrdersSavedBehindTheWatermark() {
+        LocalDateTime start = LocalDateTime.of(2018, 3, 1, 12, 0);
+        MovableClock clock = new MovableClock(start.toInstant(ZoneOffset.UTC));
+
+        postSproutMethod = new PostSproutMethod(new StaleOrderIndex(), clock);
+
+        assertThat(postSproutMethod.escalateNewlyStale()).isEmpty();
+
+        Order late = new Order();
+        late.number = 1;
+        late.lastUpdate = start.minusHours(6);
+
+        postSproutMethod.orderSaved(late);
+
+        Order resaved = new Order();
+        resaved.number = 2;
+        resaved.lastUpdate = start.minusHours(6);
+
+        postSproutMethod.orderSaved(resaved);
+
+        resaved.lastUpdate = start;
+        postSproutMethod.orderSaved(resaved);
+
+        clock.instant = clock.instant.plusSeconds(60);
+
+        assertThat(postSproutMethod.escalateNewlyStale()).containsExactly(late);
+        assertThat(postSproutMethod.escalateNewlyStale()).isEmpty();
+    }
+
+    private static class MovableClock extends Clock {
+
+        private Instant instant;
+
+        private MovableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.willmadison.legacycodekatas.examples.sprouting;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StaleOrderIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2018, 3, 1, 12, 0);
+
+    private StaleOrderIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new StaleOrderIndex();
+    }
+
+    @Test
+    public void updatedBeforeReturnsOrdersOldestFirst() {
+        Order o1 = order(1, NOW.minusHours(5));
+        Order o2 = order(2, NOW.minusHours(6));
+        Order o3 = order(3, NOW.minusHours(1));
+
+        index.save(o1);
+        index.save(o2);
+        index.save(o3);
+
+        assertThat(index.updatedBefore(NOW.minusHours(4))).containsExactly(o2, o1);
+    }
+
+    @Test
+    public void savingAnOrderAgainMovesItsEntry() {
+        Order o1 = order(1, NOW.minusHours(5));
+        index.save(o1);
+
+        o1.lastUpdate = NOW;
+        index.save(o1);
+
+        assertThat(index.updatedBefore(NOW.minusHours(4))).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void ordersWithTheSameLastUpdateAreKeptApart() {
+        Order o1 = order(1, NOW.minusHours(5));
+        Order o2 = order(2, NOW.minusHours(5));
+
+        index.save(o1);
+        index.save(o2);
+        index.remove(1);
+
+        assertThat(index.updatedBefore(NOW)).containsExactly(o2);
+    }
+
+    private static Order order(int number, LocalDateTime lastUpdate) {
+        Order order = new Order();
+        order.number = number;
+        order.lastUpdate = lastUpdate;
+        return order;
+    }
+}
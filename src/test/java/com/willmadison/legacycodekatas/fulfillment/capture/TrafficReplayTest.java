@@ -0,0 +1,185 @@
+package com.willmadison.legacycodekatas.fulfillment.capture;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TrafficReplayTest {
+
+    private static final Instant CAPTURED_AT = Instant.parse("2018-03-01T14:00:00Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path capture;
+
+    private TrafficRecorder recorder;
+
+    @Before
+    public void setUp() {
+        capture = folder.getRoot().toPath().resolve("traffic.capture");
+        recorder = new TrafficRecorder(capture, Clock.fixed(CAPTURED_AT, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void replaysRecordedReadsInOrderRepeatingTheLast() {
+        Deque<Order.Status> statuses = new LinkedList<>();
+        statuses.add(Order.Status.WIP);
+        statuses.add(Order.Status.COMPLETE);
+
+        OrderService captured = new CapturingOrderService(new StubOrderService(statuses), recorder);
+        captured.find(wip(42));
+        captured.find(wip(42));
+        recorder.close();
+
+        TrafficRecording recording = TrafficRecording.read(capture);
+
+        assertThat(recording.getStartEpochMillis()).isEqualTo(CAPTURED_AT.toEpochMilli());
+        assertThat(recording.getRecords()).extracting(TrafficRecord::getCall)
+                .containsExactly(CapturedCall.ORDERS_FIND, CapturedCall.ORDERS_FIND);
+
+        OrderService replayed = new TrafficReplay(recording, 1000).orderService();
+
+        assertThat(replayed.find(wip(42))).extracting(o -> o.status).containsExactly(Order.Status.WIP);
+        assertThat(replayed.find(wip(42))).extracting(o -> o.status).containsExactly(Order.Status.COMPLETE);
+        assertThat(replayed.find(wip(42))).extracting(o -> o.status).containsExactly(Order.Status.COMPLETE);
+    }
+
+    @Test
+    public void comparesWritesIgnoringTransactionIds() {
+        Consolidation captured = new CapturingConsolidation(new StubConsolidation(), recorder);
+        captured.hold(1, "captured-transaction");
+        captured.updateOrderItemLabel("1", "1-1", new Label("Picked"));
+        recorder.close();
+
+        TrafficReplay replay = new TrafficReplay(TrafficRecording.read(capture), 1000);
+        Consolidation replayed = replay.consolidation();
+        replayed.hold(1, "replayed-transaction");
+        replayed.hold(2, "replayed-transaction");
+
+        ReplaySummary summary = replay.summarize();
+
+        ReplaySummary.Decisions holds = summary.getDecisions().get(CapturedCall.CONSOLIDATION_HOLD);
+        assertThat(holds.getMatched()).isEqualTo(1);
+        assertThat(holds.getUnexpectedExamples()).containsExactly("order=2");
+
+        ReplaySummary.Decisions labels = summary.getDecisions().get(CapturedCall.CONSOLIDATION_LABEL_UPDATE);
+        assertThat(labels.getMissing()).isEqualTo(1);
+        assertThat(labels.getMissingExamples()).containsExactly("order=1 item=1-1 label=Picked");
+
+        assertThat(summary.isIdentical()).isFalse();
+    }
+
+    @Test
+    public void raisesRecordedFailuresAndCountsUnrecordedReads() {
+        Consolidation captured = new CapturingConsolidation(new StubConsolidation(), recorder);
+
+        assertThatThrownBy(() -> captured.status(7, "captured-transaction")).isInstanceOf(IllegalStateException.class);
+        recorder.close();
+
+        TrafficReplay replay = new TrafficReplay(TrafficRecording.read(capture), 1000);
+        Consolidation replayed = replay.consolidation();
+
+        assertThatThrownBy(() -> replayed.status(7, "replayed-transaction"))
+                .isInstanceOf(ReplayedFailureException.class)
+                .hasMessageContaining("Consolidation is down");
+
+        assertThatThrownBy(() -> replayed.status(8, "replayed-transaction")).isInstanceOf(TrafficCaptureException.class);
+        assertThat(replay.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void readsACaptureCutShortUpToItsLastCompleteRecord() throws Exception {
+        Consolidation captured = new CapturingConsolidation(new StubConsolidation(), recorder);
+
+        for (int orderNumber = 0; orderNumber < 20_000; orderNumber++) {
+            captured.hold(orderNumber, "captured-transaction-" + orderNumber);
+        }
+
+        recorder.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(capture.toFile(), "rw")) {
+            file.setLength(file.length() / 2);
+        }
+
+        assertThat(TrafficRecording.read(capture).getRecords().size()).isBetween(1, 19_999);
+    }
+
+    private static SearchParameters wip(int orderNumber) {
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
+        searchParameters.orderNumbers = Collections.singleton(orderNumber);
+        return searchParameters;
+    }
+
+    private static class StubOrderService implements OrderService {
+
+        private final Deque<Order.Status> statuses;
+
+        StubOrderService(Deque<Order.Status> statuses) {
+            this.statuses = statuses;
+        }
+
+        @Override
+        public Set<Order> find(SearchParameters searchParameters) {
+            Set<Order> orders = new HashSet<>();
+
+            for (Integer orderNumber : searchParameters.orderNumbers) {
+                Order order = new Order();
+                order.number = orderNumber;
+                order.status = statuses.poll();
+                order.items = new ArrayList<>();
+                orders.add(order);
+            }
+
+            return orders;
+        }
+
+        @Override
+        public void save(Order order) {
+        }
+
+        @Override
+        public void save(OrderItem orderItem) {
+        }
+    }
+
+    private static class StubConsolidation implements Consolidation {
+
+        @Override
+        public ConsolidatableOrder status(int orderNumber, String transactionId) {
+            throw new IllegalStateException("Consolidation is down");
+        }
+
+        @Override
+        public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        }
+
+        @Override
+        public void hold(int orderNumber, String transactionId) {
+        }
+    }
+}
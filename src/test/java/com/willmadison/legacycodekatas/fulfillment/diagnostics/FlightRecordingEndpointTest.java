@@ -0,0 +1,122 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.FlightRecorderConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FlightRecordingEndpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FlightRecordingEndpoint endpoint;
+
+    @Before
+    public void setUp() throws Exception {
+        FlightRecorderConfiguration configuration = new FlightRecorderConfiguration();
+        configuration.dumpDirectory = folder.getRoot().toString();
+
+        endpoint = new FlightRecordingEndpoint(configuration);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (RecordingState.RUNNING.equals(endpoint.status().get("state"))) {
+            endpoint.control("stop", null);
+        }
+    }
+
+    @Test
+    public void startsDumpsAndStopsTheRecording() throws Exception {
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+        assertThatThrownBy(() -> endpoint.control("dump", null)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(endpoint.control("start", null)).containsEntry("state", RecordingState.RUNNING)
+                .containsEntry("name", "fulfillment-pipeline");
+
+        Map<String, Object> dumped = endpoint.control("dump", null);
+
+        assertThat(dumped).containsEntry("state", RecordingState.RUNNING);
+        assertThat(Paths.get((String) dumped.get("dump"))).exists().hasParent(folder.getRoot().toPath());
+
+        Map<String, Object> stopped = endpoint.control("stop", null);
+
+        assertThat(Paths.get((String) stopped.get("dump"))).exists();
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+    }
+
+    @Test
+    public void rejectsUnknownActions() {
+        assertThatThrownBy(() -> endpoint.control("pause", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void recordsThePipelineEventsWithTheirFields() throws Exception {
+        endpoint.control("start", null);
+
+        SweepCycleEvent cycleEvent = new SweepCycleEvent();
+        cycleEvent.begin();
+
+        Order order = new Order();
+        order.number = 42;
+        order.type = Order.Type.B2B;
+        order.transactionId = "tx-42";
+
+        try (OrderProcessingEvent event = OrderProcessingEvent.begin("exceptions", "sweep", order)) {
+            DownstreamCallEvent.run(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE, 0, null, () -> {
+            });
+        }
+
+        cycleEvent.end();
+        cycleEvent.cycle = "exceptions";
+        cycleEvent.ordersProcessed = 1;
+        cycleEvent.ordersSkipped = 2;
+        cycleEvent.deadlineExceeded = true;
+        cycleEvent.commit();
+
+        Path dump = Paths.get((String) endpoint.control("stop", null).get("dump"));
+
+        Map<String, List<RecordedEvent>> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().startsWith("fulfillment."))
+                .collect(Collectors.groupingBy(e -> e.getEventType().getName()));
+
+        assertThat(events.get("fulfillment.SweepCycle")).hasSize(1);
+        RecordedEvent cycle = events.get("fulfillment.SweepCycle").get(0);
+        assertThat(cycle.getString("cycle")).isEqualTo("exceptions");
+        assertThat(cycle.getInt("ordersProcessed")).isEqualTo(1);
+        assertThat(cycle.getInt("ordersSkipped")).isEqualTo(2);
+        assertThat(cycle.getBoolean("deadlineExceeded")).isTrue();
+
+        assertThat(events.get("fulfillment.OrderProcessing")).hasSize(1);
+        RecordedEvent processing = events.get("fulfillment.OrderProcessing").get(0);
+        assertThat(processing.getString("cycle")).isEqualTo("exceptions");
+        assertThat(processing.getString("stage")).isEqualTo("sweep");
+        assertThat(processing.getInt("orderNumber")).isEqualTo(42);
+        assertThat(processing.getString("orderType")).isEqualTo("B2B");
+        assertThat(processing.getString("transactionId")).isEqualTo("tx-42");
+
+        assertThat(events.get("fulfillment.DownstreamCall")).hasSize(1);
+        RecordedEvent call = events.get("fulfillment.DownstreamCall").get(0);
+        assertThat(call.getString("operation")).isEqualTo(DownstreamOperation.CONSOLIDATION_LABEL_UPDATE.getMetricName());
+        assertThat(call.getInt("orderNumber")).isEqualTo(42);
+        assertThat(call.getString("orderType")).isEqualTo("B2B");
+        assertThat(call.getString("transactionId")).isEqualTo("tx-42");
+    }
+}
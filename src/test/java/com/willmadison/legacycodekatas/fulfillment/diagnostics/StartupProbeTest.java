@@ -0,0 +1,37 @@
+package com.willmadison.legacycodekatas.fulfillment.diagnostics;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class StartupProbeTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final StartupProbe probe = new StartupProbe(new StartupConfiguration(), registry);
+
+    @Test
+    public void onlyTheFirstCompletedCycleIsRecorded() throws Exception {
+        TimeGauge firstCycle = (TimeGauge) registry.find("application.startup.first.cycle").meters().iterator().next();
+
+        assertThat(probe.getMillisToFirstCycle()).isEqualTo(-1L);
+        assertThat(firstCycle.value(TimeUnit.MILLISECONDS)).isNaN();
+
+        probe.cycleCompleted();
+        long millisToFirstCycle = probe.getMillisToFirstCycle();
+
+        Thread.sleep(5);
+        probe.cycleCompleted();
+
+        assertThat(millisToFirstCycle).isPositive();
+        assertThat(probe.getMillisToFirstCycle()).isEqualTo(millisToFirstCycle);
+        assertThat(firstCycle.value(TimeUnit.MILLISECONDS)).isCloseTo((double) millisToFirstCycle, within(0.001));
+    }
+}
@@ -0,0 +1,87 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeTrackingOrderServiceTest {
+
+    private final List<String> writes = new ArrayList<>();
+
+    private MeterRegistry registry;
+
+    private OrderService orderService;
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+
+        OrderService store = new OrderService() {
+            @Override
+            public Set<Order> find(SearchParameters searchParameters) {
+                Order order = new Order();
+                order.number = 1;
+                order.status = Order.Status.WIP;
+                order.items = new ArrayList<>();
+
+                OrderItem item = new OrderItem();
+                item.id = "1-0";
+                item.status = OrderItem.Status.WIP;
+                order.items.add(item);
+
+                return Collections.singleton(order);
+            }
+
+            @Override
+            public void save(Order order) {
+                writes.add("order");
+            }
+
+            @Override
+            public void saveStatus(Order order) {
+                writes.add("status");
+            }
+
+            @Override
+            public void save(OrderItem orderItem) {
+                writes.add("item");
+            }
+        };
+
+        orderService = new ChangeTrackingOrderService(store, true, registry);
+    }
+
+    @Test
+    public void unchangedOrdersAndItemsAreNotSaved() {
+        Order order = orderService.find(new SearchParameters()).iterator().next();
+
+        orderService.save(order);
+        orderService.save(order.items.iterator().next());
+
+        assertThat(writes).isEmpty();
+        assertThat(registry.find("orders.saves").tag("outcome", "skipped").meters()).hasSize(2);
+        assertThat(registry.find("orders.saves").tags("entity", "order", "outcome", "skipped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void statusOnlyChangesUseThePartialUpdate() {
+        Order order = orderService.find(new SearchParameters()).iterator().next();
+
+        order.status = Order.Status.COMPLETE;
+        orderService.save(order);
+        orderService.save(order);
+
+        order.items.iterator().next().numStraggles = 1;
+        orderService.save(order);
+
+        assertThat(writes).containsExactly("status", "order");
+    }
+}
@@ -0,0 +1,169 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.configuration.OrderStoreConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedOrderServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OrderStoreConfiguration configuration;
+
+    private EmbeddedOrderService orderService;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new OrderStoreConfiguration();
+        configuration.path = folder.getRoot().toPath().resolve("orders.wal").toString();
+
+        orderService = new EmbeddedOrderService(configuration, new SimpleMeterRegistry());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        orderService.close();
+    }
+
+    @Test
+    public void findIntersectsStatusAndTypeIndexes() {
+        orderService.save(order(1, Order.Status.WIP, Order.Type.B2C));
+        orderService.save(order(2, Order.Status.WIP, Order.Type.B2B));
+        orderService.save(order(3, Order.Status.COMPLETE, Order.Type.B2C));
+
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
+        searchParameters.orderTypes = Collections.singleton(Order.Type.B2C);
+
+        assertThat(orderService.find(searchParameters)).extracting(o -> o.number).containsExactly(1);
+
+        searchParameters.orderTypes = EnumSet.of(Order.Type.B2C, Order.Type.B2B);
+        searchParameters.orderNumbers = Collections.singleton(2);
+
+        assertThat(orderService.find(searchParameters)).extracting(o -> o.number).containsExactly(2);
+    }
+
+    @Test
+    public void findPageWalksMatchingOrdersInOrderNumberOrder() {
+        for (int number = 10; number >= 1; number--) {
+            orderService.save(order(number, number % 2 == 0 ? Order.Status.WIP : Order.Status.COMPLETE, Order.Type.B2C));
+        }
+
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
+
+        OrderPage first = orderService.findPage(searchParameters, null, 3);
+
+        assertThat(first.getOrders()).extracting(o -> o.number).containsExactly(2, 4, 6);
+        assertThat(first.hasMore()).isTrue();
+
+        OrderPage second = orderService.findPage(searchParameters, first.getContinuationToken(), 3);
+
+        assertThat(second.getOrders()).extracting(o -> o.number).containsExactly(8, 10);
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    public void savingAnOrderMovesItBetweenIndexes() {
+        Order order = order(1, Order.Status.WIP, Order.Type.B2C);
+        orderService.save(order);
+
+        order.status = Order.Status.COMPLETE;
+        orderService.save(order);
+
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderStatuses = Collections.singleton(Order.Status.WIP);
+
+        assertThat(orderService.find(searchParameters)).isEmpty();
+        assertThat(orderService.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void savesSurviveARestartAndATornTail() throws Exception {
+        Order order = order(1, Order.Status.WIP, Order.Type.B2C);
+        orderService.save(order);
+
+        OrderItem item = order.items.iterator().next();
+        item.status = OrderItem.Status.PICKED;
+        orderService.save(item);
+
+        order.status = Order.Status.COMPLETE;
+        orderService.saveStatus(order);
+        orderService.close();
+
+        try (RandomAccessFile log = new RandomAccessFile(configuration.path, "rw")) {
+            log.seek(log.length());
+            log.writeInt(64);
+            log.writeInt(0);
+            log.write(new byte[10]);
+        }
+
+        orderService = new EmbeddedOrderService(configuration, new SimpleMeterRegistry());
+
+        SearchParameters searchParameters = new SearchParameters();
+        searchParameters.orderNumbers = Collections.singleton(1);
+
+        Set<Order> orders = orderService.find(searchParameters);
+
+        assertThat(orders).hasSize(1);
+        assertThat(orders.iterator().next().status).isEqualTo(Order.Status.COMPLETE);
+        assertThat(orders.iterator().next().items).extracting(i -> i.status).containsExactly(OrderItem.Status.PICKED);
+    }
+
+    @Test
+    public void savesCarryOnWhenCompactionFails() throws Exception {
+        orderService.close();
+
+        configuration.minCompactionRecords = 2L;
+        configuration.compactionRatio = 1.0;
+
+        Path compacting = Paths.get(configuration.path + ".compacting");
+        Files.createDirectories(compacting);
+        Files.createFile(compacting.resolve("in-the-way"));
+
+        orderService = new EmbeddedOrderService(configuration, new SimpleMeterRegistry());
+
+        for (int number = 1; number <= 3; number++) {
+            orderService.save(order(number, Order.Status.WIP, Order.Type.B2C));
+        }
+
+        orderService.close();
+        orderService = new EmbeddedOrderService(configuration, new SimpleMeterRegistry());
+
+        assertThat(orderService.size()).isEqualTo(3);
+    }
+
+    private static Order order(int number, Order.Status status, Order.Type type) {
+        Order order = new Order();
+        order.id = "order-" + number;
+        order.number = number;
+        order.status = status;
+        order.type = type;
+        order.lastUpdate = LocalDateTime.now();
+        order.items = new ArrayList<>();
+
+        OrderItem item = new OrderItem();
+        item.id = number + "-0";
+        item.status = OrderItem.Status.WIP;
+        order.items.add(item);
+
+        return order;
+    }
+}
@@ -0,0 +1,33 @@
+package com.willmadison.legacycodekatas.fulfillment.orders;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderChangeLogTest {
+
+    @Test
+    public void changesSinceReturnsEachOrderOnceAtItsLatestSequence() {
+        OrderChangeLog changes = new OrderChangeLog();
+
+        changes.record(1);
+        long watermark = changes.record(2);
+        changes.record(3);
+        changes.record(1);
+
+        assertThat(changes.latestSequence()).isEqualTo(4L);
+        assertThat(changes.changesSince(watermark, 10)).extracting(OrderChange::getOrderNumber).containsExactly(3, 1);
+        assertThat(changes.changesSince(0L, 2)).extracting(OrderChange::getOrderNumber).containsExactly(2, 3);
+    }
+
+    @Test
+    public void forgottenOrdersDropOutOfTheFeed() {
+        OrderChangeLog changes = new OrderChangeLog();
+
+        changes.record(1);
+        changes.record(2);
+        changes.forget(1);
+
+        assertThat(changes.changesSince(0L, 10)).extracting(OrderChange::getOrderNumber).containsExactly(2);
+    }
+}
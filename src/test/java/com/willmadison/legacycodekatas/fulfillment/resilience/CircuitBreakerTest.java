@@ -0,0 +1,92 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.CircuitBreakerConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+
+    private CircuitBreakerConfiguration configuration;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new CircuitBreakerConfiguration();
+        configuration.slidingWindowSize = 4;
+        configuration.minimumNumberOfCalls = 4;
+        configuration.failureRateThreshold = 50;
+        configuration.permittedCallsInHalfOpenState = 2;
+    }
+
+    @Test
+    public void opensOnceTheFailureRateIsExceeded() {
+        CircuitBreaker breaker = new CircuitBreaker(DownstreamOperation.WMS_PICK_SEARCH, configuration, new SimpleMeterRegistry());
+
+        breaker.call(() -> true);
+        breaker.call(() -> true);
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> breaker.call(() -> true)).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void closesAfterSuccessfulProbes() {
+        configuration.waitDurationInOpenStateMillis = 0L;
+
+        CircuitBreaker breaker = new CircuitBreaker(DownstreamOperation.WMS_PICK_SEARCH, configuration, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        breaker.call(() -> true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.call(() -> true);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void doesNotCountLocalCutOffsAsFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(DownstreamOperation.WMS_PICK_SEARCH, configuration, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> breaker.call(() -> {
+                throw new LimitExceededException("Concurrency limit reached!");
+            })).isInstanceOf(LimitExceededException.class);
+
+            assertThatThrownBy(() -> breaker.call(() -> {
+                throw new DeadlineExceededException(DownstreamOperation.WMS_PICK_SEARCH);
+            })).isInstanceOf(DeadlineExceededException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.call(() -> true);
+        breaker.call(() -> true);
+        fail(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void fail(CircuitBreaker breaker) {
+        try {
+            breaker.run(() -> {
+                throw new IllegalStateException("boom");
+            });
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.LimiterConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimiterTest {
+
+    private LimiterConfiguration configuration;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new LimiterConfiguration();
+        configuration.initialLimit = 10;
+        configuration.minLimit = 1;
+        configuration.maxLimit = 20;
+        configuration.backoffRatio = 0.5;
+        configuration.maxQueueSize = 0;
+    }
+
+    @Test
+    public void backsOffWhenCallsFail() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", configuration, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> limiter.run(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void keepsTheLimitWhenTheCircuitBreakerRejectsACall() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", configuration, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> limiter.run(() -> {
+            throw new CircuitBreakerOpenException(DownstreamOperation.WMS_PICK_SEARCH);
+        })).isInstanceOf(CircuitBreakerOpenException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void shedsCallsOverTheLimit() throws Exception {
+        configuration.initialLimit = 1;
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", configuration, new SimpleMeterRegistry());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> limiter.run(() -> {
+            started.countDown();
+
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        holder.start();
+        started.await();
+
+        assertThatThrownBy(() -> limiter.call(() -> true)).isInstanceOf(LimitExceededException.class);
+
+        finish.countDown();
+        holder.join();
+
+        assertThat(limiter.call(() -> true)).isTrue();
+    }
+
+    @Test
+    public void keepsPermitsInReserveForPickCompletions() throws Exception {
+        configuration.initialLimit = 5;
+        configuration.pickCompletionReservedShare = 0.2;
+
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", configuration, new SimpleMeterRegistry());
+
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch finish = new CountDownLatch(1);
+        List<Thread> sweeps = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            Thread sweep = new Thread(() -> limiter.run(() -> {
+                started.countDown();
+
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+
+            sweeps.add(sweep);
+            sweep.start();
+        }
+
+        started.await();
+
+        assertThatThrownBy(() -> limiter.call(() -> true)).isInstanceOf(LimitExceededException.class);
+
+        try (Lane.Binding lane = Lane.PICK_COMPLETION.bind()) {
+            assertThat(limiter.call(() -> true)).isTrue();
+        }
+
+        finish.countDown();
+
+        for (Thread sweep : sweeps) {
+            sweep.join();
+        }
+    }
+
+    @Test
+    public void letsBackedUpLanesThroughByWeight() throws Exception {
+        configuration.initialLimit = 1;
+        configuration.maxLimit = 1;
+        configuration.maxQueueSize = 10;
+        configuration.pickCompletionWeight = 6;
+        configuration.sweepWeight = 1;
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", configuration, registry);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        List<Lane> admitted = Collections.synchronizedList(new ArrayList<>());
+
+        Thread holder = new Thread(() -> limiter.run(() -> {
+            started.countDown();
+
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        holder.start();
+        started.await();
+
+        List<Thread> waiters = new ArrayList<>();
+
+        for (Lane lane : new Lane[]{Lane.SWEEP, Lane.SWEEP, Lane.SWEEP, Lane.PICK_COMPLETION, Lane.PICK_COMPLETION, Lane.PICK_COMPLETION}) {
+            Thread waiter = new Thread(() -> {
+                try (Lane.Binding binding = lane.bind()) {
+                    limiter.run(() -> admitted.add(Lane.current()));
+                }
+            });
+
+            waiters.add(waiter);
+            waiter.start();
+        }
+
+        while (limiter.getQueued(Lane.SWEEP) + limiter.getQueued(Lane.PICK_COMPLETION) < waiters.size()) {
+            Thread.sleep(1L);
+        }
+
+        finish.countDown();
+        holder.join();
+
+        for (Thread waiter : waiters) {
+            waiter.join();
+        }
+
+        assertThat(admitted).containsExactly(Lane.PICK_COMPLETION, Lane.SWEEP, Lane.PICK_COMPLETION, Lane.PICK_COMPLETION, Lane.SWEEP, Lane.SWEEP);
+        assertThat(registry.get("downstream.limiter.queue.time").tag("lane", "pick-completion").timer().count()).isEqualTo(3L);
+        assertThat(registry.get("downstream.limiter.queue.time").tag("lane", "sweep").timer().count()).isEqualTo(4L);
+    }
+}
@@ -0,0 +1,165 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.configuration.DeadlineConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeadlineExecutorTest {
+
+    private DeadlineConfiguration configuration;
+
+    private SimpleMeterRegistry registry;
+
+    private DeadlineExecutor executor;
+
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new DeadlineConfiguration();
+        registry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void abandonsReadsOnceTheDeadlinePasses() {
+        executor = new DeadlineExecutor(configuration, registry);
+
+        try (Deadline.Binding binding = Deadline.after(Duration.ofMillis(50)).bind()) {
+            assertThatThrownBy(() -> executor.call(DownstreamOperation.WMS_PICK_SEARCH, this::awaitRelease))
+                    .isInstanceOf(DeadlineExceededException.class);
+        }
+
+        assertThat(registry.get("downstream.deadline.exceeded").tag("operation", DownstreamOperation.WMS_PICK_SEARCH.getMetricName())
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void letsWritesFinishPastTheDeadline() {
+        executor = new DeadlineExecutor(configuration, registry);
+
+        try (Deadline.Binding binding = Deadline.after(Duration.ofMillis(20)).bind()) {
+            boolean saved = executor.write(DownstreamOperation.WMS_PICK_SAVE, () -> {
+                sleep(100L);
+                return true;
+            });
+
+            assertThat(saved).isTrue();
+        }
+    }
+
+    @Test
+    public void doesNotSendWritesOnceTheDeadlinePassed() throws Exception {
+        executor = new DeadlineExecutor(configuration, registry);
+
+        AtomicBoolean sent = new AtomicBoolean();
+
+        try (Deadline.Binding binding = Deadline.after(Duration.ofNanos(1)).bind()) {
+            Thread.sleep(1L);
+
+            assertThatThrownBy(() -> executor.runWrite(DownstreamOperation.CONSOLIDATION_HOLD, () -> sent.set(true)))
+                    .isInstanceOf(DeadlineExceededException.class);
+        }
+
+        assertThat(sent).isFalse();
+    }
+
+    @Test
+    public void runsCallsOnTheCallerWithoutTheDeadlineWhenEveryThreadIsBusy() throws Exception {
+        configuration.maxCallThreads = 1;
+        executor = new DeadlineExecutor(configuration, registry);
+
+        CountDownLatch started = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> {
+            try (Deadline.Binding binding = Deadline.after(Duration.ofSeconds(10)).bind()) {
+                executor.call(DownstreamOperation.WMS_PICK_SEARCH, () -> {
+                    started.countDown();
+                    return awaitRelease();
+                });
+            }
+        });
+
+        holder.start();
+        started.await();
+
+        Thread caller = Thread.currentThread();
+
+        try (Deadline.Binding binding = Deadline.after(Duration.ofMillis(20)).bind()) {
+            Thread ranOn = executor.call(DownstreamOperation.WMS_PICK_SEARCH, () -> {
+                sleep(100L);
+                return Thread.currentThread();
+            });
+
+            assertThat(ranOn).isSameAs(caller);
+        }
+
+        assertThat(registry.get("downstream.deadline.inline").tag("operation", DownstreamOperation.WMS_PICK_SEARCH.getMetricName())
+                .counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    public void hedgesSlowReads() {
+        configuration.hedgingEnabled = true;
+        configuration.minHedgeSamples = 16;
+        configuration.minHedgeDelayMillis = 1L;
+        executor = new DeadlineExecutor(configuration, registry);
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        try (Deadline.Binding binding = Deadline.after(Duration.ofSeconds(10)).bind()) {
+            for (int i = 0; i < 16; i++) {
+                executor.call(DownstreamOperation.WMS_PICK_SEARCH, () -> "primary");
+            }
+
+            String answer = executor.hedge(DownstreamOperation.WMS_PICK_SEARCH,
+                    () -> attempts.incrementAndGet() == 1 ? awaitRelease() : "hedge");
+
+            assertThat(answer).isEqualTo("hedge");
+        }
+
+        assertThat(attempts).hasValue(2);
+        assertThat(registry.get("downstream.hedge.wins").tag("operation", DownstreamOperation.WMS_PICK_SEARCH.getMetricName())
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    private String awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return "primary";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
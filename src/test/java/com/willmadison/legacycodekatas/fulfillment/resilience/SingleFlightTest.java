@@ -0,0 +1,190 @@
+package com.willmadison.legacycodekatas.fulfillment.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SingleFlightTest {
+
+    private static final DownstreamOperation OPERATION = DownstreamOperation.CONSOLIDATION_STATUS;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SingleFlight singleFlight = new SingleFlight(registry, OPERATION);
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private final CountDownLatch answer = new CountDownLatch(1);
+
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        answer.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void concurrentCallersForTheSameKeyShareOneCall() throws Exception {
+        List<CompletableFuture<List<String>>> results = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> singleFlight.call(OPERATION, 42, () -> slowLookup(42)), callers));
+        }
+
+        awaitCollapsed(4);
+        answer.countDown();
+
+        for (CompletableFuture<List<String>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly("status of 42");
+        }
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(count("downstream.singleflight.calls")).isEqualTo(5.0);
+        assertThat(singleFlight.getInFlight()).isZero();
+    }
+
+    @Test
+    public void onlyCallsInFlightAtTheSameTimeAreCollapsed() {
+        answer.countDown();
+
+        singleFlight.call(OPERATION, 42, () -> slowLookup(42));
+        singleFlight.call(OPERATION, 42, () -> slowLookup(42));
+        singleFlight.call(OPERATION, 43, () -> slowLookup(43));
+
+        assertThat(downstreamCalls.get()).isEqualTo(3);
+        assertThat(count("downstream.singleflight.collapsed")).isZero();
+    }
+
+    @Test
+    public void waitingCallersShareTheCallsFailure() throws Exception {
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.call(OPERATION, 42, () -> {
+            await();
+            throw new CircuitBreakerOpenException(OPERATION);
+        }), callers);
+
+        awaitInFlight();
+
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> singleFlight.call(OPERATION, 42, () -> {
+            throw new IllegalStateException("Should have been collapsed");
+        }), callers);
+
+        awaitCollapsed(1);
+        answer.countDown();
+
+        assertThat(failureOf(leader)).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(failureOf(follower)).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void aWaitingCallerGivesUpAtItsOwnDeadline() throws Exception {
+        CompletableFuture.runAsync(() -> singleFlight.call(OPERATION, 42, () -> slowLookup(42)), callers);
+
+        awaitInFlight();
+
+        try (Deadline.Binding binding = Deadline.after(Duration.ofMillis(20)).bind()) {
+            singleFlight.call(OPERATION, 42, () -> slowLookup(42));
+            fail("Expected the caller to give up waiting");
+        } catch (DeadlineExceededException e) {
+            assertThat(e.getOperation()).isEqualTo(OPERATION);
+        }
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void waitingCallersAreHandedWhatTheShareOperatorGivesThem() throws Exception {
+        CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.call(OPERATION, 42, () -> slowLookup(42), ArrayList::new), callers);
+
+        awaitInFlight();
+
+        CompletableFuture<List<String>> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.call(OPERATION, 42, () -> slowLookup(42), ArrayList::new), callers);
+
+        awaitCollapsed(1);
+        answer.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(leader.get(5, TimeUnit.SECONDS)).isNotSameAs(leader.get());
+    }
+
+    @Test
+    public void callersDoNotWaitOnALessUrgentCall() throws Exception {
+        CompletableFuture.runAsync(() -> singleFlight.call(OPERATION, 42, () -> slowLookup(42)), callers);
+
+        awaitInFlight();
+
+        try (Lane.Binding lane = Lane.PICK_COMPLETION.bind()) {
+            assertThat(singleFlight.call(OPERATION, 42, () -> {
+                downstreamCalls.incrementAndGet();
+                return Collections.singletonList("status of 42");
+            })).containsExactly("status of 42");
+        }
+
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(count("downstream.singleflight.collapsed")).isZero();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void onlyTheConfiguredOperationsAreCollapsible() {
+        singleFlight.call(DownstreamOperation.CONSOLIDATION_HOLD, 42, () -> slowLookup(42));
+    }
+
+    private List<String> slowLookup(int orderNumber) {
+        downstreamCalls.incrementAndGet();
+        await();
+
+        List<String> status = new ArrayList<>();
+        status.add("status of " + orderNumber);
+        return status;
+    }
+
+    private void await() {
+        try {
+            answer.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (singleFlight.getInFlight() == 0) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private void awaitCollapsed(int collapsed) throws InterruptedException {
+        while (count("downstream.singleflight.collapsed") < collapsed) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private double count(String counter) {
+        return registry.get(counter).tag("operation", OPERATION.getMetricName()).counter().count();
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+
+        throw new AssertionError("Expected the call to fail");
+    }
+}
@@ -0,0 +1,197 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation;
+
+import com.willmadison.legacycodekatas.fulfillment.resilience.CircuitBreakerOpenException;
+import com.willmadison.legacycodekatas.fulfillment.resilience.DownstreamOperation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.configuration.WriteBehindConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteBehindConsolidationTest {
+
+    private WriteBehindConfiguration configuration;
+
+    private SimpleMeterRegistry registry;
+
+    private RecordingDelegate delegate;
+
+    private WriteBehindConsolidation consolidation;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = new WriteBehindConfiguration();
+        configuration.flushIntervalMillis = TimeUnit.MINUTES.toMillis(10);
+        configuration.maxFlushAttempts = 3;
+
+        registry = new SimpleMeterRegistry();
+        delegate = new RecordingDelegate();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (consolidation != null) {
+            consolidation.shutdown();
+        }
+    }
+
+    @Test
+    public void coalescesLabelsAndHoldsUntilTheyAreFlushed() {
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+
+        consolidation.updateOrderItemLabel("1", "1-1", new Label("Partial"));
+        consolidation.updateOrderItemLabel("1", "1-1", new Label("Picked"));
+        consolidation.hold(1, "tx-1");
+        consolidation.hold(1, "tx-2");
+
+        assertThat(delegate.writes).isEmpty();
+        assertThat(consolidation.pendingWrites()).isEqualTo(2);
+
+        consolidation.flush();
+
+        assertThat(delegate.writes).containsExactly("hold 1 tx-1", "label 1 1-1 Picked");
+        assertThat(consolidation.pendingWrites()).isZero();
+    }
+
+    @Test
+    public void flushesOnceTheFlushIntervalElapses() throws Exception {
+        configuration.flushIntervalMillis = 10L;
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+
+        consolidation.updateOrderItemLabel("1", "1-1", new Label("Picked"));
+
+        long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (delegate.writes.isEmpty() && System.nanoTime() < giveUpAt) {
+            Thread.sleep(5L);
+        }
+
+        assertThat(delegate.writes).containsExactly("label 1 1-1 Picked");
+    }
+
+    @Test
+    public void retriesFailedWritesUntilTheyAreGivenUpOn() {
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+        delegate.failuresLeft.set(Integer.MAX_VALUE);
+
+        consolidation.hold(1, "tx-1");
+
+        consolidation.flush();
+        consolidation.flush();
+
+        assertThat(consolidation.pendingWrites()).isEqualTo(1);
+
+        consolidation.flush();
+
+        assertThat(delegate.attempts).hasValue(3);
+        assertThat(consolidation.pendingWrites()).isZero();
+        assertThat(registry.get("consolidation.writebehind.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void keepsWritesRejectedByTheCircuitBreakerPendingWithoutCountingThem() {
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+        delegate.rejectionsLeft.set(6);
+
+        consolidation.hold(1, "tx-1");
+        consolidation.updateOrderItemLabel("1", "1-1", new Label("Picked"));
+
+        for (int i = 0; i < 3; i++) {
+            consolidation.flush();
+        }
+
+        assertThat(consolidation.pendingWrites()).isEqualTo(2);
+        assertThat(delegate.attempts).hasValue(0);
+
+        consolidation.flush();
+
+        assertThat(delegate.writes).containsExactly("hold 1 tx-1", "label 1 1-1 Picked");
+        assertThat(registry.get("consolidation.writebehind.dropped").counter().count()).isZero();
+        assertThat(registry.get("consolidation.writebehind.deferred").counter().count()).isEqualTo(6.0);
+    }
+
+    @Test
+    public void retriesAFailedWriteOnTheNextFlush() {
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+        delegate.failuresLeft.set(1);
+
+        consolidation.updateOrderItemLabel("1", "1-1", new Label("Partial"));
+        consolidation.flush();
+        consolidation.flush();
+
+        assertThat(delegate.writes).containsExactly("label 1 1-1 Partial");
+        assertThat(registry.get("consolidation.writebehind.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    public void holdsAnOrderAgainOnceItsLastHoldWasWritten() {
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+
+        consolidation.hold(1, "tx-1");
+        consolidation.flush();
+        consolidation.hold(1, "tx-2");
+        consolidation.flush();
+
+        assertThat(delegate.writes).containsExactly("hold 1 tx-1", "hold 1 tx-2");
+    }
+
+    @Test
+    public void writesTheLabelAsItWasWhenBuffered() {
+        consolidation = new WriteBehindConsolidation(delegate, configuration, registry);
+
+        Label label = new Label("Partial");
+
+        consolidation.updateOrderItemLabel("1", "1-1", label);
+        label.label = "Out";
+        consolidation.flush();
+
+        assertThat(delegate.writes).containsExactly("label 1 1-1 Partial");
+    }
+
+    private static class RecordingDelegate implements Consolidation {
+
+        private final List<String> writes = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private final AtomicInteger rejectionsLeft = new AtomicInteger();
+
+        @Override
+        public ConsolidatableOrder status(int orderNumber, String transactionId) {
+            return null;
+        }
+
+        @Override
+        public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+            write("label " + orderNumber + " " + itemId + " " + label.label);
+        }
+
+        @Override
+        public void hold(int orderNumber, String transactionId) {
+            write("hold " + orderNumber + " " + transactionId);
+        }
+
+        private void write(String write) {
+            if (rejectionsLeft.getAndDecrement() > 0) {
+                throw new CircuitBreakerOpenException(DownstreamOperation.CONSOLIDATION_HOLD);
+            }
+
+            attempts.incrementAndGet();
+
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("Consolidation is unavailable");
+            }
+
+            writes.add(write);
+        }
+    }
+}
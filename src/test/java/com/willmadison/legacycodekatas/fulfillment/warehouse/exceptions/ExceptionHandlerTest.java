@@ -0,0 +1,587 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeFeed;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderChangeLog;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderPage;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.resilience.LimitExceededException;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.SweepMode;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.*;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExceptionHandlerTest {
+
+    private static final int ORDERS = 23;
+
+    private final List<WorkerPools> workerPools = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        workerPools.forEach(WorkerPools::shutdown);
+    }
+
+    @Test
+    public void blockingSweepFollowsContinuationTokensThroughEveryPage() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+
+        sweep(warehouse, SweepMode.BLOCKING);
+
+        assertThat(warehouse.continuationTokens).containsExactly(null, OrderPage.continueAfter(5), OrderPage.continueAfter(10),
+                OrderPage.continueAfter(15), OrderPage.continueAfter(20));
+        assertThat(warehouse.pickSearches).hasSize(ORDERS).containsAll(warehouse.orders.keySet());
+    }
+
+    @Test
+    public void reactiveSweepFollowsContinuationTokensThroughEveryPage() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+
+        sweep(warehouse, SweepMode.REACTIVE);
+
+        assertThat(warehouse.continuationTokens).containsExactly(null, OrderPage.continueAfter(5), OrderPage.continueAfter(10),
+                OrderPage.continueAfter(15), OrderPage.continueAfter(20));
+        assertThat(warehouse.pickSearches).hasSize(ORDERS).containsAll(warehouse.orders.keySet());
+    }
+
+    @Test
+    public void pickCompletionsForSkippedOrdersAreOfferedAgain() throws Exception {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        Queue<Message> queue = new ConcurrentLinkedQueue<>();
+
+        ExceptionConfiguration configuration = configuration(SweepMode.BLOCKING);
+        configuration.pickCompletionBatchDeadlineSeconds = 1L;
+
+        ExceptionHandler handler = handler(warehouse, queue, configuration);
+
+        warehouse.findDelayMillis.set(1100L);
+        queue.add(new Message("{\"id\": 7, \"straggler\": false}"));
+
+        handler.checkForCompletedPicks();
+
+        awaitTrue(() -> !queue.isEmpty());
+        assertThat(warehouse.savedItemIds).isEmpty();
+
+        handler.checkForCompletedPicks();
+
+        awaitTrue(() -> !warehouse.savedItemIds.isEmpty());
+        assertThat(warehouse.savedItemIds).containsExactly("7-1");
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    public void shedConsolidationLookupsSkipOnlyTheirOrders() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        warehouse.shedStatusLookups.addAll(Arrays.asList(3, 8));
+
+        sweep(warehouse, SweepMode.BLOCKING);
+
+        assertThat(warehouse.continuationTokens).hasSize(5);
+        assertThat(warehouse.pickSearches).hasSize(ORDERS - 2).doesNotContain(3, 8);
+        assertThat(warehouse.savedOrderNumbers).hasSize(ORDERS - 2).doesNotContain(3, 8);
+    }
+
+    @Test
+    public void shedVerificationSearchesSkipTheOrderRatherThanDecideItUnverified() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        warehouse.shedVerificationSearches.add(5);
+
+        sweep(warehouse, SweepMode.REACTIVE);
+
+        assertThat(warehouse.savedOrderNumbers).hasSize(ORDERS - 1).doesNotContain(5);
+    }
+
+    @Test
+    public void pickCompletionsWithShedSavesAreOfferedAgain() throws Exception {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        Queue<Message> queue = new ConcurrentLinkedQueue<>();
+
+        ExceptionHandler handler = handler(warehouse, queue, configuration(SweepMode.BLOCKING));
+
+        warehouse.itemSavesToShed.set(1);
+        queue.add(new Message("{\"id\": 9, \"straggler\": false}"));
+
+        handler.checkForCompletedPicks();
+
+        awaitTrue(() -> !queue.isEmpty());
+        assertThat(warehouse.savedItemIds).isEmpty();
+
+        handler.checkForCompletedPicks();
+
+        awaitTrue(() -> !warehouse.savedItemIds.isEmpty());
+        assertThat(warehouse.savedItemIds).containsExactly("9-1");
+    }
+
+    @Test
+    public void pickCompletionsAreOfferedAgainWhenTheConsolidationStatusIsUnknown() throws Exception {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        Queue<Message> queue = new ConcurrentLinkedQueue<>();
+
+        ExceptionHandler handler = handler(warehouse, queue, configuration(SweepMode.BLOCKING));
+
+        warehouse.shedStatusLookups.add(11);
+        queue.add(new Message("{\"id\": 11, \"straggler\": false}"));
+
+        handler.checkForCompletedPicks();
+
+        awaitTrue(() -> !queue.isEmpty());
+        assertThat(warehouse.savedItemIds).isEmpty();
+
+        handler.checkForCompletedPicks();
+
+        awaitTrue(() -> !warehouse.savedItemIds.isEmpty());
+        assertThat(warehouse.savedItemIds).containsExactly("11-1");
+    }
+
+    @Test
+    public void blockingSweepKeepsPickCompletionsSavedAfterItReadTheOrder() {
+        assertSweepKeepsPickCompletionsSavedAfterItReadTheOrder(SweepMode.BLOCKING);
+    }
+
+    @Test
+    public void reactiveSweepKeepsPickCompletionsSavedAfterItReadTheOrder() {
+        assertSweepKeepsPickCompletionsSavedAfterItReadTheOrder(SweepMode.REACTIVE);
+    }
+
+    @Test
+    public void incrementalCyclesHandleOnlyTheChangedOrders() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        ExceptionHandler handler = handler(warehouse, new LinkedList<>(), incrementalConfiguration(), registry);
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.pickSearches).hasSize(ORDERS);
+
+        warehouse.reset();
+        warehouse.changeLog.record(4);
+        warehouse.changeLog.record(17);
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.continuationTokens).isEmpty();
+        assertThat(warehouse.pickSearches).containsOnly(4, 17);
+        assertThat(registry.get("exceptions.sweeps").tag("mode", "full").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("exceptions.sweeps").tag("mode", "incremental").counter().count()).isEqualTo(1.0);
+
+        warehouse.reset();
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.pickSearches).isEmpty();
+    }
+
+    @Test
+    public void holdsTheChangeWatermarkWhileAChangedOrderIsSkipped() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        ExceptionHandler handler = handler(warehouse, new LinkedList<>(), incrementalConfiguration(), new SimpleMeterRegistry());
+
+        handler.handleExceptions();
+
+        warehouse.reset();
+        warehouse.changeLog.record(6);
+        warehouse.shedVerificationSearches.add(6);
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.savedOrderNumbers).isEmpty();
+
+        warehouse.reset();
+        warehouse.changeLog.record(7);
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.savedOrderNumbers).containsOnly(6, 7);
+    }
+
+    @Test
+    public void holdsTheChangeWatermarkWhenADownstreamCallFails() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        ExceptionHandler handler = handler(warehouse, new LinkedList<>(), incrementalConfiguration(), new SimpleMeterRegistry());
+
+        handler.handleExceptions();
+
+        warehouse.reset();
+        warehouse.changeLog.record(12);
+        warehouse.orderSavesToFail.set(1);
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.savedOrderNumbers).isEmpty();
+
+        warehouse.reset();
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.savedOrderNumbers).containsOnly(12);
+    }
+
+    @Test
+    public void reconcilesEveryOrderOnceTheFullReconciliationIntervalPasses() {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        ExceptionConfiguration configuration = incrementalConfiguration();
+        configuration.fullReconciliationIntervalMinutes = 0L;
+
+        ExceptionHandler handler = handler(warehouse, new LinkedList<>(), configuration, registry);
+
+        handler.handleExceptions();
+
+        warehouse.reset();
+        warehouse.changeLog.record(4);
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.continuationTokens).hasSize(5);
+        assertThat(warehouse.pickSearches).hasSize(ORDERS);
+        assertThat(registry.get("exceptions.sweeps").tag("mode", "full").counter().count()).isEqualTo(2.0);
+        assertThat(registry.find("exceptions.sweeps").tag("mode", "incremental").counter().count()).isZero();
+    }
+
+    /**
+     * Completes order 8's pick after the sweep has read the order but before it takes the order's lock, and checks the
+     * sweep's save leaves the item picked.
+     */
+    private void assertSweepKeepsPickCompletionsSavedAfterItReadTheOrder(SweepMode sweepMode) {
+        PagedWarehouse warehouse = new PagedWarehouse();
+        Queue<Message> queue = new ConcurrentLinkedQueue<>();
+
+        ExceptionHandler handler = handler(warehouse, queue, configuration(sweepMode));
+
+        warehouse.beforePickSearch.put(8, () -> {
+            queue.add(new Message("{\"id\": 8, \"straggler\": false}"));
+            handler.checkForCompletedPicks();
+
+            try {
+                awaitTrue(() -> warehouse.savedItemIds.contains("8-1"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        handler.handleExceptions();
+
+        assertThat(warehouse.savedItemIds).containsExactly("8-1");
+        assertThat(warehouse.savedOrderNumbers).hasSize(ORDERS).contains(8);
+        assertThat(warehouse.itemStatus(8)).isEqualTo(OrderItem.Status.PICKED);
+    }
+
+    private void sweep(PagedWarehouse warehouse, SweepMode sweepMode) {
+        handler(warehouse, new LinkedList<>(), configuration(sweepMode)).handleExceptions();
+    }
+
+    private ExceptionHandler handler(PagedWarehouse warehouse, Queue<Message> queue, ExceptionConfiguration configuration) {
+        return handler(warehouse, queue, configuration, new SimpleMeterRegistry());
+    }
+
+    private ExceptionHandler handler(PagedWarehouse warehouse, Queue<Message> queue, ExceptionConfiguration configuration,
+                                     SimpleMeterRegistry registry) {
+        WorkerPools pools = new WorkerPools(registry);
+        workerPools.add(pools);
+
+        return new ExceptionHandler(warehouse, warehouse, warehouse, queue, Optional.empty(), configuration, Clock.systemUTC(), pools,
+                new StartupProbe(new StartupConfiguration(), registry), registry);
+    }
+
+    private static ExceptionConfiguration configuration(SweepMode sweepMode) {
+        ExceptionConfiguration configuration = new ExceptionConfiguration();
+        configuration.enabled = true;
+        configuration.warehouseOperational = true;
+        configuration.supportedOrderTypes = EnumSet.of(Order.Type.B2C);
+        configuration.wipPageSize = 5;
+        configuration.sweepMode = sweepMode;
+        return configuration;
+    }
+
+    private static ExceptionConfiguration incrementalConfiguration() {
+        ExceptionConfiguration configuration = configuration(SweepMode.BLOCKING);
+        configuration.incrementalSweepEnabled = true;
+        return configuration;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (!condition.getAsBoolean() && System.nanoTime() < giveUpAt) {
+            Thread.sleep(10L);
+        }
+    }
+
+    /**
+     * WIP single-line orders with fresh, unverified picks, served a page at a time; the sweep looks each one up and
+     * leaves it as it is. Looking orders up by number can be made to stall once, to run a pick completion batch out of
+     * time, and chosen calls can be shed once as a concurrency limiter in front of the dependency would. Orders
+     * recorded in the change log are the ones changed since the last cycle; the sweep's own saves aren't recorded.
+     * Orders are handed out and saved as copies, as a real store would, and an order's pick search can be made to run
+     * something first, to interleave other work between the sweep reading the order and deciding on it.
+     */
+    private static class PagedWarehouse implements OrderService, WarehouseManagement, Consolidation {
+
+        private final LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        private final NavigableMap<Integer, Order> orders = new TreeMap<>();
+
+        private final List<String> continuationTokens = new CopyOnWriteArrayList<>();
+
+        private final Set<Integer> pickSearches = ConcurrentHashMap.newKeySet();
+
+        private final List<String> savedItemIds = new CopyOnWriteArrayList<>();
+
+        private final Set<Integer> savedOrderNumbers = ConcurrentHashMap.newKeySet();
+
+        private final AtomicLong findDelayMillis = new AtomicLong();
+
+        private final Set<Integer> shedStatusLookups = ConcurrentHashMap.newKeySet();
+
+        private final Set<Integer> shedVerificationSearches = ConcurrentHashMap.newKeySet();
+
+        private final AtomicInteger itemSavesToShed = new AtomicInteger();
+
+        private final AtomicInteger orderSavesToFail = new AtomicInteger();
+
+        private final OrderChangeLog changeLog = new OrderChangeLog();
+
+        private final Map<Integer, Runnable> beforePickSearch = new ConcurrentHashMap<>();
+
+        PagedWarehouse() {
+            for (int number = 1; number <= ORDERS; number++) {
+                Order order = new Order();
+                order.number = number;
+                order.type = Order.Type.B2C;
+                order.status = Order.Status.WIP;
+                order.lastUpdate = now.minusMinutes(number);
+
+                OrderItem item = new OrderItem();
+                item.id = number + "-1";
+                item.status = OrderItem.Status.WIP;
+                item.released = true;
+                order.items = new ArrayList<>(Collections.singletonList(item));
+                orders.put(number, order);
+            }
+        }
+
+        @Override
+        public Set<Order> find(SearchParameters searchParameters) {
+            if (searchParameters.orderNumbers == null) {
+                throw new UnsupportedOperationException("The sweep should read WIP orders a page at a time");
+            }
+
+            long delay = findDelayMillis.getAndSet(0L);
+
+            if (delay > 0L) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            Set<Order> matches = new HashSet<>();
+
+            synchronized (orders) {
+                for (Integer number : searchParameters.orderNumbers) {
+                    Order order = orders.get(number);
+
+                    if (order != null) {
+                        matches.add(copy(order));
+                    }
+                }
+            }
+
+            return matches;
+        }
+
+        @Override
+        public OrderPage findPage(SearchParameters searchParameters, String continuationToken, int pageSize) {
+            continuationTokens.add(continuationToken);
+
+            List<Order> page = new ArrayList<>(pageSize);
+
+            synchronized (orders) {
+                for (Order order : orders.tailMap(OrderPage.resumeAfter(continuationToken), false).values()) {
+                    if (page.size() == pageSize) {
+                        return new OrderPage(page, OrderPage.continueAfter(page.get(pageSize - 1).number));
+                    }
+
+                    page.add(copy(order));
+                }
+            }
+
+            return new OrderPage(page, null);
+        }
+
+        /**
+         * Forgets the calls seen so far, ahead of the next cycle.
+         */
+        void reset() {
+            continuationTokens.clear();
+            pickSearches.clear();
+            savedOrderNumbers.clear();
+        }
+
+        @Override
+        public Optional<OrderChangeFeed> changeFeed() {
+            return Optional.of(changeLog);
+        }
+
+        @Override
+        public void save(Order order) {
+            if (orderSavesToFail.getAndDecrement() > 0) {
+                throw new IllegalStateException("The order store is unavailable");
+            }
+
+            synchronized (orders) {
+                orders.put(order.number, copy(order));
+            }
+
+            savedOrderNumbers.add(order.number);
+        }
+
+        @Override
+        public void save(OrderItem orderItem) {
+            if (itemSavesToShed.getAndDecrement() > 0) {
+                throw shed("orders");
+            }
+
+            synchronized (orders) {
+                for (OrderItem item : orders.get(Integer.valueOf(orderItem.id.split("-")[0])).items) {
+                    if (item.id.equals(orderItem.id)) {
+                        item.status = orderItem.status;
+                    }
+                }
+            }
+
+            savedItemIds.add(orderItem.id);
+        }
+
+        OrderItem.Status itemStatus(int orderNumber) {
+            synchronized (orders) {
+                return orders.get(orderNumber).items.iterator().next().status;
+            }
+        }
+
+        private static Order copy(Order order) {
+            Order copy = new Order();
+            copy.number = order.number;
+            copy.type = order.type;
+            copy.status = order.status;
+            copy.lastUpdate = order.lastUpdate;
+            copy.items = new ArrayList<>();
+
+            for (OrderItem item : order.items) {
+                OrderItem itemCopy = new OrderItem();
+                itemCopy.id = item.id;
+                itemCopy.status = item.status;
+                itemCopy.released = item.released;
+                itemCopy.shipped = item.shipped;
+                copy.items.add(itemCopy);
+            }
+
+            return copy;
+        }
+
+        @Override
+        public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+            if (shedVerificationSearches.remove(request.searchParameters.orderNumber)) {
+                throw shed("wms");
+            }
+
+            OrderVerificationSearchResponse response = new OrderVerificationSearchResponse();
+            response.verifications = Collections.emptyList();
+            return response;
+        }
+
+        @Override
+        public PickSearchResponse search(PickSearchRequest request) {
+            PickSearchResponse response = new PickSearchResponse();
+
+            if (request.searchParameters.pickIds != null) {
+                response.picks = new ArrayList<>();
+
+                for (Integer pickId : request.searchParameters.pickIds) {
+                    response.picks.add(pick(pickId));
+                }
+
+                return response;
+            }
+
+            int orderNumber = request.searchParameters.orderNumber;
+            pickSearches.add(orderNumber);
+
+            Runnable before = beforePickSearch.remove(orderNumber);
+
+            if (before != null) {
+                before.run();
+            }
+
+            response.picks = Collections.singletonList(pick(orderNumber));
+            return response;
+        }
+
+        private Pick pick(int orderNumber) {
+            Pick pick = new Pick();
+            pick.id = orderNumber;
+            pick.orderNumber = orderNumber;
+            pick.orderItemId = orderNumber + "-1";
+            pick.status = Pick.Status.PICKED;
+            pick.wmsUserId = "picker";
+            pick.skill = new Skill();
+            pick.lastUpdate = now.minusMinutes(5);
+            pick.createdOn = pick.lastUpdate;
+            return pick;
+        }
+
+        @Override
+        public PickSaveResponse save(PickSaveRequest request) {
+            return new PickSaveResponse();
+        }
+
+        @Override
+        public ConsolidatableOrder status(int orderNumber, String transactionId) {
+            if (shedStatusLookups.remove(orderNumber)) {
+                throw shed("consolidation");
+            }
+
+            return null;
+        }
+
+        @Override
+        public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+        }
+
+        @Override
+        public void hold(int orderNumber, String transactionId) {
+        }
+
+        private static LimitExceededException shed(String dependency) {
+            return new LimitExceededException("Concurrency limit reached for " + dependency + " and its queue is full!");
+        }
+    }
+}
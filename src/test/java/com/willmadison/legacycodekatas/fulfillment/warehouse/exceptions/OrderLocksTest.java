@@ -0,0 +1,89 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderLocksTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void theSameOrderIsChangedByOnePathAtATime() {
+        OrderLocks locks = new OrderLocks(1024, registry);
+
+        OrderLocks.Lease sweep = locks.tryLock(42, OrderLocks.Path.SWEEP, 0L);
+
+        assertThat(sweep).isNotNull();
+        assertThat(locks.tryLock(42, OrderLocks.Path.PICK_COMPLETION, TimeUnit.MILLISECONDS.toNanos(10))).isNull();
+        assertThat(contended("pick-completion", "sweep", "order")).isEqualTo(1.0);
+
+        sweep.close();
+
+        assertThat(locks.tryLock(42, OrderLocks.Path.PICK_COMPLETION, 0L)).isNotNull();
+        assertThat(registry.get("exceptions.order.locks.acquisitions").tag("path", "pick-completion").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void ordersOnDifferentStripesAreChangedInParallel() {
+        OrderLocks locks = new OrderLocks(1024, registry);
+
+        assertThat(locks.getStripes()).isEqualTo(1024);
+
+        for (int orderNumber = 1; orderNumber <= 100; orderNumber++) {
+            assertThat(locks.tryLock(orderNumber, OrderLocks.Path.SWEEP, 0L)).isNotNull();
+        }
+
+        assertThat(registry.get("exceptions.order.locks.wait").tag("path", "sweep").timer().count()).isZero();
+    }
+
+    @Test
+    public void ordersSharingAStripeAreCountedApartFromSameOrderCollisions() {
+        OrderLocks locks = new OrderLocks(1, registry);
+
+        OrderLocks.Lease pickCompletion = locks.tryLock(1, OrderLocks.Path.PICK_COMPLETION, 0L);
+
+        assertThat(locks.tryLock(2, OrderLocks.Path.SWEEP, 0L)).isNull();
+        assertThat(contended("sweep", "pick-completion", "stripe")).isEqualTo(1.0);
+        assertThat(contended("sweep", "pick-completion", "order")).isZero();
+
+        pickCompletion.close();
+    }
+
+    @Test
+    public void aWaitingPathProceedsOnceTheLeaseIsReleasedFromAnyThread() throws Exception {
+        OrderLocks locks = new OrderLocks(16, registry);
+
+        OrderLocks.Lease sweep = locks.tryLock(7, OrderLocks.Path.SWEEP, 0L);
+
+        CompletableFuture<OrderLocks.Lease> pickCompletion = CompletableFuture.supplyAsync(
+                () -> locks.tryLock(7, OrderLocks.Path.PICK_COMPLETION, TimeUnit.SECONDS.toNanos(5)));
+
+        while (contended("pick-completion", "sweep", "order") == 0.0) {
+            Thread.sleep(1L);
+        }
+
+        assertThat(pickCompletion).isNotDone();
+
+        CompletableFuture.runAsync(sweep::close).get(5, TimeUnit.SECONDS);
+        sweep.close();
+
+        assertThat(pickCompletion.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(locks.tryLock(7, OrderLocks.Path.SWEEP, 0L)).isNull();
+        assertThat(registry.get("exceptions.order.locks.wait").tag("path", "pick-completion").timer().count()).isEqualTo(1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void atLeastOneStripeIsRequired() {
+        new OrderLocks(0, registry);
+    }
+
+    private double contended(String path, String holder, String conflict) {
+        return registry.get("exceptions.order.locks.contended").tag("path", path).tag("holder", holder).tag("conflict", conflict)
+                .counter().count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderPrioritizerTest {
+
+    private static final Instant NOW = Instant.parse("2018-03-01T12:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private ExceptionConfiguration configuration;
+
+    private OrderPrioritizer prioritizer;
+
+    @Before
+    public void setUp() {
+        configuration = new ExceptionConfiguration();
+        configuration.autoStraggleTimeframeMinutes = 45L;
+        configuration.defaultSlaMinutes = 240L;
+        configuration.orderTypeSlaMinutes.put(Order.Type.B2C, 60L);
+
+        prioritizer = new OrderPrioritizer(configuration, registry);
+    }
+
+    @Test
+    public void staleOrdersAndTighterSlasComeFirst() {
+        Order fresh = order(1, Order.Type.B2B, 5);
+        Order stale = order(2, Order.Type.B2B, 120);
+        Order tightSla = order(3, Order.Type.B2C, 60);
+
+        assertThat(prioritizer.prioritize(Arrays.asList(fresh, stale, tightSla), clock))
+                .extracting(o -> o.number)
+                .containsExactly(3, 2, 1);
+    }
+
+    @Test
+    public void ordersPassedOverGainPriorityUntilHandled() {
+        Order stale = order(1, Order.Type.B2B, 120);
+        Order passedOver = order(2, Order.Type.B2B, 5);
+
+        assertThat(prioritizer.prioritize(Arrays.asList(stale, passedOver), clock)).extracting(o -> o.number).containsExactly(1, 2);
+
+        prioritizer.handled(stale, clock);
+
+        assertThat(prioritizer.prioritize(Arrays.asList(stale, passedOver), clock)).extracting(o -> o.number).containsExactly(2, 1);
+        assertThat(registry.find("exceptions.order.overdue").tag("type", "B2B").timer().totalTime(TimeUnit.MINUTES)).isEqualTo(75.0);
+    }
+
+    @Test
+    public void overdueTimeIsRecordedOnceEachTimeAnOrderGoesStale() {
+        Order stale = order(1, Order.Type.B2B, 120);
+
+        prioritizer.handled(stale, clock);
+        prioritizer.handled(stale, clock);
+
+        assertThat(registry.find("exceptions.order.overdue").tag("type", "B2B").timer().count()).isEqualTo(1L);
+
+        stale.lastUpdate = stale.lastUpdate.plusMinutes(10);
+        prioritizer.handled(stale, clock);
+
+        assertThat(registry.find("exceptions.order.overdue").tag("type", "B2B").timer().count()).isEqualTo(2L);
+    }
+
+    private static Order order(int number, Order.Type type, long minutesSinceUpdate) {
+        Order order = new Order();
+        order.number = number;
+        order.type = type;
+        order.lastUpdate = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusMinutes(minutesSinceUpdate);
+        return order;
+    }
+}
@@ -0,0 +1,50 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PickCompletionDeduplicatorTest {
+
+    private SimpleMeterRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void dropsRepeatedCompletions() {
+        PickCompletionDeduplicator deduplicator = new PickCompletionDeduplicator(30L, 10, registry);
+
+        assertThat(deduplicator.tryRecord(1, 42)).isTrue();
+        assertThat(deduplicator.tryRecord(1, 42)).isFalse();
+        assertThat(deduplicator.tryRecord(1, 43)).isTrue();
+
+        assertThat(registry.counter("pick.completion.duplicates.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void evictsTheOldestCompletionsOnceFull() {
+        PickCompletionDeduplicator deduplicator = new PickCompletionDeduplicator(30L, 2, registry);
+
+        deduplicator.tryRecord(1, 0);
+        deduplicator.tryRecord(2, 0);
+        deduplicator.tryRecord(3, 0);
+
+        assertThat(deduplicator.size()).isEqualTo(2);
+        assertThat(deduplicator.tryRecord(1, 0)).isTrue();
+    }
+
+    @Test
+    public void forgottenCompletionsAreRetried() {
+        PickCompletionDeduplicator deduplicator = new PickCompletionDeduplicator(30L, 10, registry);
+
+        deduplicator.tryRecord(1, 42);
+        deduplicator.forget(1, 42);
+
+        assertThat(deduplicator.tryRecord(1, 42)).isTrue();
+    }
+}
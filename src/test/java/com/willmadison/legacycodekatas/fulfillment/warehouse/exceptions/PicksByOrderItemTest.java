@@ -0,0 +1,82 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PicksByOrderItemTest {
+
+    private final PicksByOrderItem picksByOrderItemId = new PicksByOrderItem();
+
+    @Test
+    public void groupsPicksByOrderItem() {
+        Pick first = pick(1, "42-0");
+        Pick second = pick(2, "42-1");
+        Pick third = pick(3, "42-0");
+
+        picksByOrderItemId.addAll(Arrays.asList(first, second, third));
+
+        assertThat(picksByOrderItemId.size()).isEqualTo(2);
+        assertThat(picksByOrderItemId.get("42-0")).containsExactly(first, third);
+        assertThat(picksByOrderItemId.get("42-1")).containsExactly(second);
+        assertThat(picksByOrderItemId.get("42-2")).isNull();
+    }
+
+    @Test
+    public void forgetsEverythingOnceCleared() {
+        picksByOrderItemId.addAll(Arrays.asList(pick(1, "42-0"), pick(2, null)));
+        Collection<Pick> reused = picksByOrderItemId.get("42-0");
+
+        picksByOrderItemId.clear();
+
+        assertThat(picksByOrderItemId.size()).isZero();
+        assertThat(picksByOrderItemId.get("42-0")).isNull();
+        assertThat(picksByOrderItemId.get(null)).isNull();
+
+        Pick next = pick(3, "43-0");
+        picksByOrderItemId.add(next);
+
+        assertThat(picksByOrderItemId.get("43-0")).containsExactly(next);
+        assertThat(reused).isEmpty();
+    }
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        List<Pick> picks = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            picks.add(pick(i, "item-" + i % 250));
+        }
+
+        picksByOrderItemId.addAll(picks);
+
+        assertThat(picksByOrderItemId.size()).isEqualTo(250);
+
+        for (int i = 0; i < 250; i++) {
+            assertThat(picksByOrderItemId.get("item-" + i)).hasSize(4);
+        }
+    }
+
+    @Test
+    public void keepsPicksWithoutAnOrderItemTogether() {
+        Pick unassigned = pick(1, null);
+
+        picksByOrderItemId.add(unassigned);
+
+        assertThat(picksByOrderItemId.get(null)).containsExactly(unassigned);
+        assertThat(picksByOrderItemId.size()).isEqualTo(1);
+    }
+
+    private static Pick pick(int id, String orderItemId) {
+        Pick pick = new Pick();
+        pick.id = id;
+        pick.orderItemId = orderItemId;
+        return pick;
+    }
+}
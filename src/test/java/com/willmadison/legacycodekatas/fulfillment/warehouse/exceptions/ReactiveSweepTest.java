@@ -0,0 +1,290 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.StartupProbe;
+import com.willmadison.legacycodekatas.fulfillment.diagnostics.configuration.StartupConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.orders.Order;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderService;
+import com.willmadison.legacycodekatas.fulfillment.orders.SearchParameters;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Consolidation;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.Label;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.ExceptionConfiguration;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.configuration.SweepMode;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.*;
+import com.willmadison.legacycodekatas.fulfillment.workers.WorkerPools;
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveSweepTest {
+
+    private static final int ORDERS = 40;
+
+    private final List<WorkerPools> workerPools = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        workerPools.forEach(WorkerPools::shutdown);
+    }
+
+    @Test
+    public void reactiveSweepMakesTheSameDecisionsAsTheBlockingSweep() {
+        Warehouse blocking = new Warehouse(0L);
+        sweep(blocking, SweepMode.BLOCKING);
+
+        Warehouse reactive = new Warehouse(0L);
+        sweep(reactive, SweepMode.REACTIVE);
+
+        assertThat(blocking.savedStatuses).hasSize(ORDERS);
+        assertThat(blocking.savedStatuses.get(1)).isEqualTo(Order.Status.COMPLETE);
+        assertThat(blocking.savedStatuses.get(3)).isEqualTo(Order.Status.COMPLETE);
+        assertThat(blocking.repickedPickIds).containsExactlyInAnyOrder(2, 4);
+        assertThat(blocking.labelledItemIds).containsExactly("4");
+
+        assertThat(reactive.savedStatuses).isEqualTo(blocking.savedStatuses);
+        assertThat(reactive.repickedPickIds).isEqualTo(blocking.repickedPickIds);
+        assertThat(reactive.labelledItemIds).isEqualTo(blocking.labelledItemIds);
+    }
+
+    @Test
+    public void eachStageWorksOnAtMostItsPoolSizeOfOrdersAtOnce() {
+        Warehouse warehouse = new Warehouse(TimeUnit.MILLISECONDS.toNanos(5));
+
+        ExceptionConfiguration configuration = configuration(SweepMode.REACTIVE);
+        configuration.reactiveSweep.maxOrdersInFlight = 8;
+        configuration.reactiveSweep.picks = new WorkerPoolConfiguration(3, 8);
+        configuration.reactiveSweep.verification = new WorkerPoolConfiguration(2, 8);
+
+        sweep(warehouse, configuration);
+
+        assertThat(warehouse.savedStatuses).hasSize(ORDERS);
+        assertThat(warehouse.pickSearches.getPeak()).isEqualTo(3);
+        assertThat(warehouse.verificationSearches.getPeak()).isEqualTo(2);
+    }
+
+    @Test
+    public void stopsWaitingOnThePipelineOnceTheCycleDeadlinePasses() {
+        Warehouse warehouse = new Warehouse(TimeUnit.SECONDS.toNanos(3));
+
+        ExceptionConfiguration configuration = configuration(SweepMode.REACTIVE);
+        configuration.cycleDeadlineSeconds = 1L;
+        configuration.reactiveSweep.maxOrdersInFlight = 4;
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        long startedAt = System.nanoTime();
+
+        sweep(warehouse, configuration, registry);
+
+        assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(3));
+        assertThat(registry.get("exceptions.reactive.inflight.abandoned").counter().count()).isEqualTo(4.0);
+    }
+
+    private void sweep(Warehouse warehouse, SweepMode sweepMode) {
+        sweep(warehouse, configuration(sweepMode));
+    }
+
+    private void sweep(Warehouse warehouse, ExceptionConfiguration configuration) {
+        sweep(warehouse, configuration, new SimpleMeterRegistry());
+    }
+
+    private void sweep(Warehouse warehouse, ExceptionConfiguration configuration, SimpleMeterRegistry registry) {
+        WorkerPools pools = new WorkerPools(registry);
+        workerPools.add(pools);
+
+        ExceptionHandler handler = new ExceptionHandler(warehouse, warehouse, warehouse, new LinkedList<>(), Optional.empty(),
+                configuration, Clock.systemUTC(), pools, new StartupProbe(new StartupConfiguration(), registry), registry);
+
+        handler.handleExceptions();
+    }
+
+    private static ExceptionConfiguration configuration(SweepMode sweepMode) {
+        ExceptionConfiguration configuration = new ExceptionConfiguration();
+        configuration.enabled = true;
+        configuration.warehouseOperational = true;
+        configuration.autoStraggleEnabled = true;
+        configuration.supportedOrderTypes = EnumSet.of(Order.Type.B2C);
+        configuration.wipPageSize = 7;
+        configuration.sweepMode = sweepMode;
+        return configuration;
+    }
+
+    /**
+     * Order 1 is verified and shipped, order 2 has a stale pick, order 3 is fully placed and order 4 has a stale
+     * consolidated pick; the rest have fresh picks and are left as they are. Orders 3 and 4 are reserved for
+     * consolidation, order 5 is only known to Consolidation.
+     */
+    private static class Warehouse implements OrderService, WarehouseManagement, Consolidation {
+
+        private final LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        private final long latencyNanos;
+
+        private final Map<Integer, Order> orders = new TreeMap<>();
+
+        private final Map<Integer, Pick> picks = new HashMap<>();
+
+        private final Map<Integer, ConsolidatableOrder> consolidatableOrders = new HashMap<>();
+
+        private final Map<Integer, Order.Status> savedStatuses = new ConcurrentHashMap<>();
+
+        private final Set<Integer> repickedPickIds = ConcurrentHashMap.newKeySet();
+
+        private final Set<String> labelledItemIds = ConcurrentHashMap.newKeySet();
+
+        private final Concurrency pickSearches = new Concurrency();
+
+        private final Concurrency verificationSearches = new Concurrency();
+
+        Warehouse(long latencyNanos) {
+            this.latencyNanos = latencyNanos;
+
+            for (int number = 1; number <= ORDERS; number++) {
+                Order order = new Order();
+                order.number = number;
+                order.type = Order.Type.B2C;
+                order.status = Order.Status.WIP;
+                order.reservationId = number == 3 || number == 4 ? "R-" + number : null;
+                order.lastUpdate = now.minusMinutes(number);
+
+                OrderItem item = new OrderItem();
+                item.id = number + "-1";
+                item.status = OrderItem.Status.WIP;
+                item.released = true;
+                item.shipped = number == 1;
+                order.items = new ArrayList<>(Collections.singletonList(item));
+                orders.put(number, order);
+
+                Pick pick = new Pick();
+                pick.id = number;
+                pick.orderNumber = number;
+                pick.orderItemId = item.id;
+                pick.status = Pick.Status.PICKED;
+                pick.wmsUserId = "picker";
+                pick.skill = new Skill();
+                pick.lastUpdate = number == 2 || number == 4 ? now.minusHours(3) : now.minusMinutes(5);
+                picks.put(number, pick);
+
+                if (number >= 3 && number <= 5) {
+                    ConsolidatableOrder.ConsolidatableOrderItem consolidatedItem = new ConsolidatableOrder.ConsolidatableOrderItem();
+                    consolidatedItem.id = Integer.toString(pick.id);
+                    consolidatedItem.lastUpdate = pick.lastUpdate;
+                    consolidatedItem.placed = number == 3;
+
+                    ConsolidatableOrder consolidatableOrder = new ConsolidatableOrder();
+                    consolidatableOrder.items = Collections.singletonList(consolidatedItem);
+                    consolidatableOrders.put(number, consolidatableOrder);
+                }
+            }
+        }
+
+        @Override
+        public synchronized Set<Order> find(SearchParameters searchParameters) {
+            Set<Order> matches = new HashSet<>();
+
+            for (Order order : orders.values()) {
+                if (searchParameters.orderNumbers == null || searchParameters.orderNumbers.contains(order.number)) {
+                    matches.add(order);
+                }
+            }
+
+            return matches;
+        }
+
+        @Override
+        public void save(Order order) {
+            savedStatuses.put(order.number, order.status);
+        }
+
+        @Override
+        public void save(OrderItem orderItem) {
+        }
+
+        @Override
+        public OrderVerificationSearchResponse search(OrderVerificationSearchRequest request) {
+            verificationSearches.enter();
+
+            try {
+                OrderVerification verification = new OrderVerification();
+                verification.successful = request.searchParameters.orderNumber == 1;
+
+                OrderVerificationSearchResponse response = new OrderVerificationSearchResponse();
+                response.verifications = Collections.singletonList(verification);
+                return response;
+            } finally {
+                verificationSearches.exit();
+            }
+        }
+
+        @Override
+        public PickSearchResponse search(PickSearchRequest request) {
+            pickSearches.enter();
+
+            try {
+                PickSearchResponse response = new PickSearchResponse();
+                response.picks = Collections.singletonList(picks.get(request.searchParameters.orderNumber));
+                return response;
+            } finally {
+                pickSearches.exit();
+            }
+        }
+
+        @Override
+        public PickSaveResponse save(PickSaveRequest request) {
+            repickedPickIds.add(request.pick.id);
+            return new PickSaveResponse();
+        }
+
+        @Override
+        public ConsolidatableOrder status(int orderNumber, String transactionId) {
+            return consolidatableOrders.get(orderNumber);
+        }
+
+        @Override
+        public void updateOrderItemLabel(String orderNumber, String itemId, Label label) {
+            labelledItemIds.add(itemId);
+        }
+
+        @Override
+        public void hold(int orderNumber, String transactionId) {
+        }
+
+        private class Concurrency {
+
+            private final AtomicInteger current = new AtomicInteger();
+
+            private final AtomicInteger peak = new AtomicInteger();
+
+            void enter() {
+                peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+
+                if (latencyNanos > 0L) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(latencyNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            void exit() {
+                current.decrementAndGet();
+            }
+
+            int getPeak() {
+                return peak.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions;
+
+import com.willmadison.legacycodekatas.fulfillment.orders.OrderItem;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.consolidation.ConsolidatableOrder.ConsolidatableOrderItem;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.exceptions.RepickEligibilityEvaluator.Reason;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Pick;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.management.Skill;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepickEligibilityEvaluatorTest {
+
+    private static final Instant NOW = Instant.parse("2018-03-01T12:00:00Z");
+
+    private final RepickEligibilityEvaluator evaluator = new RepickEligibilityEvaluator(Clock.fixed(NOW, ZoneOffset.UTC),
+            Duration.ofMinutes(45));
+
+    @Test
+    public void evaluatesEveryCandidateWithAReason() {
+        RepickEligibilityEvaluator.Batch batch = new RepickEligibilityEvaluator.Batch();
+
+        batch.add(item(true), pick(46, "picker"), null);
+        batch.add(item(true), pick(44, "picker"), null);
+        batch.add(item(false), pick(46, "picker"), null);
+        batch.add(item(true), pick(46, null), null);
+        batch.add(item(true), pick(10, "picker"), consolidatedItem(46, false));
+        batch.add(item(true), pick(46, "picker"), consolidatedItem(46, true));
+
+        assertThat(evaluator.evaluate(batch)).isEqualTo(2);
+
+        assertThat(batch.reason(0)).isEqualTo(Reason.ELIGIBLE);
+        assertThat(batch.reason(1)).isEqualTo(Reason.REPICK_TIMEFRAME_NOT_PASSED);
+        assertThat(batch.reason(2)).isEqualTo(Reason.ITEM_NOT_RELEASED);
+        assertThat(batch.reason(3)).isEqualTo(Reason.PICK_NOT_WORKED);
+        assertThat(batch.reason(4)).isEqualTo(Reason.ELIGIBLE);
+        assertThat(batch.reason(5)).isEqualTo(Reason.ITEM_PLACED);
+    }
+
+    @Test
+    public void suspendedStragglerPicksWithoutAStragglerSkillAreDeemedOut() {
+        RepickEligibilityEvaluator.Batch batch = new RepickEligibilityEvaluator.Batch();
+
+        Pick pick = pick(46, "picker");
+        pick.status = Pick.Status.SUSPENDED;
+        pick.straggled = true;
+
+        batch.add(item(true), pick, null);
+
+        assertThat(evaluator.evaluate(batch)).isZero();
+        assertThat(batch.reason(0)).isEqualTo(Reason.PICK_DEEMED_OUT);
+    }
+
+    private static OrderItem item(boolean released) {
+        OrderItem item = new OrderItem();
+        item.released = released;
+        return item;
+    }
+
+    private static Pick pick(long minutesSinceUpdate, String wmsUserId) {
+        Pick pick = new Pick();
+        pick.lastUpdate = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusMinutes(minutesSinceUpdate);
+        pick.wmsUserId = wmsUserId;
+        pick.skill = new Skill();
+        return pick;
+    }
+
+    private static ConsolidatableOrderItem consolidatedItem(long minutesSinceUpdate, boolean placed) {
+        ConsolidatableOrderItem consolidatedItem = new ConsolidatableOrderItem();
+        consolidatedItem.lastUpdate = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusMinutes(minutesSinceUpdate);
+        consolidatedItem.placed = placed;
+        return consolidatedItem;
+    }
+}
@@ -0,0 +1,135 @@
+package com.willmadison.legacycodekatas.fulfillment.warehouse.messaging;
+
+import com.willmadison.legacycodekatas.fulfillment.warehouse.Message;
+import com.willmadison.legacycodekatas.fulfillment.warehouse.messaging.configuration.MessageLogConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionedMessageLogTest {
+
+    private final PartitionedMessageLog log = new PartitionedMessageLog("test", configuration(), new SimpleMeterRegistry());
+
+    @After
+    public void tearDown() {
+        log.close();
+    }
+
+    @Test
+    public void messagesForAnOrderAreConsumedInOrderAndCommitted() throws Exception {
+        Map<Integer, List<Integer>> sequencesByOrderNumber = new ConcurrentHashMap<>();
+        Map<Integer, String> threadsByOrderNumber = new ConcurrentHashMap<>();
+
+        log.subscribe(batch -> {
+            for (Message message : batch.getMessages()) {
+                sequencesByOrderNumber.computeIfAbsent(message.getKey(), orderNumber -> new ArrayList<>())
+                        .add(Integer.valueOf(message.getBody()));
+
+                String previous = threadsByOrderNumber.putIfAbsent(message.getKey(), Thread.currentThread().getName());
+                assertThat(previous).isIn(null, Thread.currentThread().getName());
+            }
+            return true;
+        });
+
+        for (int sequence = 0; sequence < 100; sequence++) {
+            for (int orderNumber = 100000; orderNumber < 100020; orderNumber++) {
+                log.append(new Message(String.valueOf(sequence), orderNumber));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (log.lag() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(log.lag()).isZero();
+        assertThat(sequencesByOrderNumber).hasSize(20);
+        assertThat(threadsByOrderNumber.values()).hasSize(20);
+
+        for (List<Integer> sequences : sequencesByOrderNumber.values()) {
+            assertThat(sequences).hasSize(100).isSorted();
+        }
+
+        for (int partition = 0; partition < log.getPartitions(); partition++) {
+            assertThat(log.committedOffset(partition)).isEqualTo(log.endOffset(partition));
+        }
+    }
+
+    @Test
+    public void batchesThatAreNotHandledAreOfferedAgain() throws Exception {
+        Message message = new Message("{\"id\": 1}", 100000);
+        int partition = log.partitionFor(message);
+
+        log.append(message);
+
+        AtomicBoolean refused = new AtomicBoolean();
+        List<Long> offsetsHandled = new ArrayList<>();
+
+        log.subscribe(batch -> {
+            if (refused.compareAndSet(false, true)) {
+                return false;
+            }
+
+            offsetsHandled.add(batch.getOffset());
+            return true;
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (log.committedOffset(partition) == 0L && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(refused.get()).isTrue();
+        assertThat(log.committedOffset(partition)).isEqualTo(1L);
+        assertThat(offsetsHandled).containsExactly(0L);
+    }
+
+    @Test
+    public void batchesWhoseHandlerThrowsAreOfferedAgain() throws Exception {
+        Message message = new Message("{\"id\": 1}", 100000);
+        int partition = log.partitionFor(message);
+
+        log.append(message);
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Long> offsetsHandled = new ArrayList<>();
+
+        log.subscribe(batch -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("The order service is unavailable!");
+            }
+
+            offsetsHandled.add(batch.getOffset());
+            return true;
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (log.committedOffset(partition) == 0L && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(failed.get()).isTrue();
+        assertThat(log.committedOffset(partition)).isEqualTo(1L);
+        assertThat(offsetsHandled).containsExactly(0L);
+    }
+
+    private static MessageLogConfiguration configuration() {
+        MessageLogConfiguration configuration = new MessageLogConfiguration();
+        configuration.partitions = 4;
+        configuration.maxBatchSize = 7;
+        configuration.pollTimeoutMillis = 50L;
+        return configuration;
+    }
+}
@@ -0,0 +1,142 @@
+package com.willmadison.legacycodekatas.fulfillment.workers;
+
+import com.willmadison.legacycodekatas.fulfillment.workers.configuration.WorkerPoolConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WorkerPoolTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final WorkerPools pools = new WorkerPools(registry);
+
+    @After
+    public void tearDown() {
+        pools.shutdown();
+    }
+
+    @Test
+    public void growingThePoolPutsQueuedWorkOnNewWorkers() throws Exception {
+        WorkerPool pool = pools.create("test", new WorkerPoolConfiguration(1, 10));
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(5);
+        AtomicInteger running = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            pool.execute(() -> {
+                running.incrementAndGet();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                finished.countDown();
+            });
+        }
+
+        pool.resize(3, 2);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (running.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(running.get()).isEqualTo(3);
+
+        release.countDown();
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pool.status()).containsEntry("size", 3).containsEntry("queueCapacity", 2);
+    }
+
+    @Test
+    public void saturatedPoolsRunTasksOnTheCaller() throws Exception {
+        WorkerPool pool = pools.create("saturated", new WorkerPoolConfiguration(1, 0));
+
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        pool.execute(() -> ranOn.set(Thread.currentThread()));
+
+        release.countDown();
+
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void saturatedSkipCyclePoolsRefuseTasks() throws Exception {
+        WorkerPool pool = pools.create("skipping", new WorkerPoolConfiguration(1, 0, SaturationPolicy.SKIP_CYCLE));
+
+        CountDownLatch release = new CountDownLatch(1);
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        AtomicInteger ran = new AtomicInteger();
+
+        assertThatThrownBy(() -> pool.submit(ran::incrementAndGet))
+                .isInstanceOf(WorkerPoolSaturatedException.class)
+                .hasMessageContaining("skipping");
+
+        release.countDown();
+
+        assertThat(ran.get()).isZero();
+        assertThat(registry.find("executor.saturations").tags("name", "skipping", "policy", "SKIP_CYCLE").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void shuttingDownDrainsQueuedTasks() throws Exception {
+        WorkerPool pool = pools.create("draining", new WorkerPoolConfiguration(1, 10));
+
+        AtomicInteger ran = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            pool.execute(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                ran.incrementAndGet();
+            });
+        }
+
+        pools.shutdown();
+
+        assertThat(ran.get()).isEqualTo(5);
+
+        Timer queueWait = registry.find("executor.queue.wait").tags("name", "draining").timer();
+        assertThat(queueWait.count()).isEqualTo(5);
+        assertThat(queueWait.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(60.0);
+
+        assertThatThrownBy(() -> pool.execute(ran::incrementAndGet)).isInstanceOf(RejectedExecutionException.class);
+    }
+}